@@ -0,0 +1,70 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.engine.ProcessEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Stresses the agenda: one process instance runs a sequential multi instance service task {@link #LOOP_CARDINALITY} times,
+ * without history, so most of the time goes to planning and executing agenda operations.
+ * The score is the number of multi instance iterations per second.
+ *
+ * Run with the gc profiler (-prof gc) to see the allocations per iteration (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class AgendaBenchmark {
+
+  public static final int LOOP_CARDINALITY = 1000;
+
+  protected ProcessEngine processEngine;
+  protected String processDefinitionId;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    processEngine = BenchmarkEngines.createConfiguration("none").buildProcessEngine();
+    processDefinitionId = BenchmarkEngines.deploy(processEngine, "multiInstance",
+        BenchmarkProcesses.sequentialMultiInstance("multiInstance", LOOP_CARDINALITY));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    BenchmarkEngines.close(processEngine);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(LOOP_CARDINALITY)
+  public String sequentialMultiInstance() {
+    return processEngine.getRuntimeService().startProcessInstanceById(processDefinitionId).getId();
+  }
+
+}
@@ -0,0 +1,95 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.engine.ManagementService;
+import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.RuntimeService;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the async executor: every invocation starts {@link #JOBS} process instances with an asynchronous service task
+ * and waits until the async executor has executed all of their jobs. The score is the number of jobs per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Threads(1)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+public class AsyncJobBenchmark {
+
+  public static final int JOBS = 200;
+
+  protected static final long TIMEOUT_IN_MILLIS = 60000L;
+
+  @Param({ "2", "8" })
+  public int threadPoolSize;
+
+  protected ProcessEngine processEngine;
+  protected String processDefinitionId;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = BenchmarkEngines.createConfiguration("audit");
+    processEngineConfiguration.setAsyncExecutorActivate(true);
+    processEngineConfiguration.setAsyncExecutorCorePoolSize(threadPoolSize);
+    processEngineConfiguration.setAsyncExecutorMaxPoolSize(threadPoolSize);
+    processEngineConfiguration.setAsyncExecutorThreadPoolQueueSize(JOBS);
+    processEngineConfiguration.setAsyncExecutorDefaultAsyncJobAcquireWaitTime(100);
+    processEngine = processEngineConfiguration.buildProcessEngine();
+    processDefinitionId = BenchmarkEngines.deploy(processEngine, "asyncServiceTask", BenchmarkProcesses.asyncServiceTask("asyncServiceTask"));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    BenchmarkEngines.close(processEngine);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(JOBS)
+  public void executeJobs() throws InterruptedException {
+    RuntimeService runtimeService = processEngine.getRuntimeService();
+    for (int i = 0; i < JOBS; i++) {
+      runtimeService.startProcessInstanceById(processDefinitionId);
+    }
+
+    ManagementService managementService = processEngine.getManagementService();
+    long timeout = System.currentTimeMillis() + TIMEOUT_IN_MILLIS;
+    while (managementService.createJobQuery().count() > 0) {
+      if (System.currentTimeMillis() > timeout) {
+        throw new IllegalStateException("The async executor did not execute all jobs within " + TIMEOUT_IN_MILLIS + " ms");
+      }
+      Thread.sleep(5L);
+    }
+  }
+
+}
@@ -0,0 +1,178 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.benchmark;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.TaskService;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.runtime.DirtyCheckedSerializable;
+import org.activiti.engine.task.Task;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Generates the data the benchmarks work on. All data is derived from a {@link Random} with a fixed seed,
+ * so the same arguments always give the same data.
+ */
+public class BenchmarkData {
+
+  public static final long SEED = 20170101L;
+
+  /**
+   * 2017-01-01, the due dates of the tasks are in the 1000 days after it.
+   */
+  protected static final long BASE_TIME = 1483228800000L;
+
+  public static final int USERS = 50;
+  public static final int GROUPS = 10;
+
+  protected static final int TASK_BATCH_SIZE = 500;
+
+  /**
+   * Creates standalone tasks assigned to 'user0' .. 'user49', with one candidate group out of 'group0' .. 'group9' and a random priority.
+   * The tasks are created in batches, one transaction per batch.
+   */
+  public static void createTasks(ProcessEngine processEngine, int numberOfTasks) {
+    final TaskService taskService = processEngine.getTaskService();
+    final Random random = new Random(SEED);
+    for (int batchStart = 0; batchStart < numberOfTasks; batchStart += TASK_BATCH_SIZE) {
+      final int from = batchStart;
+      final int to = Math.min(batchStart + TASK_BATCH_SIZE, numberOfTasks);
+      processEngine.getManagementService().executeCommand(new Command<Void>() {
+
+        public Void execute(CommandContext commandContext) {
+          for (int i = from; i < to; i++) {
+            Task task = taskService.newTask();
+            task.setName("task" + i);
+            task.setAssignee("user" + random.nextInt(USERS));
+            task.setPriority(random.nextInt(100));
+            task.setDueDate(new Date(BASE_TIME + random.nextInt(1000) * 86400000L));
+            taskService.saveTask(task);
+            taskService.addCandidateGroup(task.getId(), "group" + random.nextInt(GROUPS));
+          }
+          return null;
+        }
+
+      });
+    }
+  }
+
+  public static String randomUser(Random random) {
+    return "user" + random.nextInt(USERS);
+  }
+
+  public static String randomGroup(Random random) {
+    return "group" + random.nextInt(GROUPS);
+  }
+
+  /**
+   * @return a string of the given length, longer than 4000 characters makes it a 'longString' variable.
+   */
+  public static String string(int length, Random random) {
+    StringBuilder text = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      text.append((char) ('a' + random.nextInt(26)));
+    }
+    return text.toString();
+  }
+
+  /**
+   * @return a json object with the given number of order lines.
+   */
+  public static ObjectNode json(int lines, Random random) {
+    ObjectMapper objectMapper = new ObjectMapper();
+    ObjectNode order = objectMapper.createObjectNode();
+    order.put("customer", randomUser(random));
+    ArrayNode orderLines = order.putArray("lines");
+    for (int i = 0; i < lines; i++) {
+      ObjectNode orderLine = orderLines.addObject();
+      orderLine.put("product", string(10, random));
+      orderLine.put("quantity", random.nextInt(10));
+      orderLine.put("price", random.nextInt(10000) / 100.0);
+    }
+    return order;
+  }
+
+  public static Payload payload(int entries, Random random) {
+    Payload payload = new Payload();
+    fill(payload, entries, random);
+    return payload;
+  }
+
+  public static DirtyCheckedPayload dirtyCheckedPayload(int entries, Random random) {
+    DirtyCheckedPayload payload = new DirtyCheckedPayload();
+    fill(payload, entries, random);
+    return payload;
+  }
+
+  protected static void fill(Payload payload, int entries, Random random) {
+    for (int i = 0; i < entries; i++) {
+      payload.getValues().put("key" + i, string(20, random));
+    }
+    for (int i = 0; i < entries; i++) {
+      payload.getNumbers().add(random.nextLong());
+    }
+  }
+
+  /**
+   * A serializable variable value, big enough for the (de)serialization to matter.
+   */
+  public static class Payload implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected Map<String, String> values = new LinkedHashMap<String, String>();
+    protected List<Long> numbers = new ArrayList<Long>();
+
+    public Map<String, String> getValues() {
+      return values;
+    }
+
+    public List<Long> getNumbers() {
+      return numbers;
+    }
+
+  }
+
+  /**
+   * The same payload, telling the engine it wasn't changed after it was deserialized.
+   */
+  public static class DirtyCheckedPayload extends Payload implements DirtyCheckedSerializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected transient boolean dirty;
+
+    public void put(String key, String value) {
+      values.put(key, value);
+      dirty = true;
+    }
+
+    public boolean isDirty() {
+      return dirty;
+    }
+
+  }
+
+}
@@ -0,0 +1,67 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.benchmark;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+
+/**
+ * Creates the in-memory H2 process engines the benchmarks run against.
+ * Every configuration gets its own database, so the engines of different benchmark trials never see each other's data.
+ */
+public class BenchmarkEngines {
+
+  protected static final AtomicInteger engineCounter = new AtomicInteger();
+
+  /**
+   * @param history the history level, see {@link org.activiti.engine.impl.history.HistoryLevel#getKey()}.
+   * @return a configuration for an in-memory engine with the async executor disabled.
+   */
+  public static ProcessEngineConfigurationImpl createConfiguration(String history) {
+    String name = "benchmark-" + engineCounter.incrementAndGet();
+
+    StandaloneInMemProcessEngineConfiguration processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+    processEngineConfiguration.setProcessEngineName(name);
+    processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=1000");
+    processEngineConfiguration.setHistory(history);
+    processEngineConfiguration.setCreateDiagramOnDeploy(false);
+    processEngineConfiguration.setAsyncExecutorActivate(false);
+    return processEngineConfiguration;
+  }
+
+  /**
+   * @return the id of the process definition deployed from the given BPMN 2.0 xml.
+   */
+  public static String deploy(ProcessEngine processEngine, String processDefinitionKey, String bpmnXml) {
+    String deploymentId = processEngine.getRepositoryService().createDeployment()
+        .name(processDefinitionKey)
+        .addString(processDefinitionKey + ".bpmn20.xml", bpmnXml)
+        .deploy()
+        .getId();
+
+    return processEngine.getRepositoryService().createProcessDefinitionQuery()
+        .deploymentId(deploymentId)
+        .singleResult()
+        .getId();
+  }
+
+  public static void close(ProcessEngine processEngine) {
+    if (processEngine != null) {
+      processEngine.close();
+    }
+  }
+
+}
@@ -0,0 +1,234 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.benchmark;
+
+/**
+ * Generates the BPMN 2.0 xml of the canonical process shapes used by the benchmarks.
+ * The output only depends on the arguments, so every run deploys exactly the same processes.
+ */
+public class BenchmarkProcesses {
+
+  public static final String STRAIGHT_THROUGH = "straightThrough";
+  public static final String EXCLUSIVE_GATEWAY = "exclusiveGateway";
+  public static final String PARALLEL_GATEWAY = "parallelGateway";
+  public static final String USER_TASK = "userTask";
+
+  /**
+   * @param shape one of {@link #STRAIGHT_THROUGH}, {@link #EXCLUSIVE_GATEWAY}, {@link #PARALLEL_GATEWAY} or {@link #USER_TASK}.
+   */
+  public static String shape(String shape, boolean transientExecution) {
+    if (STRAIGHT_THROUGH.equals(shape)) {
+      return straightThrough(shape, 5, transientExecution);
+    } else if (EXCLUSIVE_GATEWAY.equals(shape)) {
+      return exclusiveGateway(shape, transientExecution);
+    } else if (PARALLEL_GATEWAY.equals(shape)) {
+      return parallelGateway(shape, 3, transientExecution);
+    } else if (USER_TASK.equals(shape)) {
+      return userTask(shape);
+    }
+    throw new IllegalArgumentException("Unknown process shape " + shape);
+  }
+
+  /**
+   * Start event, a sequence of no-op service tasks and an end event.
+   */
+  public static String straightThrough(String key, int serviceTasks, boolean transientExecution) {
+    StringBuilder process = new StringBuilder();
+    String previous = "start";
+    process.append("    <startEvent id=\"start\" />\n");
+    for (int i = 1; i <= serviceTasks; i++) {
+      String serviceTask = "serviceTask" + i;
+      flow(process, previous, serviceTask);
+      process.append("    <serviceTask id=\"").append(serviceTask).append("\" activiti:expression=\"${true}\" />\n");
+      previous = serviceTask;
+    }
+    flow(process, previous, "end");
+    process.append("    <endEvent id=\"end\" />\n");
+    return definitions(key, transientExecution, process);
+  }
+
+  /**
+   * Routes on the 'amount' variable (defaults to 0 when not set) to one of three service tasks.
+   */
+  public static String exclusiveGateway(String key, boolean transientExecution) {
+    StringBuilder process = new StringBuilder();
+    process.append("    <startEvent id=\"start\" />\n");
+    flow(process, "start", "decision");
+    process.append("    <exclusiveGateway id=\"decision\" default=\"flow-decision-low\" />\n");
+    conditionalFlow(process, "decision", "high", "${execution.getVariable('amount') != null &amp;&amp; amount &gt;= 1000}");
+    conditionalFlow(process, "decision", "medium", "${execution.getVariable('amount') != null &amp;&amp; amount &gt;= 100}");
+    flow(process, "decision", "low");
+    for (String serviceTask : new String[] { "high", "medium", "low" }) {
+      process.append("    <serviceTask id=\"").append(serviceTask).append("\" activiti:expression=\"${true}\" />\n");
+      flow(process, serviceTask, "end");
+    }
+    process.append("    <endEvent id=\"end\" />\n");
+    return definitions(key, transientExecution, process);
+  }
+
+  /**
+   * Forks into the given number of branches with a no-op service task each and joins them again.
+   */
+  public static String parallelGateway(String key, int branches, boolean transientExecution) {
+    StringBuilder process = new StringBuilder();
+    process.append("    <startEvent id=\"start\" />\n");
+    flow(process, "start", "fork");
+    process.append("    <parallelGateway id=\"fork\" />\n");
+    for (int i = 1; i <= branches; i++) {
+      String serviceTask = "branch" + i;
+      flow(process, "fork", serviceTask);
+      process.append("    <serviceTask id=\"").append(serviceTask).append("\" activiti:expression=\"${true}\" />\n");
+      flow(process, serviceTask, "join");
+    }
+    process.append("    <parallelGateway id=\"join\" />\n");
+    flow(process, "join", "end");
+    process.append("    <endEvent id=\"end\" />\n");
+    return definitions(key, transientExecution, process);
+  }
+
+  /**
+   * One user task, assigned to the 'assignee' variable.
+   */
+  public static String userTask(String key) {
+    StringBuilder process = new StringBuilder();
+    process.append("    <startEvent id=\"start\" />\n");
+    flow(process, "start", "task");
+    process.append("    <userTask id=\"task\" name=\"Task\" activiti:assignee=\"${assignee}\" />\n");
+    flow(process, "task", "end");
+    process.append("    <endEvent id=\"end\" />\n");
+    return definitions(key, false, process);
+  }
+
+  /**
+   * A Groovy script task that is executed the number of times in the 'loops' variable.
+   */
+  public static String scriptLoop(String key) {
+    StringBuilder process = new StringBuilder();
+    process.append("    <startEvent id=\"start\" />\n");
+    flow(process, "start", "script");
+    process.append("    <scriptTask id=\"script\" scriptFormat=\"groovy\" activiti:autoStoreVariables=\"false\">\n");
+    process.append("      <script><![CDATA[def counter = execution.getVariable('counter') ?: 0\n");
+    process.append("execution.setVariable('counter', counter + 1)]]></script>\n");
+    process.append("    </scriptTask>\n");
+    flow(process, "script", "loop");
+    process.append("    <exclusiveGateway id=\"loop\" default=\"flow-loop-end\" />\n");
+    conditionalFlow(process, "loop", "script", "${counter &lt; loops}");
+    flow(process, "loop", "end");
+    process.append("    <endEvent id=\"end\" />\n");
+    return definitions(key, false, process);
+  }
+
+  /**
+   * One asynchronous no-op service task.
+   */
+  public static String asyncServiceTask(String key) {
+    StringBuilder process = new StringBuilder();
+    process.append("    <startEvent id=\"start\" />\n");
+    flow(process, "start", "asyncTask");
+    process.append("    <serviceTask id=\"asyncTask\" activiti:async=\"true\" activiti:expression=\"${true}\" />\n");
+    flow(process, "asyncTask", "end");
+    process.append("    <endEvent id=\"end\" />\n");
+    return definitions(key, false, process);
+  }
+
+  /**
+   * A sequential multi instance no-op service task, which makes the agenda plan a few operations per instance.
+   */
+  public static String sequentialMultiInstance(String key, int loopCardinality) {
+    StringBuilder process = new StringBuilder();
+    process.append("    <startEvent id=\"start\" />\n");
+    flow(process, "start", "miTask");
+    process.append("    <serviceTask id=\"miTask\" activiti:expression=\"${true}\">\n");
+    process.append("      <multiInstanceLoopCharacteristics isSequential=\"true\">\n");
+    process.append("        <loopCardinality>").append(loopCardinality).append("</loopCardinality>\n");
+    process.append("      </multiInstanceLoopCharacteristics>\n");
+    process.append("    </serviceTask>\n");
+    flow(process, "miTask", "end");
+    process.append("    <endEvent id=\"end\" />\n");
+    return definitions(key, false, process);
+  }
+
+  /**
+   * A large process for the parse and deployment benchmarks: the given number of activities, alternating user tasks,
+   * service tasks with listeners and script tasks, with an exclusive gateway that can skip ahead every ten activities.
+   */
+  public static String largeProcess(String key, int activities) {
+    StringBuilder process = new StringBuilder();
+    String previous = "start";
+    process.append("    <startEvent id=\"start\" />\n");
+    for (int i = 1; i <= activities; i++) {
+      String activity = "activity" + i;
+      if (i % 10 == 0 && i < activities) {
+        String gateway = "gateway" + i;
+        flow(process, previous, gateway);
+        process.append("    <exclusiveGateway id=\"").append(gateway).append("\" default=\"flow-").append(gateway).append("-").append(activity).append("\" />\n");
+        conditionalFlow(process, gateway, "activity" + (i + 1), "${skip == true}");
+        previous = gateway;
+      }
+      flow(process, previous, activity);
+
+      switch (i % 3) {
+      case 0:
+        process.append("    <userTask id=\"").append(activity).append("\" name=\"Activity ").append(i)
+            .append("\" activiti:candidateGroups=\"group").append(i % 5).append("\" />\n");
+        break;
+      case 1:
+        process.append("    <serviceTask id=\"").append(activity).append("\" activiti:expression=\"${true}\">\n");
+        process.append("      <extensionElements>\n");
+        process.append("        <activiti:executionListener event=\"start\" expression=\"${execution.setVariable('last', '").append(activity).append("')}\" />\n");
+        process.append("      </extensionElements>\n");
+        process.append("    </serviceTask>\n");
+        break;
+      default:
+        process.append("    <scriptTask id=\"").append(activity).append("\" scriptFormat=\"groovy\">\n");
+        process.append("      <script>execution.setVariable('step', ").append(i).append(")</script>\n");
+        process.append("    </scriptTask>\n");
+      }
+      previous = activity;
+    }
+    flow(process, previous, "end");
+    process.append("    <endEvent id=\"end\" />\n");
+    return definitions(key, false, process);
+  }
+
+  protected static String definitions(String key, boolean transientExecution, StringBuilder process) {
+    StringBuilder definitions = new StringBuilder();
+    definitions.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+    definitions.append("<definitions xmlns=\"http://www.omg.org/spec/BPMN/20100524/MODEL\"\n");
+    definitions.append("  xmlns:activiti=\"http://activiti.org/bpmn\"\n");
+    definitions.append("  targetNamespace=\"http://activiti.org/benchmark\">\n");
+    definitions.append("  <process id=\"").append(key).append("\" isExecutable=\"true\"");
+    if (transientExecution) {
+      definitions.append(" activiti:transientExecution=\"true\"");
+    }
+    definitions.append(">\n");
+    definitions.append(process);
+    definitions.append("  </process>\n");
+    definitions.append("</definitions>\n");
+    return definitions.toString();
+  }
+
+  protected static void flow(StringBuilder process, String source, String target) {
+    process.append("    <sequenceFlow id=\"flow-").append(source).append("-").append(target)
+        .append("\" sourceRef=\"").append(source).append("\" targetRef=\"").append(target).append("\" />\n");
+  }
+
+  protected static void conditionalFlow(StringBuilder process, String source, String target, String condition) {
+    process.append("    <sequenceFlow id=\"flow-").append(source).append("-").append(target)
+        .append("\" sourceRef=\"").append(source).append("\" targetRef=\"").append(target).append("\">\n");
+    process.append("      <conditionExpression xsi:type=\"tFormalExpression\" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\">")
+        .append(condition).append("</conditionExpression>\n");
+    process.append("    </sequenceFlow>\n");
+  }
+
+}
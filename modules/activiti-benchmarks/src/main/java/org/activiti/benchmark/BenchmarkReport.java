@@ -0,0 +1,100 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks selected by the JMH command line arguments, stores the raw results as json
+ * and prints a report that compares the configurations (the parameter combinations) of every benchmark
+ * with the first configuration of that benchmark.
+ *
+ * For example: java -cp target/benchmarks.jar org.activiti.benchmark.BenchmarkReport TransientExecutionBenchmark -p shape=straightThrough
+ */
+public class BenchmarkReport {
+
+  public static final String DEFAULT_RESULT_FILE = "benchmark-results.json";
+
+  public static void main(String[] args) throws Exception {
+    CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+    Options options = new OptionsBuilder()
+        .parent(commandLineOptions)
+        .resultFormat(commandLineOptions.getResultFormat().orElse(ResultFormatType.JSON))
+        .result(commandLineOptions.getResult().orElse(DEFAULT_RESULT_FILE))
+        .build();
+
+    Collection<RunResult> results = new Runner(options).run();
+    System.out.println();
+    System.out.println(createReport(results));
+  }
+
+  public static String createReport(Collection<RunResult> results) {
+    Map<String, List<RunResult>> resultsPerBenchmark = new LinkedHashMap<String, List<RunResult>>();
+    for (RunResult result : results) {
+      String benchmark = result.getParams().getBenchmark();
+      List<RunResult> benchmarkResults = resultsPerBenchmark.get(benchmark);
+      if (benchmarkResults == null) {
+        benchmarkResults = new ArrayList<RunResult>();
+        resultsPerBenchmark.put(benchmark, benchmarkResults);
+      }
+      benchmarkResults.add(result);
+    }
+
+    StringBuilder report = new StringBuilder();
+    for (Map.Entry<String, List<RunResult>> entry : resultsPerBenchmark.entrySet()) {
+      RunResult baseline = entry.getValue().get(0);
+      Mode mode = baseline.getParams().getMode();
+      report.append(entry.getKey()).append(" (").append(mode.longLabel()).append(", ")
+          .append(mode == Mode.Throughput ? "higher" : "lower").append(" is better)\n");
+
+      for (RunResult result : entry.getValue()) {
+        Result primaryResult = result.getPrimaryResult();
+        report.append(String.format("  %-60s %14.3f +- %10.3f %-10s %6.2fx\n",
+            getConfiguration(result.getParams()),
+            primaryResult.getScore(),
+            primaryResult.getScoreError(),
+            primaryResult.getScoreUnit(),
+            primaryResult.getScore() / baseline.getPrimaryResult().getScore()));
+      }
+      report.append("\n");
+    }
+    return report.toString();
+  }
+
+  protected static String getConfiguration(BenchmarkParams params) {
+    StringBuilder configuration = new StringBuilder();
+    for (String key : params.getParamsKeys()) {
+      if (configuration.length() > 0) {
+        configuration.append(", ");
+      }
+      configuration.append(key).append("=").append(params.getParam(key));
+    }
+    configuration.append(configuration.length() > 0 ? ", " : "").append("threads=").append(params.getThreads());
+    return configuration.toString();
+  }
+
+}
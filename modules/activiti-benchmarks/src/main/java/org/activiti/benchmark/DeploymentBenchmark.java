@@ -0,0 +1,88 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.bpmn.converter.BpmnXMLConverter;
+import org.activiti.bpmn.model.BpmnModel;
+import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.impl.util.io.StringStreamSource;
+import org.activiti.engine.repository.Deployment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing the xml of a process with the given number of activities into a {@link BpmnModel},
+ * and deploying it (parsing, validation, the BpmnParse into executable behaviors and storing the deployment).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class DeploymentBenchmark {
+
+  @Param({ "10", "100", "500" })
+  public int numberOfActivities;
+
+  protected ProcessEngine processEngine;
+  protected String bpmnXml;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    // Keeps the deployment cache from growing with every deployment
+    processEngine = BenchmarkEngines.createConfiguration("audit")
+        .setProcessDefinitionCacheLimit(10)
+        .buildProcessEngine();
+    bpmnXml = BenchmarkProcesses.largeProcess("largeProcess", numberOfActivities);
+  }
+
+  @TearDown(Level.Iteration)
+  public void deleteDeployments() {
+    for (Deployment deployment : processEngine.getRepositoryService().createDeploymentQuery().list()) {
+      processEngine.getRepositoryService().deleteDeployment(deployment.getId(), true);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    BenchmarkEngines.close(processEngine);
+  }
+
+  @Benchmark
+  public BpmnModel parse() {
+    return new BpmnXMLConverter().convertToBpmnModel(new StringStreamSource(bpmnXml), true, false);
+  }
+
+  @Benchmark
+  public String deploy() {
+    return processEngine.getRepositoryService().createDeployment()
+        .addString("largeProcess.bpmn20.xml", bpmnXml)
+        .deploy()
+        .getId();
+  }
+
+}
@@ -0,0 +1,123 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.benchmark;
+
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.activiti.dmn.api.RuleEngineExecutionResult;
+import org.activiti.dmn.engine.DmnEngine;
+import org.activiti.dmn.engine.DmnEngineConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Evaluation of a decision table with the given number of rules, by the standalone in-memory DMN engine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class DmnEvaluationBenchmark {
+
+  protected static final AtomicInteger engineCounter = new AtomicInteger();
+
+  @Param({ "10", "100" })
+  public int numberOfRules;
+
+  protected DmnEngine dmnEngine;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    dmnEngine = DmnEngineConfiguration.createStandaloneInMemDmnEngineConfiguration()
+        .setJdbcUrl("jdbc:h2:mem:benchmark-dmn-" + engineCounter.incrementAndGet() + ";DB_CLOSE_DELAY=1000")
+        .setDatabaseSchemaUpdate(DmnEngineConfiguration.DB_SCHEMA_UPDATE_DROP_CREATE)
+        .buildDmnEngine();
+
+    dmnEngine.getDmnRepositoryService().createDeployment()
+        .addString("decision.dmn", decisionTable(numberOfRules))
+        .deploy();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    if (dmnEngine != null) {
+      dmnEngine.close();
+    }
+  }
+
+  /**
+   * Every thread evaluates its own sequence of inputs, spread over all rules.
+   */
+  @State(Scope.Thread)
+  public static class Inputs {
+
+    protected Random random = new Random(BenchmarkData.SEED);
+
+    public int nextInput(int numberOfRules) {
+      return random.nextInt(numberOfRules * 10);
+    }
+
+  }
+
+  @Benchmark
+  public RuleEngineExecutionResult evaluate(Inputs inputs) {
+    return dmnEngine.getDmnRuleService().executeDecisionByKey("decision",
+        Collections.<String, Object>singletonMap("amount", inputs.nextInput(numberOfRules)));
+  }
+
+  /**
+   * Rule i matches the amounts from i * 10 up to (i + 1) * 10, with an input column for each bound.
+   */
+  protected static String decisionTable(int numberOfRules) {
+    StringBuilder dmn = new StringBuilder();
+    dmn.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+    dmn.append("<definitions xmlns=\"http://www.omg.org/spec/DMN/20151130\" id=\"benchmark\" name=\"Benchmark\" namespace=\"http://activiti.org/dmn\">\n");
+    dmn.append("  <decision id=\"decision\" name=\"Benchmark decision\">\n");
+    dmn.append("    <decisionTable id=\"decisionTable\">\n");
+    dmn.append("      <input>\n");
+    dmn.append("        <inputExpression id=\"lowerBoundInput\" typeRef=\"number\"><text>amount</text></inputExpression>\n");
+    dmn.append("      </input>\n");
+    dmn.append("      <input>\n");
+    dmn.append("        <inputExpression id=\"upperBoundInput\" typeRef=\"number\"><text>amount</text></inputExpression>\n");
+    dmn.append("      </input>\n");
+    dmn.append("      <output id=\"categoryOutput\" label=\"Category\" name=\"category\" typeRef=\"string\" />\n");
+    for (int i = 0; i < numberOfRules; i++) {
+      dmn.append("      <rule>\n");
+      dmn.append("        <inputEntry id=\"lowerBound").append(i).append("\"><text><![CDATA[>= ").append(i * 10).append("]]></text></inputEntry>\n");
+      dmn.append("        <inputEntry id=\"upperBound").append(i).append("\"><text><![CDATA[< ").append((i + 1) * 10).append("]]></text></inputEntry>\n");
+      dmn.append("        <outputEntry id=\"outputEntry").append(i).append("\"><text>'category").append(i).append("'</text></outputEntry>\n");
+      dmn.append("      </rule>\n");
+    }
+    dmn.append("    </decisionTable>\n");
+    dmn.append("  </decision>\n");
+    dmn.append("</definitions>\n");
+    return dmn.toString();
+  }
+
+}
@@ -0,0 +1,93 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of starting and completing process instances of the canonical process shapes (see {@link BenchmarkProcesses}),
+ * for the different history levels and with or without the execution related entity counts.
+ *
+ * Run with more threads (-t) to include the contention on the database and the caches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ProcessExecutionBenchmark {
+
+  @Param({ BenchmarkProcesses.STRAIGHT_THROUGH, BenchmarkProcesses.EXCLUSIVE_GATEWAY, BenchmarkProcesses.PARALLEL_GATEWAY, BenchmarkProcesses.USER_TASK })
+  public String shape;
+
+  @Param({ "none", "activity", "audit", "full" })
+  public String history;
+
+  @Param({ "false", "true" })
+  public boolean executionRelationshipCounts;
+
+  protected ProcessEngine processEngine;
+  protected String processDefinitionId;
+  protected AtomicLong counter = new AtomicLong();
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = BenchmarkEngines.createConfiguration(history);
+    processEngineConfiguration.setEnableExecutionRelationshipCounts(executionRelationshipCounts);
+    processEngine = processEngineConfiguration.buildProcessEngine();
+    processDefinitionId = BenchmarkEngines.deploy(processEngine, shape, BenchmarkProcesses.shape(shape, false));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    BenchmarkEngines.close(processEngine);
+  }
+
+  @Benchmark
+  public String startAndComplete() {
+    long count = counter.incrementAndGet();
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("amount", count % 2000);
+    variables.put("assignee", "user" + (count % BenchmarkData.USERS));
+
+    ProcessInstance processInstance = processEngine.getRuntimeService().startProcessInstanceById(processDefinitionId, variables);
+    if (!processInstance.isEnded()) {
+      Task task = processEngine.getTaskService().createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+      processEngine.getTaskService().complete(task.getId());
+    }
+    return processInstance.getId();
+  }
+
+}
@@ -0,0 +1,75 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.benchmark;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A process instance looping {@link #LOOPS} times over a Groovy script task, with and without the compiled script cache
+ * of the ScriptingEngines. The score is the time per script task execution.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ScriptTaskBenchmark {
+
+  public static final int LOOPS = 20;
+
+  @Param({ "true", "false" })
+  public boolean cacheCompiledScripts;
+
+  protected ProcessEngine processEngine;
+  protected String processDefinitionId;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = BenchmarkEngines.createConfiguration("none");
+    processEngine = processEngineConfiguration.buildProcessEngine();
+    processEngineConfiguration.getScriptingEngines().setCacheCompiledScripts(cacheCompiledScripts);
+    processDefinitionId = BenchmarkEngines.deploy(processEngine, "scriptLoop", BenchmarkProcesses.scriptLoop("scriptLoop"));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    BenchmarkEngines.close(processEngine);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(LOOPS)
+  public String scriptLoop() {
+    return processEngine.getRuntimeService().startProcessInstanceById(processDefinitionId,
+        Collections.<String, Object>singletonMap("loops", LOOPS)).getId();
+  }
+
+}
@@ -0,0 +1,124 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.impl.TaskQueryImpl;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.task.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency of typical task list queries for different numbers of tasks (see {@link BenchmarkData#createTasks(ProcessEngine, int)}).
+ *
+ * {@link #assigneePageInRegularCommand()} runs the same query as {@link #assigneePage()}, but within a regular command instead of the
+ * read-only command the query API uses, which shows what the read-only fast path saves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class TaskQueryBenchmark {
+
+  @Param({ "100", "1000", "10000" })
+  public int numberOfTasks;
+
+  protected ProcessEngine processEngine;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    processEngine = BenchmarkEngines.createConfiguration("audit").buildProcessEngine();
+    BenchmarkData.createTasks(processEngine, numberOfTasks);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    BenchmarkEngines.close(processEngine);
+  }
+
+  /**
+   * Every thread queries for its own sequence of users and groups.
+   */
+  @State(Scope.Thread)
+  public static class Users {
+
+    protected Random random = new Random(BenchmarkData.SEED);
+
+    public String nextUser() {
+      return BenchmarkData.randomUser(random);
+    }
+
+    public String nextGroup() {
+      return BenchmarkData.randomGroup(random);
+    }
+
+  }
+
+  @Benchmark
+  public List<Task> assigneePage(Users users) {
+    return processEngine.getTaskService().createTaskQuery()
+        .taskAssignee(users.nextUser())
+        .orderByTaskPriority().desc()
+        .listPage(0, 10);
+  }
+
+  @Benchmark
+  public List<Task> candidateGroupPage(Users users) {
+    return processEngine.getTaskService().createTaskQuery()
+        .taskCandidateGroup(users.nextGroup())
+        .orderByTaskDueDate().asc()
+        .listPage(0, 10);
+  }
+
+  @Benchmark
+  public long assigneeCount(Users users) {
+    return processEngine.getTaskService().createTaskQuery()
+        .taskAssignee(users.nextUser())
+        .count();
+  }
+
+  @Benchmark
+  public List<Task> assigneePageInRegularCommand(Users users) {
+    final String assignee = users.nextUser();
+    return processEngine.getManagementService().executeCommand(new Command<List<Task>>() {
+
+      public List<Task> execute(CommandContext commandContext) {
+        return new TaskQueryImpl()
+            .taskAssignee(assignee)
+            .orderByTaskPriority().desc()
+            .listPage(0, 10);
+      }
+
+    });
+  }
+
+}
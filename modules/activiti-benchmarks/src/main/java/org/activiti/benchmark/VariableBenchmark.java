@@ -0,0 +1,124 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.benchmark;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.impl.cmd.GetExecutionVariableCmd;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reading and writing a process variable of each variable type.
+ *
+ * {@link #readInRegularCommand()} reads the variable within a regular command, where deserialized 'serializable' variables
+ * are tracked for changes: compare 'serializable' with 'dirtyCheckedSerializable' to see the cost of the change detection.
+ *
+ * Single threaded, as all writes go to the same process instance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Threads(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class VariableBenchmark {
+
+  @Param({ "string", "long", "date", "longString", "json", "serializable", "dirtyCheckedSerializable" })
+  public String type;
+
+  @Param({ "false", "true" })
+  public boolean eagerVariableByteArrayFetching;
+
+  protected ProcessEngine processEngine;
+  protected String processInstanceId;
+  protected Object[] values;
+
+  protected int valueIndex;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    processEngine = BenchmarkEngines.createConfiguration("audit")
+        .setEnableEagerVariableByteArrayFetching(eagerVariableByteArrayFetching)
+        .buildProcessEngine();
+    String processDefinitionId = BenchmarkEngines.deploy(processEngine, BenchmarkProcesses.USER_TASK, BenchmarkProcesses.userTask(BenchmarkProcesses.USER_TASK));
+
+    Random random = new Random(BenchmarkData.SEED);
+    values = new Object[] { value(random), value(random) };
+
+    processInstanceId = processEngine.getRuntimeService().startProcessInstanceById(processDefinitionId,
+        Collections.<String, Object>singletonMap("assignee", "user0")).getId();
+    processEngine.getRuntimeService().setVariable(processInstanceId, "var", values[0]);
+  }
+
+  protected Object value(Random random) {
+    if ("string".equals(type)) {
+      return BenchmarkData.string(100, random);
+    } else if ("long".equals(type)) {
+      return random.nextLong();
+    } else if ("date".equals(type)) {
+      return new Date(random.nextInt());
+    } else if ("longString".equals(type)) {
+      return BenchmarkData.string(10000, random);
+    } else if ("json".equals(type)) {
+      return BenchmarkData.json(50, random);
+    } else if ("serializable".equals(type)) {
+      return BenchmarkData.payload(500, random);
+    } else if ("dirtyCheckedSerializable".equals(type)) {
+      return BenchmarkData.dirtyCheckedPayload(500, random);
+    }
+    throw new IllegalArgumentException("Unknown variable type " + type);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    BenchmarkEngines.close(processEngine);
+  }
+
+  @Benchmark
+  public Object read() {
+    return processEngine.getRuntimeService().getVariable(processInstanceId, "var");
+  }
+
+  @Benchmark
+  public Object readInRegularCommand() {
+    return processEngine.getManagementService().executeCommand(new GetExecutionVariableCmd(processInstanceId, "var", false));
+  }
+
+  /**
+   * Alternates between two values, so every write is a real update.
+   */
+  @Benchmark
+  public void write() {
+    valueIndex = 1 - valueIndex;
+    processEngine.getRuntimeService().setVariable(processInstanceId, "var", values[valueIndex]);
+  }
+
+}
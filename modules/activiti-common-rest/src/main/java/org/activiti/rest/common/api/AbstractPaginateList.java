@@ -13,6 +13,7 @@
 
 package org.activiti.rest.common.api;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -26,6 +27,8 @@ import org.activiti.engine.query.QueryProperty;
  */
 public abstract class AbstractPaginateList {
 
+  protected int streamBatchSize = StreamingDataResponse.DEFAULT_BATCH_SIZE;
+
   /**
    * uses the pagination parameters form the request and makes sure to order the result and set all pagination attributes for the response to render
    * 
@@ -40,7 +43,7 @@ public abstract class AbstractPaginateList {
    * @param defaultSort
    *          THe default sort column (the rest attribute) that later will be mapped to an internal engine name
    */
-  @SuppressWarnings("rawtypes")
+  @SuppressWarnings({ "rawtypes", "unchecked" })
   public DataResponse paginateList(Map<String, String> requestParams, PaginateRequest paginateRequest, Query query, String defaultSort, Map<String, QueryProperty> properties) {
 
     if (paginateRequest == null) {
@@ -65,6 +68,14 @@ public abstract class AbstractPaginateList {
       paginateRequest.setSort(requestParams.get("sort"));
     }
 
+    if (paginateRequest.getIncludeTotal() == null) {
+      paginateRequest.setIncludeTotal(RequestUtil.getBoolean(requestParams, "includeTotal", true));
+    }
+
+    if (paginateRequest.getStream() == null) {
+      paginateRequest.setStream(RequestUtil.getBoolean(requestParams, "stream", false));
+    }
+
     // Use defaults for paging, if not set in the PaginationRequest, nor in
     // the URL
     Integer start = paginateRequest.getStart();
@@ -102,14 +113,37 @@ public abstract class AbstractPaginateList {
       }
     }
 
+    // Streaming: the results after the first batch are fetched while the response is written
+    if (paginateRequest.getStream()) {
+      DataResponse response = new StreamingDataResponse(this, query, start, size, streamBatchSize, paginateRequest.getIncludeTotal());
+      response.setSort(sort);
+      response.setOrder(order);
+      return response;
+    }
+
     // Get result and set pagination parameters
-    List list = processList(query.listPage(start, size));
     DataResponse response = new DataResponse();
+    List list = null;
+    if (paginateRequest.getIncludeTotal()) {
+      list = processList(query.listPage(start, size));
+      response.setTotal(query.count());
+      response.setHasMore(start + list.size() < response.getTotal());
+
+    } else {
+      // No count query (which can be more expensive than the page itself on large tables):
+      // one row more than requested is fetched to know if there is a next page
+      List page = query.listPage(start, size < Integer.MAX_VALUE ? size + 1 : size);
+      response.setHasMore(page.size() > size);
+      if (page.size() > size) {
+        page = new ArrayList(page.subList(0, size));
+      }
+      list = processList(page);
+      response.setTotal(-1);
+    }
     response.setStart(start);
     response.setSize(list.size());
     response.setSort(sort);
     response.setOrder(order);
-    response.setTotal(query.count());
     response.setData(list);
     return response;
   }
@@ -135,4 +169,12 @@ public abstract class AbstractPaginateList {
 
   @SuppressWarnings("rawtypes")
   protected abstract List processList(List list);
+
+  public int getStreamBatchSize() {
+    return streamBatchSize;
+  }
+
+  public void setStreamBatchSize(int streamBatchSize) {
+    this.streamBatchSize = streamBatchSize;
+  }
 }
@@ -13,9 +13,12 @@
 
 package org.activiti.rest.common.api;
 
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
 /**
  * @author Tijs Rademakers
  */
+@JsonPropertyOrder({ "data", "total", "start", "sort", "order", "size", "hasMore" })
 public class DataResponse {
 
   Object data;
@@ -24,6 +27,7 @@ public class DataResponse {
   String sort;
   String order;
   int size;
+  boolean hasMore;
 
   public Object getData() {
     return data;
@@ -34,6 +38,9 @@ public class DataResponse {
     return this;
   }
 
+  /**
+   * The total number of results, or -1 when the total was not counted (request parameter includeTotal=false).
+   */
   public long getTotal() {
     return total;
   }
@@ -73,4 +80,15 @@ public class DataResponse {
   public void setSize(int size) {
     this.size = size;
   }
+
+  /**
+   * True when there are results after this page.
+   */
+  public boolean isHasMore() {
+    return hasMore;
+  }
+
+  public void setHasMore(boolean hasMore) {
+    this.hasMore = hasMore;
+  }
 }
@@ -29,6 +29,10 @@ public class PaginateRequest {
 
   protected String order;
 
+  protected Boolean includeTotal;
+
+  protected Boolean stream;
+
   public Integer getStart() {
     return start;
   }
@@ -60,4 +64,20 @@ public class PaginateRequest {
   public void setOrder(String order) {
     this.order = order;
   }
+
+  public Boolean getIncludeTotal() {
+    return includeTotal;
+  }
+
+  public void setIncludeTotal(Boolean includeTotal) {
+    this.includeTotal = includeTotal;
+  }
+
+  public Boolean getStream() {
+    return stream;
+  }
+
+  public void setStream(Boolean stream) {
+    this.stream = stream;
+  }
 }
@@ -0,0 +1,203 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.rest.common.api;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.activiti.engine.impl.AbstractQuery;
+import org.activiti.engine.impl.persistence.entity.Entity;
+import org.activiti.engine.query.Query;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * A {@link DataResponse} of which the data is fetched from the query while the response is written,
+ * in batches of a fixed size. Every result is written to the response as soon as it is converted, so the memory used
+ * doesn't depend on the requested page size (see the 'stream' pagination parameter of {@link AbstractPaginateList}).
+ *
+ * The first batch is fetched when the response is created, so errors of the query are known before anything is written.
+ * When a total is asked for, the results are counted up front as well. Otherwise no count query is executed: like
+ * {@link AbstractPaginateList}, one result more than requested is fetched to know if there is a next page, so the size and
+ * the hasMore flag are only final once the data is written (they are written after the data). When the query is ordered by id and supports it
+ * (see {@link AbstractQuery#idAfter(String)}), the next batches start after the id of the last result instead of at an offset.
+ * Otherwise, rows inserted or deleted while the response is written can shift the batches.
+ *
+ * A failure after the first batch can't change the status of the response anymore. The data array is then left unterminated,
+ * so clients see an invalid response instead of a shorter list. The data can only be iterated once.
+ */
+public class StreamingDataResponse extends DataResponse {
+
+  public static final int DEFAULT_BATCH_SIZE = 500;
+
+  @SuppressWarnings("rawtypes")
+  public StreamingDataResponse(AbstractPaginateList paginateList, Query query, int start, int maxResults, int batchSize, boolean includeTotal) {
+    setStart(start);
+
+    final StreamingIterator iterator;
+    if (includeTotal) {
+      long total = query.count();
+      int size = (int) Math.max(0L, Math.min((long) maxResults, total - start));
+      setTotal(total);
+      setSize(size);
+      setHasMore(start + size < total);
+      iterator = new StreamingIterator(paginateList, query, start, size, batchSize, null);
+
+    } else {
+      setTotal(-1);
+      iterator = new StreamingIterator(paginateList, query, start, maxResults, batchSize, this);
+    }
+
+    setData(new Iterable<Object>() {
+
+      public Iterator<Object> iterator() {
+        return iterator;
+      }
+    });
+  }
+
+  @Override
+  @JsonSerialize(using = StreamingDataSerializer.class)
+  public Object getData() {
+    return super.getData();
+  }
+
+  @SuppressWarnings("rawtypes")
+  protected static class StreamingIterator implements Iterator<Object> {
+
+    protected AbstractPaginateList paginateList;
+    protected Query query;
+    protected int start;
+    protected int size;
+    protected int batchSize;
+    protected boolean keysetPaging;
+
+    // Set when the results are not counted: the size and hasMore flag of the response follow the fetched results
+    protected DataResponse uncountedResponse;
+    protected int fetchLimit;
+
+    protected List batch = Collections.EMPTY_LIST;
+    protected int batchIndex;
+    protected int fetchedResults;
+    protected boolean exhausted;
+
+    public StreamingIterator(AbstractPaginateList paginateList, Query query, int start, int size, int batchSize, DataResponse uncountedResponse) {
+      this.paginateList = paginateList;
+      this.query = query;
+      this.start = start;
+      this.size = size;
+      this.batchSize = batchSize;
+      this.uncountedResponse = uncountedResponse;
+      this.fetchLimit = uncountedResponse != null && size < Integer.MAX_VALUE ? size + 1 : size;
+
+      if (query instanceof AbstractQuery) {
+        AbstractQuery abstractQuery = (AbstractQuery) query;
+        keysetPaging = abstractQuery.isIdAfterSupported() && abstractQuery.isOrderedById();
+      }
+
+      // The first batch is fetched right away, so query errors are thrown before the response is written
+      fetchNextBatch();
+    }
+
+    public boolean hasNext() {
+      while (batchIndex >= batch.size() && !exhausted) {
+        fetchNextBatch();
+      }
+      return batchIndex < batch.size();
+    }
+
+    public Object next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return batch.get(batchIndex++);
+    }
+
+    protected void fetchNextBatch() {
+      int remainingResults = fetchLimit - fetchedResults;
+      if (remainingResults <= 0) {
+        exhausted = true;
+        batch = Collections.EMPTY_LIST;
+        return;
+      }
+
+      int batchResults = Math.min(batchSize, remainingResults);
+      List results = null;
+      if (fetchedResults > 0 && keysetPaging) {
+        results = query.listPage(0, batchResults);
+      } else {
+        results = query.listPage(start + fetchedResults, batchResults);
+      }
+
+      // Fewer results than requested: no more results (or results were deleted after they were counted)
+      if (results.size() < batchResults || results.size() == remainingResults) {
+        exhausted = true;
+      }
+
+      if (keysetPaging && !results.isEmpty()) {
+        Object lastResult = results.get(results.size() - 1);
+        if (lastResult instanceof Entity) {
+          ((AbstractQuery) query).idAfter(((Entity) lastResult).getId());
+        } else {
+          keysetPaging = false;
+        }
+      }
+
+      fetchedResults += results.size();
+      if (fetchedResults > size) {
+        // The extra result only tells that there is a next page
+        results = results.subList(0, results.size() - (fetchedResults - size));
+      }
+      if (uncountedResponse != null) {
+        uncountedResponse.setSize(Math.min(fetchedResults, size));
+        uncountedResponse.setHasMore(fetchedResults > size);
+      }
+
+      batch = paginateList.processList(results);
+      batchIndex = 0;
+    }
+
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  /**
+   * Writes the results as a json array while they are fetched.
+   */
+  public static class StreamingDataSerializer extends JsonSerializer<Object> {
+
+    @Override
+    public void serialize(Object value, JsonGenerator generator, SerializerProvider serializerProvider) throws IOException {
+      generator.writeStartArray();
+      try {
+        for (Object result : (Iterable<?>) value) {
+          serializerProvider.defaultSerializeValue(result, generator);
+        }
+      } catch (IOException | RuntimeException e) {
+        // The response is committed, so the status can't tell the client anymore. Without closing the open json
+        // array and object (which the generator does by default when it is closed), the response can't be parsed.
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        throw e;
+      }
+      generator.writeEndArray();
+    }
+  }
+
+}
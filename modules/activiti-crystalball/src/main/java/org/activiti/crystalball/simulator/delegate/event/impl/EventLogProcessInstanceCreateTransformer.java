@@ -59,6 +59,9 @@ public class EventLogProcessInstanceCreateTransformer extends EventLog2Simulatio
       Map<String, Object> variableMap = (Map<String, Object>) data.get(Fields.VARIABLES);
       String businessKeyValue = (String) data.get(Fields.BUSINESS_KEY);
       String processInstanceId = (String) data.get(Fields.PROCESS_INSTANCE_ID);
+      if (processInstanceId == null) {
+        processInstanceId = event.getProcessInstanceId();
+      }
 
       Map<String, Object> simEventProperties = new HashMap<String, Object>();
       simEventProperties.put(processDefinitionIdKey, processDefinitionId);
@@ -0,0 +1,52 @@
+package org.activiti.crystalball.simulator.delegate.event.impl;
+
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.activiti.crystalball.simulator.SimulationEvent;
+import org.activiti.crystalball.simulator.delegate.event.Function;
+import org.activiti.engine.event.EventLogEntry;
+
+/**
+ * This class transforms event log events into simulation events which keep the time stamp of the log entry as simulation time,
+ * so that the recorded load can be replayed with the original (or an accelerated) timing.
+ */
+public class TimedEventLogTransformer extends EventLogTransformer {
+
+  public TimedEventLogTransformer(List<Function<EventLogEntry, SimulationEvent>> transformers) {
+    super(transformers);
+  }
+
+  @Override
+  protected Collection<SimulationEvent> transformEntry(EventLogEntry event) {
+    Collection<SimulationEvent> simEvents = super.transformEntry(event);
+    if (event.getTimeStamp() == null) {
+      return simEvents;
+    }
+
+    List<SimulationEvent> timedEvents = new ArrayList<SimulationEvent>(simEvents.size());
+    for (SimulationEvent simEvent : simEvents) {
+      timedEvents.add(new SimulationEvent.Builder(simEvent.getType())
+          .simulationTime(event.getTimeStamp().getTime())
+          .priority(simEvent.getPriority())
+          .properties(simEvent.getProperties())
+          .build());
+    }
+    return timedEvents;
+  }
+
+}
@@ -0,0 +1,66 @@
+package org.activiti.crystalball.simulator.impl;
+
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.Map;
+
+import org.activiti.crystalball.simulator.CrystalballException;
+import org.activiti.crystalball.simulator.SimulationEvent;
+import org.activiti.crystalball.simulator.SimulationEventHandler;
+import org.activiti.crystalball.simulator.SimulationRunContext;
+import org.activiti.engine.task.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Completes the task with the given task definition key of the process instance with the given business key
+ */
+public class CompleteTaskEventHandler implements SimulationEventHandler {
+
+  private static Logger log = LoggerFactory.getLogger(CompleteTaskEventHandler.class);
+
+  protected String businessKey;
+  protected String taskDefinitionKey;
+  protected String variablesKey;
+
+  public CompleteTaskEventHandler(String businessKey, String taskDefinitionKey, String variablesKey) {
+    this.businessKey = businessKey;
+    this.taskDefinitionKey = taskDefinitionKey;
+    this.variablesKey = variablesKey;
+  }
+
+  @Override
+  public void init() {
+  }
+
+  @Override
+  public void handle(SimulationEvent event) {
+    String businessKeyValue = (String) event.getProperty(businessKey);
+    String taskDefinitionKeyValue = (String) event.getProperty(taskDefinitionKey);
+    @SuppressWarnings("unchecked")
+    Map<String, Object> variables = (Map<String, Object>) event.getProperty(variablesKey);
+
+    Task task = SimulationRunContext.getTaskService().createTaskQuery()
+        .processInstanceBusinessKey(businessKeyValue)
+        .taskDefinitionKey(taskDefinitionKeyValue)
+        .singleResult();
+    if (task == null) {
+      throw new CrystalballException("No task " + taskDefinitionKeyValue + " found for business key " + businessKeyValue);
+    }
+
+    log.debug("Completing task[{}] with variables[{}]", task, variables);
+    SimulationRunContext.getTaskService().complete(task.getId(), variables);
+  }
+
+}
@@ -0,0 +1,64 @@
+package org.activiti.crystalball.simulator.impl;
+
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import org.activiti.crystalball.simulator.SimulationEvent;
+import org.activiti.crystalball.simulator.SimulationEventHandler;
+import org.activiti.crystalball.simulator.SimulationRunContext;
+import org.activiti.engine.RuntimeService;
+import org.activiti.engine.runtime.Execution;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends a signal. When the event has a business key, only the executions of that process instance waiting for the signal receive it,
+ * otherwise the signal is thrown globally.
+ */
+public class SignalEventHandler implements SimulationEventHandler {
+
+  private static Logger log = LoggerFactory.getLogger(SignalEventHandler.class);
+
+  protected String signalNameKey;
+  protected String businessKey;
+
+  public SignalEventHandler(String signalNameKey, String businessKey) {
+    this.signalNameKey = signalNameKey;
+    this.businessKey = businessKey;
+  }
+
+  @Override
+  public void init() {
+  }
+
+  @Override
+  public void handle(SimulationEvent event) {
+    String signalName = (String) event.getProperty(signalNameKey);
+    String businessKeyValue = (String) event.getProperty(businessKey);
+    RuntimeService runtimeService = SimulationRunContext.getRuntimeService();
+
+    if (businessKeyValue == null) {
+      log.debug("Throwing signal[{}]", signalName);
+      runtimeService.signalEventReceived(signalName);
+    } else {
+      for (Execution execution : runtimeService.createExecutionQuery()
+          .processInstanceBusinessKey(businessKeyValue, true)
+          .signalEventSubscriptionName(signalName)
+          .list()) {
+        log.debug("Signalling execution[{}] with signal[{}]", execution.getId(), signalName);
+        runtimeService.signalEventReceived(signalName, execution.getId());
+      }
+    }
+  }
+
+}
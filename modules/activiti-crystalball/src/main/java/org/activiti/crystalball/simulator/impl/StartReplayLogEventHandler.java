@@ -19,6 +19,7 @@ import java.util.Map;
 import org.activiti.crystalball.simulator.SimulationEvent;
 import org.activiti.crystalball.simulator.SimulationEventHandler;
 import org.activiti.crystalball.simulator.SimulationRunContext;
+import org.activiti.crystalball.simulator.delegate.event.impl.EventLogProcessInstanceCreateTransformer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -63,7 +64,9 @@ public class StartReplayLogEventHandler implements SimulationEventHandler {
     if (processVariables != null) {
       variables.putAll(processVariables);
     }
-    variables.put(PROCESS_INSTANCE_ID, processInstanceId);
+    // replays of a recorded event log contain many process instances, each start event knows its original process instance
+    String originalProcessInstanceId = (String) event.getProperty(EventLogProcessInstanceCreateTransformer.PROCESS_INSTANCE_ID);
+    variables.put(PROCESS_INSTANCE_ID, originalProcessInstanceId != null ? originalProcessInstanceId : processInstanceId);
     variables.put(SIMULATION_RUN_ID, SimulationRunContext.getSimulationRunId());
 
     String startBusinessKey = null;
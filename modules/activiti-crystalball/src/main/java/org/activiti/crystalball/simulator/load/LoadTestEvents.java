@@ -0,0 +1,96 @@
+package org.activiti.crystalball.simulator.load;
+
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.activiti.crystalball.simulator.SimulationEvent;
+import org.activiti.crystalball.simulator.SimulationEventHandler;
+import org.activiti.crystalball.simulator.impl.ClaimTaskEventHandler;
+import org.activiti.crystalball.simulator.impl.CompleteTaskEventHandler;
+import org.activiti.crystalball.simulator.impl.SignalEventHandler;
+import org.activiti.crystalball.simulator.impl.StartProcessByKeyEventHandler;
+
+/**
+ * Event types, properties and handlers of synthetic load test workloads, where virtual users start process instances,
+ * claim and complete their tasks and send signals. Process instances are identified by their business key.
+ */
+public class LoadTestEvents {
+
+  public static final String START_PROCESS_INSTANCE = "START_PROCESS_INSTANCE";
+  public static final String CLAIM_TASK = "CLAIM_TASK";
+  public static final String COMPLETE_TASK = "COMPLETE_TASK";
+  public static final String SIGNAL = "SIGNAL";
+
+  public static final String PROCESS_DEFINITION_KEY = "processDefinitionKey";
+  public static final String BUSINESS_KEY = LoadTestRun.BUSINESS_KEY;
+  public static final String VARIABLES = "variables";
+  public static final String TASK_DEFINITION_KEY = "taskDefinitionKey";
+  public static final String USER_ID = "userId";
+  public static final String SIGNAL_NAME = "signalName";
+
+  public static Map<String, SimulationEventHandler> getEventHandlers() {
+    Map<String, SimulationEventHandler> handlers = new HashMap<String, SimulationEventHandler>();
+    handlers.put(START_PROCESS_INSTANCE, new StartProcessByKeyEventHandler(PROCESS_DEFINITION_KEY, BUSINESS_KEY, VARIABLES));
+    handlers.put(CLAIM_TASK, new ClaimTaskEventHandler(BUSINESS_KEY, TASK_DEFINITION_KEY, USER_ID));
+    handlers.put(COMPLETE_TASK, new CompleteTaskEventHandler(BUSINESS_KEY, TASK_DEFINITION_KEY, VARIABLES));
+    handlers.put(SIGNAL, new SignalEventHandler(SIGNAL_NAME, BUSINESS_KEY));
+    return handlers;
+  }
+
+  /**
+   * Creates a workload where a new process instance arrives every arrival interval, and its user task is claimed and completed
+   * after the think time each.
+   */
+  public static List<SimulationEvent> userTaskWorkload(String processDefinitionKey, String taskDefinitionKey, int processInstances,
+      long arrivalIntervalInMillis, long thinkTimeInMillis) {
+
+    List<SimulationEvent> events = new ArrayList<SimulationEvent>();
+    for (int i = 0; i < processInstances; i++) {
+      String businessKey = "load-" + i;
+      long startTime = i * arrivalIntervalInMillis;
+
+      Map<String, Object> startProperties = new HashMap<String, Object>();
+      startProperties.put(PROCESS_DEFINITION_KEY, processDefinitionKey);
+      startProperties.put(BUSINESS_KEY, businessKey);
+      events.add(new SimulationEvent.Builder(START_PROCESS_INSTANCE).simulationTime(startTime).priority(3 * i).properties(startProperties).build());
+
+      Map<String, Object> claimProperties = new HashMap<String, Object>();
+      claimProperties.put(BUSINESS_KEY, businessKey);
+      claimProperties.put(TASK_DEFINITION_KEY, taskDefinitionKey);
+      claimProperties.put(USER_ID, "user" + (i % 10));
+      events.add(new SimulationEvent.Builder(CLAIM_TASK).simulationTime(startTime + thinkTimeInMillis).priority(3 * i + 1).properties(claimProperties).build());
+
+      Map<String, Object> completeProperties = new HashMap<String, Object>();
+      completeProperties.put(BUSINESS_KEY, businessKey);
+      completeProperties.put(TASK_DEFINITION_KEY, taskDefinitionKey);
+      events.add(new SimulationEvent.Builder(COMPLETE_TASK).simulationTime(startTime + 2 * thinkTimeInMillis).priority(3 * i + 2).properties(completeProperties).build());
+    }
+    return events;
+  }
+
+  /**
+   * Creates a signal event, for the process instance with the given business key only when it is not null.
+   */
+  public static SimulationEvent signal(String signalName, String businessKey, long simulationTime) {
+    Map<String, Object> properties = new HashMap<String, Object>();
+    properties.put(SIGNAL_NAME, signalName);
+    properties.put(BUSINESS_KEY, businessKey);
+    return new SimulationEvent.Builder(SIGNAL).simulationTime(simulationTime).properties(properties).build();
+  }
+
+}
@@ -0,0 +1,151 @@
+package org.activiti.crystalball.simulator.load;
+
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.activiti.engine.impl.metrics.LatencyHistogram;
+
+/**
+ * Latencies, failures and throughput per operation (simulation event type) of a {@link LoadTestRun}.
+ * Percentiles are estimated by the buckets of the {@link LatencyHistogram}.
+ */
+public class LoadTestResult {
+
+  protected Map<String, LatencyHistogram> latencies = new TreeMap<String, LatencyHistogram>();
+  protected Map<String, Long> failures = new TreeMap<String, Long>();
+  protected LatencyHistogram schedulingDelays = new LatencyHistogram();
+  protected long durationInMillis;
+  protected boolean asyncJobsCompleted = true;
+
+  public synchronized void recordSuccess(String operation, long latencyInNanos) {
+    getOrCreateLatencies(operation).record(latencyInNanos);
+  }
+
+  public synchronized void recordFailure(String operation, long latencyInNanos) {
+    getOrCreateLatencies(operation).record(latencyInNanos);
+    Long count = failures.get(operation);
+    failures.put(operation, count != null ? count + 1 : 1L);
+  }
+
+  /**
+   * Records how late an operation started compared to its scheduled time, which grows when the virtual users can't keep up.
+   */
+  public void recordSchedulingDelay(long delayInNanos) {
+    schedulingDelays.record(delayInNanos);
+  }
+
+  protected LatencyHistogram getOrCreateLatencies(String operation) {
+    LatencyHistogram histogram = latencies.get(operation);
+    if (histogram == null) {
+      histogram = new LatencyHistogram();
+      latencies.put(operation, histogram);
+    }
+    return histogram;
+  }
+
+  public synchronized Set<String> getOperations() {
+    return new TreeSet<String>(latencies.keySet());
+  }
+
+  /**
+   * @return the latencies of the given operation, including the failed ones, or null when the operation was never executed.
+   */
+  public synchronized LatencyHistogram getLatencies(String operation) {
+    return latencies.get(operation);
+  }
+
+  public synchronized long getCount(String operation) {
+    LatencyHistogram histogram = latencies.get(operation);
+    return histogram != null ? histogram.getCount() : 0;
+  }
+
+  public synchronized long getFailureCount(String operation) {
+    Long count = failures.get(operation);
+    return count != null ? count : 0;
+  }
+
+  public synchronized long getTotalCount() {
+    long count = 0;
+    for (LatencyHistogram histogram : latencies.values()) {
+      count += histogram.getCount();
+    }
+    return count;
+  }
+
+  public synchronized long getTotalFailureCount() {
+    long count = 0;
+    for (Long failureCount : failures.values()) {
+      count += failureCount;
+    }
+    return count;
+  }
+
+  /**
+   * @return executed operations per second over the whole run.
+   */
+  public double getThroughput(String operation) {
+    return getThroughput(getCount(operation));
+  }
+
+  public double getTotalThroughput() {
+    return getThroughput(getTotalCount());
+  }
+
+  protected double getThroughput(long count) {
+    return durationInMillis > 0 ? count * 1000.0 / durationInMillis : 0;
+  }
+
+  public LatencyHistogram getSchedulingDelays() {
+    return schedulingDelays;
+  }
+
+  public long getDurationInMillis() {
+    return durationInMillis;
+  }
+
+  public void setDurationInMillis(long durationInMillis) {
+    this.durationInMillis = durationInMillis;
+  }
+
+  /**
+   * @return false when the async executor did not execute all jobs before the timeout of the run.
+   */
+  public boolean isAsyncJobsCompleted() {
+    return asyncJobsCompleted;
+  }
+
+  public void setAsyncJobsCompleted(boolean asyncJobsCompleted) {
+    this.asyncJobsCompleted = asyncJobsCompleted;
+  }
+
+  @Override
+  public synchronized String toString() {
+    StringBuilder report = new StringBuilder();
+    report.append(String.format("%-30s %8s %8s %10s %8s %8s %8s %8s %10s%n", "operation", "count", "failed", "avg ms", "p50 ms", "p95 ms", "p99 ms", "max ms", "ops/s"));
+    for (Map.Entry<String, LatencyHistogram> entry : latencies.entrySet()) {
+      LatencyHistogram histogram = entry.getValue();
+      report.append(String.format("%-30s %8d %8d %10.2f %8d %8d %8d %8d %10.2f%n", entry.getKey(), histogram.getCount(), getFailureCount(entry.getKey()),
+          histogram.getAverageInMillis(), histogram.getPercentileInMillis(50), histogram.getPercentileInMillis(95), histogram.getPercentileInMillis(99),
+          histogram.getMaxInMillis(), getThroughput(histogram.getCount())));
+    }
+    report.append(String.format("total %d operations, %d failed, in %d ms (%.2f ops/s), scheduling delay p99 %d ms%s%n", getTotalCount(), getTotalFailureCount(),
+        durationInMillis, getTotalThroughput(), schedulingDelays.getPercentileInMillis(99), asyncJobsCompleted ? "" : ", async jobs not completed"));
+    return report.toString();
+  }
+
+}
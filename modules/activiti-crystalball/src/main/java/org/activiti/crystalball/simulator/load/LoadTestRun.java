@@ -0,0 +1,276 @@
+package org.activiti.crystalball.simulator.load;
+
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.activiti.crystalball.simulator.CrystalballException;
+import org.activiti.crystalball.simulator.SimulationEvent;
+import org.activiti.crystalball.simulator.SimulationEventComparator;
+import org.activiti.crystalball.simulator.SimulationEventHandler;
+import org.activiti.crystalball.simulator.SimulationRunContext;
+import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Drives a workload of simulation events against a real, running process engine with a number of concurrent virtual users.
+ *
+ * Contrary to the simulation runs, events are executed on the wall clock: an event is handed to a virtual user when its simulation time,
+ * relative to the first event and divided by the speed up, has passed (events without simulation time are executed immediately).
+ * Events with the same correlation property (the process instance id or business key by default) are always executed by the same virtual user,
+ * in calendar order, so a recorded event log can be replayed with many process instances in parallel.
+ *
+ * The engine is not touched otherwise: when it runs the async executor, the run can wait for the async jobs to be executed,
+ * see {@link #setAsyncJobsTimeoutInMillis(long)}.
+ */
+public class LoadTestRun {
+
+  private static Logger log = LoggerFactory.getLogger(LoadTestRun.class);
+
+  public static final String PROCESS_INSTANCE_ID = "processInstanceId";
+  public static final String BUSINESS_KEY = "businessKey";
+
+  protected final ProcessEngine processEngine;
+  protected final Map<String, SimulationEventHandler> eventHandlerMap = new HashMap<String, SimulationEventHandler>();
+
+  protected int virtualUsers = 10;
+  protected double speedUp = 1.0;
+  protected long asyncJobsTimeoutInMillis;
+  protected List<String> correlationProperties = new ArrayList<String>();
+
+  public LoadTestRun(ProcessEngine processEngine, Map<String, SimulationEventHandler> eventHandlers) {
+    this.processEngine = processEngine;
+    if (eventHandlers != null) {
+      this.eventHandlerMap.putAll(eventHandlers);
+    }
+    correlationProperties.add(PROCESS_INSTANCE_ID);
+    correlationProperties.add(BUSINESS_KEY);
+  }
+
+  public LoadTestResult run(Collection<SimulationEvent> events) {
+    List<SimulationEvent> calendar = new ArrayList<SimulationEvent>(events);
+    Collections.sort(calendar, new SimulationEventComparator());
+
+    for (SimulationEventHandler handler : eventHandlerMap.values()) {
+      handler.init();
+    }
+
+    LoadTestResult result = new LoadTestResult();
+    String simulationRunId = ((ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration()).getIdGenerator().getNextId();
+    ExecutorService[] users = createVirtualUsers(simulationRunId);
+
+    long startTime = System.nanoTime();
+    try {
+      Long firstSimulationTime = null;
+      int roundRobin = 0;
+      for (SimulationEvent event : calendar) {
+        long scheduledTime = startTime;
+        if (event.hasSimulationTime()) {
+          if (firstSimulationTime == null) {
+            firstSimulationTime = event.getSimulationTime();
+          }
+          scheduledTime = startTime + getDelayInNanos(event.getSimulationTime() - firstSimulationTime);
+          long sleepTime = scheduledTime - System.nanoTime();
+          if (sleepTime > 0) {
+            TimeUnit.NANOSECONDS.sleep(sleepTime);
+          }
+        }
+
+        Object correlationValue = getCorrelationValue(event);
+        int user = correlationValue != null ? (correlationValue.hashCode() & Integer.MAX_VALUE) % users.length : roundRobin++ % users.length;
+        users[user].execute(new VirtualUserOperation(event, scheduledTime, result));
+      }
+
+      shutdown(users);
+      result.setAsyncJobsCompleted(waitForAsyncJobs());
+
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CrystalballException("Load test run was interrupted", e);
+
+    } finally {
+      for (ExecutorService user : users) {
+        user.shutdownNow();
+      }
+    }
+
+    result.setDurationInMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+    log.info("Load test run {} finished:\n{}", simulationRunId, result);
+    return result;
+  }
+
+  protected ExecutorService[] createVirtualUsers(final String simulationRunId) {
+    ExecutorService[] users = new ExecutorService[virtualUsers];
+    for (int i = 0; i < virtualUsers; i++) {
+      final String name = "virtual-user-" + i;
+      users[i] = Executors.newSingleThreadExecutor(new ThreadFactory() {
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+          return new Thread(new Runnable() {
+
+            @Override
+            public void run() {
+              // the event handlers get the engine and the run from the simulation run context
+              SimulationRunContext.setProcessEngine(processEngine);
+              SimulationRunContext.setSimulationRunId(simulationRunId);
+              runnable.run();
+            }
+          }, name);
+        }
+      });
+    }
+    return users;
+  }
+
+  protected long getDelayInNanos(long simulationTimeInMillis) {
+    if (speedUp <= 0) {
+      return 0;
+    }
+    return (long) (TimeUnit.MILLISECONDS.toNanos(simulationTimeInMillis) / speedUp);
+  }
+
+  protected Object getCorrelationValue(SimulationEvent event) {
+    if (event.getProperties() == null) {
+      return null;
+    }
+    for (String correlationProperty : correlationProperties) {
+      Object value = event.getProperty(correlationProperty);
+      if (value != null) {
+        return value;
+      }
+    }
+    return null;
+  }
+
+  protected void shutdown(ExecutorService[] users) throws InterruptedException {
+    for (ExecutorService user : users) {
+      user.shutdown();
+    }
+    for (ExecutorService user : users) {
+      while (!user.awaitTermination(1, TimeUnit.SECONDS)) {
+        log.debug("Waiting for virtual users to finish");
+      }
+    }
+  }
+
+  protected boolean waitForAsyncJobs() throws InterruptedException {
+    if (asyncJobsTimeoutInMillis <= 0) {
+      return true;
+    }
+    long timeout = System.currentTimeMillis() + asyncJobsTimeoutInMillis;
+    while (processEngine.getManagementService().createJobQuery().count() > 0) {
+      if (System.currentTimeMillis() > timeout) {
+        log.warn("Async jobs were not executed within {} ms", asyncJobsTimeoutInMillis);
+        return false;
+      }
+      TimeUnit.MILLISECONDS.sleep(50L);
+    }
+    return true;
+  }
+
+  protected class VirtualUserOperation implements Runnable {
+
+    protected final SimulationEvent event;
+    protected final long scheduledTime;
+    protected final LoadTestResult result;
+
+    public VirtualUserOperation(SimulationEvent event, long scheduledTime, LoadTestResult result) {
+      this.event = event;
+      this.scheduledTime = scheduledTime;
+      this.result = result;
+    }
+
+    @Override
+    public void run() {
+      SimulationEventHandler handler = eventHandlerMap.get(event.getType());
+      if (handler == null) {
+        log.warn("Event type[{}] does not have any handler assigned.", event.getType());
+        return;
+      }
+
+      long start = System.nanoTime();
+      result.recordSchedulingDelay(Math.max(0, start - scheduledTime));
+      try {
+        handler.handle(event);
+        result.recordSuccess(event.getType(), System.nanoTime() - start);
+      } catch (RuntimeException e) {
+        result.recordFailure(event.getType(), System.nanoTime() - start);
+        log.warn("Handling event {} failed", event, e);
+      }
+    }
+  }
+
+  public int getVirtualUsers() {
+    return virtualUsers;
+  }
+
+  /**
+   * The number of concurrent virtual users, each of them executes its events one after the other.
+   */
+  public LoadTestRun setVirtualUsers(int virtualUsers) {
+    this.virtualUsers = virtualUsers;
+    return this;
+  }
+
+  public double getSpeedUp() {
+    return speedUp;
+  }
+
+  /**
+   * Accelerates (or slows down when smaller than 1) the simulation time of the events, 0 executes the events as fast as the virtual users can.
+   */
+  public LoadTestRun setSpeedUp(double speedUp) {
+    this.speedUp = speedUp;
+    return this;
+  }
+
+  public long getAsyncJobsTimeoutInMillis() {
+    return asyncJobsTimeoutInMillis;
+  }
+
+  /**
+   * When bigger than 0, the run waits at most this long for the async executor to execute all jobs after the last event,
+   * so the throughput includes the asynchronous work caused by the events.
+   */
+  public LoadTestRun setAsyncJobsTimeoutInMillis(long asyncJobsTimeoutInMillis) {
+    this.asyncJobsTimeoutInMillis = asyncJobsTimeoutInMillis;
+    return this;
+  }
+
+  public List<String> getCorrelationProperties() {
+    return correlationProperties;
+  }
+
+  /**
+   * The event properties (checked in order) whose value decides which virtual user executes an event.
+   */
+  public LoadTestRun setCorrelationProperties(List<String> correlationProperties) {
+    this.correlationProperties = correlationProperties;
+    return this;
+  }
+
+}
@@ -0,0 +1,150 @@
+package org.activiti.crystalball.simulator.load;
+
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.activiti.crystalball.simulator.SimulationEvent;
+import org.activiti.crystalball.simulator.SimulationEventHandler;
+import org.activiti.crystalball.simulator.delegate.event.Function;
+import org.activiti.crystalball.simulator.delegate.event.impl.EventLogProcessInstanceCreateTransformer;
+import org.activiti.crystalball.simulator.delegate.event.impl.EventLogUserTaskCompleteTransformer;
+import org.activiti.crystalball.simulator.delegate.event.impl.TimedEventLogTransformer;
+import org.activiti.crystalball.simulator.impl.StartReplayLogEventHandler;
+import org.activiti.crystalball.simulator.impl.replay.ReplayUserTaskCompleteEventHandler;
+import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.ProcessEngines;
+import org.activiti.engine.event.EventLogEntry;
+import org.activiti.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.activiti.engine.task.Task;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LoadTestRunTest {
+
+  private static final String USER_TASK_PROCESS = "org/activiti/crystalball/simulator/load/LoadTestRunTest.userTaskProcess.bpmn20.xml";
+
+  private static final String PROCESS_INSTANCE_START_EVENT_TYPE = "PROCESS_INSTANCE_START";
+  private static final String USER_TASK_COMPLETED_EVENT_TYPE = "USER_TASK_COMPLETED";
+
+  private ProcessEngine processEngine;
+
+  @Before
+  public void setUp() {
+    StandaloneInMemProcessEngineConfiguration configuration = new StandaloneInMemProcessEngineConfiguration();
+    configuration.setJdbcUrl("jdbc:h2:mem:activiti-load-test;DB_CLOSE_DELAY=1000");
+    configuration.setEnableDatabaseEventLogging(true);
+    configuration.setAsyncExecutorActivate(true);
+    configuration.setAsyncExecutorDefaultAsyncJobAcquireWaitTime(100);
+    processEngine = configuration.buildProcessEngine();
+    processEngine.getRepositoryService().createDeployment().addClasspathResource(USER_TASK_PROCESS).deploy();
+  }
+
+  @After
+  public void tearDown() {
+    processEngine.close();
+    ProcessEngines.destroy();
+  }
+
+  @Test
+  public void testUserTaskWorkload() {
+    List<SimulationEvent> events = LoadTestEvents.userTaskWorkload("userTaskProcess", "userTask", 20, 5, 10);
+
+    LoadTestResult result = new LoadTestRun(processEngine, LoadTestEvents.getEventHandlers())
+        .setVirtualUsers(4)
+        .setSpeedUp(2)
+        .setAsyncJobsTimeoutInMillis(10000)
+        .run(events);
+
+    assertEquals(0, result.getTotalFailureCount());
+    assertEquals(20, result.getCount(LoadTestEvents.START_PROCESS_INSTANCE));
+    assertEquals(20, result.getCount(LoadTestEvents.CLAIM_TASK));
+    assertEquals(20, result.getCount(LoadTestEvents.COMPLETE_TASK));
+    assertEquals(60, result.getTotalCount());
+    assertTrue(result.isAsyncJobsCompleted());
+    assertTrue(result.getThroughput(LoadTestEvents.START_PROCESS_INSTANCE) > 0);
+    assertTrue(result.getLatencies(LoadTestEvents.COMPLETE_TASK).getPercentileInMillis(99) >= 0);
+
+    // the async service task after the user task was executed by the async executor
+    assertEquals(0, processEngine.getRuntimeService().createProcessInstanceQuery().count());
+    assertEquals(20, processEngine.getHistoryService().createHistoricProcessInstanceQuery().finished().count());
+    assertEquals(20, processEngine.getHistoryService().createHistoricVariableInstanceQuery().variableName("processed").count());
+  }
+
+  @Test
+  public void testFailuresAreRecorded() {
+    List<SimulationEvent> events = LoadTestEvents.userTaskWorkload("userTaskProcess", "userTask", 3, 0, 0);
+    // claims a task which does not exist
+    events.add(LoadTestEvents.userTaskWorkload("userTaskProcess", "unknownTask", 1, 0, 0).get(1));
+
+    LoadTestResult result = new LoadTestRun(processEngine, LoadTestEvents.getEventHandlers())
+        .setSpeedUp(0)
+        .run(events);
+
+    assertEquals(1, result.getFailureCount(LoadTestEvents.CLAIM_TASK));
+    assertEquals(0, result.getFailureCount(LoadTestEvents.START_PROCESS_INSTANCE));
+    assertEquals(3, result.getCount(LoadTestEvents.START_PROCESS_INSTANCE));
+    assertEquals(4, result.getCount(LoadTestEvents.CLAIM_TASK));
+  }
+
+  @Test
+  public void testAcceleratedEventLogReplay() {
+    // record
+    for (int i = 0; i < 5; i++) {
+      processEngine.getRuntimeService().startProcessInstanceByKey("userTaskProcess", "recorded-" + i);
+    }
+    for (Task task : processEngine.getTaskService().createTaskQuery().list()) {
+      processEngine.getTaskService().complete(task.getId());
+    }
+    List<EventLogEntry> eventLogEntries = processEngine.getManagementService().getEventLogEntries(null, null);
+    List<SimulationEvent> events = new TimedEventLogTransformer(getTransformers()).transform(eventLogEntries);
+    assertEquals(10, events.size());
+    assertTrue(events.get(0).hasSimulationTime());
+
+    // replay
+    LoadTestResult result = new LoadTestRun(processEngine, getReplayHandlers())
+        .setVirtualUsers(3)
+        .setSpeedUp(10)
+        .setAsyncJobsTimeoutInMillis(10000)
+        .run(events);
+
+    assertEquals(0, result.getTotalFailureCount());
+    assertEquals(5, result.getCount(PROCESS_INSTANCE_START_EVENT_TYPE));
+    assertEquals(5, result.getCount(USER_TASK_COMPLETED_EVENT_TYPE));
+    assertEquals(0, processEngine.getRuntimeService().createProcessInstanceQuery().count());
+    assertEquals(10, processEngine.getHistoryService().createHistoricProcessInstanceQuery().finished().count());
+  }
+
+  private static List<Function<EventLogEntry, SimulationEvent>> getTransformers() {
+    List<Function<EventLogEntry, SimulationEvent>> transformers = new ArrayList<Function<EventLogEntry, SimulationEvent>>();
+    transformers.add(new EventLogProcessInstanceCreateTransformer(PROCESS_INSTANCE_START_EVENT_TYPE, "processDefinitionId", "businessKey", "variables"));
+    transformers.add(new EventLogUserTaskCompleteTransformer(USER_TASK_COMPLETED_EVENT_TYPE));
+    return transformers;
+  }
+
+  private static Map<String, SimulationEventHandler> getReplayHandlers() {
+    Map<String, SimulationEventHandler> handlers = new HashMap<String, SimulationEventHandler>();
+    handlers.put(PROCESS_INSTANCE_START_EVENT_TYPE, new StartReplayLogEventHandler(null, "processDefinitionId", "businessKey", "variables"));
+    handlers.put(USER_TASK_COMPLETED_EVENT_TYPE, new ReplayUserTaskCompleteEventHandler());
+    return handlers;
+  }
+
+}
@@ -20,6 +20,7 @@ import java.util.Map;
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandConfig;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.interceptor.CommandExecutor;
 import org.activiti.engine.query.NativeQuery;
@@ -46,6 +47,8 @@ public abstract class AbstractNativeQuery<T extends NativeQuery<?, ?>, U> implem
   protected int firstResult;
   protected ResultType resultType;
 
+  protected boolean readReplicaDisabled;
+
   private Map<String, Object> parameters = new HashMap<String, Object>();
   private String sqlStatement;
 
@@ -78,7 +81,7 @@ public abstract class AbstractNativeQuery<T extends NativeQuery<?, ?>, U> implem
   public U singleResult() {
     this.resultType = ResultType.SINGLE_RESULT;
     if (commandExecutor != null) {
-      return (U) commandExecutor.execute(this);
+      return (U) commandExecutor.execute(getCommandConfig(), this);
     }
     return executeSingleResult(Context.getCommandContext());
   }
@@ -87,7 +90,7 @@ public abstract class AbstractNativeQuery<T extends NativeQuery<?, ?>, U> implem
   public List<U> list() {
     this.resultType = ResultType.LIST;
     if (commandExecutor != null) {
-      return (List<U>) commandExecutor.execute(this);
+      return (List<U>) commandExecutor.execute(getCommandConfig(), this);
     }
     return executeList(Context.getCommandContext(), getParameterMap(), 0, Integer.MAX_VALUE);
   }
@@ -98,7 +101,7 @@ public abstract class AbstractNativeQuery<T extends NativeQuery<?, ?>, U> implem
     this.maxResults = maxResults;
     this.resultType = ResultType.LIST_PAGE;
     if (commandExecutor != null) {
-      return (List<U>) commandExecutor.execute(this);
+      return (List<U>) commandExecutor.execute(getCommandConfig(), this);
     }
     return executeList(Context.getCommandContext(), getParameterMap(), firstResult, maxResults);
   }
@@ -106,11 +109,29 @@ public abstract class AbstractNativeQuery<T extends NativeQuery<?, ?>, U> implem
   public long count() {
     this.resultType = ResultType.COUNT;
     if (commandExecutor != null) {
-      return (Long) commandExecutor.execute(this);
+      return (Long) commandExecutor.execute(getCommandConfig(), this);
     }
     return executeCount(Context.getCommandContext(), getParameterMap());
   }
 
+  /**
+   * Executes this query on the primary DataSource, even when a read replica DataSource is configured.
+   * Useful when the query needs to see changes that were just made.
+   */
+  @SuppressWarnings("unchecked")
+  public T disableReadReplica() {
+    this.readReplicaDisabled = true;
+    return (T) this;
+  }
+
+  /**
+   * Queries only select data, so they are executed as read-only commands (see {@link CommandConfig#readOnly()}),
+   * which can use the read replica DataSource.
+   */
+  protected CommandConfig getCommandConfig() {
+    return commandExecutor.getDefaultConfig().readOnly().setReadReplicaAllowed(!readReplicaDisabled);
+  }
+
   public Object execute(CommandContext commandContext) {
     if (resultType == ResultType.LIST) {
       return executeList(commandContext, getParameterMap(), 0, Integer.MAX_VALUE);
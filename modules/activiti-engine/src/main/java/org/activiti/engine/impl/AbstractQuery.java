@@ -22,6 +22,7 @@ import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.db.ListQueryParameterObject;
 import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandConfig;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.interceptor.CommandExecutor;
 import org.activiti.engine.query.Query;
@@ -60,6 +61,10 @@ public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryP
 
   protected NullHandlingOnOrder nullHandlingOnOrder;
 
+  protected boolean readReplicaDisabled;
+
+  protected String idAfter;
+
   protected AbstractQuery() {
     parameter = this;
   }
@@ -124,7 +129,7 @@ public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryP
   public U singleResult() {
     this.resultType = ResultType.SINGLE_RESULT;
     if (commandExecutor != null) {
-      return (U) commandExecutor.execute(this);
+      return (U) commandExecutor.execute(getCommandConfig(), this);
     }
     return executeSingleResult(Context.getCommandContext());
   }
@@ -133,7 +138,7 @@ public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryP
   public List<U> list() {
     this.resultType = ResultType.LIST;
     if (commandExecutor != null) {
-      return (List<U>) commandExecutor.execute(this);
+      return (List<U>) commandExecutor.execute(getCommandConfig(), this);
     }
     return executeList(Context.getCommandContext(), null);
   }
@@ -144,7 +149,7 @@ public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryP
     this.maxResults = maxResults;
     this.resultType = ResultType.LIST_PAGE;
     if (commandExecutor != null) {
-      return (List<U>) commandExecutor.execute(this);
+      return (List<U>) commandExecutor.execute(getCommandConfig(), this);
     }
     return executeList(Context.getCommandContext(), new Page(firstResult, maxResults));
   }
@@ -152,11 +157,62 @@ public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryP
   public long count() {
     this.resultType = ResultType.COUNT;
     if (commandExecutor != null) {
-      return (Long) commandExecutor.execute(this);
+      return (Long) commandExecutor.execute(getCommandConfig(), this);
     }
     return executeCount(Context.getCommandContext());
   }
 
+  /**
+   * Executes this query on the primary DataSource, even when a read replica DataSource is configured.
+   * Useful when the query needs to see changes that were just made.
+   */
+  @SuppressWarnings("unchecked")
+  public T disableReadReplica() {
+    this.readReplicaDisabled = true;
+    return (T) this;
+  }
+
+  /**
+   * Only returns the results with an id greater than the given id. Together with an order by id, this fetches the results after
+   * the last result of a previous page without an offset (keyset paging), so the page doesn't depend on how many results
+   * come before it. Only supported when {@link #isIdAfterSupported()} returns true.
+   */
+  @SuppressWarnings("unchecked")
+  public T idAfter(String idAfter) {
+    if (!isIdAfterSupported()) {
+      throw new ActivitiIllegalArgumentException(getClass().getName() + " doesn't support querying the results after an id");
+    }
+    this.idAfter = idAfter;
+    return (T) this;
+  }
+
+  /**
+   * Returns true when the query can be restricted with {@link #idAfter(String)}.
+   */
+  public boolean isIdAfterSupported() {
+    return false;
+  }
+
+  /**
+   * Returns true when the results are only ordered by their id, in ascending order, so {@link #idAfter(String)}
+   * continues where a previous page ended.
+   */
+  public boolean isOrderedById() {
+    return "RES.ID_ asc".equals(getOrderBy());
+  }
+
+  public String getIdAfter() {
+    return idAfter;
+  }
+
+  /**
+   * Queries only select data, so they are executed as read-only commands (see {@link CommandConfig#readOnly()}),
+   * which can use the read replica DataSource.
+   */
+  protected CommandConfig getCommandConfig() {
+    return commandExecutor.getDefaultConfig().readOnly().setReadReplicaAllowed(!readReplicaDisabled);
+  }
+
   public Object execute(CommandContext commandContext) {
     if (resultType == ResultType.LIST) {
       return executeList(commandContext, null);
@@ -367,6 +367,10 @@ public class ExecutionQueryImpl extends AbstractVariableQueryImpl<ExecutionQuery
 
   // results ////////////////////////////////////////////////////
 
+  public boolean isIdAfterSupported() {
+    return true;
+  }
+
   public long executeCount(CommandContext commandContext) {
     checkQueryOk();
     ensureVariablesInitialized();
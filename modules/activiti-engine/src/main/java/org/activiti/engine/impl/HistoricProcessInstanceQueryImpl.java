@@ -593,6 +593,15 @@ public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<
     return specialOrderBy;
   }
 
+  public boolean isIdAfterSupported() {
+    return true;
+  }
+
+  public boolean isOrderedById() {
+    // the id of a historic process instance is the process instance id
+    return super.isOrderedById() || "RES.PROC_INST_ID_ asc".equals(getOrderBy());
+  }
+
   public long executeCount(CommandContext commandContext) {
     checkQueryOk();
     ensureVariablesInitialized();
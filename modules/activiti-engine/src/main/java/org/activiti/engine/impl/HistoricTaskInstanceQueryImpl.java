@@ -108,6 +108,7 @@ public class HistoricTaskInstanceQueryImpl extends AbstractVariableQueryImpl<His
   protected boolean includeProcessVariables = false;
   protected Integer taskVariablesLimit;
   protected List<HistoricTaskInstanceQueryImpl> orQueryObjects = new ArrayList<HistoricTaskInstanceQueryImpl>();
+  protected transient List<String> cachedCandidateGroups;
   protected HistoricTaskInstanceQueryImpl currentOrQueryObject = null;
   protected boolean inOrStatement = false;
 
@@ -123,9 +124,15 @@ public class HistoricTaskInstanceQueryImpl extends AbstractVariableQueryImpl<His
     this.databaseType = databaseType;
   }
 
+  @Override
+  public boolean isIdAfterSupported() {
+    return true;
+  }
+
   @Override
   public long executeCount(CommandContext commandContext) {
     ensureVariablesInitialized();
+    resetCachedCandidateGroups();
     checkQueryOk();
     return commandContext.getHistoricTaskInstanceEntityManager().findHistoricTaskInstanceCountByQueryCriteria(this);
   }
@@ -133,6 +140,7 @@ public class HistoricTaskInstanceQueryImpl extends AbstractVariableQueryImpl<His
   @Override
   public List<HistoricTaskInstance> executeList(CommandContext commandContext, Page page) {
     ensureVariablesInitialized();
+    resetCachedCandidateGroups();
     checkQueryOk();
     List<HistoricTaskInstance> tasks = null;
     if (includeTaskLocalVariables || includeProcessVariables) {
@@ -1297,12 +1305,25 @@ public class HistoricTaskInstanceQueryImpl extends AbstractVariableQueryImpl<His
     // TODO: Discuss about removing this feature? Or document it properly
     // and maybe recommend to not use it
     // and explain alternatives
-    List<Group> groups = Context.getCommandContext().getGroupEntityManager().findGroupsByUser(candidateUser);
-    List<String> groupIds = new ArrayList<String>();
-    for (Group group : groups) {
-      groupIds.add(group.getId());
+
+    // The candidate groups are needed several times while the query statement is built,
+    // so they are only fetched once per execution of the query
+    if (cachedCandidateGroups == null) {
+      List<Group> groups = Context.getCommandContext().getGroupEntityManager().findGroupsByUser(candidateUser);
+      List<String> groupIds = new ArrayList<String>();
+      for (Group group : groups) {
+        groupIds.add(group.getId());
+      }
+      cachedCandidateGroups = groupIds;
+    }
+    return cachedCandidateGroups;
+  }
+
+  protected void resetCachedCandidateGroups() {
+    cachedCandidateGroups = null;
+    for (HistoricTaskInstanceQueryImpl orQueryObject : orQueryObjects) {
+      orQueryObject.resetCachedCandidateGroups();
     }
-    return groupIds;
   }
 
   // getters and setters
@@ -75,7 +75,7 @@ public class ProcessInstanceHistoryLogQueryImpl implements ProcessInstanceHistor
 
   @Override
   public ProcessInstanceHistoryLog singleResult() {
-    return commandExecutor.execute(this);
+    return commandExecutor.execute(commandExecutor.getDefaultConfig().readOnly().setReadReplicaAllowed(true), this);
   }
 
   @Override
@@ -629,6 +629,10 @@ public class ProcessInstanceQueryImpl extends AbstractVariableQueryImpl<ProcessI
   
   // results /////////////////////////////////////////////////////////////////
 
+  public boolean isIdAfterSupported() {
+    return true;
+  }
+
   public long executeCount(CommandContext commandContext) {
     checkQueryOk();
     ensureVariablesInitialized();
@@ -147,7 +147,7 @@ public class RepositoryServiceImpl extends ServiceImpl implements RepositoryServ
   }
 
   public BpmnModel getBpmnModel(String processDefinitionId) {
-    return commandExecutor.execute(new GetBpmnModelCmd(processDefinitionId));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetBpmnModelCmd(processDefinitionId));
   }
 
   public ProcessDefinition getDeployedProcessDefinition(String processDefinitionId) {
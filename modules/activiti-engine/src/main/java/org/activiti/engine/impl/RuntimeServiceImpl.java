@@ -147,47 +147,47 @@ public class RuntimeServiceImpl extends ServiceImpl implements RuntimeService {
   }
 
   public Map<String, Object> getVariables(String executionId) {
-    return commandExecutor.execute(new GetExecutionVariablesCmd(executionId, null, false));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetExecutionVariablesCmd(executionId, null, false));
   }
 
   public Map<String, VariableInstance> getVariableInstances(String executionId) {
-    return commandExecutor.execute(new GetExecutionVariableInstancesCmd(executionId, null, false));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetExecutionVariableInstancesCmd(executionId, null, false));
   }
   
   public List<VariableInstance> getVariableInstancesByExecutionIds(Set<String> executionIds) {
-    return commandExecutor.execute(new GetExecutionsVariablesCmd(executionIds));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetExecutionsVariablesCmd(executionIds));
   }
 
   public Map<String, Object> getVariablesLocal(String executionId) {
-    return commandExecutor.execute(new GetExecutionVariablesCmd(executionId, null, true));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetExecutionVariablesCmd(executionId, null, true));
   }
   
   public Map<String, VariableInstance> getVariableInstancesLocal(String executionId) {
-    return commandExecutor.execute(new GetExecutionVariableInstancesCmd(executionId, null, true));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetExecutionVariableInstancesCmd(executionId, null, true));
   }
 
   public Map<String, Object> getVariables(String executionId, Collection<String> variableNames) {
-    return commandExecutor.execute(new GetExecutionVariablesCmd(executionId, variableNames, false));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetExecutionVariablesCmd(executionId, variableNames, false));
   }
   
   public Map<String, VariableInstance> getVariableInstances(String executionId, Collection<String> variableNames) {
-    return commandExecutor.execute(new GetExecutionVariableInstancesCmd(executionId, variableNames, false));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetExecutionVariableInstancesCmd(executionId, variableNames, false));
   }
 
   public Map<String, Object> getVariablesLocal(String executionId, Collection<String> variableNames) {
-    return commandExecutor.execute(new GetExecutionVariablesCmd(executionId, variableNames, true));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetExecutionVariablesCmd(executionId, variableNames, true));
   }
   
   public Map<String, VariableInstance> getVariableInstancesLocal(String executionId, Collection<String> variableNames) {
-    return commandExecutor.execute(new GetExecutionVariableInstancesCmd(executionId, variableNames, true));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetExecutionVariableInstancesCmd(executionId, variableNames, true));
   }
 
   public Object getVariable(String executionId, String variableName) {
-    return commandExecutor.execute(new GetExecutionVariableCmd(executionId, variableName, false));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetExecutionVariableCmd(executionId, variableName, false));
   }
   
   public VariableInstance getVariableInstance(String executionId, String variableName) {
-    return commandExecutor.execute(new GetExecutionVariableInstanceCmd(executionId, variableName, false));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetExecutionVariableInstanceCmd(executionId, variableName, false));
   }
 
   public <T> T getVariable(String executionId, String variableName, Class<T> variableClass) {
@@ -199,11 +199,11 @@ public class RuntimeServiceImpl extends ServiceImpl implements RuntimeService {
   }
 
   public Object getVariableLocal(String executionId, String variableName) {
-    return commandExecutor.execute(new GetExecutionVariableCmd(executionId, variableName, true));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetExecutionVariableCmd(executionId, variableName, true));
   }
   
   public VariableInstance getVariableInstanceLocal(String executionId, String variableName) {
-    return commandExecutor.execute(new GetExecutionVariableInstanceCmd(executionId, variableName, true));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetExecutionVariableInstanceCmd(executionId, variableName, true));
   }
 
   public <T> T getVariableLocal(String executionId, String variableName, Class<T> variableClass) {
@@ -262,62 +262,62 @@ public class RuntimeServiceImpl extends ServiceImpl implements RuntimeService {
   
   @Override
   public Map<String, DataObject> getDataObjects(String executionId) {
-    return commandExecutor.execute(new GetDataObjectsCmd(executionId, null, false));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetDataObjectsCmd(executionId, null, false));
   }
 
   @Override
   public Map<String, DataObject> getDataObjects(String executionId, String locale, boolean withLocalizationFallback) {
-    return commandExecutor.execute(new GetDataObjectsCmd(executionId, null, false, locale, withLocalizationFallback));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetDataObjectsCmd(executionId, null, false, locale, withLocalizationFallback));
   }
 
   @Override
   public Map<String, DataObject> getDataObjectsLocal(String executionId) {
-    return commandExecutor.execute(new GetDataObjectsCmd(executionId, null, true));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetDataObjectsCmd(executionId, null, true));
   }
 
   @Override
   public Map<String, DataObject> getDataObjectsLocal(String executionId, String locale, boolean withLocalizationFallback) {
-    return commandExecutor.execute(new GetDataObjectsCmd(executionId, null, true, locale, withLocalizationFallback));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetDataObjectsCmd(executionId, null, true, locale, withLocalizationFallback));
   }
 
   @Override
   public Map<String, DataObject> getDataObjects(String executionId, Collection<String> dataObjectNames) {
-    return commandExecutor.execute(new GetDataObjectsCmd(executionId, dataObjectNames, false));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetDataObjectsCmd(executionId, dataObjectNames, false));
   }
 
   @Override
   public Map<String, DataObject> getDataObjects(String executionId, Collection<String> dataObjectNames, String locale, boolean withLocalizationFallback) {
-    return commandExecutor.execute(new GetDataObjectsCmd(executionId, dataObjectNames, false, locale, withLocalizationFallback));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetDataObjectsCmd(executionId, dataObjectNames, false, locale, withLocalizationFallback));
   }
 
   @Override
   public Map<String, DataObject> getDataObjectsLocal(String executionId, Collection<String> dataObjects) {
-    return commandExecutor.execute(new GetDataObjectsCmd(executionId, dataObjects, true));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetDataObjectsCmd(executionId, dataObjects, true));
   }
 
   @Override
   public Map<String, DataObject> getDataObjectsLocal(String executionId, Collection<String> dataObjectNames, String locale, boolean withLocalizationFallback) {
-    return commandExecutor.execute(new GetDataObjectsCmd(executionId, dataObjectNames, true, locale, withLocalizationFallback));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetDataObjectsCmd(executionId, dataObjectNames, true, locale, withLocalizationFallback));
   }
 
   @Override
   public DataObject getDataObject(String executionId, String dataObject) {
-    return commandExecutor.execute(new GetDataObjectCmd(executionId, dataObject, false));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetDataObjectCmd(executionId, dataObject, false));
   }
 
   @Override
   public DataObject getDataObject(String executionId, String dataObjectName, String locale, boolean withLocalizationFallback) {
-    return commandExecutor.execute(new GetDataObjectCmd(executionId, dataObjectName, false, locale, withLocalizationFallback));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetDataObjectCmd(executionId, dataObjectName, false, locale, withLocalizationFallback));
   }
 
   @Override
   public DataObject getDataObjectLocal(String executionId, String dataObjectName) {
-    return commandExecutor.execute(new GetDataObjectCmd(executionId, dataObjectName, true));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetDataObjectCmd(executionId, dataObjectName, true));
   }
 
   @Override
   public DataObject getDataObjectLocal(String executionId, String dataObjectName, String locale, boolean withLocalizationFallback) {
-    return commandExecutor.execute(new GetDataObjectCmd(executionId, dataObjectName, true, locale, withLocalizationFallback));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetDataObjectCmd(executionId, dataObjectName, true, locale, withLocalizationFallback));
   }
 
   public void signal(String executionId) {
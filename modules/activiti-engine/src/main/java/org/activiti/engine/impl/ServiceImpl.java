@@ -13,6 +13,7 @@
 package org.activiti.engine.impl;
 
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.interceptor.CommandConfig;
 import org.activiti.engine.impl.interceptor.CommandExecutor;
 
 /**
@@ -33,6 +34,13 @@ public class ServiceImpl {
 
   protected CommandExecutor commandExecutor;
 
+  /**
+   * @return the config for commands that only select data, see {@link CommandConfig#readOnly()}.
+   */
+  protected CommandConfig getReadOnlyCommandConfig() {
+    return commandExecutor.getDefaultConfig().readOnly();
+  }
+
   public CommandExecutor getCommandExecutor() {
     return commandExecutor;
   }
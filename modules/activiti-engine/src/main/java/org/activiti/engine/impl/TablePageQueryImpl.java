@@ -73,7 +73,7 @@ public class TablePageQueryImpl implements TablePageQuery, Command<TablePage>, S
   public TablePage listPage(int firstResult, int maxResults) {
     this.firstResult = firstResult;
     this.maxResults = maxResults;
-    return commandExecutor.execute(this);
+    return commandExecutor.execute(commandExecutor.getDefaultConfig().readOnly(), this);
   }
 
   public TablePage execute(CommandContext commandContext) {
@@ -110,6 +110,7 @@ public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> im
   protected boolean withLocalizationFallback;
   protected boolean orActive;
   protected List<TaskQueryImpl> orQueryObjects = new ArrayList<TaskQueryImpl>();
+  protected transient List<String> cachedCandidateGroups;
   protected TaskQueryImpl currentOrQueryObject = null;
   
   public TaskQueryImpl() {
@@ -1170,12 +1171,25 @@ public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> im
     // TODO: Discuss about removing this feature? Or document it properly
     // and maybe recommend to not use it
     // and explain alternatives
-    List<Group> groups = Context.getCommandContext().getGroupEntityManager().findGroupsByUser(candidateUser);
-    List<String> groupIds = new ArrayList<String>();
-    for (Group group : groups) {
-      groupIds.add(group.getId());
+
+    // The candidate groups are needed several times while the query statement is built,
+    // so they are only fetched once per execution of the query
+    if (cachedCandidateGroups == null) {
+      List<Group> groups = Context.getCommandContext().getGroupEntityManager().findGroupsByUser(candidateUser);
+      List<String> groupIds = new ArrayList<String>();
+      for (Group group : groups) {
+        groupIds.add(group.getId());
+      }
+      cachedCandidateGroups = groupIds;
+    }
+    return cachedCandidateGroups;
+  }
+
+  protected void resetCachedCandidateGroups() {
+    cachedCandidateGroups = null;
+    for (TaskQueryImpl orQueryObject : orQueryObjects) {
+      orQueryObject.resetCachedCandidateGroups();
     }
-    return groupIds;
   }
 
   protected void ensureVariablesInitialized() {
@@ -1299,6 +1313,7 @@ public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> im
 
   public List<Task> executeList(CommandContext commandContext, Page page) {
     ensureVariablesInitialized();
+    resetCachedCandidateGroups();
     checkQueryOk();
     List<Task> tasks = null;
     if (includeTaskLocalVariables || includeProcessVariables) {
@@ -1316,8 +1331,13 @@ public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> im
     return tasks;
   }
 
+  public boolean isIdAfterSupported() {
+    return true;
+  }
+
   public long executeCount(CommandContext commandContext) {
     ensureVariablesInitialized();
+    resetCachedCandidateGroups();
     checkQueryOk();
     return commandContext.getTaskEntityManager().findTaskCountByQueryCriteria(this);
   }
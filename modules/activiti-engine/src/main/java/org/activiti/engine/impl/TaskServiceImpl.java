@@ -229,23 +229,23 @@ public class TaskServiceImpl extends ServiceImpl implements TaskService {
   }
 
   public Map<String, Object> getVariables(String taskId) {
-    return commandExecutor.execute(new GetTaskVariablesCmd(taskId, null, false));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetTaskVariablesCmd(taskId, null, false));
   }
 
   public Map<String, Object> getVariablesLocal(String taskId) {
-    return commandExecutor.execute(new GetTaskVariablesCmd(taskId, null, true));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetTaskVariablesCmd(taskId, null, true));
   }
 
   public Map<String, Object> getVariables(String taskId, Collection<String> variableNames) {
-    return commandExecutor.execute(new GetTaskVariablesCmd(taskId, variableNames, false));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetTaskVariablesCmd(taskId, variableNames, false));
   }
 
   public Map<String, Object> getVariablesLocal(String taskId, Collection<String> variableNames) {
-    return commandExecutor.execute(new GetTaskVariablesCmd(taskId, variableNames, true));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetTaskVariablesCmd(taskId, variableNames, true));
   }
 
   public Object getVariable(String taskId, String variableName) {
-    return commandExecutor.execute(new GetTaskVariableCmd(taskId, variableName, false));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetTaskVariableCmd(taskId, variableName, false));
   }
 
   @Override
@@ -258,7 +258,7 @@ public class TaskServiceImpl extends ServiceImpl implements TaskService {
   }
 
   public Object getVariableLocal(String taskId, String variableName) {
-    return commandExecutor.execute(new GetTaskVariableCmd(taskId, variableName, true));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetTaskVariableCmd(taskId, variableName, true));
   }
 
   @Override
@@ -411,62 +411,62 @@ public class TaskServiceImpl extends ServiceImpl implements TaskService {
 
   @Override
   public VariableInstance getVariableInstance(String taskId, String variableName) {
-    return commandExecutor.execute(new GetTaskVariableInstanceCmd(taskId, variableName, false));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetTaskVariableInstanceCmd(taskId, variableName, false));
   }
 
   @Override
   public VariableInstance getVariableInstanceLocal(String taskId, String variableName) {
-    return commandExecutor.execute(new GetTaskVariableInstanceCmd(taskId, variableName, true));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetTaskVariableInstanceCmd(taskId, variableName, true));
   }
 
   @Override
   public Map<String, VariableInstance> getVariableInstances(String taskId) {
-    return commandExecutor.execute(new GetTaskVariableInstancesCmd(taskId, null, false));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetTaskVariableInstancesCmd(taskId, null, false));
   }
 
   @Override
   public Map<String, VariableInstance> getVariableInstances(String taskId, Collection<String> variableNames) {
-    return commandExecutor.execute(new GetTaskVariableInstancesCmd(taskId, variableNames, false));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetTaskVariableInstancesCmd(taskId, variableNames, false));
   }
 
   @Override
   public Map<String, VariableInstance> getVariableInstancesLocal(String taskId) {
-    return commandExecutor.execute(new GetTaskVariableInstancesCmd(taskId, null, true));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetTaskVariableInstancesCmd(taskId, null, true));
   }
 
   @Override
   public Map<String, VariableInstance> getVariableInstancesLocal(String taskId, Collection<String> variableNames) {
-    return commandExecutor.execute(new GetTaskVariableInstancesCmd(taskId, variableNames, true));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetTaskVariableInstancesCmd(taskId, variableNames, true));
   }
 
   @Override
   public Map<String, DataObject> getDataObjects(String taskId) {
-    return commandExecutor.execute(new GetTaskDataObjectsCmd(taskId, null));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetTaskDataObjectsCmd(taskId, null));
   }
 
   @Override
   public Map<String, DataObject> getDataObjects(String taskId, String locale, boolean withLocalizationFallback) {
-    return commandExecutor.execute(new GetTaskDataObjectsCmd(taskId, null, locale, withLocalizationFallback));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetTaskDataObjectsCmd(taskId, null, locale, withLocalizationFallback));
   }
 
   @Override
   public Map<String, DataObject> getDataObjects(String taskId, Collection<String> dataObjectNames) {
-    return commandExecutor.execute(new GetTaskDataObjectsCmd(taskId, dataObjectNames));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetTaskDataObjectsCmd(taskId, dataObjectNames));
   }
 
   @Override
   public Map<String, DataObject> getDataObjects(String taskId, Collection<String> dataObjectNames, String locale, boolean withLocalizationFallback) {
-    return commandExecutor.execute(new GetTaskDataObjectsCmd(taskId, dataObjectNames, locale, withLocalizationFallback));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetTaskDataObjectsCmd(taskId, dataObjectNames, locale, withLocalizationFallback));
   }
 
   @Override
   public DataObject getDataObject(String taskId, String dataObject) {
-    return commandExecutor.execute(new GetTaskDataObjectCmd(taskId, dataObject));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetTaskDataObjectCmd(taskId, dataObject));
   }
 
   @Override
   public DataObject getDataObject(String taskId, String dataObjectName, String locale, boolean withLocalizationFallback) {
-    return commandExecutor.execute(new GetTaskDataObjectCmd(taskId, dataObjectName, locale, withLocalizationFallback));
+    return commandExecutor.execute(getReadOnlyCommandConfig(), new GetTaskDataObjectCmd(taskId, dataObjectName, locale, withLocalizationFallback));
   }
 
 }
@@ -12,7 +12,8 @@
  */
 package org.activiti.engine.impl.agenda;
 
-import java.util.LinkedList;
+import java.util.ArrayDeque;
+import java.util.Deque;
 
 import org.activiti.engine.ActivitiEngineAgenda;
 import org.activiti.engine.impl.interceptor.CommandContext;
@@ -29,7 +30,8 @@ public class DefaultActivitiEngineAgenda implements ActivitiEngineAgenda {
 
     private static final Logger logger = LoggerFactory.getLogger(DefaultActivitiEngineAgenda.class);
 
-    protected LinkedList<Runnable> operations = new LinkedList<Runnable>();
+    // Array backed: planning and polling an operation doesn't allocate a list node
+    protected Deque<Runnable> operations = new ArrayDeque<Runnable>();
     protected CommandContext commandContext;
     
     public DefaultActivitiEngineAgenda(CommandContext commandContext) {
@@ -60,7 +62,9 @@ public class DefaultActivitiEngineAgenda implements ActivitiEngineAgenda {
             }
         }
 
-        logger.debug("Operation {} added to agenda", operation.getClass());
+        if (logger.isDebugEnabled()) {
+            logger.debug("Operation {} added to agenda", operation.getClass());
+        }
     }
 
     @Override
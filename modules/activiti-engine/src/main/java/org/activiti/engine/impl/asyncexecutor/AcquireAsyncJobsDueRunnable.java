@@ -37,8 +37,11 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
 
   protected long millisToWait;
 
+  protected final AsyncExecutorMetrics metrics;
+
   public AcquireAsyncJobsDueRunnable(AsyncExecutor asyncExecutor) {
     this.asyncExecutor = asyncExecutor;
+    this.metrics = asyncExecutor instanceof DefaultAsyncJobExecutor ? ((DefaultAsyncJobExecutor) asyncExecutor).getMetrics() : null;
   }
 
   public synchronized void run() {
@@ -50,7 +53,11 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
     while (!isInterrupted) {
 
       try {
+        long acquisitionStart = System.nanoTime();
         AcquiredJobEntities acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor));
+        if (metrics != null) {
+          metrics.recordAsyncJobAcquisition(acquiredJobs.size(), System.nanoTime() - acquisitionStart);
+        }
 
         boolean allJobsSuccessfullyOffered = true; 
         for (JobEntity job : acquiredJobs.getJobs()) {
@@ -75,6 +82,9 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
         }
 
       } catch (ActivitiOptimisticLockingException optimisticLockingException) {
+        if (metrics != null) {
+          metrics.recordAcquisitionOptimisticLockingFailure();
+        }
         if (log.isDebugEnabled()) {
           log.debug("Optimistic locking exception during async job acquisition. If you have multiple async executors running against the same database, "
               + "this exception means that this thread tried to acquire a due async job, which already was acquired by another async executor acquisition thread."
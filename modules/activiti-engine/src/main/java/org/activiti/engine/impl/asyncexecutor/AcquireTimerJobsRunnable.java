@@ -12,6 +12,7 @@
  */
 package org.activiti.engine.impl.asyncexecutor;
 
+import java.util.Date;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.activiti.engine.ActivitiOptimisticLockingException;
@@ -33,6 +34,8 @@ public class AcquireTimerJobsRunnable implements Runnable {
 
   protected final AsyncExecutor asyncExecutor;
   protected final JobManager jobManager;
+  protected final TimerJobWheel timerJobWheel;
+  protected final long lookAheadInMillis;
 
   protected volatile boolean isInterrupted;
   protected final Object MONITOR = new Object();
@@ -40,9 +43,22 @@ public class AcquireTimerJobsRunnable implements Runnable {
 
   protected long millisToWait;
 
+  protected final AsyncExecutorMetrics metrics;
+
   public AcquireTimerJobsRunnable(AsyncExecutor asyncExecutor, JobManager jobManager) {
+    this(asyncExecutor, jobManager, null, 0L);
+  }
+
+  /**
+   * When a {@link TimerJobWheel} is passed, the timer jobs that become due within the look ahead time
+   * are acquired as well, and handed to the wheel, which moves them to the executable jobs at their due date.
+   */
+  public AcquireTimerJobsRunnable(AsyncExecutor asyncExecutor, JobManager jobManager, TimerJobWheel timerJobWheel, long lookAheadInMillis) {
     this.asyncExecutor = asyncExecutor;
     this.jobManager = jobManager;
+    this.timerJobWheel = timerJobWheel;
+    this.lookAheadInMillis = timerJobWheel != null ? lookAheadInMillis : 0L;
+    this.metrics = asyncExecutor instanceof DefaultAsyncJobExecutor ? ((DefaultAsyncJobExecutor) asyncExecutor).getMetrics() : null;
   }
 
   public synchronized void run() {
@@ -54,14 +70,23 @@ public class AcquireTimerJobsRunnable implements Runnable {
     while (!isInterrupted) {
 
       try {
-        final AcquiredTimerJobEntities acquiredJobs = commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor));
+        long acquisitionStart = System.nanoTime();
+        final AcquiredTimerJobEntities acquiredJobs = commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor, lookAheadInMillis));
+        if (metrics != null) {
+          metrics.recordTimerJobAcquisition(acquiredJobs.size(), System.nanoTime() - acquisitionStart);
+        }
 
         commandExecutor.execute(new Command<Void>() {
 
           @Override
           public Void execute(CommandContext commandContext) {
+            Date now = commandContext.getProcessEngineConfiguration().getClock().getCurrentTime();
             for (TimerJobEntity job : acquiredJobs.getJobs()) {
-              jobManager.moveTimerJobToExecutableJob(job);
+              if (timerJobWheel != null && job.getDuedate().after(now)) {
+                timerJobWheel.schedule(job);
+              } else {
+                jobManager.moveTimerJobToExecutableJob(job);
+              }
             }
             return null;
           }
@@ -75,6 +100,9 @@ public class AcquireTimerJobsRunnable implements Runnable {
         }
 
       } catch (ActivitiOptimisticLockingException optimisticLockingException) {
+        if (metrics != null) {
+          metrics.recordAcquisitionOptimisticLockingFailure();
+        }
         if (log.isDebugEnabled()) {
           log.debug("Optimistic locking exception during timer job acquisition. If you have multiple timer executors running against the same database, "
               + "this exception means that this thread tried to acquire a timer job, which already was acquired by another timer executor acquisition thread."
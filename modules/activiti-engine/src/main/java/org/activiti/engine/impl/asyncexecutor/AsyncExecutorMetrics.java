@@ -0,0 +1,157 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.asyncexecutor;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.activiti.engine.impl.metrics.LatencyHistogram;
+
+/**
+ * Runtime statistics of a {@link DefaultAsyncJobExecutor}: how the acquisition threads and the job execution threads are doing.
+ *
+ * The counters are updated by the acquisition runnables and the {@link ExecuteAsyncRunnable}s,
+ * together with the queue and thread pool state of the executor (see {@link DefaultAsyncJobExecutor#getThreadPoolQueueDepth()})
+ * they show how saturated the async executor is.
+ */
+public class AsyncExecutorMetrics {
+
+  protected final AtomicLong asyncJobAcquisitions = new AtomicLong();
+  protected final AtomicLong acquiredAsyncJobs = new AtomicLong();
+  protected volatile int lastAcquiredAsyncJobs;
+  protected final LatencyHistogram asyncJobAcquisitionLatency = new LatencyHistogram();
+
+  protected final AtomicLong timerJobAcquisitions = new AtomicLong();
+  protected final AtomicLong acquiredTimerJobs = new AtomicLong();
+  protected final LatencyHistogram timerJobAcquisitionLatency = new LatencyHistogram();
+
+  protected final AtomicLong acquisitionOptimisticLockingFailures = new AtomicLong();
+  protected final AtomicLong exclusiveJobLockFailures = new AtomicLong();
+  protected final AtomicLong rejectedJobs = new AtomicLong();
+
+  protected final AtomicLong executedJobs = new AtomicLong();
+  protected final AtomicLong failedJobs = new AtomicLong();
+  protected final ConcurrentMap<String, LatencyHistogram> jobExecutionLatencies = new ConcurrentHashMap<String, LatencyHistogram>();
+
+  public void recordAsyncJobAcquisition(int acquiredJobs, long durationInNanos) {
+    asyncJobAcquisitions.incrementAndGet();
+    acquiredAsyncJobs.addAndGet(acquiredJobs);
+    lastAcquiredAsyncJobs = acquiredJobs;
+    asyncJobAcquisitionLatency.record(durationInNanos);
+  }
+
+  public void recordTimerJobAcquisition(int acquiredJobs, long durationInNanos) {
+    timerJobAcquisitions.incrementAndGet();
+    acquiredTimerJobs.addAndGet(acquiredJobs);
+    timerJobAcquisitionLatency.record(durationInNanos);
+  }
+
+  /**
+   * Another async executor acquired the same jobs at the same time.
+   */
+  public void recordAcquisitionOptimisticLockingFailure() {
+    acquisitionOptimisticLockingFailures.incrementAndGet();
+  }
+
+  /**
+   * An exclusive job could not be executed, because its process instance was locked by another job.
+   */
+  public void recordExclusiveJobLockFailure() {
+    exclusiveJobLockFailures.incrementAndGet();
+  }
+
+  /**
+   * A job was handed back to the database because the queue of the thread pool was full.
+   */
+  public void recordRejectedJob() {
+    rejectedJobs.incrementAndGet();
+  }
+
+  public void recordJobExecution(String jobHandlerType, long durationInNanos, boolean failed) {
+    executedJobs.incrementAndGet();
+    if (failed) {
+      failedJobs.incrementAndGet();
+    }
+
+    String key = jobHandlerType != null ? jobHandlerType : "unknown";
+    LatencyHistogram histogram = jobExecutionLatencies.get(key);
+    if (histogram == null) {
+      histogram = new LatencyHistogram();
+      LatencyHistogram existingHistogram = jobExecutionLatencies.putIfAbsent(key, histogram);
+      if (existingHistogram != null) {
+        histogram = existingHistogram;
+      }
+    }
+    histogram.record(durationInNanos);
+  }
+
+  public long getAsyncJobAcquisitions() {
+    return asyncJobAcquisitions.get();
+  }
+
+  public long getAcquiredAsyncJobs() {
+    return acquiredAsyncJobs.get();
+  }
+
+  public int getLastAcquiredAsyncJobs() {
+    return lastAcquiredAsyncJobs;
+  }
+
+  public LatencyHistogram getAsyncJobAcquisitionLatency() {
+    return asyncJobAcquisitionLatency;
+  }
+
+  public long getTimerJobAcquisitions() {
+    return timerJobAcquisitions.get();
+  }
+
+  public long getAcquiredTimerJobs() {
+    return acquiredTimerJobs.get();
+  }
+
+  public LatencyHistogram getTimerJobAcquisitionLatency() {
+    return timerJobAcquisitionLatency;
+  }
+
+  public long getAcquisitionOptimisticLockingFailures() {
+    return acquisitionOptimisticLockingFailures.get();
+  }
+
+  public long getExclusiveJobLockFailures() {
+    return exclusiveJobLockFailures.get();
+  }
+
+  public long getRejectedJobs() {
+    return rejectedJobs.get();
+  }
+
+  public long getExecutedJobs() {
+    return executedJobs.get();
+  }
+
+  public long getFailedJobs() {
+    return failedJobs.get();
+  }
+
+  /**
+   * @return the job execution latencies per job handler type, sorted by type.
+   */
+  public Map<String, LatencyHistogram> getJobExecutionLatencies() {
+    return Collections.unmodifiableMap(new TreeMap<String, LatencyHistogram>(jobExecutionLatencies));
+  }
+
+}
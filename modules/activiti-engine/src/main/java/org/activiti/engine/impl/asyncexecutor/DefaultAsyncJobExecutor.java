@@ -71,10 +71,12 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
   protected Thread timerJobAcquisitionThread;
   protected Thread asyncJobAcquisitionThread;
   protected Thread resetExpiredJobThread;
+  protected Thread timerJobWheelThread;
   
   protected AcquireTimerJobsRunnable timerJobRunnable;
   protected AcquireAsyncJobsDueRunnable asyncJobsDueRunnable;
   protected ResetExpiredJobsRunnable resetExpiredJobsRunnable;
+  protected TimerJobWheel timerJobWheel;
   
   protected ExecuteAsyncRunnableFactory executeAsyncRunnableFactory;
 
@@ -96,12 +98,28 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
   protected int resetExpiredJobsInterval = 60 * 1000;
   protected int resetExpiredJobsPageSize = 3;
   
+  /**
+   * When greater than 0, the timer acquisition also acquires the timer jobs that become due within this amount of time,
+   * and keeps them in a {@link TimerJobWheel} that fires them at their due date. Setting this to (at least) the 
+   * timer acquire wait time makes timers fire at their due date instead of at the next acquisition. 
+   * By default, only timer jobs that are already due are acquired.
+   */
+  protected int timerJobLookAheadInMillis = 0;
+  
+  /** The precision of the {@link TimerJobWheel}: the time covered by one bucket of the wheel */
+  protected int timerJobWheelTickInMillis = 100;
+  
+  /** The number of buckets of the {@link TimerJobWheel} */
+  protected int timerJobWheelSize = 512;
+  
   // Job queue used when async executor is not yet started and jobs are already added.
   // This is mainly used for testing purpose.
   protected LinkedList<Job> temporaryJobQueue = new LinkedList<Job>();
   
   protected ProcessEngineConfigurationImpl processEngineConfiguration;
 
+  protected AsyncExecutorMetrics metrics = new AsyncExecutorMetrics();
+
   public boolean executeAsyncJob(final Job job) {
     
     if (isMessageQueueMode) {
@@ -118,6 +136,8 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
         executorService.execute(runnable);
       } catch (RejectedExecutionException e) {
         
+        metrics.recordRejectedJob();
+
         // When a RejectedExecutionException is caught, this means that the queue for holding the jobs 
         // that are to be executed is full and can't store more.
         // The job is now 'unlocked', meaning that the lock owner/time is set to null,
@@ -168,8 +188,12 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
 
     log.info("Starting up the default async job executor [{}].", getClass().getName());
     
+    if (timerJobLookAheadInMillis > 0 && timerJobWheel == null) {
+      timerJobWheel = new TimerJobWheel(this, processEngineConfiguration.getJobManager(), timerJobWheelTickInMillis, timerJobWheelSize);
+    }
+    
     if (timerJobRunnable == null) {
-      timerJobRunnable = new AcquireTimerJobsRunnable(this, processEngineConfiguration.getJobManager());
+      timerJobRunnable = new AcquireTimerJobsRunnable(this, processEngineConfiguration.getJobManager(), timerJobWheel, timerJobLookAheadInMillis);
     }
     
     if (resetExpiredJobsRunnable == null) {
@@ -185,6 +209,11 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
       startJobAcquisitionThread();
     }
     
+    if (timerJobWheel != null) {
+      timerJobWheel.setExecutorService(executorService);
+      startTimerJobWheelThread();
+    }
+    
     startTimerAcquisitionThread();
     startResetExpiredJobsThread();
 
@@ -216,15 +245,23 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     if (resetExpiredJobsRunnable != null) {
       resetExpiredJobsRunnable.stop();
     }
+    if (timerJobWheel != null) {
+      timerJobWheel.stop();
+    }
     
     stopResetExpiredJobsThread();
     stopTimerAcquisitionThread();
+    stopTimerJobWheelThread();
+    if (timerJobWheel != null) {
+      timerJobWheel.unlockScheduledTimerJobs();
+    }
     stopJobAcquisitionThread();
     stopExecutingAsyncJobs();
 
     timerJobRunnable = null;
     asyncJobsDueRunnable = null;
     resetExpiredJobsRunnable = null;
+    timerJobWheel = null;
     
     isActive = false;
   }
@@ -300,6 +337,26 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     }
   }
   
+  /** Starts the thread of the timer job wheel */
+  protected void startTimerJobWheelThread() {
+    if (timerJobWheelThread == null) {
+      timerJobWheelThread = new Thread(timerJobWheel);
+    }
+    timerJobWheelThread.start();
+  }
+  
+  /** Stops the thread of the timer job wheel. */
+  protected void stopTimerJobWheelThread() {
+    if (timerJobWheelThread != null) {
+      try {
+        timerJobWheelThread.join();
+      } catch (InterruptedException e) {
+        log.warn("Interrupted while waiting for the timer job wheel thread to terminate", e);
+      }
+      timerJobWheelThread = null;
+    }
+  }
+  
   /** Starts the reset expired jobs thread */
   protected void startResetExpiredJobsThread() {
     if (resetExpiredJobThread == null) {
@@ -416,6 +473,41 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     this.secondsToWaitOnShutdown = secondsToWaitOnShutdown;
   }
 
+  /**
+   * @return the number of jobs waiting in the queue of the thread pool for a free thread.
+   */
+  public int getThreadPoolQueueDepth() {
+    return threadPoolQueue != null ? threadPoolQueue.size() : 0;
+  }
+
+  /**
+   * @return the number of threads that are executing a job, or -1 when the executor service is not a {@link ThreadPoolExecutor}.
+   */
+  public int getActiveThreadCount() {
+    if (executorService instanceof ThreadPoolExecutor) {
+      return ((ThreadPoolExecutor) executorService).getActiveCount();
+    }
+    return -1;
+  }
+
+  /**
+   * @return the current number of threads in the pool, or -1 when the executor service is not a {@link ThreadPoolExecutor}.
+   */
+  public int getThreadPoolSize() {
+    if (executorService instanceof ThreadPoolExecutor) {
+      return ((ThreadPoolExecutor) executorService).getPoolSize();
+    }
+    return -1;
+  }
+
+  public AsyncExecutorMetrics getMetrics() {
+    return metrics;
+  }
+
+  public void setMetrics(AsyncExecutorMetrics metrics) {
+    this.metrics = metrics;
+  }
+
   public BlockingQueue<Runnable> getThreadPoolQueue() {
     return threadPoolQueue;
   }
@@ -532,6 +624,34 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     this.resetExpiredJobsPageSize = resetExpiredJobsPageSize;
   }
 
+  public int getTimerJobLookAheadInMillis() {
+    return timerJobLookAheadInMillis;
+  }
+
+  public void setTimerJobLookAheadInMillis(int timerJobLookAheadInMillis) {
+    this.timerJobLookAheadInMillis = timerJobLookAheadInMillis;
+  }
+
+  public int getTimerJobWheelTickInMillis() {
+    return timerJobWheelTickInMillis;
+  }
+
+  public void setTimerJobWheelTickInMillis(int timerJobWheelTickInMillis) {
+    this.timerJobWheelTickInMillis = timerJobWheelTickInMillis;
+  }
+
+  public int getTimerJobWheelSize() {
+    return timerJobWheelSize;
+  }
+
+  public void setTimerJobWheelSize(int timerJobWheelSize) {
+    this.timerJobWheelSize = timerJobWheelSize;
+  }
+
+  public TimerJobWheel getTimerJobWheel() {
+    return timerJobWheel;
+  }
+
   public ExecuteAsyncRunnableFactory getExecuteAsyncRunnableFactory() {
     return executeAsyncRunnableFactory;
   }
@@ -93,11 +93,14 @@ public class ExecuteAsyncRunnable implements Runnable {
   }
 
   protected void executeJob() {
+    long start = System.nanoTime();
     try {
       processEngineConfiguration.getCommandExecutor().execute(new ExecuteAsyncJobCmd(jobId));
+      recordJobExecution(start, false);
 
     } catch (final ActivitiOptimisticLockingException e) {
 
+      recordJobExecution(start, true);
       handleFailedJob(e);
 
       if (log.isDebugEnabled()) {
@@ -108,6 +111,7 @@ public class ExecuteAsyncRunnable implements Runnable {
       }
 
     } catch (Throwable exception) {
+      recordJobExecution(start, true);
       handleFailedJob(exception);
 
       // Finally, Throw the exception to indicate the ExecuteAsyncJobCmd failed
@@ -116,6 +120,21 @@ public class ExecuteAsyncRunnable implements Runnable {
     }
   }
   
+  protected void recordJobExecution(long start, boolean failed) {
+    AsyncExecutorMetrics metrics = getAsyncExecutorMetrics();
+    if (metrics != null) {
+      metrics.recordJobExecution(job.getJobHandlerType(), System.nanoTime() - start, failed);
+    }
+  }
+
+  protected AsyncExecutorMetrics getAsyncExecutorMetrics() {
+    AsyncExecutor asyncExecutor = processEngineConfiguration.getAsyncExecutor();
+    if (asyncExecutor instanceof DefaultAsyncJobExecutor) {
+      return ((DefaultAsyncJobExecutor) asyncExecutor).getMetrics();
+    }
+    return null;
+  }
+
   protected void unlockJobIfNeeded() {
     try {
       if (job.isExclusive()) {
@@ -150,6 +169,11 @@ public class ExecuteAsyncRunnable implements Runnable {
         log.debug("Could not lock exclusive job. Unlocking job so it can be acquired again. Catched exception: " + lockException.getMessage());
       }
 
+      AsyncExecutorMetrics metrics = getAsyncExecutorMetrics();
+      if (metrics != null) {
+        metrics.recordExclusiveJobLockFailure();
+      }
+
       // Release the job again so it can be acquired later or by another node
       unacquireJob();
       
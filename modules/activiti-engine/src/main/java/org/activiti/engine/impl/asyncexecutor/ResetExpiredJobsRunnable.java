@@ -30,6 +30,9 @@ import org.slf4j.LoggerFactory;
  * goes down before completing a task.
  * 
  * This runnable will find such jobs and reset them, so they can be picked up again.
+ * The same is done for timer jobs that were acquired (possibly ahead of their due date by a {@link TimerJobWheel}),
+ * but never moved to the executable jobs. This doesn't depend on the local configuration,
+ * as the timer jobs can have been acquired by another async executor.
  * 
  * @author Joram Barrez
  */
@@ -68,6 +71,9 @@ public class ResetExpiredJobsRunnable implements Runnable {
             .execute(new ResetExpiredJobsCmd(expiredJobIds));
         }
         
+        asyncExecutor.getProcessEngineConfiguration().getCommandExecutor()
+          .execute(new ResetExpiredTimerJobsCmd(asyncExecutor.getResetExpiredJobsPageSize()));
+        
       } catch (Throwable e) {
         if (e instanceof ActivitiOptimisticLockingException) {
           log.debug("Optmistic lock exception while resetting locked jobs", e);
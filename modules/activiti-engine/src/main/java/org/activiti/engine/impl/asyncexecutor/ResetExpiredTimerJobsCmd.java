@@ -0,0 +1,45 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.asyncexecutor;
+
+import java.util.List;
+
+import org.activiti.engine.impl.Page;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.TimerJobEntity;
+
+/**
+ * Removes the lock of timer jobs of which the lock has expired, for example because the
+ * async executor that acquired them (possibly ahead of their due date) went down.
+ * The timer jobs can then be acquired again by any async executor.
+ */
+public class ResetExpiredTimerJobsCmd implements Command<Integer> {
+  
+  protected int pageSize;
+  
+  public ResetExpiredTimerJobsCmd(int pageSize) {
+    this.pageSize = pageSize;
+  }
+  
+  @Override
+  public Integer execute(CommandContext commandContext) {
+    List<TimerJobEntity> expiredTimerJobs = commandContext.getTimerJobEntityManager().findExpiredJobs(new Page(0, pageSize));
+    for (TimerJobEntity expiredTimerJob : expiredTimerJobs) {
+      expiredTimerJob.setLockOwner(null);
+      expiredTimerJob.setLockExpirationTime(null);
+    }
+    return expiredTimerJobs.size();
+  }
+
+}
@@ -0,0 +1,323 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.asyncexecutor;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.activiti.engine.ActivitiOptimisticLockingException;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.interceptor.CommandExecutor;
+import org.activiti.engine.impl.persistence.entity.TimerJobEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the timer jobs that were acquired ahead of their due date (see {@link AcquireTimerJobsRunnable})
+ * in memory and moves them to the executable jobs at their due date, instead of waiting for the next timer acquisition.
+ *
+ * The timers are kept in a hashed timing wheel: a ring of buckets, each covering one tick.
+ * A timer that is due further away than one rotation of the wheel stays in its bucket for the remaining rounds.
+ * Scheduling and firing a timer are constant time operations, the wheel thread only looks at one bucket per tick.
+ *
+ * The timer jobs stay locked in the database while they are in the wheel, with a lock expiration time after their due date.
+ * When the async executor is shut down, the timer jobs still in the wheel are unlocked. When this async executor goes down
+ * without a shutdown, the locks expire and the {@link ResetExpiredJobsRunnable} of any async executor makes them available again.
+ */
+public class TimerJobWheel implements Runnable {
+
+  private static Logger log = LoggerFactory.getLogger(TimerJobWheel.class);
+
+  protected final AsyncExecutor asyncExecutor;
+  protected final JobManager jobManager;
+  protected final long tickDurationInMillis;
+  protected final int mask;
+  protected final List<TimerJobWheelEntry>[] buckets;
+  protected final Queue<TimerJobWheelEntry> pendingEntries = new ConcurrentLinkedQueue<TimerJobWheelEntry>();
+  protected final AtomicInteger nrOfScheduledTimerJobs = new AtomicInteger();
+
+  protected ExecutorService executorService;
+
+  protected volatile boolean isInterrupted;
+  protected final Object MONITOR = new Object();
+  protected final AtomicBoolean isWaiting = new AtomicBoolean(false);
+
+  protected final long startTime = System.nanoTime();
+  protected long tick;
+
+  @SuppressWarnings("unchecked")
+  public TimerJobWheel(AsyncExecutor asyncExecutor, JobManager jobManager, long tickDurationInMillis, int wheelSize) {
+    if (tickDurationInMillis <= 0) {
+      throw new IllegalArgumentException("The tick duration must be greater than 0");
+    }
+    if (wheelSize <= 0) {
+      throw new IllegalArgumentException("The wheel size must be greater than 0");
+    }
+
+    this.asyncExecutor = asyncExecutor;
+    this.jobManager = jobManager;
+    this.tickDurationInMillis = tickDurationInMillis;
+
+    // Round up to a power of two, so the bucket of a tick can be calculated with a mask
+    int normalizedWheelSize = 1;
+    while (normalizedWheelSize < wheelSize) {
+      normalizedWheelSize <<= 1;
+    }
+    this.mask = normalizedWheelSize - 1;
+    this.buckets = new List[normalizedWheelSize];
+    for (int i = 0; i < normalizedWheelSize; i++) {
+      buckets[i] = new LinkedList<TimerJobWheelEntry>();
+    }
+  }
+
+  /**
+   * Adds a timer job that was locked by this async executor. It will be moved to the executable jobs when its due date
+   * (according to the clock of the process engine) is reached.
+   */
+  public void schedule(TimerJobEntity timerJob) {
+    long now = asyncExecutor.getProcessEngineConfiguration().getClock().getCurrentTime().getTime();
+    long delayInMillis = Math.max(0L, timerJob.getDuedate().getTime() - now);
+    long deadline = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) + delayInMillis;
+
+    pendingEntries.add(new TimerJobWheelEntry(timerJob.getId(), deadline));
+    nrOfScheduledTimerJobs.incrementAndGet();
+  }
+
+  public void run() {
+    log.info("{} starting the timer job wheel", getClass().getName());
+    Thread.currentThread().setName("activiti-timer-job-wheel");
+
+    while (!isInterrupted) {
+      waitForNextTick();
+      if (isInterrupted) {
+        break;
+      }
+
+      try {
+        transferPendingEntries();
+        List<TimerJobWheelEntry> dueEntries = expireBucket(buckets[(int) (tick & mask)]);
+        for (TimerJobWheelEntry dueEntry : dueEntries) {
+          fire(dueEntry.jobId);
+        }
+      } catch (Throwable e) {
+        log.error("exception in timer job wheel: {}", e.getMessage(), e);
+      }
+
+      tick++;
+    }
+
+    log.info("{} stopped the timer job wheel", getClass().getName());
+  }
+
+  protected void waitForNextTick() {
+    long deadline = tickDurationInMillis * (tick + 1);
+    long millisToWait = deadline - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    while (millisToWait > 0 && !isInterrupted) {
+      try {
+        synchronized (MONITOR) {
+          if (!isInterrupted) {
+            isWaiting.set(true);
+            MONITOR.wait(millisToWait);
+          }
+        }
+      } catch (InterruptedException e) {
+        if (log.isDebugEnabled()) {
+          log.debug("timer job wheel wait interrupted");
+        }
+      } finally {
+        isWaiting.set(false);
+      }
+      millisToWait = deadline - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    }
+  }
+
+  protected void transferPendingEntries() {
+    TimerJobWheelEntry entry = pendingEntries.poll();
+    while (entry != null) {
+      long dueTick = entry.deadline / tickDurationInMillis;
+      entry.remainingRounds = (dueTick - tick) / buckets.length;
+
+      // Entries that are already due are put in the current bucket
+      long bucketTick = Math.max(dueTick, tick);
+      buckets[(int) (bucketTick & mask)].add(entry);
+
+      entry = pendingEntries.poll();
+    }
+  }
+
+  protected List<TimerJobWheelEntry> expireBucket(List<TimerJobWheelEntry> bucket) {
+    List<TimerJobWheelEntry> dueEntries = new ArrayList<TimerJobWheelEntry>();
+    Iterator<TimerJobWheelEntry> entryIterator = bucket.iterator();
+    while (entryIterator.hasNext()) {
+      TimerJobWheelEntry entry = entryIterator.next();
+      if (entry.remainingRounds <= 0) {
+        entryIterator.remove();
+        dueEntries.add(entry);
+      } else {
+        entry.remainingRounds--;
+      }
+    }
+    return dueEntries;
+  }
+
+  /**
+   * Moves the timer job to the executable jobs, which passes it on to the async executor.
+   * The move is done on the thread pool of the async executor when there is one, so this thread can keep on ticking.
+   */
+  protected void fire(final String jobId) {
+    nrOfScheduledTimerJobs.decrementAndGet();
+
+    Runnable runnable = new Runnable() {
+      public void run() {
+        moveTimerJobToExecutableJob(jobId);
+      }
+    };
+
+    if (executorService != null) {
+      try {
+        executorService.execute(runnable);
+        return;
+      } catch (RejectedExecutionException e) {
+        if (log.isDebugEnabled()) {
+          log.debug("Async executor queue is full, moving timer job {} on the timer job wheel thread", jobId);
+        }
+      }
+    }
+    runnable.run();
+  }
+
+  protected void moveTimerJobToExecutableJob(final String jobId) {
+    final String lockOwner = asyncExecutor.getLockOwner();
+    CommandExecutor commandExecutor = asyncExecutor.getProcessEngineConfiguration().getCommandExecutor();
+    try {
+      commandExecutor.execute(new Command<Void>() {
+
+        @Override
+        public Void execute(CommandContext commandContext) {
+          // The timer job could have been deleted (eg. process instance deleted) or, when the lock expired, acquired by another executor
+          TimerJobEntity timerJob = commandContext.getTimerJobEntityManager().findById(jobId);
+          if (timerJob != null && lockOwner.equals(timerJob.getLockOwner())) {
+            jobManager.moveTimerJobToExecutableJob(timerJob);
+          }
+          return null;
+        }
+      });
+
+    } catch (ActivitiOptimisticLockingException optimisticLockingException) {
+      if (log.isDebugEnabled()) {
+        log.debug("Optimistic locking exception while moving timer job {} from the timer job wheel, it was changed concurrently: {}",
+            jobId, optimisticLockingException.getMessage());
+      }
+    } catch (Throwable e) {
+      log.error("exception while moving timer job {} from the timer job wheel: {}", jobId, e.getMessage(), e);
+    }
+  }
+
+  public void stop() {
+    synchronized (MONITOR) {
+      isInterrupted = true;
+      if (isWaiting.compareAndSet(true, false)) {
+        MONITOR.notifyAll();
+      }
+    }
+  }
+
+  /**
+   * Removes the lock of the timer jobs that are still waiting in the wheel, so they can be acquired again
+   * by any async executor. Must only be called after the wheel thread has stopped.
+   */
+  public void unlockScheduledTimerJobs() {
+    final List<String> jobIds = new ArrayList<String>();
+    TimerJobWheelEntry entry = pendingEntries.poll();
+    while (entry != null) {
+      jobIds.add(entry.jobId);
+      entry = pendingEntries.poll();
+    }
+    for (List<TimerJobWheelEntry> bucket : buckets) {
+      for (TimerJobWheelEntry bucketEntry : bucket) {
+        jobIds.add(bucketEntry.jobId);
+      }
+      bucket.clear();
+    }
+    nrOfScheduledTimerJobs.set(0);
+
+    if (jobIds.isEmpty()) {
+      return;
+    }
+
+    final String lockOwner = asyncExecutor.getLockOwner();
+    CommandExecutor commandExecutor = asyncExecutor.getProcessEngineConfiguration().getCommandExecutor();
+    try {
+      commandExecutor.execute(new Command<Void>() {
+
+        @Override
+        public Void execute(CommandContext commandContext) {
+          for (String jobId : jobIds) {
+            TimerJobEntity timerJob = commandContext.getTimerJobEntityManager().findById(jobId);
+            if (timerJob != null && lockOwner.equals(timerJob.getLockOwner())) {
+              timerJob.setLockOwner(null);
+              timerJob.setLockExpirationTime(null);
+            }
+          }
+          return null;
+        }
+      });
+
+    } catch (ActivitiOptimisticLockingException optimisticLockingException) {
+      if (log.isDebugEnabled()) {
+        log.debug("Optimistic locking exception while unlocking the timer jobs of the timer job wheel, "
+            + "they will be unlocked when their lock expires: {}", optimisticLockingException.getMessage());
+      }
+    } catch (Throwable e) {
+      log.error("exception while unlocking the timer jobs of the timer job wheel: {}", e.getMessage(), e);
+    }
+  }
+
+  /**
+   * The number of timer jobs that are waiting in the wheel for their due date.
+   */
+  public int getNrOfScheduledTimerJobs() {
+    return nrOfScheduledTimerJobs.get();
+  }
+
+  public ExecutorService getExecutorService() {
+    return executorService;
+  }
+
+  public void setExecutorService(ExecutorService executorService) {
+    this.executorService = executorService;
+  }
+
+  protected static class TimerJobWheelEntry {
+
+    protected final String jobId;
+    protected final long deadline;
+    protected long remainingRounds;
+
+    public TimerJobWheelEntry(String jobId, long deadline) {
+      this.jobId = jobId;
+      this.deadline = deadline;
+    }
+  }
+
+}
@@ -0,0 +1,477 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.asyncexecutor.multitenant;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.activiti.engine.ActivitiOptimisticLockingException;
+import org.activiti.engine.impl.asyncexecutor.AcquiredJobEntities;
+import org.activiti.engine.impl.asyncexecutor.AcquiredTimerJobEntities;
+import org.activiti.engine.impl.asyncexecutor.AsyncExecutor;
+import org.activiti.engine.impl.asyncexecutor.DefaultAsyncJobExecutor;
+import org.activiti.engine.impl.asyncexecutor.ExecuteAsyncRunnableFactory;
+import org.activiti.engine.impl.asyncexecutor.FindExpiredJobsCmd;
+import org.activiti.engine.impl.asyncexecutor.ResetExpiredJobsCmd;
+import org.activiti.engine.impl.asyncexecutor.ResetExpiredTimerJobsCmd;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.cfg.multitenant.TenantInfoHolder;
+import org.activiti.engine.impl.cmd.AcquireJobsCmd;
+import org.activiti.engine.impl.cmd.AcquireTimerJobsCmd;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.interceptor.CommandExecutor;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.engine.impl.persistence.entity.TimerJobEntity;
+import org.activiti.engine.runtime.Job;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Multi tenant {@link AsyncExecutor} that scales to many tenants.
+ *
+ * Contrary to the {@link SharedExecutorServiceAsyncExecutor}, which starts three threads for each tenant,
+ * a small fixed set of acquisition threads (see {@link #setAcquisitionThreadCount(int)}) is shared by all tenants.
+ * Each tenant is scheduled for its next timer job acquisition, async job acquisition and expired jobs reset:
+ *
+ * - A tenant that acquired a full page of jobs is scheduled again immediately, behind the other tenants that are due.
+ * - The wait time of a tenant for which no jobs were found doubles after each acquisition, up to
+ *   {@link #setMaxTenantAcquireWaitTimeInMillis(int)}. Idle tenants are thus polled less often than active ones.
+ * - When {@link #setMaxJobsInExecutionPerTenant(int)} is set, no new async jobs are acquired for a tenant that
+ *   has that many jobs queued or executing, so one busy tenant can't take all threads of the shared {@link ExecutorService}.
+ *
+ * Only one acquisition thread works for a given tenant at any time.
+ * The timer job look ahead of the {@link DefaultAsyncJobExecutor} is not supported by this executor.
+ */
+public class SharedAcquisitionAsyncExecutor extends DefaultAsyncJobExecutor implements TenantAwareAsyncExecutor {
+
+  private static final Logger logger = LoggerFactory.getLogger(SharedAcquisitionAsyncExecutor.class);
+
+  protected TenantInfoHolder tenantInfoHolder;
+
+  /** The number of threads that acquire the jobs of all tenants */
+  protected int acquisitionThreadCount = 2;
+
+  /** The maximum time an idle tenant waits between two acquisitions */
+  protected int maxTenantAcquireWaitTimeInMillis = 60 * 1000;
+
+  /** The maximum number of jobs of one tenant that are queued or executing. 0 or less means no limit */
+  protected int maxJobsInExecutionPerTenant;
+
+  /** The time a tenant waits before acquiring again, when it reached the max jobs in execution */
+  protected int busyTenantWaitTimeInMillis = 1000;
+
+  /** How long an acquisition thread waits for the next due tenant, before checking whether it needs to stop */
+  protected int acquisitionThreadPollTimeInMillis = 1000;
+
+  protected ConcurrentMap<String, TenantAcquisitionState> tenants = new ConcurrentHashMap<String, TenantAcquisitionState>();
+  protected DelayQueue<TenantAcquisitionState> acquisitionQueue = new DelayQueue<TenantAcquisitionState>();
+
+  protected List<Thread> acquisitionThreads = new ArrayList<Thread>();
+  protected volatile boolean isAcquisitionStopped;
+
+  public SharedAcquisitionAsyncExecutor(TenantInfoHolder tenantInfoHolder) {
+    this.tenantInfoHolder = tenantInfoHolder;
+    setExecuteAsyncRunnableFactory(new ExecuteAsyncRunnableFactory() {
+
+      @Override
+      public Runnable createExecuteAsyncRunnable(Job job, ProcessEngineConfigurationImpl processEngineConfiguration) {
+        // Created by the thread that acquired the job, which has set the current tenant id already
+        String currentTenantId = SharedAcquisitionAsyncExecutor.this.tenantInfoHolder.getCurrentTenantId();
+        return new TenantAwareExecuteAsyncRunnable(job, processEngineConfiguration, SharedAcquisitionAsyncExecutor.this.tenantInfoHolder, currentTenantId);
+      }
+
+    });
+  }
+
+  @Override
+  public Set<String> getTenantIds() {
+    return Collections.unmodifiableSet(tenants.keySet());
+  }
+
+  @Override
+  public synchronized void addTenantAsyncExecutor(String tenantId, boolean startExecutor) {
+    if (tenants.containsKey(tenantId)) {
+      // The state of the tenant can be in the acquisition queue or in use by an acquisition thread, so it is kept
+      return;
+    }
+
+    TenantAcquisitionState tenantState = new TenantAcquisitionState(tenantId, defaultAsyncJobAcquireWaitTimeInMillis, defaultTimerJobAcquireWaitTimeInMillis);
+    tenants.put(tenantId, tenantState);
+    if (startExecutor && isActive) {
+      acquisitionQueue.offer(tenantState);
+    }
+  }
+
+  @Override
+  public synchronized void removeTenantAsyncExecutor(String tenantId) {
+    TenantAcquisitionState tenantState = tenants.remove(tenantId);
+    if (tenantState != null) {
+      // An acquisition thread that is working for the tenant doesn't schedule it again
+      tenantState.removed = true;
+      acquisitionQueue.remove(tenantState);
+    }
+  }
+
+  @Override
+  public synchronized void start() {
+    if (isActive) {
+      return;
+    }
+
+    logger.info("Starting up the shared acquisition async job executor [{}] for {} tenants.", getClass().getName(), tenants.size());
+
+    if (!isMessageQueueMode) {
+      initAsyncJobExecutionThreadPool();
+    }
+
+    isAcquisitionStopped = false;
+    long now = System.currentTimeMillis();
+    for (TenantAcquisitionState tenantState : tenants.values()) {
+      tenantState.scheduleAll(now);
+      acquisitionQueue.offer(tenantState);
+    }
+
+    isActive = true;
+
+    for (int i = 0; i < acquisitionThreadCount; i++) {
+      Thread acquisitionThread = new Thread(new SharedAcquisitionRunnable(), "activiti-shared-job-acquisition-" + i);
+      acquisitionThreads.add(acquisitionThread);
+      acquisitionThread.start();
+    }
+
+    executeTemporaryJobs();
+  }
+
+  @Override
+  public synchronized void shutdown() {
+    if (!isActive) {
+      return;
+    }
+
+    logger.info("Shutting down the shared acquisition async job executor [{}].", getClass().getName());
+
+    isAcquisitionStopped = true;
+    for (Thread acquisitionThread : acquisitionThreads) {
+      try {
+        acquisitionThread.join();
+      } catch (InterruptedException e) {
+        logger.warn("Interrupted while waiting for the job acquisition thread to terminate", e);
+      }
+    }
+    acquisitionThreads.clear();
+    acquisitionQueue.clear();
+
+    stopExecutingAsyncJobs();
+
+    isActive = false;
+  }
+
+  @Override
+  public boolean executeAsyncJob(Job job) {
+    if (!isActive || isMessageQueueMode) {
+      return super.executeAsyncJob(job);
+    }
+
+    String tenantId = tenantInfoHolder.getCurrentTenantId();
+    TenantAcquisitionState tenantState = tenantId != null ? tenants.get(tenantId) : null;
+    if (tenantState != null) {
+      tenantState.jobsInExecution.incrementAndGet();
+    }
+
+    boolean jobOffered = super.executeAsyncJob(job);
+    if (!jobOffered && tenantState != null) {
+      tenantState.jobsInExecution.decrementAndGet();
+    }
+    return jobOffered;
+  }
+
+  @Override
+  protected Runnable createRunnableForJob(Job job) {
+    final Runnable runnable = super.createRunnableForJob(job);
+    String tenantId = tenantInfoHolder.getCurrentTenantId();
+    final TenantAcquisitionState tenantState = tenantId != null ? tenants.get(tenantId) : null;
+    if (tenantState == null) {
+      return runnable;
+    }
+
+    return new Runnable() {
+      public void run() {
+        try {
+          runnable.run();
+        } finally {
+          tenantState.jobsInExecution.decrementAndGet();
+        }
+      }
+    };
+  }
+
+  /**
+   * Does the timer job acquisition, async job acquisition and expired jobs reset of one tenant that are due.
+   */
+  protected void acquireJobs(TenantAcquisitionState tenantState) {
+    tenantInfoHolder.setCurrentTenantId(tenantState.tenantId);
+    try {
+      long now = System.currentTimeMillis();
+      if (now >= tenantState.nextTimerJobAcquisitionTime) {
+        acquireTimerJobs(tenantState);
+      }
+      if (!isMessageQueueMode && now >= tenantState.nextAsyncJobAcquisitionTime) {
+        acquireAsyncJobs(tenantState);
+      }
+      if (now >= tenantState.nextResetExpiredJobsTime) {
+        resetExpiredJobs(tenantState);
+      }
+    } finally {
+      tenantInfoHolder.clearCurrentTenantId();
+    }
+  }
+
+  protected void acquireTimerJobs(TenantAcquisitionState tenantState) {
+    long millisToWait = defaultTimerJobAcquireWaitTimeInMillis;
+    try {
+      CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutor();
+      long acquisitionStart = System.nanoTime();
+      final AcquiredTimerJobEntities acquiredJobs = commandExecutor.execute(new AcquireTimerJobsCmd(this));
+      metrics.recordTimerJobAcquisition(acquiredJobs.size(), System.nanoTime() - acquisitionStart);
+
+      commandExecutor.execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          for (TimerJobEntity job : acquiredJobs.getJobs()) {
+            commandContext.getJobManager().moveTimerJobToExecutableJob(job);
+          }
+          return null;
+        }
+      });
+
+      if (acquiredJobs.size() >= maxTimerJobsPerAcquisition) {
+        millisToWait = 0;
+        tenantState.timerJobAcquireWaitTime = defaultTimerJobAcquireWaitTimeInMillis;
+      } else if (acquiredJobs.size() > 0) {
+        tenantState.timerJobAcquireWaitTime = defaultTimerJobAcquireWaitTimeInMillis;
+      } else {
+        millisToWait = tenantState.timerJobAcquireWaitTime;
+        tenantState.timerJobAcquireWaitTime = increaseWaitTime(tenantState.timerJobAcquireWaitTime);
+      }
+
+    } catch (ActivitiOptimisticLockingException optimisticLockingException) {
+      metrics.recordAcquisitionOptimisticLockingFailure();
+      logger.debug("Optimistic locking exception during timer job acquisition for tenant {}: {}", tenantState.tenantId, optimisticLockingException.getMessage());
+    } catch (Throwable e) {
+      logger.error("exception during timer job acquisition for tenant {}: {}", tenantState.tenantId, e.getMessage(), e);
+    }
+    tenantState.nextTimerJobAcquisitionTime = System.currentTimeMillis() + millisToWait;
+  }
+
+  protected void acquireAsyncJobs(TenantAcquisitionState tenantState) {
+    if (maxJobsInExecutionPerTenant > 0 && tenantState.jobsInExecution.get() >= maxJobsInExecutionPerTenant) {
+      tenantState.nextAsyncJobAcquisitionTime = System.currentTimeMillis() + busyTenantWaitTimeInMillis;
+      return;
+    }
+
+    long millisToWait = defaultAsyncJobAcquireWaitTimeInMillis;
+    try {
+      long acquisitionStart = System.nanoTime();
+      AcquiredJobEntities acquiredJobs = processEngineConfiguration.getCommandExecutor().execute(new AcquireJobsCmd(this));
+      metrics.recordAsyncJobAcquisition(acquiredJobs.size(), System.nanoTime() - acquisitionStart);
+
+      boolean allJobsSuccessfullyOffered = true;
+      for (JobEntity job : acquiredJobs.getJobs()) {
+        if (!executeAsyncJob(job)) {
+          allJobsSuccessfullyOffered = false;
+        }
+      }
+
+      if (acquiredJobs.size() >= maxAsyncJobsDuePerAcquisition) {
+        millisToWait = allJobsSuccessfullyOffered ? 0 : defaultQueueSizeFullWaitTime;
+        tenantState.asyncJobAcquireWaitTime = defaultAsyncJobAcquireWaitTimeInMillis;
+      } else if (acquiredJobs.size() > 0) {
+        tenantState.asyncJobAcquireWaitTime = defaultAsyncJobAcquireWaitTimeInMillis;
+      } else {
+        millisToWait = tenantState.asyncJobAcquireWaitTime;
+        tenantState.asyncJobAcquireWaitTime = increaseWaitTime(tenantState.asyncJobAcquireWaitTime);
+      }
+
+    } catch (ActivitiOptimisticLockingException optimisticLockingException) {
+      metrics.recordAcquisitionOptimisticLockingFailure();
+      logger.debug("Optimistic locking exception during async job acquisition for tenant {}: {}", tenantState.tenantId, optimisticLockingException.getMessage());
+    } catch (Throwable e) {
+      logger.error("exception during async job acquisition for tenant {}: {}", tenantState.tenantId, e.getMessage(), e);
+    }
+    tenantState.nextAsyncJobAcquisitionTime = System.currentTimeMillis() + millisToWait;
+  }
+
+  protected void resetExpiredJobs(TenantAcquisitionState tenantState) {
+    try {
+      CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutor();
+      List<JobEntity> expiredJobs = commandExecutor.execute(new FindExpiredJobsCmd(resetExpiredJobsPageSize));
+
+      List<String> expiredJobIds = new ArrayList<String>(expiredJobs.size());
+      for (JobEntity expiredJob : expiredJobs) {
+        expiredJobIds.add(expiredJob.getId());
+      }
+
+      if (expiredJobIds.size() > 0) {
+        commandExecutor.execute(new ResetExpiredJobsCmd(expiredJobIds));
+      }
+
+      commandExecutor.execute(new ResetExpiredTimerJobsCmd(resetExpiredJobsPageSize));
+
+    } catch (ActivitiOptimisticLockingException optimisticLockingException) {
+      logger.debug("Optimistic lock exception while resetting locked jobs for tenant {}", tenantState.tenantId, optimisticLockingException);
+    } catch (Throwable e) {
+      logger.error("exception during resetting expired jobs for tenant {}: {}", tenantState.tenantId, e.getMessage(), e);
+    }
+    tenantState.nextResetExpiredJobsTime = System.currentTimeMillis() + resetExpiredJobsInterval;
+  }
+
+  protected int increaseWaitTime(int waitTime) {
+    return (int) Math.min(2L * Math.max(waitTime, 1), Math.max(maxTenantAcquireWaitTimeInMillis, 1));
+  }
+
+  /**
+   * Takes the tenant that is due first, acquires its jobs and schedules it again.
+   */
+  protected class SharedAcquisitionRunnable implements Runnable {
+
+    public void run() {
+      logger.info("{} starting to acquire jobs", Thread.currentThread().getName());
+
+      while (!isAcquisitionStopped) {
+        TenantAcquisitionState tenantState = null;
+        try {
+          tenantState = acquisitionQueue.poll(acquisitionThreadPollTimeInMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+          logger.debug("job acquisition wait interrupted");
+        }
+
+        if (tenantState != null && !tenantState.removed) {
+          try {
+            acquireJobs(tenantState);
+          } finally {
+            if (!tenantState.removed && !isAcquisitionStopped) {
+              acquisitionQueue.offer(tenantState);
+            }
+          }
+        }
+      }
+
+      logger.info("{} stopped acquiring jobs", Thread.currentThread().getName());
+    }
+
+  }
+
+  /**
+   * The acquisition schedule of one tenant. Only changed by the acquisition thread that took it from the queue.
+   */
+  protected static class TenantAcquisitionState implements Delayed {
+
+    protected final String tenantId;
+    protected final AtomicInteger jobsInExecution = new AtomicInteger();
+    protected volatile boolean removed;
+
+    protected long nextTimerJobAcquisitionTime;
+    protected long nextAsyncJobAcquisitionTime;
+    protected long nextResetExpiredJobsTime;
+
+    protected int timerJobAcquireWaitTime;
+    protected int asyncJobAcquireWaitTime;
+
+    public TenantAcquisitionState(String tenantId, int asyncJobAcquireWaitTime, int timerJobAcquireWaitTime) {
+      this.tenantId = tenantId;
+      this.asyncJobAcquireWaitTime = asyncJobAcquireWaitTime;
+      this.timerJobAcquireWaitTime = timerJobAcquireWaitTime;
+      scheduleAll(System.currentTimeMillis());
+    }
+
+    public void scheduleAll(long time) {
+      nextTimerJobAcquisitionTime = time;
+      nextAsyncJobAcquisitionTime = time;
+      nextResetExpiredJobsTime = time;
+    }
+
+    public long getNextAcquisitionTime() {
+      return Math.min(nextTimerJobAcquisitionTime, Math.min(nextAsyncJobAcquisitionTime, nextResetExpiredJobsTime));
+    }
+
+    public long getDelay(TimeUnit unit) {
+      return unit.convert(getNextAcquisitionTime() - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public int compareTo(Delayed other) {
+      long difference = getNextAcquisitionTime() - ((TenantAcquisitionState) other).getNextAcquisitionTime();
+      return difference < 0 ? -1 : (difference > 0 ? 1 : 0);
+    }
+
+  }
+
+  /* getters and setters */
+
+  /**
+   * @return the number of jobs of the given tenant that are queued or executing, or -1 for an unknown tenant.
+   */
+  public int getJobsInExecution(String tenantId) {
+    TenantAcquisitionState tenantState = tenants.get(tenantId);
+    return tenantState != null ? tenantState.jobsInExecution.get() : -1;
+  }
+
+  public int getAcquisitionThreadCount() {
+    return acquisitionThreadCount;
+  }
+
+  public void setAcquisitionThreadCount(int acquisitionThreadCount) {
+    this.acquisitionThreadCount = acquisitionThreadCount;
+  }
+
+  public int getMaxTenantAcquireWaitTimeInMillis() {
+    return maxTenantAcquireWaitTimeInMillis;
+  }
+
+  public void setMaxTenantAcquireWaitTimeInMillis(int maxTenantAcquireWaitTimeInMillis) {
+    this.maxTenantAcquireWaitTimeInMillis = maxTenantAcquireWaitTimeInMillis;
+  }
+
+  public int getMaxJobsInExecutionPerTenant() {
+    return maxJobsInExecutionPerTenant;
+  }
+
+  public void setMaxJobsInExecutionPerTenant(int maxJobsInExecutionPerTenant) {
+    this.maxJobsInExecutionPerTenant = maxJobsInExecutionPerTenant;
+  }
+
+  public int getBusyTenantWaitTimeInMillis() {
+    return busyTenantWaitTimeInMillis;
+  }
+
+  public void setBusyTenantWaitTimeInMillis(int busyTenantWaitTimeInMillis) {
+    this.busyTenantWaitTimeInMillis = busyTenantWaitTimeInMillis;
+  }
+
+  public int getAcquisitionThreadPollTimeInMillis() {
+    return acquisitionThreadPollTimeInMillis;
+  }
+
+  public void setAcquisitionThreadPollTimeInMillis(int acquisitionThreadPollTimeInMillis) {
+    this.acquisitionThreadPollTimeInMillis = acquisitionThreadPollTimeInMillis;
+  }
+
+}
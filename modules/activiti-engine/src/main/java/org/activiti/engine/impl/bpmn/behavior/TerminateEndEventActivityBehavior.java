@@ -171,12 +171,7 @@ public class TerminateEndEventActivityBehavior extends FlowNodeActivityBehavior
   }
 
   protected void deleteExecutionEntities(ExecutionEntityManager executionEntityManager, ExecutionEntity rootExecutionEntity, String deleteReason) {
-
-    List<ExecutionEntity> childExecutions = executionEntityManager.collectChildren(rootExecutionEntity);
-    for (int i=childExecutions.size()-1; i>=0; i--) {
-      executionEntityManager.deleteExecutionAndRelatedData(childExecutions.get(i), deleteReason, false);
-    }
-    executionEntityManager.deleteExecutionAndRelatedData(rootExecutionEntity, deleteReason, false);
+    executionEntityManager.deleteExecutionTreeAndRelatedData(rootExecutionEntity, deleteReason, false);
   }
 
   protected void sendProcessInstanceCancelledEvent(DelegateExecution execution, FlowElement terminateEndEvent) {
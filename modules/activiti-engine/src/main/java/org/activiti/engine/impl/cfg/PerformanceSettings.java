@@ -50,6 +50,23 @@ public class PerformanceSettings {
    */
   protected boolean enableLocalization = true;
 
+  /**
+   * Experimental setting: if true, the byte arrays (serialized objects, long strings, json, etc.) of all variables
+   * of a variable scope are fetched in one roundtrip when the variables of the scope are loaded,
+   * instead of fetching each byte array with a separate select when its variable value is needed.
+   *
+   * This typically pays off for processes with many serializable variables that are read together,
+   * but fetches payloads that are not needed when only a few variables of a scope are read.
+   */
+  protected boolean enableEagerVariableByteArrayFetching;
+
+  /**
+   * Process instances of a process with the activiti:transientExecution attribute only store their historic process instance
+   * (see {@link org.activiti.engine.impl.util.TransientExecutionUtil}). When this setting is true,
+   * their historic activity instances are stored too.
+   */
+  protected boolean enableTransientExecutionActivityHistory;
+
   public boolean isEnableEagerExecutionTreeFetching() {
     return enableEagerExecutionTreeFetching;
   }
@@ -82,4 +99,20 @@ public class PerformanceSettings {
     this.enableLocalization = enableLocalization;
   }
 
+  public boolean isEnableEagerVariableByteArrayFetching() {
+    return enableEagerVariableByteArrayFetching;
+  }
+
+  public void setEnableEagerVariableByteArrayFetching(boolean enableEagerVariableByteArrayFetching) {
+    this.enableEagerVariableByteArrayFetching = enableEagerVariableByteArrayFetching;
+  }
+
+  public boolean isEnableTransientExecutionActivityHistory() {
+    return enableTransientExecutionActivityHistory;
+  }
+
+  public void setEnableTransientExecutionActivityHistory(boolean enableTransientExecutionActivityHistory) {
+    this.enableTransientExecutionActivityHistory = enableTransientExecutionActivityHistory;
+  }
+
 }
@@ -42,7 +42,9 @@ import org.activiti.engine.impl.cmd.ValidateExecutionRelatedEntityCountCfgCmd;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.db.DbIdGenerator;
 import org.activiti.engine.impl.db.DbSqlSessionFactory;
+import org.activiti.engine.impl.db.DefaultReadReplicaStalenessPolicy;
 import org.activiti.engine.impl.db.IbatisVariableTypeHandler;
+import org.activiti.engine.impl.db.ReadReplicaStalenessPolicy;
 import org.activiti.engine.impl.delegate.invocation.DefaultDelegateInterceptor;
 import org.activiti.engine.impl.el.ExpressionManager;
 import org.activiti.engine.impl.event.CompensationEventHandler;
@@ -54,8 +56,12 @@ import org.activiti.engine.impl.form.*;
 import org.activiti.engine.impl.history.DefaultHistoryManager;
 import org.activiti.engine.impl.history.HistoryLevel;
 import org.activiti.engine.impl.history.HistoryManager;
+import org.activiti.engine.impl.identity.DefaultGroupCache;
+import org.activiti.engine.impl.identity.GroupCache;
 import org.activiti.engine.impl.interceptor.*;
 import org.activiti.engine.impl.jobexecutor.*;
+import org.activiti.engine.impl.metrics.CommandMetricsRegistry;
+import org.activiti.engine.impl.metrics.DefaultCommandMetricsRegistry;
 import org.activiti.engine.impl.persistence.GenericManagerFactory;
 import org.activiti.engine.impl.persistence.cache.EntityCache;
 import org.activiti.engine.impl.persistence.cache.EntityCacheImpl;
@@ -72,6 +78,7 @@ import org.activiti.engine.impl.variable.*;
 import org.activiti.engine.parse.BpmnParseHandler;
 import org.activiti.engine.runtime.Clock;
 import org.activiti.form.api.FormRepositoryService;
+import org.activiti.image.impl.CachingProcessDiagramGenerator;
 import org.activiti.image.impl.DefaultProcessDiagramGenerator;
 import org.activiti.validation.ProcessValidator;
 import org.activiti.validation.ProcessValidatorFactory;
@@ -243,6 +250,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected DbSqlSessionFactory dbSqlSessionFactory;
   protected Map<Class<?>, SessionFactory> sessionFactories;
 
+  /**
+   * Optional secondary DataSource, eg. a read replica of the database, on which queries are executed
+   * when they don't run within a transaction that changes data. The schema of this DataSource isn't managed by the engine.
+   * Queries can opt out with {@link AbstractQuery#disableReadReplica()}.
+   */
+  protected DataSource readReplicaDataSource;
+
+  /**
+   * The time in milliseconds after this engine changed data during which queries are executed on the primary DataSource,
+   * as the read replica may not have these changes yet. Zero always allows the read replica. Default value = 1 second.
+   */
+  protected long readReplicaMaxStaleness = 1000L;
+
+  /**
+   * Decides whether the read replica can be used, by default a {@link DefaultReadReplicaStalenessPolicy} using the {@link #readReplicaMaxStaleness}.
+   */
+  protected ReadReplicaStalenessPolicy readReplicaStalenessPolicy;
+
   // CONFIGURATORS ////////////////////////////////////////////////////////////
 
   protected boolean enableConfiguratorServiceLoader = true; // Enabled by default. In certain environments this should be set to false (eg osgi)
@@ -273,6 +298,20 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected int knowledgeBaseCacheLimit = -1;
   protected DeploymentCache<Object> knowledgeBaseCache;
 
+  /**
+   * The maximum number of users for which the groups are cached, see {@link GroupCache}.
+   * By default (-1) the groups of a user are not cached and fetched every time they are needed, eg. for each candidate user task query.
+   */
+  protected int groupCacheSize = -1;
+
+  /**
+   * The time in milliseconds the cached groups of a user stay valid. Default value = 1 hour.
+   * Membership changes done through the {@link IdentityService} invalidate the cached groups immediately.
+   */
+  protected long groupCacheExpirationTime = 3600000L;
+
+  protected GroupCache groupCache;
+
   // JOB EXECUTOR /////////////////////////////////////////////////////////////
 
   protected List<JobHandler> customJobHandlers;
@@ -464,6 +503,20 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected int asyncExecutorResetExpiredJobsPageSize = 3;
 
+  /**
+   * When greater than 0, timer jobs that become due within this amount of time (in milliseconds)
+   * are acquired ahead of their due date and kept in memory until they are due, so they fire
+   * at their due date instead of at the next timer acquisition. Such timer jobs stay locked until
+   * their due date plus the timer lock time, after which other executors can pick them up again
+   * (for example when this executor went down).
+   *
+   * By default 0: only timer jobs that are due are acquired.
+   *
+   * (This property is only applicable when using the
+   * {@link DefaultAsyncJobExecutor}).
+   */
+  protected int asyncExecutorTimerJobLookAheadInMillis = 0;
+
   /**
    * Experimental!
    *
@@ -527,11 +580,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    * And the changes to the java object will be reflected in the database.
    * Otherwise, a manual call to setVariable will be needed.
    *
+   * Tracking means the object is serialized again at the end of the command, to compare it with the original bytes.
+   * Objects implementing {@link org.activiti.engine.runtime.DirtyCheckedSerializable} are only serialized again when they report a change.
+   *
    * By default true for backwards compatibility.
    */
   protected boolean serializableVariableTypeTrackDeserializedObjects = true;
 
+  /**
+   * When zero or more, new 'serializable' and 'longJson' variables are stored with the {@link CompressedSerializableType}
+   * and {@link CompressedLongJsonType}, which deflate payloads of at least this many bytes.
+   * Variables stored earlier with the uncompressed types stay readable.
+   *
+   * By default -1, which disables compression.
+   */
+  protected int variablePayloadCompressionThreshold = -1;
+
   protected ExpressionManager expressionManager;
+  protected int expressionCacheLimit = ExpressionManager.DEFAULT_EXPRESSION_CACHE_LIMIT; // <= 0 disables the cache
   protected List<String> customScriptingEngineClasses;
   protected ScriptingEngines scriptingEngines;
   protected List<ResolverFactory> resolverFactories;
@@ -639,6 +705,26 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected boolean enableVerboseExecutionTreeLogging;
 
+  /**
+   * Adds a {@link CommandMetricsInterceptor} to the command interceptor chain, which records the latency, the number of agenda operations,
+   * selects and flushed entities and the failures of every executed command in the {@link #commandMetricsRegistry}.
+   */
+  protected boolean enableCommandMetrics;
+
+  /**
+   * Receives the metrics of the executed commands when {@link #enableCommandMetrics} is true.
+   * Defaults to a {@link DefaultCommandMetricsRegistry}, which keeps statistics per command in memory.
+   */
+  protected CommandMetricsRegistry commandMetricsRegistry;
+
+  /**
+   * When no process diagram generator is set, a {@link CachingProcessDiagramGenerator} is used instead of the {@link DefaultProcessDiagramGenerator}.
+   * It keeps the rendered diagrams in memory, which helps when the same diagrams are requested over and over (eg. through the REST API).
+   */
+  protected boolean enableProcessDiagramCache;
+  protected int processDiagramCacheLimit = CachingProcessDiagramGenerator.DEFAULT_DIAGRAM_CACHE_LIMIT;
+  protected int processDiagramImageCacheLimit = CachingProcessDiagramGenerator.DEFAULT_IMAGE_CACHE_LIMIT;
+
   protected PerformanceSettings performanceSettings = new PerformanceSettings();
 
   // Backwards compatibility //////////////////////////////////////////////////////////////
@@ -709,6 +795,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initProcessDefinitionCache();
     initProcessDefinitionInfoCache();
     initKnowledgeBaseCache();
+    initGroupCache();
     initJobHandlers();
     initJobManager();
     initAsyncExecutor();
@@ -795,6 +882,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     List<CommandInterceptor> interceptors = new ArrayList<CommandInterceptor>();
     interceptors.add(new LogInterceptor());
 
+    if (enableCommandMetrics) {
+      if (commandMetricsRegistry == null) {
+        commandMetricsRegistry = new DefaultCommandMetricsRegistry();
+      }
+      interceptors.add(new CommandMetricsInterceptor(commandMetricsRegistry));
+    }
+
     CommandInterceptor transactionInterceptor = createTransactionInterceptor();
     if (transactionInterceptor != null) {
       interceptors.add(transactionInterceptor);
@@ -1343,6 +1437,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     dbSqlSessionFactory.setDatabaseSchema(databaseSchema);
     dbSqlSessionFactory.setBulkInsertEnabled(isBulkInsertEnabled, databaseType);
     dbSqlSessionFactory.setMaxNrOfStatementsInBulkInsert(maxNrOfStatementsInBulkInsert);
+    if (readReplicaDataSource != null) {
+      if (readReplicaStalenessPolicy == null) {
+        readReplicaStalenessPolicy = new DefaultReadReplicaStalenessPolicy(readReplicaMaxStaleness);
+      }
+      dbSqlSessionFactory.setReadReplicaDataSource(readReplicaDataSource);
+      dbSqlSessionFactory.setReadReplicaStalenessPolicy(readReplicaStalenessPolicy);
+    }
     addSessionFactory(dbSqlSessionFactory);
   }
 
@@ -1460,6 +1561,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  public void initGroupCache() {
+    if (groupCache == null && groupCacheSize > 0) {
+      groupCache = new DefaultGroupCache(groupCacheSize, groupCacheExpirationTime, clock);
+    }
+  }
+
   public void initDeployers() {
     if (this.deployers == null) {
       this.deployers = new ArrayList<Deployer>();
@@ -1664,7 +1771,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   public void initProcessDiagramGenerator() {
     if (processDiagramGenerator == null) {
-      processDiagramGenerator = new DefaultProcessDiagramGenerator();
+      if (enableProcessDiagramCache) {
+        processDiagramGenerator = new CachingProcessDiagramGenerator(processDiagramCacheLimit, processDiagramImageCacheLimit);
+      } else {
+        processDiagramGenerator = new DefaultProcessDiagramGenerator();
+      }
     }
   }
 
@@ -1742,6 +1853,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       defaultAsyncExecutor.setResetExpiredJobsInterval(asyncExecutorResetExpiredJobsInterval);
       defaultAsyncExecutor.setResetExpiredJobsPageSize(asyncExecutorResetExpiredJobsPageSize);
 
+      // Timer look ahead
+      defaultAsyncExecutor.setTimerJobLookAheadInMillis(asyncExecutorTimerJobLookAheadInMillis);
+
       // Shutdown
       defaultAsyncExecutor.setSecondsToWaitOnShutdown(asyncExecutorSecondsToWaitOnShutdown);
 
@@ -1837,8 +1951,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       variableTypes.addType(new DoubleType());
       variableTypes.addType(new UUIDType());
       variableTypes.addType(new JsonType(getMaxLengthString(), objectMapper));
+      if (variablePayloadCompressionThreshold >= 0) {
+        variableTypes.addType(new CompressedLongJsonType(getMaxLengthString() + 1, objectMapper, variablePayloadCompressionThreshold));
+      }
       variableTypes.addType(new LongJsonType(getMaxLengthString() + 1, objectMapper));
       variableTypes.addType(new ByteArrayType());
+      if (variablePayloadCompressionThreshold >= 0) {
+        variableTypes.addType(new CompressedSerializableType(serializableVariableTypeTrackDeserializedObjects, variablePayloadCompressionThreshold));
+      }
       variableTypes.addType(new SerializableType(serializableVariableTypeTrackDeserializedObjects));
       variableTypes.addType(new CustomObjectType("item", ItemInstance.class));
       variableTypes.addType(new CustomObjectType("message", MessageInstance.class));
@@ -1907,6 +2027,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   public void initExpressionManager() {
     if (expressionManager == null) {
       expressionManager = new ExpressionManager(beans);
+      expressionManager.setExpressionCacheLimit(expressionCacheLimit);
     }
   }
 
@@ -1960,9 +2081,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       VariableType jpaType = variableTypes.getVariableType(JPAEntityVariableType.TYPE_NAME);
       // Add JPA-type
       if (jpaType == null) {
-        // We try adding the variable right before SerializableType, if
+        // We try adding the variable right before SerializableType (or its compressed variant), if
         // available
-        int serializableIndex = variableTypes.getTypeIndex(SerializableType.TYPE_NAME);
+        int serializableIndex = variableTypes.getTypeIndex(CompressedSerializableType.TYPE_NAME);
+        if (serializableIndex == -1) {
+          serializableIndex = variableTypes.getTypeIndex(SerializableType.TYPE_NAME);
+        }
         if (serializableIndex > -1) {
           variableTypes.addType(new JPAEntityVariableType(), serializableIndex);
         } else {
@@ -2450,6 +2574,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.serializableVariableTypeTrackDeserializedObjects = serializableVariableTypeTrackDeserializedObjects;
   }
 
+  public int getVariablePayloadCompressionThreshold() {
+    return variablePayloadCompressionThreshold;
+  }
+
+  public ProcessEngineConfigurationImpl setVariablePayloadCompressionThreshold(int variablePayloadCompressionThreshold) {
+    this.variablePayloadCompressionThreshold = variablePayloadCompressionThreshold;
+    return this;
+  }
+
   public ExpressionManager getExpressionManager() {
     return expressionManager;
   }
@@ -2459,6 +2592,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public int getExpressionCacheLimit() {
+    return expressionCacheLimit;
+  }
+
+  public ProcessEngineConfigurationImpl setExpressionCacheLimit(int expressionCacheLimit) {
+    this.expressionCacheLimit = expressionCacheLimit;
+    return this;
+  }
+
   public BusinessCalendarManager getBusinessCalendarManager() {
     return businessCalendarManager;
   }
@@ -2585,6 +2727,33 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public DataSource getReadReplicaDataSource() {
+    return readReplicaDataSource;
+  }
+
+  public ProcessEngineConfigurationImpl setReadReplicaDataSource(DataSource readReplicaDataSource) {
+    this.readReplicaDataSource = readReplicaDataSource;
+    return this;
+  }
+
+  public long getReadReplicaMaxStaleness() {
+    return readReplicaMaxStaleness;
+  }
+
+  public ProcessEngineConfigurationImpl setReadReplicaMaxStaleness(long readReplicaMaxStaleness) {
+    this.readReplicaMaxStaleness = readReplicaMaxStaleness;
+    return this;
+  }
+
+  public ReadReplicaStalenessPolicy getReadReplicaStalenessPolicy() {
+    return readReplicaStalenessPolicy;
+  }
+
+  public ProcessEngineConfigurationImpl setReadReplicaStalenessPolicy(ReadReplicaStalenessPolicy readReplicaStalenessPolicy) {
+    this.readReplicaStalenessPolicy = readReplicaStalenessPolicy;
+    return this;
+  }
+
   public TransactionFactory getTransactionFactory() {
     return transactionFactory;
   }
@@ -2850,6 +3019,33 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public int getGroupCacheSize() {
+    return groupCacheSize;
+  }
+
+  public ProcessEngineConfigurationImpl setGroupCacheSize(int groupCacheSize) {
+    this.groupCacheSize = groupCacheSize;
+    return this;
+  }
+
+  public long getGroupCacheExpirationTime() {
+    return groupCacheExpirationTime;
+  }
+
+  public ProcessEngineConfigurationImpl setGroupCacheExpirationTime(long groupCacheExpirationTime) {
+    this.groupCacheExpirationTime = groupCacheExpirationTime;
+    return this;
+  }
+
+  public GroupCache getGroupCache() {
+    return groupCache;
+  }
+
+  public ProcessEngineConfigurationImpl setGroupCache(GroupCache groupCache) {
+    this.groupCache = groupCache;
+    return this;
+  }
+
   public boolean isEnableSafeBpmnXml() {
     return enableSafeBpmnXml;
   }
@@ -2958,6 +3154,51 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isEnableCommandMetrics() {
+    return enableCommandMetrics;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableCommandMetrics(boolean enableCommandMetrics) {
+    this.enableCommandMetrics = enableCommandMetrics;
+    return this;
+  }
+
+  public CommandMetricsRegistry getCommandMetricsRegistry() {
+    return commandMetricsRegistry;
+  }
+
+  public ProcessEngineConfigurationImpl setCommandMetricsRegistry(CommandMetricsRegistry commandMetricsRegistry) {
+    this.commandMetricsRegistry = commandMetricsRegistry;
+    return this;
+  }
+
+  public boolean isEnableProcessDiagramCache() {
+    return enableProcessDiagramCache;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableProcessDiagramCache(boolean enableProcessDiagramCache) {
+    this.enableProcessDiagramCache = enableProcessDiagramCache;
+    return this;
+  }
+
+  public int getProcessDiagramCacheLimit() {
+    return processDiagramCacheLimit;
+  }
+
+  public ProcessEngineConfigurationImpl setProcessDiagramCacheLimit(int processDiagramCacheLimit) {
+    this.processDiagramCacheLimit = processDiagramCacheLimit;
+    return this;
+  }
+
+  public int getProcessDiagramImageCacheLimit() {
+    return processDiagramImageCacheLimit;
+  }
+
+  public ProcessEngineConfigurationImpl setProcessDiagramImageCacheLimit(int processDiagramImageCacheLimit) {
+    this.processDiagramImageCacheLimit = processDiagramImageCacheLimit;
+    return this;
+  }
+
   public ProcessEngineConfigurationImpl setEnableEagerExecutionTreeFetching(boolean enableEagerExecutionTreeFetching) {
     this.performanceSettings.setEnableEagerExecutionTreeFetching(enableEagerExecutionTreeFetching);
     return this;
@@ -2981,6 +3222,16 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public ProcessEngineConfigurationImpl setEnableEagerVariableByteArrayFetching(boolean enableEagerVariableByteArrayFetching) {
+    this.performanceSettings.setEnableEagerVariableByteArrayFetching(enableEagerVariableByteArrayFetching);
+    return this;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableTransientExecutionActivityHistory(boolean enableTransientExecutionActivityHistory) {
+    this.performanceSettings.setEnableTransientExecutionActivityHistory(enableTransientExecutionActivityHistory);
+    return this;
+  }
+
   public AttachmentDataManager getAttachmentDataManager() {
     return attachmentDataManager;
   }
@@ -3828,6 +4079,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public int getAsyncExecutorTimerJobLookAheadInMillis() {
+    return asyncExecutorTimerJobLookAheadInMillis;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorTimerJobLookAheadInMillis(int asyncExecutorTimerJobLookAheadInMillis) {
+    this.asyncExecutorTimerJobLookAheadInMillis = asyncExecutorTimerJobLookAheadInMillis;
+    return this;
+  }
+
   public boolean isAsyncExecutorIsMessageQueueMode() {
     return asyncExecutorMessageQueueMode;
   }
@@ -12,17 +12,26 @@
  */
 package org.activiti.engine.impl.cfg.multitenant;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.sql.DataSource;
 
+import org.activiti.engine.ActivitiException;
 import org.activiti.engine.ProcessEngine;
 import org.activiti.engine.ProcessEngineConfiguration;
 import org.activiti.engine.impl.asyncexecutor.AsyncExecutor;
 import org.activiti.engine.impl.asyncexecutor.multitenant.ExecutorPerTenantAsyncExecutor;
+import org.activiti.engine.impl.asyncexecutor.multitenant.SharedAcquisitionAsyncExecutor;
 import org.activiti.engine.impl.asyncexecutor.multitenant.SharedExecutorServiceAsyncExecutor;
 import org.activiti.engine.impl.asyncexecutor.multitenant.TenantAwareAsyncExecutor;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.cmd.ValidateExecutionRelatedEntityCountCfgCmd;
 import org.activiti.engine.impl.db.DbIdGenerator;
 import org.activiti.engine.impl.interceptor.CommandInterceptor;
 import org.activiti.engine.impl.persistence.StrongUuidGenerator;
@@ -47,12 +56,21 @@ import org.slf4j.LoggerFactory;
  * - Adding tenants (also after boot!) is done using the {@link #registerTenant(String, DataSource)} operations.
  * 
  * - Currently, this config does not work with the 'old' {@link JobExecutor}, but only with the newer {@link AsyncExecutor}.
- *   There are two different implementations: 
+ *   There are three different implementations: 
  *     - The {@link ExecutorPerTenantAsyncExecutor}: creates one full {@link AsyncExecutor} for each tenant.
  *     - The {@link SharedExecutorServiceAsyncExecutor}: created acquisition threads for each tenant, but the 
  *       job execution is done using a process engine shared {@link ExecutorService}.
+ *     - The {@link SharedAcquisitionAsyncExecutor}: a small fixed set of acquisition threads is shared by all tenants,
+ *       as is the {@link ExecutorService}. Use this one when there are many tenants.
  *   The {@link AsyncExecutor} needs to be injected using the {@link #setAsyncExecutor(AsyncExecutor)} method on this class.    
  * 
+ * - By default, the database schema of every tenant is created/validated when the engine boots, using 
+ *   {@link #setTenantSchemaOperationThreadCount(int)} threads. With {@link #setLazyTenantInitialization(boolean)},
+ *   this is done the first time a tenant is used instead. Note that a running async executor uses every tenant soon after boot.
+ *   
+ * - The connections of idle tenants can be closed, see {@link #setIdleTenantDataSourceTimeInMillis(long)}.
+ *   The connection usage per tenant is available on the {@link TenantAwareDataSource}.
+ * 
  * databasetype
  * 
  * @author Joram Barrez
@@ -64,6 +82,15 @@ public class MultiSchemaMultiTenantProcessEngineConfiguration extends ProcessEng
   protected TenantInfoHolder tenantInfoHolder;
   protected boolean booted;
   
+  /** When true, the schema operation of a tenant runs when the tenant is used for the first time instead of at boot */
+  protected boolean lazyTenantInitialization;
+  
+  /** The number of threads that run the schema operations of the tenants at boot */
+  protected int tenantSchemaOperationThreadCount = 1;
+  
+  /** When set, the connections of a pooled tenant DataSource that was not used for this time are closed */
+  protected long idleTenantDataSourceTimeInMillis;
+  
   public MultiSchemaMultiTenantProcessEngineConfiguration(TenantInfoHolder tenantInfoHolder) {
     
     this.tenantInfoHolder = tenantInfoHolder;
@@ -86,16 +113,28 @@ public class MultiSchemaMultiTenantProcessEngineConfiguration extends ProcessEng
    * to calling this method.
    */
   public void registerTenant(String tenantId, DataSource dataSource) {
-    ((TenantAwareDataSource) super.getDataSource()).addDataSource(tenantId, dataSource);
+    TenantAwareDataSource tenantAwareDataSource = (TenantAwareDataSource) super.getDataSource();
+    if (lazyTenantInitialization) {
+      tenantAwareDataSource.addUninitializedDataSource(tenantId, dataSource);
+    } else {
+      tenantAwareDataSource.addDataSource(tenantId, dataSource);
+    }
     
     if (booted) {
-      createTenantSchema(tenantId);
+      if (!lazyTenantInitialization) {
+        createTenantSchema(tenantId);
+      }
       
       createTenantAsyncJobExecutor(tenantId);
       
-      tenantInfoHolder.setCurrentTenantId(tenantId);
-      super.postProcessEngineInitialisation();
-      tenantInfoHolder.clearCurrentTenantId();
+      if (!lazyTenantInitialization) {
+        tenantInfoHolder.setCurrentTenantId(tenantId);
+        try {
+          super.postProcessEngineInitialisation();
+        } finally {
+          tenantInfoHolder.clearCurrentTenantId();
+        }
+      }
     }
   }
   
@@ -133,9 +172,18 @@ public class MultiSchemaMultiTenantProcessEngineConfiguration extends ProcessEng
     this.databaseSchemaUpdate = originalDatabaseSchemaUpdate;
     this.asyncExecutorActivate = originalIsAutoActivateAsyncExecutor;
     
+    TenantAwareDataSource tenantAwareDataSource = (TenantAwareDataSource) super.getDataSource();
+    tenantAwareDataSource.setIdleDataSourceTimeInMillis(idleTenantDataSourceTimeInMillis);
+    
     // Create tenant schema
-    for (String tenantId : tenantInfoHolder.getAllTenants()) {
-      createTenantSchema(tenantId);
+    if (lazyTenantInitialization) {
+      tenantAwareDataSource.setTenantInitializer(new TenantAwareDataSource.TenantInitializer() {
+        public void initializeTenant(String tenantId) {
+          initializeTenantOnFirstUse(tenantId);
+        }
+      });
+    } else {
+      createTenantSchemas(tenantInfoHolder.getAllTenants());
     }
     
     // Start async executor
@@ -147,11 +195,67 @@ public class MultiSchemaMultiTenantProcessEngineConfiguration extends ProcessEng
     return processEngine;
   }
 
+  protected void createTenantSchemas(Collection<String> tenantIds) {
+    if (tenantSchemaOperationThreadCount <= 1 || tenantIds.size() <= 1) {
+      for (String tenantId : tenantIds) {
+        createTenantSchema(tenantId);
+      }
+      return;
+    }
+    
+    ExecutorService executorService = Executors.newFixedThreadPool(Math.min(tenantSchemaOperationThreadCount, tenantIds.size()));
+    try {
+      List<Future<?>> schemaOperations = new ArrayList<Future<?>>();
+      for (final String tenantId : tenantIds) {
+        schemaOperations.add(executorService.submit(new Runnable() {
+          public void run() {
+            createTenantSchema(tenantId);
+          }
+        }));
+      }
+      
+      for (Future<?> schemaOperation : schemaOperations) {
+        try {
+          schemaOperation.get();
+        } catch (ExecutionException e) {
+          if (e.getCause() instanceof ActivitiException) {
+            throw (ActivitiException) e.getCause();
+          }
+          throw new ActivitiException("Could not create/validate the database schema of a tenant", e.getCause());
+        } catch (InterruptedException e) {
+          throw new ActivitiException("Interrupted while creating/validating the database schemas of the tenants", e);
+        }
+      }
+      
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+  
+  /**
+   * Runs the schema operation of a lazily initialized tenant. The tenant is the current tenant already.
+   * 
+   * This can happen while a command context is opening its database session, so the commands here
+   * must not reuse that command context.
+   */
+  protected void initializeTenantOnFirstUse(String tenantId) {
+    logger.info("creating/validating database schema for tenant " + tenantId + " on first use");
+    getCommandExecutor().execute(getSchemaCommandConfig(), new ExecuteSchemaOperationCommand(databaseSchemaUpdate));
+    
+    if (performanceSettings.isValidateExecutionRelationshipCountConfigOnBoot()) {
+      getCommandExecutor().execute(getDefaultCommandConfig().setContextReusePossible(false), new ValidateExecutionRelatedEntityCountCfgCmd());
+    }
+  }
+
   protected void createTenantSchema(String tenantId) {
     logger.info("creating/validating database schema for tenant " + tenantId);
     tenantInfoHolder.setCurrentTenantId(tenantId);
-    getCommandExecutor().execute(getSchemaCommandConfig(), new ExecuteSchemaOperationCommand(databaseSchemaUpdate));
-    tenantInfoHolder.clearCurrentTenantId();
+    try {
+      getCommandExecutor().execute(getSchemaCommandConfig(), new ExecuteSchemaOperationCommand(databaseSchemaUpdate));
+    } finally {
+      // The calling thread can be a pooled one, which must not keep the tenant after a failure
+      tenantInfoHolder.clearCurrentTenantId();
+    }
   }
   
   protected void createTenantAsyncJobExecutor(String tenantId) {
@@ -167,5 +271,32 @@ public class MultiSchemaMultiTenantProcessEngineConfiguration extends ProcessEng
   protected void postProcessEngineInitialisation() {
     // empty here. will be done in registerTenant
   }
+  
+  public boolean isLazyTenantInitialization() {
+    return lazyTenantInitialization;
+  }
+
+  public MultiSchemaMultiTenantProcessEngineConfiguration setLazyTenantInitialization(boolean lazyTenantInitialization) {
+    this.lazyTenantInitialization = lazyTenantInitialization;
+    return this;
+  }
+
+  public int getTenantSchemaOperationThreadCount() {
+    return tenantSchemaOperationThreadCount;
+  }
+
+  public MultiSchemaMultiTenantProcessEngineConfiguration setTenantSchemaOperationThreadCount(int tenantSchemaOperationThreadCount) {
+    this.tenantSchemaOperationThreadCount = tenantSchemaOperationThreadCount;
+    return this;
+  }
+
+  public long getIdleTenantDataSourceTimeInMillis() {
+    return idleTenantDataSourceTimeInMillis;
+  }
+
+  public MultiSchemaMultiTenantProcessEngineConfiguration setIdleTenantDataSourceTimeInMillis(long idleTenantDataSourceTimeInMillis) {
+    this.idleTenantDataSourceTimeInMillis = idleTenantDataSourceTimeInMillis;
+    return this;
+  }
 
 }
@@ -17,13 +17,19 @@ import java.io.PrintWriter;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Logger;
 
 import javax.sql.DataSource;
 
 import org.activiti.engine.ActivitiException;
+import org.apache.ibatis.datasource.pooled.PoolState;
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
 
 /**
  * A {@link DataSource} implementation that switches the currently used datasource based on the
@@ -34,12 +40,29 @@ import org.activiti.engine.ActivitiException;
  * 
  * Heavily influenced and inspired by Spring's AbstractRoutingDataSource.
  * 
+ * A {@link DataSource} can be added as uninitialized (see {@link #addUninitializedDataSource(Object, DataSource)}).
+ * The {@link TenantInitializer} is then called the first time a {@link Connection} is requested for the tenant.
+ * 
+ * When an idle time is set (see {@link #setIdleDataSourceTimeInMillis(long)}), the connections of a MyBatis 
+ * {@link PooledDataSource} that was not used for that time are closed. The pool opens new ones when the tenant is used again.
+ * 
  * @author Joram Barrez
  */
 public class TenantAwareDataSource implements DataSource {
   
   protected TenantInfoHolder tenantInfoHolder;
-  protected Map<Object, DataSource> dataSources = new HashMap<Object, DataSource>();
+  protected Map<Object, DataSource> dataSources = new ConcurrentHashMap<Object, DataSource>();
+  
+  protected TenantInitializer tenantInitializer;
+  protected Set<Object> uninitializedTenants = Collections.newSetFromMap(new ConcurrentHashMap<Object, Boolean>());
+  protected ThreadLocal<Object> initializingTenant = new ThreadLocal<Object>();
+  
+  protected long idleDataSourceTimeInMillis;
+  protected volatile long lastIdleDataSourceCheckTime = System.currentTimeMillis();
+  protected Set<Object> closedIdleTenants = Collections.newSetFromMap(new ConcurrentHashMap<Object, Boolean>());
+  
+  protected ConcurrentMap<Object, AtomicLong> connectionRequests = new ConcurrentHashMap<Object, AtomicLong>();
+  protected ConcurrentMap<Object, Long> lastUsedTimes = new ConcurrentHashMap<Object, Long>();
   
   public TenantAwareDataSource(TenantInfoHolder tenantInfoHolder) {
     this.tenantInfoHolder = tenantInfoHolder;
@@ -49,26 +72,149 @@ public class TenantAwareDataSource implements DataSource {
     dataSources.put(key, dataSource);
   }
   
+  /**
+   * Adds a {@link DataSource} of which the tenant is initialized by the {@link TenantInitializer} on first use.
+   */
+  public void addUninitializedDataSource(Object key, DataSource dataSource) {
+    uninitializedTenants.add(key);
+    dataSources.put(key, dataSource);
+  }
+  
   public void removeDataSource(Object key) {
     dataSources.remove(key);
+    uninitializedTenants.remove(key);
+    closedIdleTenants.remove(key);
+    connectionRequests.remove(key);
+    lastUsedTimes.remove(key);
   }
   
   public Connection getConnection() throws SQLException {
-    return getCurrentDataSource().getConnection();
+    return getCurrentDataSourceForConnection().getConnection();
   }
 
   public Connection getConnection(String username, String password) throws SQLException {
-    return  getCurrentDataSource().getConnection(username, password);
+    return getCurrentDataSourceForConnection().getConnection(username, password);
   }
   
   protected DataSource getCurrentDataSource() {
     String tenantId = tenantInfoHolder.getCurrentTenantId();
-    DataSource dataSource = dataSources.get(tenantId);
+    DataSource dataSource = tenantId != null ? dataSources.get(tenantId) : null;
     if (dataSource == null) {
       throw new ActivitiException("Could not find a dataSource for tenant " + tenantId);
     }
     return dataSource;
   }
+  
+  protected DataSource getCurrentDataSourceForConnection() {
+    DataSource dataSource = getCurrentDataSource();
+    String tenantId = tenantInfoHolder.getCurrentTenantId();
+    
+    if (uninitializedTenants.contains(tenantId)) {
+      initializeTenant(tenantId, dataSource);
+    }
+    
+    long now = System.currentTimeMillis();
+    lastUsedTimes.put(tenantId, now);
+    closedIdleTenants.remove(tenantId);
+    getConnectionRequestCounter(tenantId).incrementAndGet();
+    
+    if (idleDataSourceTimeInMillis > 0 && now - lastIdleDataSourceCheckTime > idleDataSourceTimeInMillis) {
+      lastIdleDataSourceCheckTime = now;
+      closeIdleDataSources(now);
+    }
+    return dataSource;
+  }
+  
+  protected void initializeTenant(Object tenantId, DataSource dataSource) {
+    if (tenantInitializer == null || tenantId.equals(initializingTenant.get())) {
+      // The initializer itself uses connections of the tenant
+      return;
+    }
+    
+    synchronized (dataSource) {
+      if (uninitializedTenants.contains(tenantId)) {
+        initializingTenant.set(tenantId);
+        try {
+          tenantInitializer.initializeTenant(tenantId.toString());
+          uninitializedTenants.remove(tenantId);
+        } finally {
+          initializingTenant.remove();
+        }
+      }
+    }
+  }
+  
+  /**
+   * Closes the connections of the {@link PooledDataSource}s that have no active connections
+   * and were not used during the idle time.
+   */
+  protected void closeIdleDataSources(long now) {
+    for (Map.Entry<Object, Long> lastUsedTime : lastUsedTimes.entrySet()) {
+      Object tenantId = lastUsedTime.getKey();
+      DataSource dataSource = dataSources.get(tenantId);
+      if (now - lastUsedTime.getValue() > idleDataSourceTimeInMillis 
+          && dataSource instanceof PooledDataSource && !closedIdleTenants.contains(tenantId)) {
+        
+        PooledDataSource pooledDataSource = (PooledDataSource) dataSource;
+        PoolState poolState = pooledDataSource.getPoolState();
+        synchronized (poolState) {
+          if (poolState.getActiveConnectionCount() == 0) {
+            pooledDataSource.forceCloseAll();
+            closedIdleTenants.add(tenantId);
+          }
+        }
+      }
+    }
+  }
+  
+  protected AtomicLong getConnectionRequestCounter(Object tenantId) {
+    AtomicLong counter = connectionRequests.get(tenantId);
+    if (counter == null) {
+      counter = new AtomicLong();
+      AtomicLong existingCounter = connectionRequests.putIfAbsent(tenantId, counter);
+      if (existingCounter != null) {
+        counter = existingCounter;
+      }
+    }
+    return counter;
+  }
+  
+  public boolean isTenantInitialized(Object tenantId) {
+    return dataSources.containsKey(tenantId) && !uninitializedTenants.contains(tenantId);
+  }
+  
+  /**
+   * @return the number of connections requested for the tenant since it was added.
+   */
+  public long getConnectionRequests(Object tenantId) {
+    AtomicLong counter = connectionRequests.get(tenantId);
+    return counter != null ? counter.get() : 0L;
+  }
+  
+  /**
+   * @return the time a connection was last requested for the tenant, or null if that never happened.
+   */
+  public Long getLastUsedTime(Object tenantId) {
+    return lastUsedTimes.get(tenantId);
+  }
+  
+  /**
+   * @return the number of connections in use of the {@link DataSource} of the tenant, 
+   *         or -1 if it is not a {@link PooledDataSource}.
+   */
+  public int getActiveConnectionCount(Object tenantId) {
+    DataSource dataSource = dataSources.get(tenantId);
+    return dataSource instanceof PooledDataSource ? ((PooledDataSource) dataSource).getPoolState().getActiveConnectionCount() : -1;
+  }
+  
+  /**
+   * @return the number of idle connections in the pool of the {@link DataSource} of the tenant, 
+   *         or -1 if it is not a {@link PooledDataSource}.
+   */
+  public int getIdleConnectionCount(Object tenantId) {
+    DataSource dataSource = dataSources.get(tenantId);
+    return dataSource instanceof PooledDataSource ? ((PooledDataSource) dataSource).getPoolState().getIdleConnectionCount() : -1;
+  }
 
   public int getLoginTimeout() throws SQLException {
     return 0; // Default
@@ -98,6 +244,32 @@ public class TenantAwareDataSource implements DataSource {
     this.dataSources = dataSources;
   }
   
+  public TenantInitializer getTenantInitializer() {
+    return tenantInitializer;
+  }
+
+  public void setTenantInitializer(TenantInitializer tenantInitializer) {
+    this.tenantInitializer = tenantInitializer;
+  }
+
+  public long getIdleDataSourceTimeInMillis() {
+    return idleDataSourceTimeInMillis;
+  }
+
+  public void setIdleDataSourceTimeInMillis(long idleDataSourceTimeInMillis) {
+    this.idleDataSourceTimeInMillis = idleDataSourceTimeInMillis;
+  }
+  
+  /**
+   * Called the first time a connection is requested for a tenant that was added uninitialized,
+   * with the tenant set as current tenant in the {@link TenantInfoHolder}.
+   */
+  public interface TenantInitializer {
+    
+    void initializeTenant(String tenantId);
+    
+  }
+  
   // Unsupported //////////////////////////////////////////////////////////
   
   public PrintWriter getLogWriter() throws SQLException {
@@ -13,6 +13,7 @@
 package org.activiti.engine.impl.cmd;
 
 import java.util.Calendar;
+import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.List;
 
@@ -29,23 +30,53 @@ import org.activiti.engine.impl.persistence.entity.TimerJobEntity;
 public class AcquireTimerJobsCmd implements Command<AcquiredTimerJobEntities> {
 
   private final AsyncExecutor asyncExecutor;
+  private final long lookAheadInMillis;
 
   public AcquireTimerJobsCmd(AsyncExecutor asyncExecutor) {
+    this(asyncExecutor, 0L);
+  }
+
+  /**
+   * @param lookAheadInMillis
+   *          also acquire the timer jobs that become due within this amount of time. 
+   *          Such timer jobs stay locked until their due date plus the timer lock time.
+   */
+  public AcquireTimerJobsCmd(AsyncExecutor asyncExecutor, long lookAheadInMillis) {
     this.asyncExecutor = asyncExecutor;
+    this.lookAheadInMillis = lookAheadInMillis;
   }
 
   public AcquiredTimerJobEntities execute(CommandContext commandContext) {
     AcquiredTimerJobEntities acquiredJobs = new AcquiredTimerJobEntities();
-    List<TimerJobEntity> timerJobs = commandContext.getTimerJobEntityManager()
-        .findTimerJobsToExecute(new Page(0, asyncExecutor.getMaxAsyncJobsDuePerAcquisition()));
-
-    for (TimerJobEntity job : timerJobs) {
-      lockJob(commandContext, job, asyncExecutor.getAsyncJobLockTimeInMillis());
-      acquiredJobs.addJob(job);
+    
+    if (lookAheadInMillis <= 0L) {
+      List<TimerJobEntity> timerJobs = commandContext.getTimerJobEntityManager()
+          .findTimerJobsToExecute(new Page(0, asyncExecutor.getMaxTimerJobsPerAcquisition()));
+  
+      for (TimerJobEntity job : timerJobs) {
+        lockJob(commandContext, job, asyncExecutor.getAsyncJobLockTimeInMillis());
+        acquiredJobs.addJob(job);
+      }
+      
+    } else {
+      Date now = commandContext.getProcessEngineConfiguration().getClock().getCurrentTime();
+      List<TimerJobEntity> timerJobs = commandContext.getTimerJobEntityManager()
+          .findTimerJobsToExecute(new Date(now.getTime() + lookAheadInMillis), new Page(0, asyncExecutor.getMaxTimerJobsPerAcquisition()));
+      
+      for (TimerJobEntity job : timerJobs) {
+        lockJobUntilAfterDueDate(job, now, asyncExecutor.getTimerLockTimeInMillis());
+        acquiredJobs.addJob(job);
+      }
     }
 
     return acquiredJobs;
   }
+  
+  protected void lockJobUntilAfterDueDate(TimerJobEntity job, Date now, int lockTimeInMillis) {
+    Date lockStartTime = job.getDuedate().after(now) ? job.getDuedate() : now;
+    job.setLockOwner(asyncExecutor.getLockOwner());
+    job.setLockExpirationTime(new Date(lockStartTime.getTime() + lockTimeInMillis));
+  }
 
   protected void lockJob(CommandContext commandContext, TimerJobEntity job, int lockTimeInMillis) {
     
@@ -15,6 +15,7 @@ package org.activiti.engine.impl.cmd;
 import java.io.Serializable;
 
 import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.impl.identity.GroupCacheInvalidationTransactionListener;
 import org.activiti.engine.impl.interceptor.Command;
 import org.activiti.engine.impl.interceptor.CommandContext;
 
@@ -35,6 +36,7 @@ public class DeleteGroupCmd implements Command<Void>, Serializable {
       throw new ActivitiIllegalArgumentException("groupId is null");
     }
     commandContext.getGroupEntityManager().delete(groupId);
+    GroupCacheInvalidationTransactionListener.invalidateGroupCache(commandContext, null);
 
     return null;
   }
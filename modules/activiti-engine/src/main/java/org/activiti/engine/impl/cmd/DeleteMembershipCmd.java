@@ -15,6 +15,7 @@ package org.activiti.engine.impl.cmd;
 import java.io.Serializable;
 
 import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.impl.identity.GroupCacheInvalidationTransactionListener;
 import org.activiti.engine.impl.interceptor.Command;
 import org.activiti.engine.impl.interceptor.CommandContext;
 
@@ -41,6 +42,7 @@ public class DeleteMembershipCmd implements Command<Void>, Serializable {
     }
 
     commandContext.getMembershipIdentityManager().deleteMembership(userId, groupId);
+    GroupCacheInvalidationTransactionListener.invalidateGroupCache(commandContext, userId);
 
     return null;
   }
@@ -15,6 +15,7 @@ package org.activiti.engine.impl.cmd;
 import java.io.Serializable;
 
 import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.impl.identity.GroupCacheInvalidationTransactionListener;
 import org.activiti.engine.impl.interceptor.Command;
 import org.activiti.engine.impl.interceptor.CommandContext;
 
@@ -35,6 +36,7 @@ public class DeleteUserCmd implements Command<Void>, Serializable {
       throw new ActivitiIllegalArgumentException("userId is null");
     }
     commandContext.getUserEntityManager().delete(userId);
+    GroupCacheInvalidationTransactionListener.invalidateGroupCache(commandContext, userId);
 
     return null;
   }
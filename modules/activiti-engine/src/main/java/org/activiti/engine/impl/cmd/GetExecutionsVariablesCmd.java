@@ -47,6 +47,9 @@ public class GetExecutionsVariablesCmd implements Command<List<VariableInstance>
     
     List<VariableInstance> instances = new ArrayList<VariableInstance>();
     List<VariableInstanceEntity> entities = commandContext.getVariableInstanceEntityManager().findVariableInstancesByExecutionIds(executionIds);
+    if (commandContext.getProcessEngineConfiguration().getPerformanceSettings().isEnableEagerVariableByteArrayFetching()) {
+      commandContext.getVariableInstanceEntityManager().fetchByteArrays(entities);
+    }
     for (VariableInstanceEntity entity : entities){
         entity.getValue();
         instances.add(entity);
@@ -48,6 +48,9 @@ public class GetTasksLocalVariablesCmd implements Command<List<VariableInstance>
     
     List<VariableInstance> instances = new ArrayList<VariableInstance>();
     List<VariableInstanceEntity> entities = commandContext.getVariableInstanceEntityManager().findVariableInstancesByTaskIds(taskIds);
+    if (commandContext.getProcessEngineConfiguration().getPerformanceSettings().isEnableEagerVariableByteArrayFetching()) {
+      commandContext.getVariableInstanceEntityManager().fetchByteArrays(entities);
+    }
     for (VariableInstanceEntity entity : entities){
       entity.getValue();
       instances.add(entity);
@@ -16,6 +16,7 @@ import java.io.Serializable;
 
 import org.activiti.engine.ActivitiIllegalArgumentException;
 import org.activiti.engine.identity.Group;
+import org.activiti.engine.impl.identity.GroupCacheInvalidationTransactionListener;
 import org.activiti.engine.impl.interceptor.Command;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.persistence.entity.Entity;
@@ -50,7 +51,7 @@ public class SaveGroupCmd implements Command<Void>, Serializable {
       } else {
         commandContext.getDbSqlSession().update((Entity) group);
       }
-      
+      GroupCacheInvalidationTransactionListener.invalidateGroupCache(commandContext, null);
     }
     return null;
   }
@@ -59,6 +59,7 @@ import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.db.upgrade.DbUpgradeStep;
 import org.activiti.engine.impl.interceptor.Session;
+import org.activiti.engine.impl.metrics.CommandMetrics;
 import org.activiti.engine.impl.persistence.cache.CachedEntity;
 import org.activiti.engine.impl.persistence.cache.EntityCache;
 import org.activiti.engine.impl.persistence.entity.Entity;
@@ -160,6 +161,8 @@ public class DbSqlSession implements Session {
   protected String connectionMetadataDefaultCatalog;
   protected String connectionMetadataDefaultSchema;
 
+  protected boolean readReplica;
+
   public DbSqlSession(DbSqlSessionFactory dbSqlSessionFactory, EntityCache entityCache) {
     this.dbSqlSessionFactory = dbSqlSessionFactory;
     this.sqlSession = dbSqlSessionFactory.getSqlSessionFactory().openSession();
@@ -318,6 +321,7 @@ public class DbSqlSession implements Session {
       return Collections.EMPTY_LIST;
     }
     
+    countSelect();
     List loadedObjects = sqlSession.selectList(statement, parameter);
     if (useCache) {
       return cacheLoadOrStore(loadedObjects);
@@ -332,11 +336,13 @@ public class DbSqlSession implements Session {
     if (firstResult == -1 || maxResults == -1) {
       return Collections.EMPTY_LIST;
     }
+    countSelect();
     return sqlSession.selectList(statement, parameter);
   }
 
   public Object selectOne(String statement, Object parameter) {
     statement = dbSqlSessionFactory.mapStatement(statement);
+    countSelect();
     Object result = sqlSession.selectOne(statement, parameter);
     if (result instanceof Entity) {
       Entity loadedObject = (Entity) result;
@@ -362,6 +368,7 @@ public class DbSqlSession implements Session {
     
     String selectStatement = dbSqlSessionFactory.getSelectStatement(entityClass);
     selectStatement = dbSqlSessionFactory.mapStatement(selectStatement);
+    countSelect();
     entity = (T) sqlSession.selectOne(selectStatement, id);
     if (entity == null) {
       return null;
@@ -371,6 +378,13 @@ public class DbSqlSession implements Session {
     return entity;
   }
 
+  protected void countSelect() {
+    CommandMetrics commandMetrics = CommandMetrics.getCurrent();
+    if (commandMetrics != null) {
+      commandMetrics.addSelect();
+    }
+  }
+
   // internal session cache
   // ///////////////////////////////////////////////////
 
@@ -415,9 +429,26 @@ public class DbSqlSession implements Session {
       debugFlush();
     }
 
+    CommandMetrics commandMetrics = CommandMetrics.getCurrent();
+    if (commandMetrics != null) {
+      // A bulk delete is counted as one delete
+      int deletes = countEntities(deletedObjects);
+      for (List<BulkDeleteOperation> bulkDeleteOperationList : bulkDeleteOperations.values()) {
+        deletes += bulkDeleteOperationList.size();
+      }
+      commandMetrics.addFlushedEntities(countEntities(insertedObjects), updatedObjects.size(), deletes);
+    }
+
+    boolean dataChanged = hasInsertsOrDeletes() || !updatedObjects.isEmpty();
+
     flushInserts();
     flushUpdates();
     flushDeletes();
+
+    ReadReplicaStalenessPolicy readReplicaStalenessPolicy = dbSqlSessionFactory.getReadReplicaStalenessPolicy();
+    if (dataChanged && readReplicaStalenessPolicy != null) {
+      readReplicaStalenessPolicy.dataChanged();
+    }
   }
 
   /**
@@ -477,6 +508,21 @@ public class DbSqlSession implements Session {
     }
   }
   
+  /**
+   * @return whether entities were inserted or deleted in this session. Updates are only known after dirty checking, see {@link #determineUpdatedObjects()}.
+   */
+  public boolean hasInsertsOrDeletes() {
+    return countEntities(insertedObjects) > 0 || countEntities(deletedObjects) > 0 || !bulkDeleteOperations.isEmpty();
+  }
+
+  protected int countEntities(Map<Class<? extends Entity>, Map<String, Entity>> entitiesByClass) {
+    int count = 0;
+    for (Map<String, Entity> entities : entitiesByClass.values()) {
+      count += entities.size();
+    }
+    return count;
+  }
+
   protected void debugFlush() {
     log.debug("Flushing dbSqlSession");
     int nrOfInserts = 0, nrOfUpdates = 0, nrOfDeletes = 0;
@@ -782,6 +828,17 @@ public class DbSqlSession implements Session {
     sqlSession.close();
   }
 
+  /**
+   * @return whether this session selects from the read replica DataSource instead of the primary one.
+   */
+  public boolean isReadReplica() {
+    return readReplica;
+  }
+
+  public void setReadReplica(boolean readReplica) {
+    this.readReplica = readReplica;
+  }
+
   public void commit() {
     sqlSession.commit();
   }
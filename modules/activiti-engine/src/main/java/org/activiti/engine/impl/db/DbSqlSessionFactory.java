@@ -13,11 +13,14 @@
 
 package org.activiti.engine.impl.db;
 
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import javax.sql.DataSource;
+
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.impl.cfg.IdGenerator;
 import org.activiti.engine.impl.interceptor.CommandContext;
@@ -67,13 +70,21 @@ public class DbSqlSessionFactory implements SessionFactory {
   protected boolean isDbIdentityUsed = true;
   protected boolean isDbHistoryUsed = true;
   protected int maxNrOfStatementsInBulkInsert = 100;
+
+  protected DataSource readReplicaDataSource;
+  protected ReadReplicaStalenessPolicy readReplicaStalenessPolicy;
   
   public Class<?> getSessionType() {
     return DbSqlSession.class;
   }
 
   public Session openSession(CommandContext commandContext) {
-    DbSqlSession dbSqlSession = new DbSqlSession(this, commandContext.getEntityCache());
+    DbSqlSession dbSqlSession = null;
+    if (isReadReplicaUsable(commandContext)) {
+      dbSqlSession = openReadReplicaSession(commandContext);
+    } else {
+      dbSqlSession = new DbSqlSession(this, commandContext.getEntityCache());
+    }
     if (getDatabaseSchema() != null && getDatabaseSchema().length() > 0) {
       try {
         dbSqlSession.getSqlSession().getConnection().setSchema(getDatabaseSchema());
@@ -91,6 +102,24 @@ public class DbSqlSessionFactory implements SessionFactory {
     return dbSqlSession;
   }
 
+  protected boolean isReadReplicaUsable(CommandContext commandContext) {
+    return readReplicaDataSource != null && commandContext.isReadOnly() && commandContext.isReadReplicaAllowed()
+        && (readReplicaStalenessPolicy == null || readReplicaStalenessPolicy.isReadReplicaAllowed());
+  }
+
+  protected DbSqlSession openReadReplicaSession(CommandContext commandContext) {
+    Connection connection = null;
+    try {
+      connection = readReplicaDataSource.getConnection();
+    } catch (SQLException e) {
+      throw new ActivitiException("Could not get a connection from the read replica DataSource", e);
+    }
+    // The connection is closed together with the session
+    DbSqlSession dbSqlSession = new DbSqlSession(this, commandContext.getEntityCache(), connection, databaseCatalog, databaseSchema);
+    dbSqlSession.setReadReplica(true);
+    return dbSqlSession;
+  }
+
   // insert, update and delete statements
   // /////////////////////////////////////
 
@@ -320,6 +349,22 @@ public class DbSqlSessionFactory implements SessionFactory {
     return tablePrefixIsSchema;
   }
 
+  public DataSource getReadReplicaDataSource() {
+    return readReplicaDataSource;
+  }
+
+  public void setReadReplicaDataSource(DataSource readReplicaDataSource) {
+    this.readReplicaDataSource = readReplicaDataSource;
+  }
+
+  public ReadReplicaStalenessPolicy getReadReplicaStalenessPolicy() {
+    return readReplicaStalenessPolicy;
+  }
+
+  public void setReadReplicaStalenessPolicy(ReadReplicaStalenessPolicy readReplicaStalenessPolicy) {
+    this.readReplicaStalenessPolicy = readReplicaStalenessPolicy;
+  }
+
   public int getMaxNrOfStatementsInBulkInsert() {
     return maxNrOfStatementsInBulkInsert;
   }
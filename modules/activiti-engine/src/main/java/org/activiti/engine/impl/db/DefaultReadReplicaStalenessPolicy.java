@@ -0,0 +1,51 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.db;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Uses the primary DataSource for all queries during the given time after this engine changed data,
+ * so changes are visible to queries done right after them, as long as the replica doesn't lag behind more than that time.
+ *
+ * Changes done by other engines on the same database are not known.
+ * A maximum staleness of zero always allows the read replica.
+ */
+public class DefaultReadReplicaStalenessPolicy implements ReadReplicaStalenessPolicy {
+
+  protected long maxStalenessInMillis;
+  protected final AtomicLong lastDataChange = new AtomicLong(Long.MIN_VALUE);
+
+  public DefaultReadReplicaStalenessPolicy(long maxStalenessInMillis) {
+    this.maxStalenessInMillis = maxStalenessInMillis;
+  }
+
+  public void dataChanged() {
+    if (maxStalenessInMillis > 0) {
+      lastDataChange.set(System.currentTimeMillis());
+    }
+  }
+
+  public boolean isReadReplicaAllowed() {
+    if (maxStalenessInMillis <= 0) {
+      return true;
+    }
+    long lastChange = lastDataChange.get();
+    return lastChange == Long.MIN_VALUE || System.currentTimeMillis() - lastChange > maxStalenessInMillis;
+  }
+
+  public long getMaxStalenessInMillis() {
+    return maxStalenessInMillis;
+  }
+
+}
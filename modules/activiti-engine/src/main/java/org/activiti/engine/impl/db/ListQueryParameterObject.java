@@ -22,6 +22,7 @@ public class ListQueryParameterObject {
   protected int firstResult;
   protected Object parameter;
   protected String databaseType;
+  protected String orderByColumns;
 
   public ListQueryParameterObject() {
   }
@@ -73,9 +74,16 @@ public class ListQueryParameterObject {
   }
   
   public String getOrderByColumns() {
+      if (orderByColumns != null) {
+        return orderByColumns;
+      }
       return getOrderBy();
   }
 
+  public void setOrderByColumns(String orderByColumns) {
+    this.orderByColumns = orderByColumns;
+  }
+
   public void setDatabaseType(String databaseType) {
     this.databaseType = databaseType;
   }
@@ -0,0 +1,32 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.db;
+
+/**
+ * Decides whether queries can be executed on the read replica DataSource, which can lag behind the primary DataSource.
+ *
+ * Implementations are shared between all threads of the engine, so they need to be thread safe.
+ */
+public interface ReadReplicaStalenessPolicy {
+
+  /**
+   * Called when a command has written changes to the primary DataSource.
+   */
+  void dataChanged();
+
+  /**
+   * @return whether a query can be executed on the read replica right now.
+   */
+  boolean isReadReplicaAllowed();
+
+}
@@ -28,6 +28,7 @@ import org.activiti.engine.delegate.Expression;
 import org.activiti.engine.delegate.VariableScope;
 import org.activiti.engine.impl.bpmn.data.ItemInstance;
 import org.activiti.engine.impl.persistence.entity.VariableScopeImpl;
+import org.activiti.engine.impl.util.ConcurrentLruCache;
 
 import de.odysseus.el.ExpressionFactoryImpl;
 
@@ -53,6 +54,12 @@ public class ExpressionManager {
   protected ELContext parsingElContext = new ParsingElContext();
   protected Map<Object, Object> beans;
 
+  public static final int DEFAULT_EXPRESSION_CACHE_LIMIT = 1000;
+
+  // Parsed expressions are immutable and thread-safe, so they can be shared across executions
+  protected ConcurrentLruCache<String, ValueExpression> expressionCache;
+  protected int expressionCacheLimit;
+
   public ExpressionManager() {
     this(null);
   }
@@ -70,15 +77,76 @@ public class ExpressionManager {
     // with parametrised method expressions enabled
     expressionFactory = new ExpressionFactoryImpl();
     this.beans = beans;
+    setExpressionCacheLimit(DEFAULT_EXPRESSION_CACHE_LIMIT);
   }
 
   public Expression createExpression(String expression) {
-    ValueExpression valueExpression = expressionFactory.createValueExpression(parsingElContext, expression.trim(), Object.class);
+    ValueExpression valueExpression = createValueExpression(expression.trim());
     return new JuelExpression(valueExpression, expression);
   }
 
+  /**
+   * Returns the parsed value expression for the given expression text. Only the first use of an
+   * expression text pays the parsing cost, as long as it's not evicted from the expression cache.
+   */
+  protected ValueExpression createValueExpression(String expressionText) {
+    ConcurrentLruCache<String, ValueExpression> cache = expressionCache;
+    if (cache == null) {
+      return expressionFactory.createValueExpression(parsingElContext, expressionText, Object.class);
+    }
+
+    ValueExpression valueExpression = cache.get(expressionText);
+    if (valueExpression != null) {
+      return valueExpression;
+    }
+
+    valueExpression = expressionFactory.createValueExpression(parsingElContext, expressionText, Object.class);
+    cache.put(expressionText, valueExpression);
+    return valueExpression;
+  }
+
   public void setExpressionFactory(ExpressionFactory expressionFactory) {
     this.expressionFactory = expressionFactory;
+    clearExpressionCache();
+  }
+
+  public int getExpressionCacheLimit() {
+    return expressionCacheLimit;
+  }
+
+  /**
+   * Sets the maximum number of parsed expressions that are kept. When the limit is reached,
+   * the least recently used expression is removed. A limit of zero or less disables the cache.
+   * The hit and miss counts start again from zero.
+   */
+  public void setExpressionCacheLimit(int expressionCacheLimit) {
+    this.expressionCacheLimit = expressionCacheLimit;
+    this.expressionCache = expressionCacheLimit > 0 ? new ConcurrentLruCache<String, ValueExpression>(expressionCacheLimit) : null;
+  }
+
+  public void clearExpressionCache() {
+    if (expressionCache != null) {
+      expressionCache.clear();
+    }
+  }
+
+  public int getExpressionCacheSize() {
+    return expressionCache != null ? expressionCache.size() : 0;
+  }
+
+  public long getExpressionCacheHitCount() {
+    return expressionCache != null ? expressionCache.getHitCount() : 0;
+  }
+
+  public long getExpressionCacheMissCount() {
+    return expressionCache != null ? expressionCache.getMissCount() : 0;
+  }
+
+  /**
+   * @return the fraction of expression lookups that were served from the cache, 0 when no expression was created yet.
+   */
+  public double getExpressionCacheHitRatio() {
+    return expressionCache != null ? expressionCache.getHitRatio() : 0;
   }
 
   public ELContext getElContext(VariableScope variableScope) {
@@ -39,6 +39,7 @@ import org.activiti.engine.impl.persistence.entity.HistoricVariableInstanceEntit
 import org.activiti.engine.impl.persistence.entity.IdentityLinkEntity;
 import org.activiti.engine.impl.persistence.entity.TaskEntity;
 import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.activiti.engine.impl.util.TransientExecutionUtil;
 import org.activiti.engine.task.Event;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -193,7 +194,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
    */
   @Override
   public void recordActivityStart(ExecutionEntity executionEntity) {
-    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY) && isActivityHistoryEnabled(executionEntity)) {
       if (executionEntity.getActivityId() != null && executionEntity.getCurrentFlowElement() != null) {
         
         HistoricActivityInstanceEntity historicActivityInstanceEntity = null;
@@ -226,7 +227,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
    */
   @Override
   public void recordActivityEnd(ExecutionEntity executionEntity, String deleteReason) {
-    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY) && isActivityHistoryEnabled(executionEntity)) {
       HistoricActivityInstanceEntity historicActivityInstance = findActivityInstance(executionEntity, false, true);
       if (historicActivityInstance != null) {
         historicActivityInstance.markEnded(deleteReason);
@@ -241,6 +242,15 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
     }
   }
 
+  /**
+   * Historic activity instances are not stored for transiently executed process instances,
+   * unless enabled with {@link org.activiti.engine.impl.cfg.PerformanceSettings#isEnableTransientExecutionActivityHistory()}.
+   */
+  protected boolean isActivityHistoryEnabled(ExecutionEntity executionEntity) {
+    return getProcessEngineConfiguration().getPerformanceSettings().isEnableTransientExecutionActivityHistory()
+        || !TransientExecutionUtil.isTransientProcessInstance(executionEntity.getProcessInstanceId());
+  }
+
   @Override
   public HistoricActivityInstanceEntity findActivityInstance(ExecutionEntity execution, boolean createOnNotFound, boolean endTimeMustBeNull) {
     String activityId = null;
@@ -632,7 +642,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
   @Override
   public void recordVariableCreate(VariableInstanceEntity variable) {
     // Historic variables
-    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY) && !TransientExecutionUtil.isTransientProcessInstance(variable.getProcessInstanceId())) {
      getHistoricVariableInstanceEntityManager().copyAndInsert(variable);
     }
   }
@@ -645,7 +655,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
    */
   @Override
   public void recordHistoricDetailVariableCreate(VariableInstanceEntity variable, ExecutionEntity sourceActivityExecution, boolean useActivityId) {
-    if (isHistoryLevelAtLeast(HistoryLevel.FULL)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.FULL) && !TransientExecutionUtil.isTransientProcessInstance(variable.getProcessInstanceId())) {
 
       HistoricDetailVariableInstanceUpdateEntity historicVariableUpdate = getHistoricDetailEntityManager().copyAndInsertHistoricDetailVariableInstanceUpdateEntity(variable);
 
@@ -665,7 +675,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
    */
   @Override
   public void recordVariableUpdate(VariableInstanceEntity variable) {
-    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY) && !TransientExecutionUtil.isTransientProcessInstance(variable.getProcessInstanceId())) {
       HistoricVariableInstanceEntity historicProcessVariable = getEntityCache().findInCache(HistoricVariableInstanceEntity.class, variable.getId());
       if (historicProcessVariable == null) {
         historicProcessVariable = getHistoricVariableInstanceEntityManager().findHistoricVariableInstanceByVariableInstanceId(variable.getId());
@@ -749,7 +759,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
 
   @Override
   public void createProcessInstanceIdentityLinkComment(String processInstanceId, String userId, String groupId, String type, boolean create, boolean forceNullUserId) {
-    if (isHistoryEnabled()) {
+    if (isHistoryEnabled() && !TransientExecutionUtil.isTransientProcessInstance(processInstanceId)) {
       String authenticatedUserId = Authentication.getAuthenticatedUserId();
       CommentEntity comment = getCommentEntityManager().create();
       comment.setUserId(authenticatedUserId);
@@ -826,7 +836,8 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
     // It makes no sense storing historic counterpart for an identity-link
     // that is related
     // to a process-definition only as this is never kept in history
-    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT) && (identityLink.getProcessInstanceId() != null || identityLink.getTaskId() != null)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT) && (identityLink.getProcessInstanceId() != null || identityLink.getTaskId() != null)
+        && !TransientExecutionUtil.isTransientProcessInstance(identityLink.getProcessInstanceId())) {
       HistoricIdentityLinkEntity historicIdentityLinkEntity = getHistoricIdentityLinkEntityManager().create();
       historicIdentityLinkEntity.setId(identityLink.getId());
       historicIdentityLinkEntity.setGroupId(identityLink.getGroupId());
@@ -873,7 +884,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
 
   @Override
   public void recordVariableRemoved(VariableInstanceEntity variable) {
-    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY) && !TransientExecutionUtil.isTransientProcessInstance(variable.getProcessInstanceId())) {
       HistoricVariableInstanceEntity historicProcessVariable = getEntityCache()
           .findInCache(HistoricVariableInstanceEntity.class, variable.getId());
       if (historicProcessVariable == null) {
@@ -0,0 +1,172 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.identity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.activiti.engine.identity.Group;
+import org.activiti.engine.runtime.ClockReader;
+
+/**
+ * LRU cache for the groups a user belongs to, holding at most the configured number of users.
+ *
+ * Cached entries have an expiration time. For example when set to one hour, changes to the groups of a user
+ * that are not made through the engine (eg. directly in an LDAP system) will be visible after that hour.
+ * Memberships changed through the engine remove the cached groups of the user immediately.
+ *
+ * Can have a {@link GroupCacheListener} for cache events.
+ */
+public class DefaultGroupCache implements GroupCache {
+
+  protected final ClockReader clockReader;
+  protected Map<String, GroupCacheEntry> groupCache;
+  protected long expirationTime;
+
+  protected GroupCacheListener cacheListener;
+
+  public DefaultGroupCache(final int cacheSize, long expirationTime, ClockReader clockReader) {
+    this.clockReader = clockReader;
+    this.expirationTime = expirationTime;
+    this.groupCache = Collections.synchronizedMap(new LinkedHashMap<String, GroupCacheEntry>(cacheSize + 1, 0.75f, true) {
+
+      private static final long serialVersionUID = 1L;
+
+      protected boolean removeEldestEntry(Map.Entry<String, GroupCacheEntry> eldest) {
+        boolean removeEldest = size() > cacheSize;
+        if (removeEldest && cacheListener != null) {
+          cacheListener.cacheEviction(eldest.getKey());
+        }
+        return removeEldest;
+      }
+
+    });
+  }
+
+  public void add(String userId, List<Group> groups) {
+    // A copy, so the cached groups can't be changed by the caller
+    groupCache.put(userId, new GroupCacheEntry(clockReader.getCurrentTime(), Collections.unmodifiableList(new ArrayList<Group>(groups))));
+  }
+
+  public List<Group> get(String userId) {
+    GroupCacheEntry cacheEntry = groupCache.get(userId);
+    if (cacheEntry != null) {
+      if ((clockReader.getCurrentTime().getTime() - cacheEntry.getTimestamp().getTime()) < expirationTime) {
+
+        if (cacheListener != null) {
+          cacheListener.cacheHit(userId);
+        }
+
+        return cacheEntry.getGroups();
+
+      } else {
+
+        boolean removed = false;
+        synchronized (groupCache) {
+          // Another thread could have added fresh groups in the meantime
+          if (groupCache.get(userId) == cacheEntry) {
+            groupCache.remove(userId);
+            removed = true;
+          }
+        }
+
+        if (removed && cacheListener != null) {
+          cacheListener.cacheExpired(userId);
+          cacheListener.cacheEviction(userId);
+        }
+
+      }
+    }
+
+    if (cacheListener != null) {
+      cacheListener.cacheMiss(userId);
+    }
+
+    return null;
+  }
+
+  public void remove(String userId) {
+    groupCache.remove(userId);
+  }
+
+  public void clear() {
+    groupCache.clear();
+  }
+
+  public int size() {
+    return groupCache.size();
+  }
+
+  public Map<String, GroupCacheEntry> getGroupCache() {
+    return groupCache;
+  }
+
+  public void setGroupCache(Map<String, GroupCacheEntry> groupCache) {
+    this.groupCache = groupCache;
+  }
+
+  public long getExpirationTime() {
+    return expirationTime;
+  }
+
+  public void setExpirationTime(long expirationTime) {
+    this.expirationTime = expirationTime;
+  }
+
+  public GroupCacheListener getCacheListener() {
+    return cacheListener;
+  }
+
+  public void setCacheListener(GroupCacheListener cacheListener) {
+    this.cacheListener = cacheListener;
+  }
+
+  // Helper classes ////////////////////////////////////
+
+  public static class GroupCacheEntry {
+
+    protected Date timestamp;
+    protected List<Group> groups;
+
+    public GroupCacheEntry(Date timestamp, List<Group> groups) {
+      this.timestamp = timestamp;
+      this.groups = groups;
+    }
+
+    public Date getTimestamp() {
+      return timestamp;
+    }
+
+    public List<Group> getGroups() {
+      return groups;
+    }
+
+  }
+
+  public static interface GroupCacheListener {
+
+    void cacheHit(String userId);
+
+    void cacheMiss(String userId);
+
+    void cacheEviction(String userId);
+
+    void cacheExpired(String userId);
+
+  }
+
+}
@@ -0,0 +1,39 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.identity;
+
+import java.util.List;
+
+import org.activiti.engine.identity.Group;
+
+/**
+ * Cache for the groups a user belongs to. The groups of a user are fetched internally by the engine,
+ * for example when querying the tasks of a candidate user, and can be expensive to look up (eg. in an LDAP system).
+ *
+ * Implementations are shared between all threads of the engine, so they need to be thread safe.
+ * Configured through {@link org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl#setGroupCache(GroupCache)}.
+ */
+public interface GroupCache {
+
+  /**
+   * @return the cached groups of the user or null when the groups are not cached (or expired).
+   */
+  List<Group> get(String userId);
+
+  void add(String userId, List<Group> groups);
+
+  void remove(String userId);
+
+  void clear();
+
+}
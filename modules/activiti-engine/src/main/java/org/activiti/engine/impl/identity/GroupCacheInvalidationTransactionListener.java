@@ -0,0 +1,61 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.identity;
+
+import org.activiti.engine.impl.cfg.TransactionContext;
+import org.activiti.engine.impl.cfg.TransactionListener;
+import org.activiti.engine.impl.cfg.TransactionState;
+import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.interceptor.CommandContext;
+
+/**
+ * Removes the cached groups of a user (or of all users) from the {@link GroupCache} when the transaction that changed them is committed.
+ */
+public class GroupCacheInvalidationTransactionListener implements TransactionListener {
+
+  protected GroupCache groupCache;
+  protected String userId;
+
+  public GroupCacheInvalidationTransactionListener(GroupCache groupCache, String userId) {
+    this.groupCache = groupCache;
+    this.userId = userId;
+  }
+
+  public void execute(CommandContext commandContext) {
+    if (userId != null) {
+      groupCache.remove(userId);
+    } else {
+      groupCache.clear();
+    }
+  }
+
+  /**
+   * Invalidates the cached groups of the given user, or of all users when the user id is null.
+   *
+   * The groups are removed right away, so the current transaction sees its own changes,
+   * and again after commit, as other transactions could have cached the old groups in the meantime.
+   */
+  public static void invalidateGroupCache(CommandContext commandContext, String userId) {
+    GroupCache groupCache = commandContext.getProcessEngineConfiguration().getGroupCache();
+    if (groupCache != null) {
+      GroupCacheInvalidationTransactionListener transactionListener = new GroupCacheInvalidationTransactionListener(groupCache, userId);
+      transactionListener.execute(commandContext);
+
+      TransactionContext transactionContext = Context.getTransactionContext();
+      if (transactionContext != null) {
+        transactionContext.addTransactionListener(TransactionState.COMMITTED, transactionListener);
+      }
+    }
+  }
+
+}
@@ -13,6 +13,8 @@ public class CommandConfig {
 
   private boolean contextReusePossible;
   private TransactionPropagation propagation;
+  private boolean readOnly;
+  private boolean readReplicaAllowed;
 
   public CommandConfig() {
     this.contextReusePossible = true;
@@ -32,6 +34,8 @@ public class CommandConfig {
   protected CommandConfig(CommandConfig commandConfig) {
     this.contextReusePossible = commandConfig.contextReusePossible;
     this.propagation = commandConfig.propagation;
+    this.readOnly = commandConfig.readOnly;
+    this.readReplicaAllowed = commandConfig.readReplicaAllowed;
   }
 
   public boolean isContextReusePossible() {
@@ -42,12 +46,43 @@ public class CommandConfig {
     return propagation;
   }
 
+  public boolean isReadOnly() {
+    return readOnly;
+  }
+
+  public boolean isReadReplicaAllowed() {
+    return readReplicaAllowed;
+  }
+
   public CommandConfig setContextReusePossible(boolean contextReusePossible) {
     CommandConfig config = new CommandConfig(this);
     config.contextReusePossible = contextReusePossible;
     return config;
   }
 
+  /**
+   * Declares the command as read-only: it only selects data (eg. a query or a getter) and doesn't change any entity.
+   * The command is then executed without agenda, and the entity cache isn't checked for changes when the command context is closed.
+   * Changes made to entities by a read-only command are ignored, inserts and deletes make the command fail.
+   *
+   * Only applies when a new command context is created: a read-only command reusing the context of another command behaves as usual.
+   */
+  public CommandConfig readOnly() {
+    CommandConfig config = new CommandConfig(this);
+    config.readOnly = true;
+    return config;
+  }
+
+  /**
+   * Allows a read-only command (see {@link #readOnly()}) to select from the read replica DataSource, when one is configured.
+   * Only applies when the command isn't executed within another transaction.
+   */
+  public CommandConfig setReadReplicaAllowed(boolean readReplicaAllowed) {
+    CommandConfig config = new CommandConfig(this);
+    config.readReplicaAllowed = readReplicaAllowed;
+    return config;
+  }
+
   public CommandConfig transactionRequired() {
     CommandConfig config = new CommandConfig(this);
     config.propagation = TransactionPropagation.REQUIRED;
@@ -49,9 +49,12 @@ public class CommandContext {
   protected List<CommandContextCloseListener> closeListeners;
   protected Map<String, Object> attributes; // General-purpose storing of anything during the lifetime of a command context
   protected boolean reused;
+  protected boolean readOnly;
+  protected boolean readReplicaAllowed;
 
   protected ActivitiEngineAgenda agenda;
   protected Map<String, ExecutionEntity> involvedExecutions = new HashMap<String, ExecutionEntity>(1); // The executions involved with the command
+  protected ExecutionEntity lastInvolvedExecution; // Most operations of a command work on the same execution as the previous one
   protected LinkedList<Object> resultStack = new LinkedList<Object>(); // needs to be a stack, as JavaDelegates can do api calls again
 
   public CommandContext(Command<?> command, ProcessEngineConfigurationImpl processEngineConfiguration) {
@@ -59,7 +62,7 @@ public class CommandContext {
     this.processEngineConfiguration = processEngineConfiguration;
     this.failedJobCommandFactory = processEngineConfiguration.getFailedJobCommandFactory();
     this.sessionFactories = processEngineConfiguration.getSessionFactories();
-    this.agenda = processEngineConfiguration.getEngineAgendaFactory().createAgenda(this);
+    // The agenda is only created when needed, read-only commands don't use it
   }
 
   public void close() {
@@ -72,7 +75,11 @@ public class CommandContext {
         try {
           executeCloseListenersClosing();
           if (exception == null) {
-            flushSessions();
+            if (readOnly) {
+              verifyReadOnly();
+            } else {
+              flushSessions();
+            }
           }
         } catch (Throwable exception) {
           exception(exception);
@@ -198,6 +205,17 @@ public class CommandContext {
     }
   }
 
+  /**
+   * A read-only command context is not flushed, so no changes are checked or written.
+   * Inserts and deletes can't be ignored silently though.
+   */
+  protected void verifyReadOnly() {
+    DbSqlSession dbSqlSession = (DbSqlSession) sessions.get(DbSqlSession.class);
+    if (dbSqlSession != null && dbSqlSession.hasInsertsOrDeletes()) {
+      throw new ActivitiException("Read-only command " + command + " inserted or deleted entities");
+    }
+  }
+
   protected void closeSessions() {
     for (Session session : sessions.values()) {
       try {
@@ -396,8 +414,9 @@ public class CommandContext {
   // Involved executions ////////////////////////////////////////////////////////
 
   public void addInvolvedExecution(ExecutionEntity executionEntity) {
-    if (executionEntity.getId() != null) {
+    if (executionEntity != lastInvolvedExecution && executionEntity.getId() != null) {
       involvedExecutions.put(executionEntity.getId(), executionEntity);
+      lastInvolvedExecution = executionEntity;
     }
   }
 
@@ -437,6 +456,9 @@ public class CommandContext {
   }
 
   public ActivitiEngineAgenda getAgenda() {
+    if (agenda == null) {
+      agenda = processEngineConfiguration.getEngineAgendaFactory().createAgenda(this);
+    }
     return agenda;
   }
 
@@ -456,4 +478,28 @@ public class CommandContext {
     this.reused = reused;
   }
 
+  public boolean isReadOnly() {
+    return readOnly;
+  }
+
+  public void setReadOnly(boolean readOnly) {
+    this.readOnly = readOnly;
+  }
+
+  public boolean isReadReplicaAllowed() {
+    return readReplicaAllowed;
+  }
+
+  public void setReadReplicaAllowed(boolean readReplicaAllowed) {
+    this.readReplicaAllowed = readReplicaAllowed;
+  }
+
+  /**
+   * @return whether the database session of this context selects from the read replica DataSource.
+   */
+  public boolean isReadReplicaUsed() {
+    DbSqlSession dbSqlSession = (DbSqlSession) sessions.get(DbSqlSession.class);
+    return dbSqlSession != null && dbSqlSession.isReadReplica();
+  }
+
 }
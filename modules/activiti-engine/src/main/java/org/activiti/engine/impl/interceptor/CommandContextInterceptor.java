@@ -13,6 +13,7 @@
 
 package org.activiti.engine.impl.interceptor;
 
+import org.activiti.engine.ActivitiException;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.context.Context;
 import org.slf4j.Logger;
@@ -45,10 +46,20 @@ public class CommandContextInterceptor extends AbstractCommandInterceptor {
     // rollback state, and some other command is being fired to compensate (eg. decrementing job retries)
     if (!config.isContextReusePossible() || context == null || context.getException() != null) {
       context = commandContextFactory.createCommandContext(command);
+      context.setReadOnly(config.isReadOnly());
+      context.setReadReplicaAllowed(config.isReadOnly() && config.isReadReplicaAllowed());
     } else {
       log.debug("Valid context found. Reusing it for the current command '{}'", command.getClass().getCanonicalName());
       contextReused = true;
       context.setReused(true);
+      if (!config.isReadOnly() && context.isReadOnly()) {
+        // A regular command executed from within a read-only command: the context needs to be flushed after all
+        if (context.isReadReplicaUsed()) {
+          throw new ActivitiException("Command " + command.getClass().getName() + " can't be executed within a read-only command that uses the read replica");
+        }
+        context.setReadOnly(false);
+        context.setReadReplicaAllowed(false);
+      }
     }
 
     try {
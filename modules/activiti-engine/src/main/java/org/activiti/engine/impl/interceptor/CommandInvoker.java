@@ -14,6 +14,7 @@ package org.activiti.engine.impl.interceptor;
 
 import org.activiti.engine.impl.agenda.AbstractOperation;
 import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.metrics.CommandMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,6 +30,11 @@ public class CommandInvoker extends AbstractCommandInterceptor {
   public <T> T execute(final CommandConfig config, final Command<T> command) {
     final CommandContext commandContext = Context.getCommandContext();
 
+    // Read-only commands don't plan any operations, no need to go through the agenda
+    if (config.isReadOnly() && commandContext.isReadOnly()) {
+      return command.execute(commandContext);
+    }
+
     // Execute the command.
     // This will produce operations that will be put on the agenda.
     commandContext.getAgenda().planOperation(new Runnable() {
@@ -52,9 +58,16 @@ public class CommandInvoker extends AbstractCommandInterceptor {
   }
 
   protected void executeOperations(final CommandContext commandContext) {
+    int operationCount = 0;
     while (!commandContext.getAgenda().isEmpty()) {
       Runnable runnable = commandContext.getAgenda().getNextOperation();
       executeOperation(runnable);
+      operationCount++;
+    }
+
+    CommandMetrics commandMetrics = CommandMetrics.getCurrent();
+    if (commandMetrics != null) {
+      commandMetrics.addAgendaOperations(operationCount);
     }
   }
 
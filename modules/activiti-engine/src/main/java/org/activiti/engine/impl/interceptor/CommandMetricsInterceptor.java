@@ -0,0 +1,77 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.interceptor;
+
+import org.activiti.engine.ActivitiOptimisticLockingException;
+import org.activiti.engine.impl.metrics.CommandMetrics;
+import org.activiti.engine.impl.metrics.CommandMetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures every command that passes and records the {@link CommandMetrics} in a {@link CommandMetricsRegistry}.
+ *
+ * It is added before the transaction interceptor, so the latency includes committing the transaction.
+ * A command that is retried by a {@link RetryInterceptor} (which comes before this one) is recorded once per attempt.
+ */
+public class CommandMetricsInterceptor extends AbstractCommandInterceptor {
+
+  private static final Logger log = LoggerFactory.getLogger(CommandMetricsInterceptor.class);
+
+  protected CommandMetricsRegistry commandMetricsRegistry;
+
+  public CommandMetricsInterceptor(CommandMetricsRegistry commandMetricsRegistry) {
+    this.commandMetricsRegistry = commandMetricsRegistry;
+  }
+
+  public <T> T execute(CommandConfig config, Command<T> command) {
+    CommandMetrics commandMetrics = new CommandMetrics(command.getClass().getName());
+    CommandMetrics.setCurrent(commandMetrics);
+    long start = System.nanoTime();
+    try {
+      return next.execute(config, command);
+
+    } catch (ActivitiOptimisticLockingException e) {
+      commandMetrics.setFailed(true);
+      commandMetrics.setOptimisticLockingFailure(true);
+      throw e;
+
+    } catch (RuntimeException e) {
+      commandMetrics.setFailed(true);
+      throw e;
+
+    } catch (Error e) {
+      commandMetrics.setFailed(true);
+      throw e;
+
+    } finally {
+      commandMetrics.setDurationInNanos(System.nanoTime() - start);
+      CommandMetrics.removeCurrent();
+      record(commandMetrics);
+    }
+  }
+
+  protected void record(CommandMetrics commandMetrics) {
+    try {
+      commandMetricsRegistry.record(commandMetrics);
+    } catch (Throwable e) {
+      // The metrics should never make a command fail
+      log.warn("Could not record the metrics of command {}", commandMetrics.getCommandName(), e);
+    }
+  }
+
+  public CommandMetricsRegistry getCommandMetricsRegistry() {
+    return commandMetricsRegistry;
+  }
+
+}
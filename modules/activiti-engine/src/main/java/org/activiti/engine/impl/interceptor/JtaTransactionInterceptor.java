@@ -57,6 +57,10 @@ public class JtaTransactionInterceptor extends AbstractCommandInterceptor {
       if (existing && requiresNew) {
         oldTx = doSuspend();
       }
+      if (!isNew && config.isReadReplicaAllowed()) {
+        // The command joins a transaction that can change data, the read replica might not see these changes
+        config = config.setReadReplicaAllowed(false);
+      }
       if (isNew) {
         doBegin();
       }
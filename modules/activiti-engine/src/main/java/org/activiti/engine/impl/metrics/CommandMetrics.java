@@ -0,0 +1,138 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.metrics;
+
+import java.util.Stack;
+
+import org.activiti.engine.impl.interceptor.CommandMetricsInterceptor;
+
+/**
+ * The measurements of one command execution, collected by the {@link CommandMetricsInterceptor}
+ * and passed to the {@link CommandMetricsRegistry} when the command is done.
+ *
+ * The metrics of the command that is executing on the current thread are available through {@link #getCurrent()},
+ * the engine uses it to count agenda operations, selects and flushed entities.
+ * When a nested command reuses the command context of the command that called it, the entities are flushed when the
+ * outer command context is closed, so they are counted for the outer command.
+ */
+public class CommandMetrics {
+
+  protected static ThreadLocal<Stack<CommandMetrics>> commandMetricsThreadLocal = new ThreadLocal<Stack<CommandMetrics>>();
+
+  protected String commandName;
+  protected long durationInNanos;
+  protected boolean failed;
+  protected boolean optimisticLockingFailure;
+
+  protected int agendaOperations;
+  protected int selects;
+  protected int inserts;
+  protected int updates;
+  protected int deletes;
+
+  public CommandMetrics(String commandName) {
+    this.commandName = commandName;
+  }
+
+  /**
+   * @return the metrics of the command that is being executed on this thread,
+   *         or null when no command is executing or command metrics are not enabled.
+   */
+  public static CommandMetrics getCurrent() {
+    Stack<CommandMetrics> stack = commandMetricsThreadLocal.get();
+    if (stack == null || stack.isEmpty()) {
+      return null;
+    }
+    return stack.peek();
+  }
+
+  public static void setCurrent(CommandMetrics commandMetrics) {
+    Stack<CommandMetrics> stack = commandMetricsThreadLocal.get();
+    if (stack == null) {
+      stack = new Stack<CommandMetrics>();
+      commandMetricsThreadLocal.set(stack);
+    }
+    stack.push(commandMetrics);
+  }
+
+  public static void removeCurrent() {
+    Stack<CommandMetrics> stack = commandMetricsThreadLocal.get();
+    stack.pop();
+    if (stack.isEmpty()) {
+      commandMetricsThreadLocal.remove();
+    }
+  }
+
+  public void addAgendaOperations(int agendaOperations) {
+    this.agendaOperations += agendaOperations;
+  }
+
+  public void addSelect() {
+    selects++;
+  }
+
+  public void addFlushedEntities(int inserts, int updates, int deletes) {
+    this.inserts += inserts;
+    this.updates += updates;
+    this.deletes += deletes;
+  }
+
+  public String getCommandName() {
+    return commandName;
+  }
+
+  public long getDurationInNanos() {
+    return durationInNanos;
+  }
+
+  public void setDurationInNanos(long durationInNanos) {
+    this.durationInNanos = durationInNanos;
+  }
+
+  public boolean isFailed() {
+    return failed;
+  }
+
+  public void setFailed(boolean failed) {
+    this.failed = failed;
+  }
+
+  public boolean isOptimisticLockingFailure() {
+    return optimisticLockingFailure;
+  }
+
+  public void setOptimisticLockingFailure(boolean optimisticLockingFailure) {
+    this.optimisticLockingFailure = optimisticLockingFailure;
+  }
+
+  public int getAgendaOperations() {
+    return agendaOperations;
+  }
+
+  public int getSelects() {
+    return selects;
+  }
+
+  public int getInserts() {
+    return inserts;
+  }
+
+  public int getUpdates() {
+    return updates;
+  }
+
+  public int getDeletes() {
+    return deletes;
+  }
+
+}
@@ -0,0 +1,26 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.metrics;
+
+/**
+ * Receives the {@link CommandMetrics} of every executed command when command metrics are enabled.
+ *
+ * The {@link DefaultCommandMetricsRegistry} keeps statistics per command in memory.
+ * Implement this interface to pass the measurements to another metrics library instead.
+ * It is called on the thread that executed the command, so an implementation must be thread safe and fast.
+ */
+public interface CommandMetricsRegistry {
+
+  void record(CommandMetrics commandMetrics);
+
+}
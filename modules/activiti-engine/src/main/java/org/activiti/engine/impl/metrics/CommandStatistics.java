@@ -0,0 +1,126 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.metrics;
+
+/**
+ * The aggregated {@link CommandMetrics} of all executions of one command.
+ */
+public class CommandStatistics {
+
+  protected String commandName;
+
+  protected long count;
+  protected long failures;
+  protected long optimisticLockingFailures;
+
+  protected LatencyHistogram latencyHistogram = new LatencyHistogram();
+
+  protected long agendaOperations;
+  protected long selects;
+  protected long inserts;
+  protected long updates;
+  protected long deletes;
+
+  public CommandStatistics(String commandName) {
+    this.commandName = commandName;
+  }
+
+  public synchronized void record(CommandMetrics commandMetrics) {
+    count++;
+    if (commandMetrics.isFailed()) {
+      failures++;
+    }
+    if (commandMetrics.isOptimisticLockingFailure()) {
+      optimisticLockingFailures++;
+    }
+
+    latencyHistogram.record(commandMetrics.getDurationInNanos());
+
+    agendaOperations += commandMetrics.getAgendaOperations();
+    selects += commandMetrics.getSelects();
+    inserts += commandMetrics.getInserts();
+    updates += commandMetrics.getUpdates();
+    deletes += commandMetrics.getDeletes();
+  }
+
+  /**
+   * @see LatencyHistogram#getPercentileInMillis(double)
+   */
+  public long getLatencyPercentileInMillis(double percentile) {
+    return latencyHistogram.getPercentileInMillis(percentile);
+  }
+
+  public double getAverageDurationInMillis() {
+    return latencyHistogram.getAverageInMillis();
+  }
+
+  public String getCommandName() {
+    return commandName;
+  }
+
+  public synchronized long getCount() {
+    return count;
+  }
+
+  public synchronized long getFailures() {
+    return failures;
+  }
+
+  public synchronized long getOptimisticLockingFailures() {
+    return optimisticLockingFailures;
+  }
+
+  public long getTotalDurationInMillis() {
+    return latencyHistogram.getTotalInMillis();
+  }
+
+  public long getMaxDurationInMillis() {
+    return latencyHistogram.getMaxInMillis();
+  }
+
+  /**
+   * @return the number of executions per latency bucket, see {@link LatencyHistogram#BUCKETS_IN_MILLIS}.
+   */
+  public long[] getLatencyHistogram() {
+    return latencyHistogram.getBucketCounts();
+  }
+
+  public synchronized long getAgendaOperations() {
+    return agendaOperations;
+  }
+
+  public synchronized long getSelects() {
+    return selects;
+  }
+
+  public synchronized long getInserts() {
+    return inserts;
+  }
+
+  public synchronized long getUpdates() {
+    return updates;
+  }
+
+  public synchronized long getDeletes() {
+    return deletes;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return commandName + "[count=" + count + ", failures=" + failures + ", optimisticLockingFailures=" + optimisticLockingFailures
+        + ", averageDurationInMillis=" + getAverageDurationInMillis() + ", maxDurationInMillis=" + getMaxDurationInMillis()
+        + ", agendaOperations=" + agendaOperations + ", selects=" + selects
+        + ", inserts=" + inserts + ", updates=" + updates + ", deletes=" + deletes + "]";
+  }
+
+}
@@ -0,0 +1,55 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps {@link CommandStatistics} per command (by class name) in memory, for as long as the process engine runs.
+ */
+public class DefaultCommandMetricsRegistry implements CommandMetricsRegistry {
+
+  protected ConcurrentMap<String, CommandStatistics> commandStatistics = new ConcurrentHashMap<String, CommandStatistics>();
+
+  public void record(CommandMetrics commandMetrics) {
+    CommandStatistics statistics = commandStatistics.get(commandMetrics.getCommandName());
+    if (statistics == null) {
+      statistics = new CommandStatistics(commandMetrics.getCommandName());
+      CommandStatistics existingStatistics = commandStatistics.putIfAbsent(commandMetrics.getCommandName(), statistics);
+      if (existingStatistics != null) {
+        statistics = existingStatistics;
+      }
+    }
+    statistics.record(commandMetrics);
+  }
+
+  /**
+   * @return the statistics of all commands that were executed, sorted by command name.
+   */
+  public Map<String, CommandStatistics> getCommandStatistics() {
+    return Collections.unmodifiableMap(new TreeMap<String, CommandStatistics>(commandStatistics));
+  }
+
+  public CommandStatistics getCommandStatistics(String commandName) {
+    return commandStatistics.get(commandName);
+  }
+
+  public void reset() {
+    commandStatistics.clear();
+  }
+
+}
@@ -0,0 +1,95 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A thread safe latency histogram with fixed buckets (see {@link #BUCKETS_IN_MILLIS}).
+ * Percentiles are estimated as the upper bound of the bucket they fall in, capped at the max latency.
+ */
+public class LatencyHistogram {
+
+  /**
+   * The upper bounds of the buckets. Latencies above the last bound are counted in an extra bucket.
+   */
+  public static final long[] BUCKETS_IN_MILLIS = { 1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000 };
+
+  protected long count;
+  protected long totalInNanos;
+  protected long maxInNanos;
+  protected long[] bucketCounts = new long[BUCKETS_IN_MILLIS.length + 1];
+
+  public synchronized void record(long latencyInNanos) {
+    count++;
+    totalInNanos += latencyInNanos;
+    maxInNanos = Math.max(maxInNanos, latencyInNanos);
+    bucketCounts[getBucket(TimeUnit.NANOSECONDS.toMillis(latencyInNanos))]++;
+  }
+
+  protected int getBucket(long latencyInMillis) {
+    for (int i = 0; i < BUCKETS_IN_MILLIS.length; i++) {
+      if (latencyInMillis <= BUCKETS_IN_MILLIS[i]) {
+        return i;
+      }
+    }
+    return BUCKETS_IN_MILLIS.length;
+  }
+
+  /**
+   * @return the upper bound in milliseconds of the bucket the given percentile (between 0 and 100) falls in, or the max
+   *         latency when that is lower or the percentile falls in the last bucket. -1 when nothing was recorded.
+   */
+  public synchronized long getPercentileInMillis(double percentile) {
+    if (count == 0) {
+      return -1;
+    }
+    long rank = (long) Math.ceil(count * percentile / 100.0);
+    long seen = 0;
+    for (int i = 0; i < BUCKETS_IN_MILLIS.length; i++) {
+      seen += bucketCounts[i];
+      if (seen >= rank) {
+        return Math.min(BUCKETS_IN_MILLIS[i], TimeUnit.NANOSECONDS.toMillis(maxInNanos));
+      }
+    }
+    return TimeUnit.NANOSECONDS.toMillis(maxInNanos);
+  }
+
+  public synchronized double getAverageInMillis() {
+    if (count == 0) {
+      return 0;
+    }
+    return (totalInNanos / (double) count) / TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  public synchronized long getCount() {
+    return count;
+  }
+
+  public synchronized long getTotalInMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(totalInNanos);
+  }
+
+  public synchronized long getMaxInMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(maxInNanos);
+  }
+
+  /**
+   * @return the number of recorded latencies per bucket, see {@link #BUCKETS_IN_MILLIS}.
+   */
+  public synchronized long[] getBucketCounts() {
+    return Arrays.copyOf(bucketCounts, bucketCounts.length);
+  }
+
+}
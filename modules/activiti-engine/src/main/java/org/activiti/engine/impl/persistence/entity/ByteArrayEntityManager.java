@@ -12,6 +12,7 @@
  */
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -24,6 +25,11 @@ public interface ByteArrayEntityManager extends EntityManager<ByteArrayEntity> {
    */
   List<ByteArrayEntity> findAll();
 
+  /**
+   * Returns the {@link ByteArrayEntity} instances with the given ids, fetching the ones that are not cached yet in one roundtrip.
+   */
+  List<ByteArrayEntity> findByteArraysByIds(Collection<String> byteArrayEntityIds);
+
   /**
    * Deletes the {@link ByteArrayEntity} with the given id from the database. 
    * Important: this operation will NOT do any optimistic locking, to avoid loading the bytes in memory. So use this method
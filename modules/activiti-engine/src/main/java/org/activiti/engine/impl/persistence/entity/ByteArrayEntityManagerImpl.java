@@ -13,6 +13,7 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
@@ -43,6 +44,11 @@ public class ByteArrayEntityManagerImpl extends AbstractEntityManager<ByteArrayE
     return byteArrayDataManager.findAll();
   }
   
+  @Override
+  public List<ByteArrayEntity> findByteArraysByIds(Collection<String> byteArrayEntityIds) {
+    return byteArrayDataManager.findByteArraysByIds(byteArrayEntityIds);
+  }
+  
   @Override
   public void deleteByteArrayById(String byteArrayEntityId) {
     byteArrayDataManager.deleteByteArrayNoRevisionCheck(byteArrayEntityId);
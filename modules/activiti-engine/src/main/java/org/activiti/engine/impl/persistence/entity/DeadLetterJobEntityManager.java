@@ -29,6 +29,17 @@ public interface DeadLetterJobEntityManager extends EntityManager<DeadLetterJobE
    */
   List<DeadLetterJobEntity> findJobsByExecutionId(String id);
 
+  /**
+   * Same as {@link #findJobsByExecutionId(String)}, but only looks in the entity cache of the current command.
+   * Used when the data of the whole process instance was fetched upfront.
+   */
+  List<DeadLetterJobEntity> findJobsByExecutionIdFromCache(String executionId);
+
+  /**
+   * Returns all {@link DeadLetterJobEntity} instances related to one process instance {@link ExecutionEntity}.
+   */
+  List<DeadLetterJobEntity> findJobsByProcessInstanceId(String processInstanceId);
+
   /**
    * Executes a {@link JobQueryImpl} and returns the matching {@link DeadLetterJobEntity} instances.
    */
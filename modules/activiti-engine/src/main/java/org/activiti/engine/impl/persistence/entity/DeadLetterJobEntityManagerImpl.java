@@ -44,6 +44,16 @@ public class DeadLetterJobEntityManagerImpl extends AbstractEntityManager<DeadLe
   public List<DeadLetterJobEntity> findJobsByExecutionId(String id) {
     return jobDataManager.findJobsByExecutionId(id);
   }
+
+  @Override
+  public List<DeadLetterJobEntity> findJobsByExecutionIdFromCache(String executionId) {
+    return jobDataManager.findJobsByExecutionIdFromCache(executionId);
+  }
+
+  @Override
+  public List<DeadLetterJobEntity> findJobsByProcessInstanceId(String processInstanceId) {
+    return jobDataManager.findJobsByProcessInstanceId(processInstanceId);
+  }
   
   @Override
   public List<Job> findJobsByQueryCriteria(DeadLetterJobQueryImpl jobQuery, Page page) {
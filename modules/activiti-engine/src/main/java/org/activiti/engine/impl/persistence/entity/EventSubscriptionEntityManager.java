@@ -12,6 +12,7 @@
  */
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.activiti.bpmn.model.Signal;
@@ -64,6 +65,14 @@ public interface EventSubscriptionEntityManager extends EntityManager<EventSubsc
   
   List<EventSubscriptionEntity> findEventSubscriptionsByExecution(String executionId);
 
+  /**
+   * Same as {@link #findEventSubscriptionsByExecution(String)}, but only looks in the entity cache of the current command.
+   * Used when the data of the whole process instance was fetched upfront.
+   */
+  List<EventSubscriptionEntity> findEventSubscriptionsByExecutionFromCache(String executionId);
+
+  List<EventSubscriptionEntity> findEventSubscriptionsByExecutionIds(Collection<String> executionIds);
+
   List<EventSubscriptionEntity> findEventSubscriptionsByExecutionAndType(String executionId, String type);
   
   List<EventSubscriptionEntity> findEventSubscriptionsByProcessInstanceAndActivityId(String processInstanceId, String activityId, String type);
@@ -14,6 +14,7 @@
 package org.activiti.engine.impl.persistence.entity;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import org.activiti.bpmn.model.Signal;
@@ -216,6 +217,16 @@ public class EventSubscriptionEntityManagerImpl extends AbstractEntityManager<Ev
     return eventSubscriptionDataManager.findEventSubscriptionsByExecution(executionId);
   }
 
+  @Override
+  public List<EventSubscriptionEntity> findEventSubscriptionsByExecutionFromCache(String executionId) {
+    return eventSubscriptionDataManager.findEventSubscriptionsByExecutionFromCache(executionId);
+  }
+
+  @Override
+  public List<EventSubscriptionEntity> findEventSubscriptionsByExecutionIds(Collection<String> executionIds) {
+    return eventSubscriptionDataManager.findEventSubscriptionsByExecutionIds(executionIds);
+  }
+
   @Override
   public List<EventSubscriptionEntity> findEventSubscriptionsByTypeAndProcessDefinitionId(String type, String processDefinitionId, String tenantId) {
     return eventSubscriptionDataManager.findEventSubscriptionsByTypeAndProcessDefinitionId(type, processDefinitionId, tenantId);
@@ -95,6 +95,11 @@ public interface ExecutionEntityManager extends EntityManager<ExecutionEntity> {
   void deleteChildExecutions(ExecutionEntity executionEntity, String deleteReason, boolean cancel);
   
   void deleteExecutionAndRelatedData(ExecutionEntity executionEntity, String deleteReason, boolean cancel);
+  
+  /**
+   * Deletes the given execution and all of its children (see {@link #collectChildren(ExecutionEntity)}), with their related data.
+   */
+  void deleteExecutionTreeAndRelatedData(ExecutionEntity rootExecutionEntity, String deleteReason, boolean cancel);
 
 
   void updateProcessInstanceLockTime(String processInstanceId);
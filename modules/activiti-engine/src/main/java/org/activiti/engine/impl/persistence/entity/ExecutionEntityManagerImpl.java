@@ -35,6 +35,7 @@ import org.activiti.engine.impl.identity.Authentication;
 import org.activiti.engine.impl.persistence.CountingExecutionEntity;
 import org.activiti.engine.impl.persistence.entity.data.DataManager;
 import org.activiti.engine.impl.persistence.entity.data.ExecutionDataManager;
+import org.activiti.engine.impl.util.TransientExecutionUtil;
 import org.activiti.engine.repository.ProcessDefinition;
 import org.activiti.engine.runtime.Execution;
 import org.activiti.engine.runtime.ProcessInstance;
@@ -401,12 +402,13 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
     }
     
     List<ExecutionEntity> childExecutions = collectChildren(execution.getProcessInstance());
+    String fetchedProcessInstanceId = fetchRelatedDataForProcessInstance(processInstanceExecutionEntity, childExecutions);
     for (int i=childExecutions.size()-1; i>=0; i--) {
       ExecutionEntity childExecutionEntity = childExecutions.get(i);
-      deleteExecutionAndRelatedData(childExecutionEntity, deleteReason, false);
+      deleteExecutionAndRelatedData(childExecutionEntity, deleteReason, false, fetchedProcessInstanceId);
     }
     
-    deleteExecutionAndRelatedData(execution, deleteReason, false);
+    deleteExecutionAndRelatedData(execution, deleteReason, false, fetchedProcessInstanceId);
 
     if (deleteHistory) {
       getHistoricProcessInstanceEntityManager().delete(execution.getId());
@@ -418,11 +420,29 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
   
   @Override
   public void deleteExecutionAndRelatedData(ExecutionEntity executionEntity, String deleteReason, boolean cancel) {
+    deleteExecutionAndRelatedData(executionEntity, deleteReason, cancel, null);
+  }
+  
+  protected void deleteExecutionAndRelatedData(ExecutionEntity executionEntity, String deleteReason, boolean cancel, String fetchedProcessInstanceId) {
     getHistoryManager().recordActivityEnd(executionEntity, deleteReason);
-    deleteDataForExecution(executionEntity, deleteReason, cancel);
+    deleteDataForExecution(executionEntity, deleteReason, cancel, fetchedProcessInstanceId);
     delete(executionEntity);
   }
   
+  @Override
+  public void deleteExecutionTreeAndRelatedData(ExecutionEntity rootExecutionEntity, String deleteReason, boolean cancel) {
+    List<ExecutionEntity> childExecutions = collectChildren(rootExecutionEntity);
+    String fetchedProcessInstanceId = null;
+    if (rootExecutionEntity.isProcessInstanceType()) {
+      fetchedProcessInstanceId = fetchRelatedDataForProcessInstance(rootExecutionEntity, childExecutions);
+    }
+    
+    for (int i = childExecutions.size() - 1; i >= 0; i--) {
+      deleteExecutionAndRelatedData(childExecutions.get(i), deleteReason, cancel, fetchedProcessInstanceId);
+    }
+    deleteExecutionAndRelatedData(rootExecutionEntity, deleteReason, cancel, fetchedProcessInstanceId);
+  }
+  
   @Override
   public void deleteProcessInstanceExecutionEntity(String processInstanceId, 
       String currentFlowElementId, String deleteReason, boolean cascade, boolean cancel) {
@@ -444,15 +464,17 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
       }
     }
 
+    String fetchedProcessInstanceId = fetchRelatedDataForProcessInstance(processInstanceEntity, collectChildren(processInstanceEntity));
+
     // delete event scope executions
     for (ExecutionEntity childExecution : processInstanceEntity.getExecutions()) {
       if (childExecution.isEventScope()) {
-        deleteExecutionAndRelatedData(childExecution, null, false);
+        deleteExecutionAndRelatedData(childExecution, null, false, fetchedProcessInstanceId);
       }
     }
     
-    deleteChildExecutions(processInstanceEntity, deleteReason, cancel);
-    deleteExecutionAndRelatedData(processInstanceEntity, deleteReason, cancel);
+    deleteChildExecutions(processInstanceEntity, deleteReason, cancel, fetchedProcessInstanceId);
+    deleteExecutionAndRelatedData(processInstanceEntity, deleteReason, cancel, fetchedProcessInstanceId);
     
     if (getEventDispatcher().isEnabled()) {
     	if (!cancel) {
@@ -470,6 +492,10 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
   
   @Override
   public void deleteChildExecutions(ExecutionEntity executionEntity, String deleteReason, boolean cancel) {
+    deleteChildExecutions(executionEntity, deleteReason, cancel, null);
+  }
+  
+  protected void deleteChildExecutions(ExecutionEntity executionEntity, String deleteReason, boolean cancel, String fetchedProcessInstanceId) {
 
     // The children of an execution for a tree. For correct deletions
     // (taking care of foreign keys between child-parent)
@@ -479,7 +505,7 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
     for (int i = childExecutions.size() - 1; i>= 0; i--) {
       ExecutionEntity childExecutionEntity = childExecutions.get(i);
       if (!childExecutionEntity.isEnded()) {
-        deleteExecutionAndRelatedData(childExecutionEntity, deleteReason, cancel);
+        deleteExecutionAndRelatedData(childExecutionEntity, deleteReason, cancel, fetchedProcessInstanceId);
       }
     }
     
@@ -543,19 +569,73 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
     return null;
   }
   
+  /**
+   * Fetches the runtime data related to all executions of a process instance that is deleted as a whole,
+   * with one query per entity type instead of one query per entity type and execution.
+   * The fetched entities end up in the entity cache, where {@link #deleteDataForExecution(ExecutionEntity, String, boolean, String)}
+   * looks them up afterwards.
+   * 
+   * @return the id of the process instance when its data was fetched, null otherwise.
+   */
+  protected String fetchRelatedDataForProcessInstance(ExecutionEntity processInstanceEntity, List<ExecutionEntity> childExecutions) {
+    
+    // The related entity counts already avoid the queries for executions without related data,
+    // and a transiently executed process instance has no related data outside of the entity cache
+    if (isExecutionRelatedEntityCountEnabled(processInstanceEntity) || TransientExecutionUtil.isTransientProcessInstance(processInstanceEntity.getId())) {
+      return null;
+    }
+    
+    String processInstanceId = processInstanceEntity.getId();
+    List<String> executionIds = new ArrayList<String>();
+    executionIds.add(processInstanceId);
+    for (ExecutionEntity childExecution : childExecutions) {
+      if (processInstanceId.equals(childExecution.getProcessInstanceId())) { // the executions of called process instances are deleted separately
+        executionIds.add(childExecution.getId());
+      }
+    }
+    
+    // Fetching upfront only pays off when there's more than one execution to delete
+    if (executionIds.size() < 2) {
+      return null;
+    }
+    
+    getVariableInstanceEntityManager().findVariableInstancesByProcessInstanceId(processInstanceId);
+    getTaskEntityManager().findTasksByProcessInstanceId(processInstanceId);
+    getTimerJobEntityManager().findJobsByProcessInstanceId(processInstanceId);
+    getJobEntityManager().findJobsByProcessInstanceId(processInstanceId);
+    getSuspendedJobEntityManager().findJobsByProcessInstanceId(processInstanceId);
+    getDeadLetterJobEntityManager().findJobsByProcessInstanceId(processInstanceId);
+    getEventSubscriptionEntityManager().findEventSubscriptionsByExecutionIds(executionIds);
+    
+    return processInstanceId;
+  }
+  
   public void deleteDataForExecution(ExecutionEntity executionEntity, String deleteReason, boolean cancel) {
+    deleteDataForExecution(executionEntity, deleteReason, cancel, null);
+  }
+  
+  /**
+   * @param fetchedProcessInstanceId the id of the process instance of which the related data was fetched upfront
+   *          (see {@link #fetchRelatedDataForProcessInstance(ExecutionEntity, List)}), or null.
+   */
+  protected void deleteDataForExecution(ExecutionEntity executionEntity, String deleteReason, boolean cancel, String fetchedProcessInstanceId) {
 
     // To start, deactivate the current incoming execution
     executionEntity.setEnded(true);
     executionEntity.setActive(false);
     
     boolean enableExecutionRelationshipCounts = isExecutionRelatedEntityCountEnabled(executionEntity); 
+    // The runtime data of a transiently executed process instance only lives in the entity cache
+    boolean transientProcessInstance = TransientExecutionUtil.isTransientProcessInstance(executionEntity.getProcessInstanceId());
+    boolean relatedDataFetched = transientProcessInstance
+        || (fetchedProcessInstanceId != null && fetchedProcessInstanceId.equals(executionEntity.getProcessInstanceId()));
     
     if (executionEntity.getId().equals(executionEntity.getProcessInstanceId())
         && (!enableExecutionRelationshipCounts 
             || (enableExecutionRelationshipCounts && ((CountingExecutionEntity) executionEntity).getIdentityLinkCount() > 0))) {
       IdentityLinkEntityManager identityLinkEntityManager = getIdentityLinkEntityManager();
-      Collection<IdentityLinkEntity> identityLinks = identityLinkEntityManager.findIdentityLinksByProcessInstanceId(executionEntity.getProcessInstanceId());
+      Collection<IdentityLinkEntity> identityLinks = transientProcessInstance ? identityLinkEntityManager.findIdentityLinksByProcessInstanceIdFromCache(executionEntity.getProcessInstanceId())
+          : identityLinkEntityManager.findIdentityLinksByProcessInstanceId(executionEntity.getProcessInstanceId());
       for (IdentityLinkEntity identityLink : identityLinks) {
         identityLinkEntityManager.delete(identityLink);
       }
@@ -564,6 +644,10 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
     // Get variables related to execution and delete them
     if (!enableExecutionRelationshipCounts || 
         (enableExecutionRelationshipCounts && ((CountingExecutionEntity) executionEntity).getVariableCount() > 0)) {
+      if (relatedDataFetched && executionEntity instanceof VariableScopeImpl) {
+        ((VariableScopeImpl) executionEntity).initializeVariableInstances(
+            getVariableInstanceEntityManager().findVariableInstancesByExecutionIdFromCache(executionEntity.getId()));
+      }
       Collection<VariableInstance> executionVariables = executionEntity.getVariableInstancesLocal().values();
       for (VariableInstance variableInstance : executionVariables) {
         if (variableInstance instanceof VariableInstanceEntity) {
@@ -582,7 +666,8 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
     if (!enableExecutionRelationshipCounts || 
         (enableExecutionRelationshipCounts && ((CountingExecutionEntity) executionEntity).getTaskCount() > 0)) {
       TaskEntityManager taskEntityManager = getTaskEntityManager();
-      Collection<TaskEntity> tasksForExecution = taskEntityManager.findTasksByExecutionId(executionEntity.getId());
+      Collection<TaskEntity> tasksForExecution = relatedDataFetched ? taskEntityManager.findTasksByExecutionIdFromCache(executionEntity.getId())
+          : taskEntityManager.findTasksByExecutionId(executionEntity.getId());
       for (TaskEntity taskEntity : tasksForExecution) {
         taskEntityManager.deleteTask(taskEntity, deleteReason, false, cancel);
       }
@@ -593,7 +678,8 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
     if (!enableExecutionRelationshipCounts 
         || (enableExecutionRelationshipCounts && ((CountingExecutionEntity) executionEntity).getTimerJobCount() > 0)) {
       TimerJobEntityManager timerJobEntityManager = getTimerJobEntityManager();
-      Collection<TimerJobEntity> timerJobsForExecution = timerJobEntityManager.findJobsByExecutionId(executionEntity.getId());
+      Collection<TimerJobEntity> timerJobsForExecution = relatedDataFetched ? timerJobEntityManager.findJobsByExecutionIdFromCache(executionEntity.getId())
+          : timerJobEntityManager.findJobsByExecutionId(executionEntity.getId());
       for (TimerJobEntity job : timerJobsForExecution) {
         timerJobEntityManager.delete(job);
         if (getEventDispatcher().isEnabled()) {
@@ -605,7 +691,8 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
     if (!enableExecutionRelationshipCounts 
         || (enableExecutionRelationshipCounts && ((CountingExecutionEntity) executionEntity).getJobCount() > 0)) {
       JobEntityManager jobEntityManager = getJobEntityManager();
-      Collection<JobEntity> jobsForExecution = jobEntityManager.findJobsByExecutionId(executionEntity.getId());
+      Collection<JobEntity> jobsForExecution = relatedDataFetched ? jobEntityManager.findJobsByExecutionIdFromCache(executionEntity.getId())
+          : jobEntityManager.findJobsByExecutionId(executionEntity.getId());
       for (JobEntity job : jobsForExecution) {
         getJobEntityManager().delete(job);
         if (getEventDispatcher().isEnabled()) {
@@ -617,7 +704,8 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
     if (!enableExecutionRelationshipCounts
         || (enableExecutionRelationshipCounts && ((CountingExecutionEntity) executionEntity).getSuspendedJobCount() > 0)) {
       SuspendedJobEntityManager suspendedJobEntityManager = getSuspendedJobEntityManager();
-      Collection<SuspendedJobEntity> suspendedJobsForExecution = suspendedJobEntityManager.findJobsByExecutionId(executionEntity.getId());
+      Collection<SuspendedJobEntity> suspendedJobsForExecution = relatedDataFetched ? suspendedJobEntityManager.findJobsByExecutionIdFromCache(executionEntity.getId())
+          : suspendedJobEntityManager.findJobsByExecutionId(executionEntity.getId());
       for (SuspendedJobEntity job : suspendedJobsForExecution) {
         suspendedJobEntityManager.delete(job);
         if (getEventDispatcher().isEnabled()) {
@@ -629,7 +717,8 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
     if (!enableExecutionRelationshipCounts
         || (enableExecutionRelationshipCounts && ((CountingExecutionEntity) executionEntity).getDeadLetterJobCount() > 0)) {
       DeadLetterJobEntityManager deadLetterJobEntityManager = getDeadLetterJobEntityManager();
-      Collection<DeadLetterJobEntity> deadLetterJobsForExecution = deadLetterJobEntityManager.findJobsByExecutionId(executionEntity.getId());
+      Collection<DeadLetterJobEntity> deadLetterJobsForExecution = relatedDataFetched ? deadLetterJobEntityManager.findJobsByExecutionIdFromCache(executionEntity.getId())
+          : deadLetterJobEntityManager.findJobsByExecutionId(executionEntity.getId());
       for (DeadLetterJobEntity job : deadLetterJobsForExecution) {
         deadLetterJobEntityManager.delete(job);
         if (getEventDispatcher().isEnabled()) {
@@ -642,7 +731,8 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
     if (!enableExecutionRelationshipCounts 
         || (enableExecutionRelationshipCounts && ((CountingExecutionEntity) executionEntity).getEventSubscriptionCount() > 0)) {
       EventSubscriptionEntityManager eventSubscriptionEntityManager = getEventSubscriptionEntityManager();
-      List<EventSubscriptionEntity> eventSubscriptions = eventSubscriptionEntityManager.findEventSubscriptionsByExecution(executionEntity.getId());
+      List<EventSubscriptionEntity> eventSubscriptions = relatedDataFetched ? eventSubscriptionEntityManager.findEventSubscriptionsByExecutionFromCache(executionEntity.getId())
+          : eventSubscriptionEntityManager.findEventSubscriptionsByExecution(executionEntity.getId());
       for (EventSubscriptionEntity eventSubscription : eventSubscriptions) {
         eventSubscriptionEntityManager.delete(eventSubscription);
       }
@@ -23,6 +23,7 @@ import org.activiti.engine.identity.GroupQuery;
 import org.activiti.engine.impl.GroupQueryImpl;
 import org.activiti.engine.impl.Page;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.identity.GroupCache;
 import org.activiti.engine.impl.persistence.entity.data.DataManager;
 import org.activiti.engine.impl.persistence.entity.data.GroupDataManager;
 
@@ -80,6 +81,15 @@ public class GroupEntityManagerImpl extends AbstractEntityManager<GroupEntity> i
   }
 
   public List<Group> findGroupsByUser(String userId) {
+    GroupCache groupCache = getProcessEngineConfiguration().getGroupCache();
+    if (groupCache != null) {
+      List<Group> groups = groupCache.get(userId);
+      if (groups == null) {
+        groups = groupDataManager.findGroupsByUser(userId);
+        groupCache.add(userId, groups);
+      }
+      return groups;
+    }
     return groupDataManager.findGroupsByUser(userId);
   }
 
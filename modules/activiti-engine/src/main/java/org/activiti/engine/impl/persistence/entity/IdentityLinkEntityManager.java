@@ -24,6 +24,12 @@ public interface IdentityLinkEntityManager extends EntityManager<IdentityLinkEnt
 
   List<IdentityLinkEntity> findIdentityLinksByProcessInstanceId(String processInstanceId);
 
+  /**
+   * Same as {@link #findIdentityLinksByProcessInstanceId(String)}, but only looks in the entity cache of the current command.
+   * Used for process instances that never reached the database.
+   */
+  List<IdentityLinkEntity> findIdentityLinksByProcessInstanceIdFromCache(String processInstanceId);
+
   List<IdentityLinkEntity> findIdentityLinksByProcessDefinitionId(String processDefinitionId);
 
   List<IdentityLinkEntity> findIdentityLinkByTaskUserGroupAndType(String taskId, String userId, String groupId, String type);
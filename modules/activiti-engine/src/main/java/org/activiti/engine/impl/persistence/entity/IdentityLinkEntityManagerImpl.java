@@ -86,6 +86,11 @@ public class IdentityLinkEntityManagerImpl extends AbstractEntityManager<Identit
     return identityLinkDataManager.findIdentityLinksByProcessInstanceId(processInstanceId);
   }
 
+  @Override
+  public List<IdentityLinkEntity> findIdentityLinksByProcessInstanceIdFromCache(String processInstanceId) {
+    return identityLinkDataManager.findIdentityLinksByProcessInstanceIdFromCache(processInstanceId);
+  }
+
   @Override
   public List<IdentityLinkEntity> findIdentityLinksByProcessDefinitionId(String processDefinitionId) {
     return identityLinkDataManager.findIdentityLinksByProcessDefinitionId(processDefinitionId);
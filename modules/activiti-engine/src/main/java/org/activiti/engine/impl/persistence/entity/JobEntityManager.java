@@ -48,6 +48,12 @@ public interface JobEntityManager extends EntityManager<JobEntity> {
    */
   List<JobEntity> findJobsByExecutionId(String executionId);
 
+  /**
+   * Same as {@link #findJobsByExecutionId(String)}, but only looks in the entity cache of the current command.
+   * Used when the data of the whole process instance was fetched upfront.
+   */
+  List<JobEntity> findJobsByExecutionIdFromCache(String executionId);
+
   /**
    * Returns all {@link JobEntity} instances related to on {@link ProcessDefinitionEntity}.
    */
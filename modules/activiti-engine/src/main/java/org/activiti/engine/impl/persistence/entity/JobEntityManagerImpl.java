@@ -92,6 +92,11 @@ public class JobEntityManagerImpl extends AbstractEntityManager<JobEntity> imple
   public List<JobEntity> findJobsByExecutionId(String executionId) {
     return jobDataManager.findJobsByExecutionId(executionId);
   }
+
+  @Override
+  public List<JobEntity> findJobsByExecutionIdFromCache(String executionId) {
+    return jobDataManager.findJobsByExecutionIdFromCache(executionId);
+  }
   @Override
   public List<JobEntity> findJobsByProcessDefinitionId(String processDefinitionId) {
     return jobDataManager.findJobsByProcessDefinitionId(processDefinitionId);
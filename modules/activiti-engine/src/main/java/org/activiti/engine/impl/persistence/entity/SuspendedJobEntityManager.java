@@ -28,6 +28,12 @@ public interface SuspendedJobEntityManager extends EntityManager<SuspendedJobEnt
    * Returns all {@link SuspendedJobEntity} instances related to on {@link ExecutionEntity}.
    */
   List<SuspendedJobEntity> findJobsByExecutionId(String id);
+
+  /**
+   * Same as {@link #findJobsByExecutionId(String)}, but only looks in the entity cache of the current command.
+   * Used when the data of the whole process instance was fetched upfront.
+   */
+  List<SuspendedJobEntity> findJobsByExecutionIdFromCache(String executionId);
   
   /**
    * Returns all {@link SuspendedJobEntity} instances related to on {@link ExecutionEntity}. 
@@ -44,6 +44,11 @@ public class SuspendedJobEntityManagerImpl extends AbstractEntityManager<Suspend
   public List<SuspendedJobEntity> findJobsByExecutionId(String id) {
     return jobDataManager.findJobsByExecutionId(id);
   }
+
+  @Override
+  public List<SuspendedJobEntity> findJobsByExecutionIdFromCache(String executionId) {
+    return jobDataManager.findJobsByExecutionIdFromCache(executionId);
+  }
   
   @Override
   public List<SuspendedJobEntity> findJobsByProcessInstanceId(String id) {
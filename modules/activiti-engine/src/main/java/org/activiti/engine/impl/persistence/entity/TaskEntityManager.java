@@ -28,6 +28,12 @@ public interface TaskEntityManager extends EntityManager<TaskEntity> {
 
   List<TaskEntity> findTasksByExecutionId(String executionId);
 
+  /**
+   * Same as {@link #findTasksByExecutionId(String)}, but only looks in the entity cache of the current command.
+   * Used when the data of the whole process instance was fetched upfront.
+   */
+  List<TaskEntity> findTasksByExecutionIdFromCache(String executionId);
+
   List<TaskEntity> findTasksByProcessInstanceId(String processInstanceId);
 
   List<Task> findTasksByQueryCriteria(TaskQueryImpl taskQuery);
@@ -239,6 +239,11 @@ public class TaskEntityManagerImpl extends AbstractEntityManager<TaskEntity> imp
     return taskDataManager.findTasksByExecutionId(executionId);
   }
 
+  @Override
+  public List<TaskEntity> findTasksByExecutionIdFromCache(String executionId) {
+    return taskDataManager.findTasksByExecutionIdFromCache(executionId);
+  }
+
   @Override
   public List<TaskEntity> findTasksByProcessInstanceId(String processInstanceId) {
     return taskDataManager.findTasksByProcessInstanceId(processInstanceId);
@@ -12,6 +12,7 @@
  */
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.engine.delegate.VariableScope;
@@ -42,6 +43,18 @@ public interface TimerJobEntityManager extends EntityManager<TimerJobEntity> {
    */
   List<TimerJobEntity> findTimerJobsToExecute(Page page);
 
+  /**
+   * Returns the unlocked {@link TimerJobEntity} instances with a due date before the given date,
+   * which can be later than the current time when timers are acquired ahead of their due date.
+   */
+  List<TimerJobEntity> findTimerJobsToExecute(Date maxDueDate, Page page);
+
+  /**
+   * Returns the {@link TimerJobEntity} instances of which the lock has expired,
+   * for example because the async executor that acquired them went down.
+   */
+  List<TimerJobEntity> findExpiredJobs(Page page);
+
   /**
    * Returns the {@link TimerJobEntity} for a given process definition.
    * 
@@ -66,6 +79,12 @@ public interface TimerJobEntityManager extends EntityManager<TimerJobEntity> {
    * Returns all {@link TimerJobEntity} instances related to on {@link ExecutionEntity}.
    */
   List<TimerJobEntity> findJobsByExecutionId(String id);
+
+  /**
+   * Same as {@link #findJobsByExecutionId(String)}, but only looks in the entity cache of the current command.
+   * Used when the data of the whole process instance was fetched upfront.
+   */
+  List<TimerJobEntity> findJobsByExecutionIdFromCache(String executionId);
   
   /**
    * Returns all {@link TimerJobEntity} instances related to on {@link ExecutionEntity}. 
@@ -70,6 +70,16 @@ public class TimerJobEntityManagerImpl extends AbstractEntityManager<TimerJobEnt
     return jobDataManager.findTimerJobsToExecute(page);
   }
 
+  @Override
+  public List<TimerJobEntity> findTimerJobsToExecute(Date maxDueDate, Page page) {
+    return jobDataManager.findTimerJobsToExecute(maxDueDate, page);
+  }
+
+  @Override
+  public List<TimerJobEntity> findExpiredJobs(Page page) {
+    return jobDataManager.findExpiredJobs(page);
+  }
+
   @Override
   public List<TimerJobEntity> findJobsByTypeAndProcessDefinitionId(String jobHandlerType, String processDefinitionId) {
     return jobDataManager.findJobsByTypeAndProcessDefinitionId(jobHandlerType, processDefinitionId);
@@ -89,6 +99,11 @@ public class TimerJobEntityManagerImpl extends AbstractEntityManager<TimerJobEnt
   public List<TimerJobEntity> findJobsByExecutionId(String id) {
     return jobDataManager.findJobsByExecutionId(id);
   }
+
+  @Override
+  public List<TimerJobEntity> findJobsByExecutionIdFromCache(String executionId) {
+    return jobDataManager.findJobsByExecutionIdFromCache(executionId);
+  }
   
   @Override
   public List<TimerJobEntity> findJobsByProcessInstanceId(String id) {
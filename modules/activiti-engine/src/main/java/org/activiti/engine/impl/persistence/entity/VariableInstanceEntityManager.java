@@ -30,6 +30,14 @@ public interface VariableInstanceEntityManager extends EntityManager<VariableIns
   List<VariableInstanceEntity> findVariableInstancesByTaskIds(Set<String> taskIds);
 
   List<VariableInstanceEntity> findVariableInstancesByExecutionId(String executionId);
+
+  /**
+   * Same as {@link #findVariableInstancesByExecutionId(String)}, but only looks in the entity cache of the current command.
+   * Used when the data of the whole process instance was fetched upfront.
+   */
+  List<VariableInstanceEntity> findVariableInstancesByExecutionIdFromCache(String executionId);
+
+  List<VariableInstanceEntity> findVariableInstancesByProcessInstanceId(String processInstanceId);
   
   List<VariableInstanceEntity> findVariableInstancesByExecutionIds(Set<String> executionIds);
 
@@ -41,6 +49,12 @@ public interface VariableInstanceEntityManager extends EntityManager<VariableIns
 
   List<VariableInstanceEntity> findVariableInstancesByTaskAndNames(String taskId, Collection<String> names);
 
+  /**
+   * Fetches the byte arrays of the given variable instances that are not fetched yet in one roundtrip,
+   * so getting the values of these variables doesn't need a select per variable.
+   */
+  void fetchByteArrays(Collection<VariableInstanceEntity> variableInstances);
+
   void deleteVariableInstanceByTask(TaskEntity task);
 
 }
\ No newline at end of file
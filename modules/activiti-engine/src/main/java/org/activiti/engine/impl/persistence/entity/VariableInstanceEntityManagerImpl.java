@@ -13,6 +13,7 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -83,6 +84,16 @@ public class VariableInstanceEntityManagerImpl extends AbstractEntityManager<Var
   public List<VariableInstanceEntity> findVariableInstancesByExecutionId(final String executionId) {
     return variableInstanceDataManager.findVariableInstancesByExecutionId(executionId);
   }
+
+  @Override
+  public List<VariableInstanceEntity> findVariableInstancesByExecutionIdFromCache(String executionId) {
+    return variableInstanceDataManager.findVariableInstancesByExecutionIdFromCache(executionId);
+  }
+
+  @Override
+  public List<VariableInstanceEntity> findVariableInstancesByProcessInstanceId(String processInstanceId) {
+    return variableInstanceDataManager.findVariableInstancesByProcessInstanceId(processInstanceId);
+  }
   
   @Override
   public List<VariableInstanceEntity> findVariableInstancesByExecutionIds(Set<String> executionIds) {
@@ -109,6 +120,21 @@ public class VariableInstanceEntityManagerImpl extends AbstractEntityManager<Var
     return variableInstanceDataManager.findVariableInstancesByTaskAndNames(taskId, names);
   }
 
+  @Override
+  public void fetchByteArrays(Collection<VariableInstanceEntity> variableInstances) {
+    List<String> byteArrayIds = new ArrayList<String>();
+    for (VariableInstanceEntity variableInstance : variableInstances) {
+      ByteArrayRef byteArrayRef = variableInstance.getByteArrayRef();
+      if (byteArrayRef != null && byteArrayRef.getId() != null) {
+        byteArrayIds.add(byteArrayRef.getId());
+      }
+    }
+    
+    if (!byteArrayIds.isEmpty()) {
+      getByteArrayEntityManager().findByteArraysByIds(byteArrayIds);
+    }
+  }
+
   @Override
   public void delete(VariableInstanceEntity entity, boolean fireDeleteEvent) {
     super.delete(entity, false);
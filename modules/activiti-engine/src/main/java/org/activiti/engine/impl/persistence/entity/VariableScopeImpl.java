@@ -66,12 +66,27 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
         throw new ActivitiException("lazy loading outside command context");
       }
       Collection<VariableInstanceEntity> variableInstancesList = loadVariableInstances();
+      if (commandContext.getProcessEngineConfiguration().getPerformanceSettings().isEnableEagerVariableByteArrayFetching()) {
+        commandContext.getVariableInstanceEntityManager().fetchByteArrays(variableInstancesList);
+      }
       for (VariableInstanceEntity variableInstance : variableInstancesList) {
         variableInstances.put(variableInstance.getName(), variableInstance);
       }
     }
   }
 
+  /**
+   * Initializes the local variable instances with entities that were fetched upfront, unless they were loaded already.
+   */
+  protected void initializeVariableInstances(Collection<VariableInstanceEntity> fetchedVariableInstances) {
+    if (variableInstances == null) {
+      variableInstances = new HashMap<String, VariableInstanceEntity>();
+      for (VariableInstanceEntity variableInstance : fetchedVariableInstances) {
+        variableInstances.put(variableInstance.getName(), variableInstance);
+      }
+    }
+  }
+
   public Map<String, Object> getVariables() {
     return collectVariables(new HashMap<String, Object>());
   }
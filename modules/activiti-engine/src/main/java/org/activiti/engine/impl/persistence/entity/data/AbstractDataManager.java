@@ -182,7 +182,7 @@ public abstract class AbstractDataManager<EntityImpl extends Entity> extends Abs
     
     DbSqlSession dbSqlSession = getDbSqlSession();
     
-    List<EntityImpl> result = new ArrayList<>(cachedObjects.size());
+    List<EntityImpl> result = new ArrayList<>(cachedObjects != null ? cachedObjects.size() : 1);
     if (cachedObjects != null && entityMatcher != null) {
       for (CachedEntity cachedObject : cachedObjects) {
         EntityImpl cachedEntity = (EntityImpl) cachedObject.getEntity();
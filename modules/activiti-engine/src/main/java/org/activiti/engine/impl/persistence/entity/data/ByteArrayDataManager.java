@@ -12,6 +12,7 @@
  */
 package org.activiti.engine.impl.persistence.entity.data;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.activiti.engine.impl.persistence.entity.ByteArrayEntity;
@@ -22,6 +23,8 @@ import org.activiti.engine.impl.persistence.entity.ByteArrayEntity;
 public interface ByteArrayDataManager extends DataManager<ByteArrayEntity> {
   
   List<ByteArrayEntity> findAll();
+
+  List<ByteArrayEntity> findByteArraysByIds(Collection<String> byteArrayEntityIds);
   
   void deleteByteArrayNoRevisionCheck(String byteArrayEntityId);
   
@@ -26,6 +26,10 @@ public interface DeadLetterJobDataManager extends DataManager<DeadLetterJobEntit
   
   List<DeadLetterJobEntity> findJobsByExecutionId(String executionId);
 
+  List<DeadLetterJobEntity> findJobsByExecutionIdFromCache(String executionId);
+
+  List<DeadLetterJobEntity> findJobsByProcessInstanceId(String processInstanceId);
+
   List<Job> findJobsByQueryCriteria(DeadLetterJobQueryImpl jobQuery, Page page);
 
   long findJobCountByQueryCriteria(DeadLetterJobQueryImpl jobQuery);
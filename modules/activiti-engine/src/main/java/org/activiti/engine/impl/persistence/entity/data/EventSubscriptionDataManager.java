@@ -12,6 +12,7 @@
  */
 package org.activiti.engine.impl.persistence.entity.data;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.activiti.engine.impl.EventSubscriptionQueryImpl;
@@ -50,6 +51,10 @@ public interface EventSubscriptionDataManager extends DataManager<EventSubscript
 
   List<EventSubscriptionEntity> findEventSubscriptionsByExecution(final String executionId);
 
+  List<EventSubscriptionEntity> findEventSubscriptionsByExecutionFromCache(String executionId);
+
+  List<EventSubscriptionEntity> findEventSubscriptionsByExecutionIds(Collection<String> executionIds);
+
   List<EventSubscriptionEntity> findEventSubscriptionsByTypeAndProcessDefinitionId(String type, String processDefinitionId, String tenantId);
 
   List<EventSubscriptionEntity> findEventSubscriptionsByName(final String type, final String eventName, final String tenantId);
@@ -25,6 +25,8 @@ public interface IdentityLinkDataManager extends DataManager<IdentityLinkEntity>
 
   List<IdentityLinkEntity> findIdentityLinksByProcessInstanceId(String processInstanceId);
 
+  List<IdentityLinkEntity> findIdentityLinksByProcessInstanceIdFromCache(String processInstanceId);
+
   List<IdentityLinkEntity> findIdentityLinksByProcessDefinitionId(String processDefinitionId);
 
   List<IdentityLinkEntity> findIdentityLinkByTaskUserGroupAndType(String taskId, String userId, String groupId, String type);
@@ -28,6 +28,8 @@ public interface JobDataManager extends DataManager<JobEntity> {
 
   List<JobEntity> findJobsByExecutionId(final String executionId);
 
+  List<JobEntity> findJobsByExecutionIdFromCache(String executionId);
+
   List<JobEntity> findJobsByProcessDefinitionId(final String processDefinitionId);
 
   List<JobEntity> findJobsByTypeAndProcessDefinitionId(final String jobTypeTimer, final String id);
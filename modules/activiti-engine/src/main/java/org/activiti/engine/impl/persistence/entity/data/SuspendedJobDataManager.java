@@ -25,6 +25,8 @@ import org.activiti.engine.runtime.Job;
 public interface SuspendedJobDataManager extends DataManager<SuspendedJobEntity> {
   
   List<SuspendedJobEntity> findJobsByExecutionId(String executionId);
+
+  List<SuspendedJobEntity> findJobsByExecutionIdFromCache(String executionId);
   
   List<SuspendedJobEntity> findJobsByProcessInstanceId(String processInstanceId);
 
@@ -26,6 +26,8 @@ public interface TaskDataManager extends DataManager<TaskEntity> {
   
   List<TaskEntity> findTasksByExecutionId(final String executionId);
 
+  List<TaskEntity> findTasksByExecutionIdFromCache(String executionId);
+
   List<TaskEntity> findTasksByProcessInstanceId(String processInstanceId);
 
   List<Task> findTasksByQueryCriteria(TaskQueryImpl taskQuery);
@@ -12,6 +12,7 @@
  */
 package org.activiti.engine.impl.persistence.entity.data;
 
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.engine.impl.Page;
@@ -27,6 +28,10 @@ public interface TimerJobDataManager extends DataManager<TimerJobEntity> {
   
   List<TimerJobEntity> findTimerJobsToExecute(Page page);
 
+  List<TimerJobEntity> findTimerJobsToExecute(Date maxDueDate, Page page);
+
+  List<TimerJobEntity> findExpiredJobs(Page page);
+
   List<TimerJobEntity> findJobsByTypeAndProcessDefinitionId(String jobHandlerType, String processDefinitionId);
   
   List<TimerJobEntity> findJobsByTypeAndProcessDefinitionKeyNoTenantId(String jobHandlerType, String processDefinitionKey);
@@ -34,6 +39,8 @@ public interface TimerJobDataManager extends DataManager<TimerJobEntity> {
   List<TimerJobEntity> findJobsByTypeAndProcessDefinitionKeyAndTenantId(String jobHandlerType, String processDefinitionKey, String tenantId);
 
   List<TimerJobEntity> findJobsByExecutionId(String executionId);
+
+  List<TimerJobEntity> findJobsByExecutionIdFromCache(String executionId);
   
   List<TimerJobEntity> findJobsByProcessInstanceId(String processInstanceId);
 
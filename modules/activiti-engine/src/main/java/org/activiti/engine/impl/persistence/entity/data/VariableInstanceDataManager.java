@@ -28,6 +28,10 @@ public interface VariableInstanceDataManager extends DataManager<VariableInstanc
   List<VariableInstanceEntity> findVariableInstancesByTaskIds(Set<String> taskIds);
   
   List<VariableInstanceEntity> findVariableInstancesByExecutionId(String executionId);
+
+  List<VariableInstanceEntity> findVariableInstancesByExecutionIdFromCache(String executionId);
+
+  List<VariableInstanceEntity> findVariableInstancesByProcessInstanceId(String processInstanceId);
   
   List<VariableInstanceEntity> findVariableInstancesByExecutionIds(Set<String> executionIds);
 
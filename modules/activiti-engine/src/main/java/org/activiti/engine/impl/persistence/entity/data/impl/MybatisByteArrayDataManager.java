@@ -12,6 +12,8 @@
  */
 package org.activiti.engine.impl.persistence.entity.data.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
@@ -24,6 +26,9 @@ import org.activiti.engine.impl.persistence.entity.data.ByteArrayDataManager;
  * @author Joram Barrez
  */
 public class MybatisByteArrayDataManager extends AbstractDataManager<ByteArrayEntity> implements ByteArrayDataManager {
+
+  // Keeps the 'in' clause well below the limits of the supported databases (eg. 1000 for Oracle)
+  protected static final int MAX_BYTE_ARRAY_IDS_PER_SELECT = 500;
   
   public MybatisByteArrayDataManager(ProcessEngineConfigurationImpl processEngineConfiguration) {
     super(processEngineConfiguration);
@@ -45,6 +50,27 @@ public class MybatisByteArrayDataManager extends AbstractDataManager<ByteArrayEn
     return getDbSqlSession().selectList("selectByteArrays");
   }
   
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<ByteArrayEntity> findByteArraysByIds(Collection<String> byteArrayEntityIds) {
+    List<ByteArrayEntity> byteArrays = new ArrayList<ByteArrayEntity>(byteArrayEntityIds.size());
+    List<String> idsToSelect = new ArrayList<String>();
+    for (String byteArrayEntityId : byteArrayEntityIds) {
+      ByteArrayEntity cachedByteArray = getEntityCache().findInCache(getManagedEntityClass(), byteArrayEntityId);
+      if (cachedByteArray != null) {
+        byteArrays.add(cachedByteArray);
+      } else {
+        idsToSelect.add(byteArrayEntityId);
+      }
+    }
+
+    for (int fromIndex = 0; fromIndex < idsToSelect.size(); fromIndex += MAX_BYTE_ARRAY_IDS_PER_SELECT) {
+      int toIndex = Math.min(fromIndex + MAX_BYTE_ARRAY_IDS_PER_SELECT, idsToSelect.size());
+      byteArrays.addAll(getDbSqlSession().selectList("selectByteArraysByIds", idsToSelect.subList(fromIndex, toIndex)));
+    }
+    return byteArrays;
+  }
+  
   @Override
   public void deleteByteArrayNoRevisionCheck(String byteArrayEntityId) {
     getDbSqlSession().delete("deleteByteArrayNoRevisionCheck", byteArrayEntityId, ByteArrayEntityImpl.class);
@@ -69,6 +69,17 @@ public class MybatisDeadLetterJobDataManager extends AbstractDataManager<DeadLet
     return getList("selectDeadLetterJobsByExecutionId", executionId, deadLetterByExecutionIdMatcher, true);
   }
 
+  @Override
+  public List<DeadLetterJobEntity> findJobsByExecutionIdFromCache(String executionId) {
+    return getListFromCache(deadLetterByExecutionIdMatcher, executionId);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<DeadLetterJobEntity> findJobsByProcessInstanceId(String processInstanceId) {
+    return getDbSqlSession().selectList("selectDeadLetterJobsByProcessInstanceId", processInstanceId);
+  }
+
   @Override
   public void updateJobTenantIdForDeployment(String deploymentId, String newTenantId) {
     HashMap<String, Object> params = new HashMap<String, Object>();
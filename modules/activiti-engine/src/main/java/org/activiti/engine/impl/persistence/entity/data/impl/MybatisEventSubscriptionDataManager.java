@@ -13,6 +13,7 @@
 package org.activiti.engine.impl.persistence.entity.data.impl;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -46,6 +47,8 @@ import org.activiti.engine.impl.persistence.entity.data.impl.cachematcher.Signal
  */
 public class MybatisEventSubscriptionDataManager extends AbstractDataManager<EventSubscriptionEntity> implements EventSubscriptionDataManager {
   
+  protected static final int MAX_EXECUTION_IDS_PER_SELECT = 500;
+
   private static List<Class<? extends EventSubscriptionEntity>> ENTITY_SUBCLASSES = new ArrayList<Class<? extends EventSubscriptionEntity>>();
   
   static {
@@ -188,6 +191,23 @@ public class MybatisEventSubscriptionDataManager extends AbstractDataManager<Eve
     return getList("selectEventSubscriptionsByExecution", executionId, eventSubscritionsByExecutionIdMatcher, true);
   }
 
+  @Override
+  public List<EventSubscriptionEntity> findEventSubscriptionsByExecutionFromCache(String executionId) {
+    return getListFromCache(eventSubscritionsByExecutionIdMatcher, executionId);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<EventSubscriptionEntity> findEventSubscriptionsByExecutionIds(Collection<String> executionIds) {
+    List<String> executionIdList = new ArrayList<String>(executionIds);
+    List<EventSubscriptionEntity> eventSubscriptions = new ArrayList<EventSubscriptionEntity>();
+    for (int fromIndex = 0; fromIndex < executionIdList.size(); fromIndex += MAX_EXECUTION_IDS_PER_SELECT) {
+      int toIndex = Math.min(fromIndex + MAX_EXECUTION_IDS_PER_SELECT, executionIdList.size());
+      eventSubscriptions.addAll(getDbSqlSession().selectList("selectEventSubscriptionsByExecutionIds", executionIdList.subList(fromIndex, toIndex)));
+    }
+    return eventSubscriptions;
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public List<EventSubscriptionEntity> findEventSubscriptionsByTypeAndProcessDefinitionId(String type, String processDefinitionId, String tenantId) {
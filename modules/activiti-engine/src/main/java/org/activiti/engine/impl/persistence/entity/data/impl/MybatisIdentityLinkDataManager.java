@@ -57,6 +57,11 @@ public class MybatisIdentityLinkDataManager extends AbstractDataManager<Identity
     return getList("selectIdentityLinksByProcessInstance", processInstanceId, identityLinkByProcessInstanceMatcher, true);
   }
 
+  @Override
+  public List<IdentityLinkEntity> findIdentityLinksByProcessInstanceIdFromCache(String processInstanceId) {
+    return getListFromCache(identityLinkByProcessInstanceMatcher, processInstanceId);
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public List<IdentityLinkEntity> findIdentityLinksByProcessDefinitionId(String processDefinitionId) {
@@ -61,6 +61,11 @@ public class MybatisJobDataManager extends AbstractDataManager<JobEntity> implem
     return getList("selectJobsByExecutionId", executionId, jobsByExecutionIdMatcher, true);
   }
 
+  @Override
+  public List<JobEntity> findJobsByExecutionIdFromCache(String executionId) {
+    return getListFromCache(jobsByExecutionIdMatcher, executionId);
+  }
+
   @Override
   public List<JobEntity> findJobsByProcessDefinitionId(final String processDefinitionId) {
     Map<String, String> params = new HashMap<String, String>(1);
@@ -63,6 +63,11 @@ public class MybatisSuspendedJobDataManager extends AbstractDataManager<Suspende
   public List<SuspendedJobEntity> findJobsByExecutionId(final String executionId) {
     return getList("selectSuspendedJobsByExecutionId", executionId, suspendedJobsByExecutionIdMatcher, true);
   }
+
+  @Override
+  public List<SuspendedJobEntity> findJobsByExecutionIdFromCache(String executionId) {
+    return getListFromCache(suspendedJobsByExecutionIdMatcher, executionId);
+  }
   
   @Override
   @SuppressWarnings("unchecked")
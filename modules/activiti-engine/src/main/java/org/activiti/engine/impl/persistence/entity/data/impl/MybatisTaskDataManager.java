@@ -53,6 +53,11 @@ public class MybatisTaskDataManager extends AbstractDataManager<TaskEntity> impl
     return getList("selectTasksByExecutionId", executionId, tasksByExecutionIdMatcher, true);
   }
 
+  @Override
+  public List<TaskEntity> findTasksByExecutionIdFromCache(String executionId) {
+    return getListFromCache(tasksByExecutionIdMatcher, executionId);
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public List<TaskEntity> findTasksByProcessInstanceId(String processInstanceId) {
@@ -20,6 +20,7 @@ import java.util.Map;
 import org.activiti.engine.impl.Page;
 import org.activiti.engine.impl.TimerJobQueryImpl;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.db.ListQueryParameterObject;
 import org.activiti.engine.impl.persistence.CachedEntityMatcher;
 import org.activiti.engine.impl.persistence.entity.TimerJobEntity;
 import org.activiti.engine.impl.persistence.entity.TimerJobEntityImpl;
@@ -66,7 +67,23 @@ public class MybatisTimerJobDataManager extends AbstractDataManager<TimerJobEnti
   @SuppressWarnings("unchecked")
   public List<TimerJobEntity> findTimerJobsToExecute(Page page) {
     Date now = getClock().getCurrentTime();
-    return getDbSqlSession().selectList("selectTimerJobsToExecute", now, page);
+    return findTimerJobsToExecute(now, page);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<TimerJobEntity> findTimerJobsToExecute(Date maxDueDate, Page page) {
+    // the timers that are due first are acquired first, also when more timers are due than fit in one page
+    ListQueryParameterObject parameter = new ListQueryParameterObject(maxDueDate, page.getFirstResult(), page.getMaxResults());
+    parameter.setOrderByColumns("RES.DUEDATE_ asc");
+    return getDbSqlSession().selectList("selectTimerJobsToExecute", parameter);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<TimerJobEntity> findExpiredJobs(Page page) {
+    Date now = getClock().getCurrentTime();
+    return getDbSqlSession().selectList("selectExpiredTimerJobs", now, page);
   }
   
   @Override
@@ -83,6 +100,11 @@ public class MybatisTimerJobDataManager extends AbstractDataManager<TimerJobEnti
   public List<TimerJobEntity> findJobsByExecutionId(final String executionId) {
     return getList("selectTimerJobsByExecutionId", executionId, timerJobsByExecutionIdMatcher, true);
   }
+
+  @Override
+  public List<TimerJobEntity> findJobsByExecutionIdFromCache(String executionId) {
+    return getListFromCache(timerJobsByExecutionIdMatcher, executionId);
+  }
   
   @Override
   @SuppressWarnings("unchecked")
@@ -12,6 +12,7 @@
  */
 package org.activiti.engine.impl.persistence.entity.data.impl;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -65,6 +66,23 @@ public class MybatisVariableInstanceDataManager extends AbstractDataManager<Vari
   public List<VariableInstanceEntity> findVariableInstancesByExecutionId(final String executionId) {
     return getList("selectVariablesByExecutionId", executionId, variableInstanceEntity, true);
   }
+
+  @Override
+  public List<VariableInstanceEntity> findVariableInstancesByExecutionIdFromCache(String executionId) {
+    List<VariableInstanceEntity> variableInstances = new ArrayList<VariableInstanceEntity>();
+    for (VariableInstanceEntity variableInstance : getListFromCache(variableInstanceEntity, executionId)) {
+      if (variableInstance.getTaskId() == null) { // task local variables are not part of the execution scope
+        variableInstances.add(variableInstance);
+      }
+    }
+    return variableInstances;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<VariableInstanceEntity> findVariableInstancesByProcessInstanceId(String processInstanceId) {
+    return getDbSqlSession().selectList("selectVariablesByProcessInstanceId", processInstanceId);
+  }
   
   @Override
   @SuppressWarnings("unchecked")
@@ -12,11 +12,15 @@
  */
 package org.activiti.engine.impl.scripting;
 
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineFactory;
@@ -35,6 +39,7 @@ public class ScriptingEngines {
 
   public static final String DEFAULT_SCRIPTING_LANGUAGE = "juel";
   public static final String GROOVY_SCRIPTING_LANGUAGE = "groovy";
+  public static final int DEFAULT_COMPILED_SCRIPT_CACHE_LIMIT = 500;
 
   private final ScriptEngineManager scriptEngineManager;
   protected ScriptBindingsFactory scriptBindingsFactory;
@@ -42,6 +47,10 @@ public class ScriptingEngines {
   protected boolean cacheScriptingEngines = true;
   protected Map<String, ScriptEngine> cachedEngines;
 
+  protected boolean cacheCompiledScripts = true;
+  protected int compiledScriptCacheLimit = DEFAULT_COMPILED_SCRIPT_CACHE_LIMIT;
+  protected Map<String, Map<String, CompiledScript>> cachedCompiledScripts;
+
   public ScriptingEngines(ScriptBindingsFactory scriptBindingsFactory) {
     this(new ScriptEngineManager());
     this.scriptBindingsFactory = scriptBindingsFactory;
@@ -49,7 +58,8 @@ public class ScriptingEngines {
 
   public ScriptingEngines(ScriptEngineManager scriptEngineManager) {
     this.scriptEngineManager = scriptEngineManager;
-    cachedEngines = new HashMap<String, ScriptEngine>();
+    cachedEngines = new ConcurrentHashMap<String, ScriptEngine>();
+    cachedCompiledScripts = new ConcurrentHashMap<String, Map<String, CompiledScript>>();
   }
 
   public ScriptingEngines addScriptEngineFactory(ScriptEngineFactory scriptEngineFactory) {
@@ -81,13 +91,126 @@ public class ScriptingEngines {
     return cacheScriptingEngines;
   }
 
+  public boolean isCacheCompiledScripts() {
+    return cacheCompiledScripts;
+  }
+
+  public void setCacheCompiledScripts(boolean cacheCompiledScripts) {
+    this.cacheCompiledScripts = cacheCompiledScripts;
+  }
+
+  public int getCompiledScriptCacheLimit() {
+    return compiledScriptCacheLimit;
+  }
+
+  /**
+   * Maximum number of compiled scripts kept per scripting language. When the limit is reached,
+   * the least recently used script is removed.
+   */
+  public void setCompiledScriptCacheLimit(int compiledScriptCacheLimit) {
+    this.compiledScriptCacheLimit = compiledScriptCacheLimit;
+    cachedCompiledScripts.clear();
+  }
+
+  /**
+   * @return the cached compiled form of the given script, or null when it isn't compiled (yet).
+   */
+  public CompiledScript getCachedCompiledScript(String script, String language) {
+    Map<String, CompiledScript> compiledScripts = cachedCompiledScripts.get(language);
+    return compiledScripts != null ? compiledScripts.get(script) : null;
+  }
+
+  public int getCompiledScriptCacheSize(String language) {
+    Map<String, CompiledScript> compiledScripts = cachedCompiledScripts.get(language);
+    return compiledScripts != null ? compiledScripts.size() : 0;
+  }
+
   protected Object evaluate(String script, String language, Bindings bindings) {
     ScriptEngine scriptEngine = getEngineByName(language);
     try {
+      CompiledScript compiledScript = getCompiledScript(script, language, scriptEngine);
+      if (compiledScript != null) {
+        return compiledScript.eval(bindings);
+      }
       return scriptEngine.eval(script, bindings);
     } catch (ScriptException e) {
-      throw new ActivitiException("problem evaluating script: " + e.getMessage(), e);
+      throw new ActivitiException("problem evaluating script: " + getRootScriptException(e).getMessage(), e);
+    }
+  }
+
+  /**
+   * Engines can wrap the exception of a script in more than one {@link ScriptException}, depending on whether the script
+   * is evaluated from its text or compiled (Groovy does so for scripts evaluated from text). The innermost one is reported,
+   * so the message doesn't depend on the way the script is evaluated.
+   */
+  protected ScriptException getRootScriptException(ScriptException scriptException) {
+    ScriptException rootScriptException = scriptException;
+    Throwable cause = scriptException.getCause();
+    while (cause != null && cause != cause.getCause()) {
+      if (cause instanceof ScriptException) {
+        rootScriptException = (ScriptException) cause;
+      }
+      cause = cause.getCause();
+    }
+    return rootScriptException;
+  }
+
+  /**
+   * Returns the compiled form of the script, compiling it on first use, or null when the
+   * script should be evaluated from its text.
+   */
+  protected CompiledScript getCompiledScript(String script, String language, ScriptEngine scriptEngine) throws ScriptException {
+    if (!cacheCompiledScripts || compiledScriptCacheLimit <= 0 || !isCompiledScriptCacheable(language, scriptEngine)) {
+      return null;
+    }
+
+    Map<String, CompiledScript> compiledScripts = getCompiledScriptCache(language);
+    CompiledScript compiledScript = compiledScripts.get(script);
+    if (compiledScript == null) {
+      compiledScript = ((Compilable) scriptEngine).compile(script);
+      compiledScripts.put(script, compiledScript);
+    }
+    return compiledScript;
+  }
+
+  /**
+   * A compiled script is bound to the engine that compiled it, so it can only be shared when
+   * the engine itself is shared. Engines are only cached when their THREADING parameter is set
+   * (MULTITHREADED, THREAD-ISOLATED or STATELESS), which means they can evaluate scripts from
+   * multiple threads as long as each evaluation uses its own bindings, which is always the case here.
+   * Engines without a THREADING parameter (eg. Nashorn) are created per evaluation and never compiled.
+   *
+   * JUEL binds the variables that are known at parse time into the parsed expression,
+   * so juel scripts are always parsed with the bindings of the evaluation.
+   */
+  protected boolean isCompiledScriptCacheable(String language, ScriptEngine scriptEngine) {
+    return scriptEngine instanceof Compilable 
+        && !(scriptEngine instanceof JuelScriptEngine) 
+        && cacheScriptingEngines 
+        && cachedEngines.get(language) == scriptEngine;
+  }
+
+  protected Map<String, CompiledScript> getCompiledScriptCache(String language) {
+    Map<String, CompiledScript> compiledScripts = cachedCompiledScripts.get(language);
+    if (compiledScripts == null) {
+      synchronized (cachedCompiledScripts) {
+        compiledScripts = cachedCompiledScripts.get(language);
+        if (compiledScripts == null) {
+          final int limit = compiledScriptCacheLimit;
+          // +1 is needed, because the entry is inserted first, before it is removed
+          compiledScripts = Collections.synchronizedMap(new LinkedHashMap<String, CompiledScript>(limit + 1, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledScript> eldest) {
+              return size() > limit;
+            }
+          });
+          cachedCompiledScripts.put(language, compiledScripts);
+        }
+      }
     }
+    return compiledScripts;
   }
 
   protected ScriptEngine getEngineByName(String language) {
@@ -0,0 +1,154 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded cache for concurrent use, which keeps track of its hits and misses.
+ *
+ * Lookups and inserts go to a {@link ConcurrentHashMap} and never block each other. Every access stamps the entry,
+ * and when the limit is exceeded a single thread evicts the least recently used entries (at least a tenth of the limit,
+ * so the cost of evicting is spread over many inserts). While an eviction is running, the size can briefly exceed the limit.
+ */
+public class ConcurrentLruCache<K, V> {
+
+  protected final int limit;
+  protected final ConcurrentHashMap<K, CacheEntry<V>> entries;
+  protected final AtomicLong accessCounter = new AtomicLong();
+  protected final ReentrantLock evictionLock = new ReentrantLock();
+  protected final AtomicLong hitCount = new AtomicLong();
+  protected final AtomicLong missCount = new AtomicLong();
+
+  public ConcurrentLruCache(int limit) {
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Cache limit must be greater than 0");
+    }
+    this.limit = limit;
+    this.entries = new ConcurrentHashMap<K, CacheEntry<V>>(Math.min(limit, 16 * 1024));
+  }
+
+  public V get(K key) {
+    CacheEntry<V> entry = entries.get(key);
+    if (entry == null) {
+      missCount.incrementAndGet();
+      return null;
+    }
+    hitCount.incrementAndGet();
+    entry.lastAccess = accessCounter.incrementAndGet();
+    return entry.value;
+  }
+
+  public void put(K key, V value) {
+    entries.put(key, new CacheEntry<V>(value, accessCounter.incrementAndGet()));
+    if (entries.size() > limit) {
+      evict();
+    }
+  }
+
+  public void remove(K key) {
+    entries.remove(key);
+  }
+
+  public void clear() {
+    entries.clear();
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  /**
+   * @return the fraction of lookups that found a value, 0 when nothing was looked up yet.
+   */
+  public double getHitRatio() {
+    long hits = hitCount.get();
+    long total = hits + missCount.get();
+    return total > 0 ? (double) hits / total : 0;
+  }
+
+  protected void evict() {
+    if (!evictionLock.tryLock()) {
+      return; // another thread is already evicting
+    }
+    try {
+      int excess = entries.size() - limit;
+      if (excess <= 0) {
+        return;
+      }
+
+      // snapshot the access stamps, they keep changing while sorting
+      List<EvictionCandidate<K, V>> candidates = new ArrayList<EvictionCandidate<K, V>>(entries.size());
+      for (Map.Entry<K, CacheEntry<V>> entry : entries.entrySet()) {
+        candidates.add(new EvictionCandidate<K, V>(entry.getKey(), entry.getValue()));
+      }
+      Collections.sort(candidates);
+
+      int toEvict = Math.min(candidates.size(), Math.max(excess, limit / 10));
+      for (int i = 0; i < toEvict; i++) {
+        EvictionCandidate<K, V> candidate = candidates.get(i);
+        entries.remove(candidate.key, candidate.entry);
+      }
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  protected static class CacheEntry<V> {
+
+    protected final V value;
+    protected volatile long lastAccess;
+
+    public CacheEntry(V value, long lastAccess) {
+      this.value = value;
+      this.lastAccess = lastAccess;
+    }
+  }
+
+  protected static class EvictionCandidate<K, V> implements Comparable<EvictionCandidate<K, V>> {
+
+    protected final K key;
+    protected final CacheEntry<V> entry;
+    protected final long lastAccess;
+
+    public EvictionCandidate(K key, CacheEntry<V> entry) {
+      this.key = key;
+      this.entry = entry;
+      this.lastAccess = entry.lastAccess;
+    }
+
+    @Override
+    public int compareTo(EvictionCandidate<K, V> other) {
+      return lastAccess < other.lastAccess ? -1 : (lastAccess == other.lastAccess ? 0 : 1);
+    }
+  }
+
+}
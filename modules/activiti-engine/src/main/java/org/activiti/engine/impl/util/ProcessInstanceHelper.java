@@ -142,6 +142,10 @@ public class ProcessInstanceHelper {
     ExecutionEntity processInstance = commandContext.getExecutionEntityManager()
     		.createProcessInstanceExecution(processDefinition, businessKey, processDefinition.getTenantId(), initiatorVariableName);
 
+    if (startProcessInstance && TransientExecutionUtil.isTransientExecution(process)) {
+      TransientExecutionUtil.registerTransientProcessInstance(commandContext, processInstance);
+    }
+
     commandContext.getHistoryManager().recordProcessInstanceStart(processInstance, initialFlowElement);
 
     processInstance.setVariables(processDataObjects(process.getDataObjects()));
@@ -0,0 +1,116 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.activiti.bpmn.constants.BpmnXMLConstants;
+import org.activiti.bpmn.model.Process;
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.interceptor.CommandContextCloseListener;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+
+/**
+ * Process instances of a process with the <code>activiti:transientExecution="true"</code> attribute are executed transiently:
+ * they must run from start to end within the command that starts them (only service tasks, script tasks, gateways, ...).
+ *
+ * The runtime data of such an instance is created and deleted in the same command, so it never reaches the database
+ * (see {@link org.activiti.engine.impl.db.DbSqlSession#removeUnnecessaryOperations()}). On top of that, the runtime data
+ * is torn down without queries and only the historic process instance is stored: the historic activity instances
+ * (unless {@link org.activiti.engine.impl.cfg.PerformanceSettings#isEnableTransientExecutionActivityHistory()}),
+ * historic variables and historic identity links are skipped.
+ *
+ * When such an instance reaches a wait state, the command fails and everything is rolled back.
+ */
+public class TransientExecutionUtil {
+
+  public static final String TRANSIENT_EXECUTION_ATTRIBUTE = "transientExecution";
+
+  protected static final String TRANSIENT_PROCESS_INSTANCES_ATTRIBUTE = "transientProcessInstances";
+
+  public static boolean isTransientExecution(Process process) {
+    return process != null && Boolean.parseBoolean(process.getAttributeValue(BpmnXMLConstants.ACTIVITI_EXTENSIONS_NAMESPACE, TRANSIENT_EXECUTION_ATTRIBUTE));
+  }
+
+  /**
+   * Registers a process instance that is started transiently in the current command.
+   * When the command closes, the process instance must have ended.
+   */
+  public static void registerTransientProcessInstance(CommandContext commandContext, ExecutionEntity processInstance) {
+    Map<String, ExecutionEntity> transientProcessInstances = getTransientProcessInstances(commandContext);
+    if (transientProcessInstances == null) {
+      transientProcessInstances = new HashMap<String, ExecutionEntity>();
+      commandContext.addAttribute(TRANSIENT_PROCESS_INSTANCES_ATTRIBUTE, transientProcessInstances);
+      commandContext.addCloseListener(new TransientProcessInstancesEndedCloseListener(transientProcessInstances));
+    }
+    transientProcessInstances.put(processInstance.getId(), processInstance);
+  }
+
+  /**
+   * @return whether the process instance with the given id is executed transiently in the current command.
+   */
+  public static boolean isTransientProcessInstance(String processInstanceId) {
+    if (processInstanceId == null) {
+      return false;
+    }
+    CommandContext commandContext = Context.getCommandContext();
+    if (commandContext == null) {
+      return false;
+    }
+    Map<String, ExecutionEntity> transientProcessInstances = getTransientProcessInstances(commandContext);
+    return transientProcessInstances != null && transientProcessInstances.containsKey(processInstanceId);
+  }
+
+  @SuppressWarnings("unchecked")
+  protected static Map<String, ExecutionEntity> getTransientProcessInstances(CommandContext commandContext) {
+    return (Map<String, ExecutionEntity>) commandContext.getAttribute(TRANSIENT_PROCESS_INSTANCES_ATTRIBUTE);
+  }
+
+  /**
+   * Fails the command, before anything is flushed, when a transient process instance did not end.
+   */
+  protected static class TransientProcessInstancesEndedCloseListener implements CommandContextCloseListener {
+
+    protected Map<String, ExecutionEntity> transientProcessInstances;
+
+    public TransientProcessInstancesEndedCloseListener(Map<String, ExecutionEntity> transientProcessInstances) {
+      this.transientProcessInstances = transientProcessInstances;
+    }
+
+    public void closing(CommandContext commandContext) {
+      if (commandContext.getException() != null) {
+        return;
+      }
+      for (ExecutionEntity processInstance : transientProcessInstances.values()) {
+        if (!processInstance.isEnded() && !processInstance.isDeleted()) {
+          throw new ActivitiException("Process instance " + processInstance.getId() + " of process definition " + processInstance.getProcessDefinitionId()
+              + " reached a wait state, which is not supported for a process with " + TRANSIENT_EXECUTION_ATTRIBUTE + " enabled");
+        }
+      }
+    }
+
+    public void afterSessionsFlush(CommandContext commandContext) {
+    }
+
+    public void closed(CommandContext commandContext) {
+    }
+
+    public void closeFailure(CommandContext commandContext) {
+    }
+
+  }
+
+}
@@ -0,0 +1,47 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.variable;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A {@link LongJsonType} that deflates json text that is larger than a configurable threshold
+ * (see {@link VariablePayloadCompression}).
+ * 
+ * The variable instances get their own type name, so variables that were stored by the plain {@link LongJsonType}
+ * stay readable, and historic variable instances (which copy the bytes and the type) share the same encoding.
+ */
+public class CompressedLongJsonType extends LongJsonType {
+
+  public static final String TYPE_NAME = "compressedLongJson";
+
+  protected int compressionThreshold;
+
+  public CompressedLongJsonType(int minLength, ObjectMapper objectMapper, int compressionThreshold) {
+    super(minLength, objectMapper);
+    this.compressionThreshold = compressionThreshold;
+  }
+
+  public String getTypeName() {
+    return TYPE_NAME;
+  }
+
+  public byte[] serialize(Object value, ValueFields valueFields) {
+    return VariablePayloadCompression.compress(super.serialize(value, valueFields), compressionThreshold);
+  }
+
+  public Object deserialize(byte[] bytes, ValueFields valueFields) {
+    return super.deserialize(VariablePayloadCompression.decompress(bytes), valueFields);
+  }
+
+}
@@ -0,0 +1,63 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.variable;
+
+/**
+ * A {@link SerializableType} that deflates serialized objects that are larger than a configurable threshold
+ * (see {@link VariablePayloadCompression}).
+ * 
+ * The variable instances get their own type name, so variables that were stored by the plain {@link SerializableType}
+ * stay readable, and historic variable instances (which copy the bytes and the type) share the same encoding.
+ * 
+ * Tracked deserialized objects are compared in their uncompressed serialized form, they are only compressed again when they changed.
+ */
+public class CompressedSerializableType extends SerializableType {
+
+  public static final String TYPE_NAME = "compressedSerializable";
+
+  protected int compressionThreshold;
+
+  public CompressedSerializableType(int compressionThreshold) {
+    this.compressionThreshold = compressionThreshold;
+  }
+
+  public CompressedSerializableType(boolean trackDeserializedObjects, int compressionThreshold) {
+    super(trackDeserializedObjects);
+    this.compressionThreshold = compressionThreshold;
+  }
+
+  public String getTypeName() {
+    return TYPE_NAME;
+  }
+
+  public byte[] serialize(Object value, ValueFields valueFields) {
+    return getStoredBytes(super.serialize(value, valueFields));
+  }
+
+  public Object deserialize(byte[] bytes, ValueFields valueFields) {
+    return super.deserialize(getSerializedBytes(bytes), valueFields);
+  }
+
+  protected byte[] serializeObject(Object value, ValueFields valueFields) {
+    return super.serialize(value, valueFields);
+  }
+
+  protected byte[] getSerializedBytes(byte[] storedBytes) {
+    return VariablePayloadCompression.decompress(storedBytes);
+  }
+
+  protected byte[] getStoredBytes(byte[] serializedBytes) {
+    return VariablePayloadCompression.compress(serializedBytes, compressionThreshold);
+  }
+
+}
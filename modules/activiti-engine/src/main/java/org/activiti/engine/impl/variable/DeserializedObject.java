@@ -15,6 +15,7 @@ package org.activiti.engine.impl.variable;
 import java.util.Arrays;
 
 import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.activiti.engine.runtime.DirtyCheckedSerializable;
 
 /**
  * @author Tom Baeyens
@@ -37,15 +38,22 @@ public class DeserializedObject {
   public void verifyIfBytesOfSerializedObjectChanged() {
     // this first check verifies if the variable value was not overwritten with another object
     if (deserializedObject == variableInstanceEntity.getCachedValue() && !variableInstanceEntity.isDeleted()) {
-      byte[] bytes = type.serialize(deserializedObject, variableInstanceEntity);
-      if (!Arrays.equals(originalBytes, bytes)) {
+      
+      // objects that track their own changes don't need to be serialized again to find out
+      if (deserializedObject instanceof DirtyCheckedSerializable && !((DirtyCheckedSerializable) deserializedObject).isDirty()) {
+        return;
+      }
+      
+      // the serialized forms are compared, so encoded (eg. compressed) bytes are only encoded again when the object changed
+      byte[] bytes = type.serializeObject(deserializedObject, variableInstanceEntity);
+      if (!Arrays.equals(type.getSerializedBytes(originalBytes), bytes)) {
 
         // Add an additional check to prevent byte differences due to JDK changes etc
         Object originalObject = type.deserialize(originalBytes, variableInstanceEntity);
-        byte[] refreshedOriginalBytes = type.serialize(originalObject, variableInstanceEntity);
+        byte[] refreshedOriginalBytes = type.serializeObject(originalObject, variableInstanceEntity);
 
         if (!Arrays.equals(refreshedOriginalBytes, bytes)) {
-          variableInstanceEntity.setBytes(bytes);
+          variableInstanceEntity.setBytes(type.getStoredBytes(bytes));
         }
       }
     }
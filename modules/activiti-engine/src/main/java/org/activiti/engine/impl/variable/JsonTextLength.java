@@ -0,0 +1,80 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.variable;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import org.activiti.engine.ActivitiException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Checks the length of the json text of a {@link JsonNode} without serializing the whole node:
+ * serialization stops as soon as the length limit is exceeded.
+ * 
+ * Used by the json variable types, so choosing between {@link JsonType} and {@link LongJsonType}
+ * doesn't serialize large json values completely, on top of the serialization for storing them.
+ */
+public class JsonTextLength {
+
+  /**
+   * Returns true if the json text of the given node, as written by the given {@link ObjectMapper}, has more than maxLength characters.
+   */
+  public static boolean isLongerThan(ObjectMapper objectMapper, JsonNode jsonNode, int maxLength) {
+    LengthLimitedWriter writer = new LengthLimitedWriter(maxLength);
+    try {
+      objectMapper.writeValue(writer, jsonNode);
+    } catch (Exception e) {
+      if (!writer.isLimitExceeded()) {
+        throw new ActivitiException("Error writing json value", e);
+      }
+    }
+    return writer.isLimitExceeded();
+  }
+
+  protected static class LengthLimitedWriter extends Writer {
+
+    protected final int maxLength;
+    protected long length;
+    protected boolean limitExceeded;
+
+    public LengthLimitedWriter(int maxLength) {
+      this.maxLength = maxLength;
+    }
+
+    @Override
+    public void write(char[] characters, int offset, int length) throws IOException {
+      this.length += length;
+      if (this.length > maxLength) {
+        limitExceeded = true;
+        // Stops the serialization, the rest of the json text is not needed
+        throw new IOException("Json text is longer than " + maxLength + " characters");
+      }
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    public boolean isLimitExceeded() {
+      return limitExceeded;
+    }
+  }
+
+}
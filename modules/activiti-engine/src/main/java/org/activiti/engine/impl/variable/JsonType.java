@@ -12,6 +12,7 @@
  */
 package org.activiti.engine.impl.variable;
 
+import org.activiti.engine.ActivitiException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -56,7 +57,15 @@ public class JsonType implements VariableType {
   }
 
   public void setValue(Object value, ValueFields valueFields) {
-    valueFields.setTextValue(value != null ? value.toString() : null);
+    if (value == null) {
+      valueFields.setTextValue(null);
+      return;
+    }
+    try {
+      valueFields.setTextValue(objectMapper.writeValueAsString(value));
+    } catch (Exception e) {
+      throw new ActivitiException("Error writing json variable " + valueFields.getName(), e);
+    }
   }
 
   public boolean isAbleToStore(Object value) {
@@ -64,8 +73,7 @@ public class JsonType implements VariableType {
       return true;
     }
     if (JsonNode.class.isAssignableFrom(value.getClass())) {
-      JsonNode jsonValue = (JsonNode) value;
-      return jsonValue.toString().length() <= maxLength;
+      return !JsonTextLength.isLongerThan(objectMapper, (JsonNode) value, maxLength);
     }
     return false;
   }
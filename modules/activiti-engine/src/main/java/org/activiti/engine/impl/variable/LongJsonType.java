@@ -41,8 +41,7 @@ public class LongJsonType extends SerializableType {
       return true;
     }
     if (JsonNode.class.isAssignableFrom(value.getClass())) {
-      JsonNode jsonValue = (JsonNode) value;
-      return jsonValue.toString().length() >= minLength;
+      return JsonTextLength.isLongerThan(objectMapper, (JsonNode) value, minLength - 1);
     }
     return false;
   }
@@ -51,9 +50,9 @@ public class LongJsonType extends SerializableType {
     if (value == null) {
       return null;
     }
-    JsonNode valueNode = (JsonNode) value;
     try {
-      return valueNode.toString().getBytes("utf-8");
+      // written as utf-8 bytes directly, without building the json text first
+      return objectMapper.writeValueAsBytes(value);
     } catch (Exception e) {
       throw new ActivitiException("Error getting bytes from json variable", e);
     }
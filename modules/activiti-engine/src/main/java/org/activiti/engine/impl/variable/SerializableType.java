@@ -62,7 +62,8 @@ public class SerializableType extends ByteArrayType {
 	    Object deserializedObject = deserialize(bytes, valueFields);
       valueFields.setCachedValue(deserializedObject);
       
-      if (trackDeserializedObjects && valueFields instanceof VariableInstanceEntity) {
+      // Changes to the deserialized object can't be written by a read-only command, so no need to track them
+      if (trackDeserializedObjects && valueFields instanceof VariableInstanceEntity && !Context.getCommandContext().isReadOnly()) {
         Context.getCommandContext().addCloseListener(new VerifyDeserializedObjectCommandContextCloseListener(
             new DeserializedObject(this, valueFields.getCachedValue(), bytes, (VariableInstanceEntity)valueFields)));
       }
@@ -116,6 +117,30 @@ public class SerializableType extends ByteArrayType {
     }
   }
 
+  /**
+   * Serializes the value for the check whether a deserialized object was changed (see {@link DeserializedObject}).
+   * Types that encode the serialized bytes before storing them (eg. {@link CompressedSerializableType}) override this
+   * together with {@link #getSerializedBytes(byte[])} and {@link #getStoredBytes(byte[])}, so an unchanged object
+   * is not encoded again only to compare it.
+   */
+  protected byte[] serializeObject(Object value, ValueFields valueFields) {
+    return serialize(value, valueFields);
+  }
+
+  /**
+   * Returns the serialized form of bytes as they are stored.
+   */
+  protected byte[] getSerializedBytes(byte[] storedBytes) {
+    return storedBytes;
+  }
+
+  /**
+   * Returns the bytes to store for the serialized form of an object.
+   */
+  protected byte[] getStoredBytes(byte[] serializedBytes) {
+    return serializedBytes;
+  }
+
   public boolean isAbleToStore(Object value) {
     // TODO don't we need null support here?
     return value instanceof Serializable;
@@ -0,0 +1,113 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.variable;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.activiti.engine.ActivitiException;
+
+/**
+ * Deflate compression of variable payloads, used by the compressed variable types.
+ * 
+ * Every payload starts with a one byte header that tells whether the rest is stored as is or deflated,
+ * so payloads below the compression threshold don't pay for compression and stay readable when the threshold changes.
+ */
+public class VariablePayloadCompression {
+
+  public static final byte STORED = 0;
+  public static final byte DEFLATED = 1;
+
+  public static byte[] compress(byte[] bytes, int compressionThreshold) {
+    if (bytes == null) {
+      return null;
+    }
+
+    if (bytes.length >= compressionThreshold) {
+      byte[] deflatedBytes = deflate(bytes);
+      // Already compressed data (eg. images in a serialized object) can grow when deflated
+      if (deflatedBytes.length < bytes.length) {
+        return withHeader(DEFLATED, deflatedBytes);
+      }
+    }
+    return withHeader(STORED, bytes);
+  }
+
+  public static byte[] decompress(byte[] bytes) {
+    if (bytes == null) {
+      return null;
+    }
+    if (bytes.length == 0) {
+      throw new ActivitiException("Compressed variable payload has no header");
+    }
+
+    switch (bytes[0]) {
+    case STORED:
+      byte[] storedBytes = new byte[bytes.length - 1];
+      System.arraycopy(bytes, 1, storedBytes, 0, storedBytes.length);
+      return storedBytes;
+    case DEFLATED:
+      return inflate(bytes);
+    default:
+      throw new ActivitiException("Unknown compressed variable payload header " + bytes[0]);
+    }
+  }
+
+  protected static byte[] deflate(byte[] bytes) {
+    Deflater deflater = new Deflater();
+    try {
+      deflater.setInput(bytes);
+      deflater.finish();
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream(bytes.length / 2);
+      byte[] buffer = new byte[4096];
+      while (!deflater.finished()) {
+        int length = deflater.deflate(buffer);
+        outputStream.write(buffer, 0, length);
+      }
+      return outputStream.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  protected static byte[] inflate(byte[] bytes) {
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(bytes, 1, bytes.length - 1);
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream(bytes.length * 4);
+      byte[] buffer = new byte[4096];
+      while (!inflater.finished()) {
+        int length = inflater.inflate(buffer);
+        if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          throw new ActivitiException("Compressed variable payload is truncated");
+        }
+        outputStream.write(buffer, 0, length);
+      }
+      return outputStream.toByteArray();
+    } catch (DataFormatException e) {
+      throw new ActivitiException("Compressed variable payload is corrupt", e);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  protected static byte[] withHeader(byte header, byte[] bytes) {
+    byte[] result = new byte[bytes.length + 1];
+    result[0] = header;
+    System.arraycopy(bytes, 0, result, 1, bytes.length);
+    return result;
+  }
+
+}
@@ -0,0 +1,33 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.runtime;
+
+import java.io.Serializable;
+
+/**
+ * Can be implemented by objects that are stored as 'serializable' variable and know themselves whether they have been changed.
+ * 
+ * When the deserialized objects are tracked (the serializableVariableTypeTrackDeserializedObjects setting of the process engine configuration,
+ * true by default), the engine serializes each deserialized object again when the command ends, to find out if it was changed.
+ * For objects implementing this interface, that extra serialization is skipped when {@link #isDirty()} returns false.
+ * 
+ * The dirty flag itself should be transient, so a freshly deserialized object is never dirty.
+ */
+public interface DirtyCheckedSerializable extends Serializable {
+
+  /**
+   * Returns true if this object was changed after it was deserialized.
+   */
+  boolean isDirty();
+
+}
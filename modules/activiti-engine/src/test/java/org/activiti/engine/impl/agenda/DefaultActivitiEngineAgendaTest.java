@@ -0,0 +1,105 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.agenda;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntityImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DefaultActivitiEngineAgendaTest {
+
+  private CommandContext commandContext;
+  private DefaultActivitiEngineAgenda agenda;
+
+  @Before
+  public void setUp() {
+    // Only the agenda factory is needed, the process engine itself is never built
+    ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+    processEngineConfiguration.initAgendaFactory();
+    commandContext = new CommandContext(null, processEngineConfiguration);
+    agenda = (DefaultActivitiEngineAgenda) commandContext.getAgenda();
+  }
+
+  @Test
+  public void testOperationsAreReturnedInPlannedOrder() {
+    ExecutionEntity execution = createExecution("1");
+    agenda.planContinueProcessOperation(execution);
+    agenda.planTakeOutgoingSequenceFlowsOperation(execution, true);
+    agenda.planEndExecutionOperation(execution);
+
+    assertTrue(agenda.getNextOperation() instanceof ContinueProcessOperation);
+    assertTrue(agenda.getNextOperation() instanceof TakeOutgoingSequenceFlowsOperation);
+    assertTrue(agenda.getNextOperation() instanceof EndExecutionOperation);
+    assertTrue(agenda.isEmpty());
+    assertNull(agenda.getNextOperation());
+  }
+
+  @Test
+  public void testInvolvedExecutionsHoldLastPlannedExecutionPerId() {
+    ExecutionEntity execution = createExecution("1");
+    ExecutionEntity otherExecution = createExecution("2");
+    ExecutionEntity sameIdExecution = createExecution("1");
+
+    // The shortcut skips only the execution planned right before, so going back to an execution still updates it
+    agenda.planContinueProcessOperation(execution);
+    agenda.planContinueProcessOperation(execution);
+    agenda.planContinueProcessOperation(otherExecution);
+    agenda.planContinueProcessOperation(sameIdExecution);
+    assertSame(sameIdExecution, getInvolvedExecutions().get("1"));
+
+    agenda.planContinueProcessOperation(execution);
+    Map<String, ExecutionEntity> involvedExecutions = getInvolvedExecutions();
+    assertEquals(2, involvedExecutions.size());
+    assertSame(execution, involvedExecutions.get("1"));
+    assertSame(otherExecution, involvedExecutions.get("2"));
+  }
+
+  @Test
+  public void testExecutionWithoutIdIsInvolvedOnceItHasId() {
+    ExecutionEntity execution = createExecution(null);
+    agenda.planContinueProcessOperation(execution);
+    assertFalse(commandContext.hasInvolvedExecutions());
+
+    execution.setId("1");
+    agenda.planContinueProcessOperation(execution);
+    assertSame(execution, getInvolvedExecutions().get("1"));
+  }
+
+  private ExecutionEntity createExecution(String id) {
+    ExecutionEntityImpl execution = new ExecutionEntityImpl();
+    execution.setId(id);
+    return execution;
+  }
+
+  private Map<String, ExecutionEntity> getInvolvedExecutions() {
+    Map<String, ExecutionEntity> involvedExecutions = new HashMap<String, ExecutionEntity>();
+    for (ExecutionEntity execution : commandContext.getInvolvedExecutions()) {
+      involvedExecutions.put(execution.getId(), execution);
+    }
+    return involvedExecutions;
+  }
+
+}
@@ -56,7 +56,7 @@ public class JobQueryTest extends PluggableActivitiTestCase {
 
   private static final long ONE_HOUR = 60L * 60L * 1000L;
   private static final long ONE_SECOND = 1000L;
-  private static final String EXCEPTION_MESSAGE = "problem evaluating script: javax.script.ScriptException: java.lang.RuntimeException: This is an exception thrown from scriptTask";
+  private static final String EXCEPTION_MESSAGE = "problem evaluating script: java.lang.RuntimeException: This is an exception thrown from scriptTask";
 
   /**
    * Setup will create - 3 process instances, each with one timer, each firing at t1/t2/t3 + 1 hour (see process) - 1 message
@@ -0,0 +1,150 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.api.runtime;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.activiti.engine.impl.cfg.CommandExecutorImpl;
+import org.activiti.engine.impl.db.DbSqlSessionFactory;
+import org.activiti.engine.impl.interceptor.CommandInterceptor;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+import org.activiti.engine.test.profiler.ActivitiProfiler;
+import org.activiti.engine.test.profiler.CommandStats;
+import org.activiti.engine.test.profiler.ProfilingDbSqlSessionFactory;
+import org.activiti.engine.test.profiler.TotalExecutionTimeCommandInterceptor;
+
+/**
+ * Ending a process instance with many executions, each with their own tasks, jobs, event subscriptions and variables.
+ * The clean database check after each test verifies that all of the runtime data is deleted,
+ * the profiler that the related data is not selected per execution.
+ */
+public class ProcessInstanceTeardownTest extends PluggableActivitiTestCase {
+
+  protected CommandInterceptor oldFirstCommandInterceptor;
+  protected DbSqlSessionFactory oldDbSqlSessionFactory;
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+
+    CommandExecutorImpl commandExecutor = (CommandExecutorImpl) processEngineConfiguration.getCommandExecutor();
+    oldFirstCommandInterceptor = commandExecutor.getFirst();
+    TotalExecutionTimeCommandInterceptor timeCommandInterceptor = new TotalExecutionTimeCommandInterceptor();
+    timeCommandInterceptor.setNext(oldFirstCommandInterceptor);
+    commandExecutor.setFirst(timeCommandInterceptor);
+
+    oldDbSqlSessionFactory = processEngineConfiguration.getDbSqlSessionFactory();
+    DbSqlSessionFactory profilingDbSqlSessionFactory = new ProfilingDbSqlSessionFactory();
+    profilingDbSqlSessionFactory.setDatabaseType(oldDbSqlSessionFactory.getDatabaseType());
+    profilingDbSqlSessionFactory.setDatabaseTablePrefix(oldDbSqlSessionFactory.getDatabaseTablePrefix());
+    profilingDbSqlSessionFactory.setTablePrefixIsSchema(oldDbSqlSessionFactory.isTablePrefixIsSchema());
+    profilingDbSqlSessionFactory.setDatabaseCatalog(oldDbSqlSessionFactory.getDatabaseCatalog());
+    profilingDbSqlSessionFactory.setDatabaseSchema(oldDbSqlSessionFactory.getDatabaseSchema());
+    profilingDbSqlSessionFactory.setSqlSessionFactory(oldDbSqlSessionFactory.getSqlSessionFactory());
+    profilingDbSqlSessionFactory.setIdGenerator(oldDbSqlSessionFactory.getIdGenerator());
+    profilingDbSqlSessionFactory.setDbIdentityUsed(oldDbSqlSessionFactory.isDbIdentityUsed());
+    profilingDbSqlSessionFactory.setDbHistoryUsed(oldDbSqlSessionFactory.isDbHistoryUsed());
+    processEngineConfiguration.addSessionFactory(profilingDbSqlSessionFactory);
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    ((CommandExecutorImpl) processEngineConfiguration.getCommandExecutor()).setFirst(oldFirstCommandInterceptor);
+    processEngineConfiguration.addSessionFactory(oldDbSqlSessionFactory);
+    ActivitiProfiler.getInstance().reset();
+    super.tearDown();
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/runtime/ProcessInstanceTeardownTest.teardownProcess.bpmn20.xml")
+  public void testDeleteProcessInstance() {
+    ProcessInstance processInstance = startProcessInstance("teardownProcess");
+
+    ActivitiProfiler.getInstance().startProfileSession("delete");
+    runtimeService.deleteProcessInstance(processInstance.getId(), "test");
+    assertRelatedDataFetchedUpfront("DeleteProcessInstanceCmd", 160);
+
+    assertEquals(0, runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).count());
+    assertEquals(0, taskService.createTaskQuery().processInstanceId(processInstance.getId()).count());
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/runtime/ProcessInstanceTeardownTest.teardownProcess.bpmn20.xml")
+  public void testTerminateProcessInstance() {
+    ProcessInstance processInstance = startProcessInstance("teardownProcess");
+
+    Task terminateTask = taskService.createTaskQuery().processInstanceId(processInstance.getId()).taskDefinitionKey("terminateTask").singleResult();
+    ActivitiProfiler.getInstance().startProfileSession("terminate");
+    taskService.complete(terminateTask.getId());
+    assertRelatedDataFetchedUpfront("CompleteTaskCmd", 200);
+
+    assertProcessEnded(processInstance.getId());
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/runtime/ProcessInstanceTeardownTest.sameTransactionTeardownProcess.bpmn20.xml")
+  public void testTerminateProcessInstanceInSameTransaction() {
+    // The executions and their related data are created and deleted in the same transaction
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("sameTransactionTeardownProcess",
+        Collections.<String, Object>singletonMap("nrOfBranches", 5));
+    assertProcessEnded(processInstance.getId());
+  }
+
+  /**
+   * The related data of all executions is selected with one query per type, the remaining selects
+   * (eg. child executions and historic activities) are bounded by maxSelects.
+   */
+  protected void assertRelatedDataFetchedUpfront(String command, long maxSelects) {
+    Map<String, CommandStats> allStats = ActivitiProfiler.getInstance().getCurrentProfileSession().calculateSummaryStatistics();
+    ActivitiProfiler.getInstance().stopCurrentProfileSession();
+    Map<String, Long> selects = allStats.get("org.activiti.engine.impl.cmd." + command).getDbSelects();
+
+    assertEquals(Long.valueOf(1L), selects.get("selectVariablesByProcessInstanceId"));
+    assertEquals(Long.valueOf(1L), selects.get("selectTimerJobsByProcessInstanceId"));
+    assertEquals(Long.valueOf(1L), selects.get("selectJobsByProcessInstanceId"));
+    assertEquals(Long.valueOf(1L), selects.get("selectSuspendedJobsByProcessInstanceId"));
+    assertEquals(Long.valueOf(1L), selects.get("selectDeadLetterJobsByProcessInstanceId"));
+    assertEquals(Long.valueOf(1L), selects.get("selectEventSubscriptionsByExecutionIds"));
+
+    assertNull(selects.get("selectVariablesByExecutionId"));
+    assertNull(selects.get("selectJobsByExecutionId"));
+    assertNull(selects.get("selectSuspendedJobsByExecutionId"));
+    assertNull(selects.get("selectDeadLetterJobsByExecutionId"));
+    assertNull(selects.get("selectEventSubscriptionsByExecution"));
+
+    long totalSelects = 0;
+    for (Long count : selects.values()) {
+      totalSelects += count;
+    }
+    assertTrue("Expected at most " + maxSelects + " selects, but was " + totalSelects + ": " + selects, totalSelects <= maxSelects);
+  }
+
+  protected ProcessInstance startProcessInstance(String processDefinitionKey) {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey(processDefinitionKey,
+        Collections.<String, Object>singletonMap("nrOfBranches", 5));
+
+    List<Task> miTasks = taskService.createTaskQuery().processInstanceId(processInstance.getId()).taskDefinitionKey("miTask").list();
+    assertEquals(5, miTasks.size());
+    for (Task miTask : miTasks) {
+      runtimeService.setVariableLocal(miTask.getExecutionId(), "branchVariable", miTask.getId());
+      taskService.setVariableLocal(miTask.getId(), "taskVariable", miTask.getId());
+    }
+
+    assertEquals(5, managementService.createTimerJobQuery().processInstanceId(processInstance.getId()).count());
+    assertEquals(5, runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).messageEventSubscriptionName("cancel").count());
+    return processInstance;
+  }
+
+}
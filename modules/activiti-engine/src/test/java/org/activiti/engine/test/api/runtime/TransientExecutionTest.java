@@ -0,0 +1,81 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.api.runtime;
+
+import java.util.Collections;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.history.HistoricProcessInstance;
+import org.activiti.engine.impl.history.HistoryLevel;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.test.Deployment;
+
+/**
+ * Process instances of a process with the activiti:transientExecution attribute only store their historic process instance.
+ */
+public class TransientExecutionTest extends PluggableActivitiTestCase {
+
+  @Deployment(resources = "org/activiti/engine/test/api/runtime/TransientExecutionTest.straightThroughProcess.bpmn20.xml")
+  public void testStraightThroughProcess() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("straightThroughProcess",
+        Collections.<String, Object>singletonMap("input", 21));
+    assertTrue(processInstance.isEnded());
+    assertEquals(0, runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).count());
+
+    if (processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+      HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery()
+          .processInstanceId(processInstance.getId()).singleResult();
+      assertNotNull(historicProcessInstance.getEndTime());
+      assertEquals("end", historicProcessInstance.getEndActivityId());
+
+      assertEquals(0, historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).count());
+      assertEquals(0, historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstance.getId()).count());
+      assertEquals(0, historyService.createHistoricDetailQuery().processInstanceId(processInstance.getId()).count());
+    }
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/runtime/TransientExecutionTest.straightThroughProcess.bpmn20.xml")
+  public void testStraightThroughProcessWithActivityHistory() {
+    processEngineConfiguration.setEnableTransientExecutionActivityHistory(true);
+    try {
+      ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("straightThroughProcess",
+          Collections.<String, Object>singletonMap("input", 21));
+      assertTrue(processInstance.isEnded());
+
+      if (processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+        assertEquals(1, historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).activityId("calculate").count());
+        assertEquals(2, historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).activityId("join").count());
+        assertEquals(0, historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).unfinished().count());
+        assertEquals(0, historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstance.getId()).count());
+      }
+    } finally {
+      processEngineConfiguration.setEnableTransientExecutionActivityHistory(false);
+    }
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/runtime/TransientExecutionTest.waitStateProcess.bpmn20.xml")
+  public void testWaitStateNotAllowed() {
+    try {
+      runtimeService.startProcessInstanceByKey("waitStateProcess");
+      fail("Expected exception");
+    } catch (ActivitiException e) {
+      assertTextPresent("reached a wait state", e.getMessage());
+    }
+
+    assertEquals(0, runtimeService.createProcessInstanceQuery().processDefinitionKey("waitStateProcess").count());
+    assertEquals(0, taskService.createTaskQuery().count());
+    assertEquals(0, historyService.createHistoricProcessInstanceQuery().processDefinitionKey("waitStateProcess").count());
+  }
+
+}
@@ -6,7 +6,11 @@ import java.util.Map;
 
 import org.activiti.engine.delegate.DelegateExecution;
 import org.activiti.engine.delegate.JavaDelegate;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.runtime.DirtyCheckedSerializable;
 import org.activiti.engine.runtime.ProcessInstance;
 import org.activiti.engine.task.Task;
 import org.activiti.engine.test.Deployment;
@@ -31,6 +35,33 @@ public class SerializableVariableTest extends PluggableActivitiTestCase {
     assertEquals(2, testSerializableVariable.getNumber());
   }
   
+  @Deployment(resources = "org/activiti/engine/test/api/variables/SerializableVariableTest.testUpdateSerializableInServiceTask.bpmn20.xml")
+  public void testDirtyCheckedSerializable() {
+    Map<String, Object> vars = new HashMap<String, Object>();
+    vars.put("myVar", new TestDirtyCheckedVariable(1));
+    final ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("testUpdateSerializableInServiceTask", vars);
+    
+    // A change the object doesn't report is not detected, as the object isn't serialized again
+    managementService.executeCommand(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        ExecutionEntity execution = commandContext.getExecutionEntityManager().findById(processInstance.getId());
+        ((TestDirtyCheckedVariable) execution.getVariable("myVar")).setNumberWithoutMarkingDirty(2);
+        return null;
+      }
+    });
+    assertEquals(1, ((TestDirtyCheckedVariable) runtimeService.getVariable(processInstance.getId(), "myVar")).getNumber());
+    
+    // A reported change is stored
+    managementService.executeCommand(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        ExecutionEntity execution = commandContext.getExecutionEntityManager().findById(processInstance.getId());
+        ((TestDirtyCheckedVariable) execution.getVariable("myVar")).setNumber(3);
+        return null;
+      }
+    });
+    assertEquals(3, ((TestDirtyCheckedVariable) runtimeService.getVariable(processInstance.getId(), "myVar")).getNumber());
+  }
+  
   public static class TestUpdateSerializableVariableDelegate implements JavaDelegate {
     
     public void execute(DelegateExecution execution) {
@@ -59,4 +90,33 @@ public class SerializableVariableTest extends PluggableActivitiTestCase {
 
   }
 
+  public static class TestDirtyCheckedVariable implements DirtyCheckedSerializable {
+
+    private static final long serialVersionUID = 1L;
+    private int number;
+    private transient boolean dirty;
+
+    public TestDirtyCheckedVariable(int number) {
+      this.number = number;
+    }
+
+    public int getNumber() {
+      return number;
+    }
+
+    public void setNumber(int number) {
+      this.number = number;
+      this.dirty = true;
+    }
+
+    public void setNumberWithoutMarkingDirty(int number) {
+      this.number = number;
+    }
+
+    public boolean isDirty() {
+      return dirty;
+    }
+
+  }
+
 }
@@ -0,0 +1,50 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.cfg;
+
+import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.activiti.image.ProcessDiagramGenerator;
+import org.activiti.image.impl.CachingProcessDiagramGenerator;
+import org.activiti.image.impl.DefaultProcessDiagramGenerator;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ProcessDiagramCacheConfigurationTest {
+
+  @Test
+  public void testDefaultProcessDiagramGeneratorWithoutCache() {
+    ProcessDiagramGenerator processDiagramGenerator = getProcessDiagramGenerator(false);
+    Assert.assertEquals(DefaultProcessDiagramGenerator.class, processDiagramGenerator.getClass());
+  }
+
+  @Test
+  public void testCachingProcessDiagramGeneratorWithCache() {
+    ProcessDiagramGenerator processDiagramGenerator = getProcessDiagramGenerator(true);
+    Assert.assertEquals(CachingProcessDiagramGenerator.class, processDiagramGenerator.getClass());
+  }
+
+  protected ProcessDiagramGenerator getProcessDiagramGenerator(boolean enableProcessDiagramCache) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = (ProcessEngineConfigurationImpl) new StandaloneInMemProcessEngineConfiguration();
+    processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:processDiagramCacheConfigurationTest");
+    processEngineConfiguration.setEnableProcessDiagramCache(enableProcessDiagramCache);
+    ProcessEngine processEngine = processEngineConfiguration.buildProcessEngine();
+    try {
+      return processEngineConfiguration.getProcessDiagramGenerator();
+    } finally {
+      processEngine.close();
+    }
+  }
+
+}
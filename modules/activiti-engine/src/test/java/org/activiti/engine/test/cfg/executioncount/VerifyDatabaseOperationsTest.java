@@ -1,4 +1,6 @@
 package org.activiti.engine.test.cfg.executioncount;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -10,6 +12,7 @@ import org.activiti.engine.impl.history.HistoryLevel;
 import org.activiti.engine.impl.interceptor.CommandInterceptor;
 import org.activiti.engine.impl.test.PluggableActivitiTestCase;
 import org.activiti.engine.repository.Deployment;
+import org.activiti.engine.runtime.ProcessInstance;
 import org.activiti.engine.task.Task;
 import org.activiti.engine.test.profiler.ActivitiProfiler;
 import org.activiti.engine.test.profiler.CommandStats;
@@ -249,6 +252,37 @@ public class VerifyDatabaseOperationsTest extends PluggableActivitiTestCase {
     
   }
   
+  public void testGetSerializableVariables() {
+    deploy("process-usertask-01.bpmn20.xml");
+    
+    Map<String, Object> variables = new HashMap<String, Object>();
+    for (int i = 0; i < 10; i++) {
+      ArrayList<String> serializableValue = new ArrayList<String>();
+      serializableValue.add("value" + i);
+      variables.put("var" + i, serializableValue);
+    }
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process-usertask-01", variables);
+    
+    boolean oldVariableByteArrayFetchValue = processEngineConfiguration.getPerformanceSettings().isEnableEagerVariableByteArrayFetching();
+    processEngineConfiguration.getPerformanceSettings().setEnableEagerVariableByteArrayFetching(true);
+    try {
+      ActivitiProfiler.getInstance().startProfileSession("Profiling session");
+      Map<String, Object> fetchedVariables = runtimeService.getVariables(processInstance.getId());
+      stopProfiling();
+      
+      Assert.assertEquals(variables, fetchedVariables);
+      
+      // All byte arrays are fetched in one select, instead of one select per variable
+      CommandStats stats = getStats("GetExecutionVariablesCmd");
+      Assert.assertEquals(Long.valueOf(1L), stats.getDbSelects().get("selectByteArraysByIds"));
+      Assert.assertNull(stats.getDbSelects().get("selectById org.activiti.engine.impl.persistence.entity.ByteArrayEntityImpl"));
+    } finally {
+      processEngineConfiguration.getPerformanceSettings().setEnableEagerVariableByteArrayFetching(oldVariableByteArrayFetchValue);
+    }
+    
+    runtimeService.deleteProcessInstance(processInstance.getId(), null);
+  }
+  
   
   // ---------------------------------
   // HELPERS
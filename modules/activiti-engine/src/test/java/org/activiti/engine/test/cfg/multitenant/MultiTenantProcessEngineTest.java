@@ -21,12 +21,17 @@ import java.util.Map;
 import javax.sql.DataSource;
 
 import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.impl.asyncexecutor.AsyncExecutor;
 import org.activiti.engine.impl.asyncexecutor.multitenant.ExecutorPerTenantAsyncExecutor;
+import org.activiti.engine.impl.asyncexecutor.multitenant.SharedAcquisitionAsyncExecutor;
 import org.activiti.engine.impl.asyncexecutor.multitenant.SharedExecutorServiceAsyncExecutor;
 import org.activiti.engine.impl.cfg.multitenant.MultiSchemaMultiTenantProcessEngineConfiguration;
+import org.activiti.engine.impl.cfg.multitenant.TenantAwareDataSource;
+import org.activiti.engine.impl.cfg.multitenant.TenantInfoHolder;
 import org.activiti.engine.repository.Deployment;
 import org.activiti.engine.runtime.ProcessInstance;
 import org.activiti.engine.task.Task;
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
 import org.h2.jdbcx.JdbcDataSource;
 import org.junit.After;
 import org.junit.Assert;
@@ -72,6 +77,14 @@ public class MultiTenantProcessEngineTest {
   }
   
   private void setupProcessEngine(boolean sharedExecutor) {
+    if (sharedExecutor) {
+      setupProcessEngine(new SharedExecutorServiceAsyncExecutor(tenantInfoHolder));
+    } else {
+      setupProcessEngine(new ExecutorPerTenantAsyncExecutor(tenantInfoHolder));
+    }
+  }
+  
+  private void setupProcessEngine(AsyncExecutor asyncExecutor) {
     config = new MultiSchemaMultiTenantProcessEngineConfiguration(tenantInfoHolder);
 
     config.setDatabaseType(MultiSchemaMultiTenantProcessEngineConfiguration.DATABASE_TYPE_H2);
@@ -79,11 +92,7 @@ public class MultiTenantProcessEngineTest {
     
     config.setAsyncExecutorActivate(true);
     
-    if (sharedExecutor) {
-      config.setAsyncExecutor(new SharedExecutorServiceAsyncExecutor(tenantInfoHolder));
-    } else {
-      config.setAsyncExecutor(new ExecutorPerTenantAsyncExecutor(tenantInfoHolder));
-    }
+    config.setAsyncExecutor(asyncExecutor);
     
     config.registerTenant("alfresco", createDataSource("jdbc:h2:mem:activiti-mt-alfresco;DB_CLOSE_DELAY=1000", "sa", ""));
     config.registerTenant("acme", createDataSource("jdbc:h2:mem:activiti-mt-acme;DB_CLOSE_DELAY=1000", "sa", ""));
@@ -105,6 +114,88 @@ public class MultiTenantProcessEngineTest {
     runProcessInstanceTest();
   }
 
+  @Test
+  public void testStartProcessInstancesWithSharedAcquisitionAsyncExecutor() throws Exception {
+    TestSharedAcquisitionAsyncExecutor asyncExecutor = new TestSharedAcquisitionAsyncExecutor(tenantInfoHolder);
+    asyncExecutor.setAcquisitionThreadCount(1);
+    asyncExecutor.setDefaultTimerJobAcquireWaitTimeInMillis(2000);
+    asyncExecutor.setMaxTenantAcquireWaitTimeInMillis(8000);
+    asyncExecutor.setMaxJobsInExecutionPerTenant(2);
+    setupProcessEngine(asyncExecutor);
+    runProcessInstanceTest();
+    
+    Assert.assertEquals(4, asyncExecutor.getTenantIds().size());
+    Assert.assertEquals(0, asyncExecutor.getJobsInExecution("dailyplanet"));
+    Assert.assertTrue(asyncExecutor.getMetrics().getTimerJobAcquisitions() > 0);
+
+    // Adding a tenant again keeps the acquisition state that is already scheduled
+    Object tenantState = asyncExecutor.getTenantState("alfresco");
+    asyncExecutor.addTenantAsyncExecutor("alfresco", true);
+    Assert.assertSame(tenantState, asyncExecutor.getTenantState("alfresco"));
+    Assert.assertEquals(4, asyncExecutor.getTenantIds().size());
+  }
+
+  @Test
+  public void testParallelTenantSchemaOperations() throws Exception {
+    config = new MultiSchemaMultiTenantProcessEngineConfiguration(tenantInfoHolder);
+    config.setDatabaseType(MultiSchemaMultiTenantProcessEngineConfiguration.DATABASE_TYPE_H2);
+    config.setDatabaseSchemaUpdate(MultiSchemaMultiTenantProcessEngineConfiguration.DB_SCHEMA_UPDATE_DROP_CREATE);
+    config.setTenantSchemaOperationThreadCount(3);
+    
+    config.registerTenant("alfresco", createDataSource("jdbc:h2:mem:activiti-mt-alfresco;DB_CLOSE_DELAY=1000", "sa", ""));
+    config.registerTenant("acme", createDataSource("jdbc:h2:mem:activiti-mt-acme;DB_CLOSE_DELAY=1000", "sa", ""));
+    config.registerTenant("starkindustries", createDataSource("jdbc:h2:mem:activiti-mt-stark;DB_CLOSE_DELAY=1000", "sa", ""));
+    processEngine = config.buildProcessEngine();
+    
+    startProcessInstances("joram");
+    startProcessInstances("raphael");
+    startProcessInstances("tony");
+    assertData("joram", 2, 1);
+    assertData("raphael", 2, 1);
+    assertData("tony", 2, 1);
+  }
+  
+  @Test
+  public void testLazyTenantInitialization() throws Exception {
+    config = new MultiSchemaMultiTenantProcessEngineConfiguration(tenantInfoHolder);
+    config.setDatabaseType(MultiSchemaMultiTenantProcessEngineConfiguration.DATABASE_TYPE_H2);
+    config.setDatabaseSchemaUpdate(MultiSchemaMultiTenantProcessEngineConfiguration.DB_SCHEMA_UPDATE_DROP_CREATE);
+    config.setLazyTenantInitialization(true);
+    config.setIdleTenantDataSourceTimeInMillis(100L);
+    
+    config.registerTenant("alfresco", createPooledDataSource("jdbc:h2:mem:activiti-mt-alfresco;DB_CLOSE_DELAY=1000"));
+    config.registerTenant("acme", createPooledDataSource("jdbc:h2:mem:activiti-mt-acme;DB_CLOSE_DELAY=1000"));
+    config.registerTenant("starkindustries", createPooledDataSource("jdbc:h2:mem:activiti-mt-stark;DB_CLOSE_DELAY=1000"));
+    processEngine = config.buildProcessEngine();
+    
+    TenantAwareDataSource dataSource = (TenantAwareDataSource) config.getDataSource();
+    Assert.assertFalse(dataSource.isTenantInitialized("alfresco"));
+    Assert.assertFalse(dataSource.isTenantInitialized("acme"));
+    Assert.assertEquals(0, dataSource.getConnectionRequests("alfresco"));
+    
+    startProcessInstances("joram");
+    assertData("joram", 2, 1);
+    Assert.assertTrue(dataSource.isTenantInitialized("alfresco"));
+    Assert.assertFalse(dataSource.isTenantInitialized("acme"));
+    Assert.assertTrue(dataSource.getConnectionRequests("alfresco") > 0);
+    Assert.assertEquals(0, dataSource.getActiveConnectionCount("alfresco"));
+    Assert.assertTrue(dataSource.getIdleConnectionCount("alfresco") > 0);
+    
+    // Using another tenant after the idle time closes the connections of the first one
+    startProcessInstances("raphael");
+    assertData("raphael", 2, 1);
+    Assert.assertTrue(dataSource.isTenantInitialized("acme"));
+    long deadline = System.currentTimeMillis() + 10000L;
+    while (dataSource.getIdleConnectionCount("alfresco") > 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(50L);
+      assertData("raphael", 2, 1);
+    }
+    Assert.assertEquals(0, dataSource.getIdleConnectionCount("alfresco"));
+    
+    // The tenant can still be used
+    assertData("joram", 2, 1);
+  }
+
   protected void runProcessInstanceTest() throws InterruptedException {
     // Generate data
     startProcessInstances("joram");
@@ -203,5 +294,21 @@ public class MultiTenantProcessEngineTest {
     ds.setPassword(jdbcPassword);
     return ds;
   }
+  
+  private DataSource createPooledDataSource(String jdbcUrl) {
+    return new PooledDataSource("org.h2.Driver", jdbcUrl, "sa", "");
+  }
+
+  static class TestSharedAcquisitionAsyncExecutor extends SharedAcquisitionAsyncExecutor {
+
+    public TestSharedAcquisitionAsyncExecutor(TenantInfoHolder tenantInfoHolder) {
+      super(tenantInfoHolder);
+    }
+
+    public Object getTenantState(String tenantId) {
+      return tenants.get(tenantId);
+    }
+
+  }
 
 }
@@ -16,6 +16,7 @@ package org.activiti.engine.test.el;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.activiti.engine.impl.el.ExpressionManager;
 import org.activiti.engine.impl.identity.Authentication;
 import org.activiti.engine.impl.test.PluggableActivitiTestCase;
 import org.activiti.engine.runtime.ProcessInstance;
@@ -75,4 +76,44 @@ public class ExpressionManagerTest extends PluggableActivitiTestCase {
       Authentication.setAuthenticatedUserId(null);
     }
   }
+
+  public void testParsedExpressionsAreCached() {
+    ExpressionManager expressionManager = new ExpressionManager();
+    expressionManager.setExpressionCacheLimit(2);
+
+    expressionManager.createExpression("${a}");
+    expressionManager.createExpression(" ${a} ");
+    expressionManager.createExpression("${b}");
+    assertEquals(1, expressionManager.getExpressionCacheHitCount());
+    assertEquals(2, expressionManager.getExpressionCacheMissCount());
+    assertEquals(2, expressionManager.getExpressionCacheSize());
+
+    // least recently used expression is evicted
+    expressionManager.createExpression("${c}");
+    assertEquals(2, expressionManager.getExpressionCacheSize());
+    expressionManager.createExpression("${a}");
+    assertEquals(1, expressionManager.getExpressionCacheHitCount());
+    assertEquals(4, expressionManager.getExpressionCacheMissCount());
+
+    assertEquals(0.2, expressionManager.getExpressionCacheHitRatio(), 0.0001);
+
+    expressionManager.setExpressionCacheLimit(0);
+    expressionManager.createExpression("${a}");
+    assertEquals(0, expressionManager.getExpressionCacheSize());
+    assertEquals(0, expressionManager.getExpressionCacheMissCount());
+  }
+
+  public void testExpressionCacheLimitDoesNotOverrideCustomExpressionManager() {
+    ExpressionManager defaultExpressionManager = processEngineConfiguration.getExpressionManager();
+    ExpressionManager customExpressionManager = new ExpressionManager();
+    customExpressionManager.setExpressionCacheLimit(5);
+    try {
+      processEngineConfiguration.setExpressionManager(customExpressionManager);
+      processEngineConfiguration.initExpressionManager();
+      assertSame(customExpressionManager, processEngineConfiguration.getExpressionManager());
+      assertEquals(5, customExpressionManager.getExpressionCacheLimit());
+    } finally {
+      processEngineConfiguration.setExpressionManager(defaultExpressionManager);
+    }
+  }
 }
@@ -19,9 +19,13 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.ProcessEngine;
 import org.activiti.engine.impl.asyncexecutor.AsyncExecutor;
+import org.activiti.engine.impl.asyncexecutor.AsyncExecutorMetrics;
 import org.activiti.engine.impl.asyncexecutor.DefaultAsyncJobExecutor;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.activiti.engine.impl.cmd.AcquireTimerJobsCmd;
+import org.activiti.engine.impl.jobexecutor.TriggerTimerEventJobHandler;
+import org.activiti.engine.impl.persistence.entity.TimerJobEntity;
 import org.activiti.engine.impl.test.JobTestHelper;
 import org.activiti.engine.runtime.Job;
 import org.activiti.engine.runtime.ProcessInstance;
@@ -84,6 +88,44 @@ public class AsyncExecutorTest {
     }
   }
 
+  @Test
+  public void testAsyncExecutorMetrics() {
+
+    ProcessEngine processEngine = null;
+
+    try {
+      processEngine = createProcessEngine(true);
+      setClockToCurrentTime(processEngine);
+      deploy(processEngine, "AsyncExecutorTest.testRegularAsyncExecution.bpmn20.xml");
+      processEngine.getRuntimeService().startProcessInstanceByKey("asyncExecutor");
+
+      // Trigger the timer
+      addSecondsToCurrentTime(processEngine, 361);
+      waitForAllJobsBeingExecuted(processEngine);
+      Assert.assertEquals(1, processEngine.getTaskService().createTaskQuery().taskName("Task after timer").count());
+
+      DefaultAsyncJobExecutor asyncExecutor = (DefaultAsyncJobExecutor) processEngine.getProcessEngineConfiguration().getAsyncExecutor();
+      AsyncExecutorMetrics metrics = asyncExecutor.getMetrics();
+      Assert.assertTrue(metrics.getTimerJobAcquisitions() > 0);
+      Assert.assertEquals(1, metrics.getAcquiredTimerJobs());
+      Assert.assertTrue(metrics.getAsyncJobAcquisitions() > 0);
+      Assert.assertEquals(metrics.getAsyncJobAcquisitions(), metrics.getAsyncJobAcquisitionLatency().getCount());
+      Assert.assertEquals(1, metrics.getExecutedJobs());
+      Assert.assertEquals(0, metrics.getFailedJobs());
+      Assert.assertEquals(0, metrics.getRejectedJobs());
+      Assert.assertEquals(1, metrics.getJobExecutionLatencies().get(TriggerTimerEventJobHandler.TYPE).getCount());
+
+      Assert.assertEquals(0, asyncExecutor.getThreadPoolQueueDepth());
+      Assert.assertTrue(asyncExecutor.getThreadPoolSize() > 0);
+    } finally {
+
+      // Clean up
+      if (processEngine != null) {
+        cleanup(processEngine);
+      }
+    }
+  }
+
   @Test
   public void testAsyncExecutorDisabledOnOneEngine() {
 
@@ -256,6 +298,120 @@ public class AsyncExecutorTest {
     }
   }
 
+  @Test
+  public void testTimerJobWheel() throws Exception {
+
+    ProcessEngine processEngine = null;
+
+    try {
+      // Timers due within the next 10 seconds are acquired ahead of their due date
+      processEngine = createProcessEngine(true, null, 10000);
+      processEngine.getProcessEngineConfiguration().getClock().reset();
+      deploy(processEngine, "AsyncExecutorTest.testTimerJobWheel.bpmn20.xml");
+
+      processEngine.getRuntimeService().startProcessInstanceByKey("timerJobWheel");
+      final TimerJobEntity timerJob = (TimerJobEntity) processEngine.getManagementService().createTimerJobQuery().singleResult();
+      Date dueDate = timerJob.getDuedate();
+
+      // The timer job is locked, but stays a timer job until its due date
+      TimerJobEntity acquiredTimerJob = timerJob;
+      long maxWaitTime = System.currentTimeMillis() + 10000L;
+      while (acquiredTimerJob != null && acquiredTimerJob.getLockOwner() == null && System.currentTimeMillis() < maxWaitTime) {
+        Thread.sleep(50L);
+        acquiredTimerJob = (TimerJobEntity) processEngine.getManagementService().createTimerJobQuery().jobId(timerJob.getId()).singleResult();
+      }
+      if (new Date().before(dueDate)) {
+        Assert.assertNotNull(acquiredTimerJob.getLockOwner());
+        Assert.assertEquals(0, processEngine.getTaskService().createTaskQuery().taskName("Task after timer").count());
+      }
+
+      // The timer fires at its due date, without waiting for another timer acquisition
+      final ProcessEngine processEngineCopy = processEngine;
+      JobTestHelper.waitForJobExecutorOnCondition(processEngine.getProcessEngineConfiguration(), 10000L, 50L, new Callable<Boolean>() {
+        @Override
+        public Boolean call() throws Exception {
+          return processEngineCopy.getTaskService().createTaskQuery().taskName("Task after timer").count() == 1;
+        }
+      });
+      Assert.assertFalse(new Date().before(dueDate));
+      Assert.assertEquals(0, processEngine.getManagementService().createTimerJobQuery().count());
+      Assert.assertEquals(0, processEngine.getManagementService().createJobQuery().count());
+      Assert.assertEquals(1, getAsyncExecutorJobCount(processEngine));
+
+    } finally {
+      cleanup(processEngine);
+    }
+  }
+
+  @Test
+  public void testTimerJobWheelUnlocksTimerJobsOnShutdown() throws Exception {
+
+    ProcessEngine processEngine = null;
+
+    try {
+      processEngine = createProcessEngine(true, null, 10000);
+      processEngine.getProcessEngineConfiguration().getClock().reset();
+      deploy(processEngine, "AsyncExecutorTest.testTimerJobWheelUnlocksTimerJobsOnShutdown.bpmn20.xml");
+
+      processEngine.getRuntimeService().startProcessInstanceByKey("timerJobWheelShutdown");
+      TimerJobEntity timerJob = (TimerJobEntity) processEngine.getManagementService().createTimerJobQuery().singleResult();
+      String timerJobId = timerJob.getId();
+
+      long maxWaitTime = System.currentTimeMillis() + 5000L;
+      while (timerJob.getLockOwner() == null && System.currentTimeMillis() < maxWaitTime) {
+        Thread.sleep(50L);
+        timerJob = (TimerJobEntity) processEngine.getManagementService().createTimerJobQuery().jobId(timerJobId).singleResult();
+      }
+      Assert.assertNotNull(timerJob.getLockOwner());
+
+      // The timer job that is waiting in the wheel is unlocked, so another async executor can acquire it
+      processEngine.getProcessEngineConfiguration().getAsyncExecutor().shutdown();
+      timerJob = (TimerJobEntity) processEngine.getManagementService().createTimerJobQuery().jobId(timerJobId).singleResult();
+      Assert.assertNotNull(timerJob);
+      Assert.assertNull(timerJob.getLockOwner());
+      Assert.assertNull(timerJob.getLockExpirationTime());
+      Assert.assertEquals(0, processEngine.getTaskService().createTaskQuery().taskName("Task after timer").count());
+
+    } finally {
+      cleanup(processEngine);
+    }
+  }
+
+  @Test
+  public void testExpiredTimerJobLockOfWheelIsResetWithoutWheel() {
+
+    ProcessEngine firstProcessEngine = null;
+    ProcessEngine secondProcessEngine = null;
+
+    try {
+      firstProcessEngine = createProcessEngine(false);
+      setClockToCurrentTime(firstProcessEngine);
+      deploy(firstProcessEngine, "AsyncExecutorTest.testRegularAsyncExecution.bpmn20.xml");
+      firstProcessEngine.getRuntimeService().startProcessInstanceByKey("asyncExecutor");
+
+      // The first engine locks the timer job ahead of its due date, like its timer wheel does, and goes down before it fires
+      final AsyncExecutor firstAsyncExecutor = firstProcessEngine.getProcessEngineConfiguration().getAsyncExecutor();
+      firstProcessEngine.getManagementService().executeCommand(new AcquireTimerJobsCmd(firstAsyncExecutor, 10 * 60 * 1000L));
+      TimerJobEntity timerJob = (TimerJobEntity) firstProcessEngine.getManagementService().createTimerJobQuery().singleResult();
+      Assert.assertEquals(firstAsyncExecutor.getLockOwner(), timerJob.getLockOwner());
+      Assert.assertTrue(timerJob.getLockExpirationTime().after(timerJob.getDuedate()));
+
+      // Once the lock is expired, an engine that doesn't use a timer wheel resets the lock and fires the timer
+      firstProcessEngine.getProcessEngineConfiguration().getClock().setCurrentTime(
+          new Date(timerJob.getLockExpirationTime().getTime() + 1000L));
+      secondProcessEngine = createProcessEngine(true);
+      waitForAllJobsBeingExecuted(secondProcessEngine);
+
+      Assert.assertEquals(1, firstProcessEngine.getTaskService().createTaskQuery().taskName("Task after timer").count());
+      Assert.assertEquals(0, firstProcessEngine.getManagementService().createTimerJobQuery().count());
+      Assert.assertEquals(1, getAsyncExecutorJobCount(secondProcessEngine));
+
+    } finally {
+      cleanup(firstProcessEngine);
+      cleanup(secondProcessEngine);
+    }
+  }
+
   // Helpers ////////////////////////////////////////////////////////
 
   private ProcessEngine createProcessEngine(boolean enableAsyncExecutor) {
@@ -263,6 +419,10 @@ public class AsyncExecutorTest {
   }
 
   private ProcessEngine createProcessEngine(boolean enableAsyncExecutor, Date time) {
+    return createProcessEngine(enableAsyncExecutor, time, 0);
+  }
+
+  private ProcessEngine createProcessEngine(boolean enableAsyncExecutor, Date time, int timerJobLookAheadInMillis) {
     ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
     processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:activiti-AsyncExecutorTest;DB_CLOSE_DELAY=1000");
     processEngineConfiguration.setDatabaseSchemaUpdate("true");
@@ -272,7 +432,8 @@ public class AsyncExecutorTest {
 
       CountingAsyncExecutor countingAsyncExecutor = new CountingAsyncExecutor();
       countingAsyncExecutor.setDefaultAsyncJobAcquireWaitTimeInMillis(50); // To avoid waiting too long when a retry happens
-      countingAsyncExecutor.setDefaultTimerJobAcquireWaitTimeInMillis(50);
+      countingAsyncExecutor.setDefaultTimerJobAcquireWaitTimeInMillis(timerJobLookAheadInMillis > 0 ? 1000 : 50);
+      countingAsyncExecutor.setTimerJobLookAheadInMillis(timerJobLookAheadInMillis);
       processEngineConfiguration.setAsyncExecutor(countingAsyncExecutor);
     }
 
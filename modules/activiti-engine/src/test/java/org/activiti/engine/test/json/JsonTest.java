@@ -27,6 +27,7 @@ import org.activiti.engine.test.Deployment;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
 
 /**
  * @author Tijs Rademakers
@@ -44,6 +45,33 @@ public class JsonTest extends PluggableActivitiTestCase {
     super.setUp();
   }
   
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testJsonTypeChosenByLength() {
+    int maxLength = processEngineConfiguration.getMaxLengthString();
+    
+    // The json text of a text node is the text between quotes
+    TextNode maxLengthNode = new TextNode(createText(maxLength - 2));
+    TextNode tooLongNode = new TextNode(createText(maxLength - 1));
+    
+    Map<String, Object> vars = new HashMap<String, Object>();
+    vars.put("maxLengthJson", maxLengthNode);
+    vars.put("tooLongJson", tooLongNode);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess", vars);
+    
+    assertEquals("json", runtimeService.getVariableInstance(processInstance.getId(), "maxLengthJson").getTypeName());
+    assertEquals("longJson", runtimeService.getVariableInstance(processInstance.getId(), "tooLongJson").getTypeName());
+    assertEquals(maxLengthNode, runtimeService.getVariable(processInstance.getId(), "maxLengthJson"));
+    assertEquals(tooLongNode, runtimeService.getVariable(processInstance.getId(), "tooLongJson"));
+  }
+  
+  protected String createText(int length) {
+    StringBuilder text = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      text.append('a');
+    }
+    return text.toString();
+  }
+  
   @Deployment
   public void testJsonObjectAvailable() {
     Map<String, Object> vars = new HashMap<String, Object>();
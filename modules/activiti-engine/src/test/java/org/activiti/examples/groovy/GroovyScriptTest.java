@@ -16,6 +16,11 @@ package org.activiti.examples.groovy;
 import java.util.Date;
 import java.util.List;
 
+import javax.script.CompiledScript;
+
+import org.activiti.bpmn.model.ScriptTask;
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.impl.scripting.ScriptingEngines;
 import org.activiti.engine.impl.test.PluggableActivitiTestCase;
 import org.activiti.engine.impl.util.CollectionUtil;
 import org.activiti.engine.runtime.Job;
@@ -37,6 +42,46 @@ public class GroovyScriptTest extends PluggableActivitiTestCase {
     assertEquals(15, result.intValue());
   }
 
+  @Deployment(resources = "org/activiti/examples/groovy/GroovyScriptTest.testScriptExecution.bpmn20.xml")
+  public void testCompiledScriptIsReused() {
+    ProcessInstance pi = runtimeService.startProcessInstanceByKey("scriptExecution", CollectionUtil.singletonMap("inputArray", new int[] { 1, 2, 3 }));
+    assertEquals(6, ((Integer) runtimeService.getVariable(pi.getId(), "sum")).intValue());
+
+    ScriptTask scriptTask = (ScriptTask) repositoryService.getBpmnModel(pi.getProcessDefinitionId()).getFlowElement("theScriptTask");
+    ScriptingEngines scriptingEngines = processEngineConfiguration.getScriptingEngines();
+    CompiledScript compiledScript = scriptingEngines.getCachedCompiledScript(scriptTask.getScript(), "groovy");
+    assertNotNull(compiledScript);
+    int compiledScripts = scriptingEngines.getCompiledScriptCacheSize("groovy");
+
+    // Same script, other bindings: the compiled script is reused and must not keep any state of the previous evaluation
+    pi = runtimeService.startProcessInstanceByKey("scriptExecution", CollectionUtil.singletonMap("inputArray", new int[] { 10, 20 }));
+    assertEquals(30, ((Integer) runtimeService.getVariable(pi.getId(), "sum")).intValue());
+    assertSame(compiledScript, scriptingEngines.getCachedCompiledScript(scriptTask.getScript(), "groovy"));
+    assertEquals(compiledScripts, scriptingEngines.getCompiledScriptCacheSize("groovy"));
+  }
+
+  @Deployment
+  public void testScriptErrorMessageDoesNotDependOnCompilation() {
+    String expectedMessage = "problem evaluating script: java.lang.RuntimeException: Illegal value";
+    try {
+      runtimeService.startProcessInstanceByKey("failingScript");
+      fail("Exception expected");
+    } catch (ActivitiException e) {
+      assertEquals(expectedMessage, e.getMessage());
+    }
+
+    ScriptingEngines scriptingEngines = processEngineConfiguration.getScriptingEngines();
+    scriptingEngines.setCacheCompiledScripts(false);
+    try {
+      runtimeService.startProcessInstanceByKey("failingScript");
+      fail("Exception expected");
+    } catch (ActivitiException e) {
+      assertEquals(expectedMessage, e.getMessage());
+    } finally {
+      scriptingEngines.setCacheCompiledScripts(true);
+    }
+  }
+
   @Deployment
   public void testSetVariableThroughExecutionInScript() {
     ProcessInstance pi = runtimeService.startProcessInstanceByKey("setScriptVariableThroughExecution");
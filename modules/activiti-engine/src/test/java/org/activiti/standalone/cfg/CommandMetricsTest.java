@@ -0,0 +1,96 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.standalone.cfg;
+
+import org.activiti.engine.ActivitiOptimisticLockingException;
+import org.activiti.engine.impl.TaskQueryImpl;
+import org.activiti.engine.impl.cmd.CompleteTaskCmd;
+import org.activiti.engine.impl.cmd.StartProcessInstanceCmd;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.metrics.CommandStatistics;
+import org.activiti.engine.impl.metrics.DefaultCommandMetricsRegistry;
+import org.activiti.engine.impl.test.ResourceActivitiTestCase;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+public class CommandMetricsTest extends ResourceActivitiTestCase {
+
+  public CommandMetricsTest() {
+    super("org/activiti/standalone/cfg/command-metrics-activiti.cfg.xml");
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testCommandStatistics() {
+    DefaultCommandMetricsRegistry registry = (DefaultCommandMetricsRegistry) processEngineConfiguration.getCommandMetricsRegistry();
+    registry.reset();
+
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+    taskService.complete(task.getId());
+
+    CommandStatistics startStatistics = registry.getCommandStatistics(StartProcessInstanceCmd.class.getName());
+    assertEquals(1, startStatistics.getCount());
+    assertEquals(0, startStatistics.getFailures());
+    assertTrue(startStatistics.getAgendaOperations() > 0);
+    assertTrue(startStatistics.getSelects() > 0);
+    assertTrue(startStatistics.getInserts() > 0);
+    assertEquals(1, sum(startStatistics.getLatencyHistogram()));
+    assertTrue(startStatistics.getLatencyPercentileInMillis(99) >= 0);
+
+    CommandStatistics queryStatistics = registry.getCommandStatistics(TaskQueryImpl.class.getName());
+    assertEquals(1, queryStatistics.getCount());
+    assertEquals(1, queryStatistics.getSelects());
+    assertEquals(0, queryStatistics.getInserts());
+    assertEquals(0, queryStatistics.getUpdates());
+    assertEquals(0, queryStatistics.getDeletes());
+
+    CommandStatistics completeStatistics = registry.getCommandStatistics(CompleteTaskCmd.class.getName());
+    assertEquals(1, completeStatistics.getCount());
+    assertTrue(completeStatistics.getDeletes() > 0);
+  }
+
+  public void testOptimisticLockingFailure() {
+    DefaultCommandMetricsRegistry registry = (DefaultCommandMetricsRegistry) processEngineConfiguration.getCommandMetricsRegistry();
+    registry.reset();
+
+    try {
+      managementService.executeCommand(new OptimisticLockingFailureCmd());
+      fail();
+    } catch (ActivitiOptimisticLockingException e) {
+      // expected
+    }
+
+    CommandStatistics statistics = registry.getCommandStatistics(OptimisticLockingFailureCmd.class.getName());
+    assertEquals(1, statistics.getCount());
+    assertEquals(1, statistics.getFailures());
+    assertEquals(1, statistics.getOptimisticLockingFailures());
+  }
+
+  protected long sum(long[] values) {
+    long sum = 0;
+    for (long value : values) {
+      sum += value;
+    }
+    return sum;
+  }
+
+  protected static class OptimisticLockingFailureCmd implements Command<Void> {
+
+    public Void execute(CommandContext commandContext) {
+      throw new ActivitiOptimisticLockingException("concurrent update");
+    }
+  }
+
+}
@@ -0,0 +1,120 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.standalone.cfg;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.activiti.engine.history.HistoricVariableInstance;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.test.ResourceActivitiTestCase;
+import org.activiti.engine.impl.variable.CompressedLongJsonType;
+import org.activiti.engine.impl.variable.CompressedSerializableType;
+import org.activiti.engine.impl.variable.SerializableType;
+import org.activiti.engine.impl.variable.VariablePayloadCompression;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.test.Deployment;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+public class CompressedVariableTypesTest extends ResourceActivitiTestCase {
+
+  public CompressedVariableTypesTest() {
+    super("org/activiti/standalone/cfg/compressed-variables-activiti.cfg.xml");
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testCompressedVariables() {
+    ArrayList<String> largeList = new ArrayList<String>();
+    for (int i = 0; i < 1000; i++) {
+      largeList.add("value " + i);
+    }
+    ArrayList<String> smallList = new ArrayList<String>();
+    smallList.add("value");
+    ObjectNode largeJson = new ObjectMapper().createObjectNode();
+    for (int i = 0; i < 1000; i++) {
+      largeJson.put("field" + i, "value " + i);
+    }
+
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("largeList", largeList);
+    variables.put("smallList", smallList);
+    variables.put("largeJson", largeJson);
+    final ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess", variables);
+
+    assertEquals(largeList, runtimeService.getVariable(processInstance.getId(), "largeList"));
+    assertEquals(smallList, runtimeService.getVariable(processInstance.getId(), "smallList"));
+    assertEquals(largeJson, runtimeService.getVariable(processInstance.getId(), "largeJson"));
+
+    assertEquals(CompressedSerializableType.TYPE_NAME, runtimeService.getVariableInstance(processInstance.getId(), "largeList").getTypeName());
+    assertEquals(CompressedSerializableType.TYPE_NAME, runtimeService.getVariableInstance(processInstance.getId(), "smallList").getTypeName());
+    assertEquals(CompressedLongJsonType.TYPE_NAME, runtimeService.getVariableInstance(processInstance.getId(), "largeJson").getTypeName());
+
+    // Payloads above the threshold are deflated, smaller ones are stored as is
+    byte[] largeListBytes = getVariableBytes(processInstance.getId(), "largeList");
+    assertEquals(VariablePayloadCompression.DEFLATED, largeListBytes[0]);
+    assertTrue(largeListBytes.length < new SerializableType().serialize(largeList, null).length);
+    assertEquals(VariablePayloadCompression.STORED, getVariableBytes(processInstance.getId(), "smallList")[0]);
+    assertEquals(VariablePayloadCompression.DEFLATED, getVariableBytes(processInstance.getId(), "largeJson")[0]);
+
+    // The history shares the encoding
+    HistoricVariableInstance historicVariableInstance = historyService.createHistoricVariableInstanceQuery()
+        .processInstanceId(processInstance.getId()).variableName("largeList").singleResult();
+    assertEquals(CompressedSerializableType.TYPE_NAME, historicVariableInstance.getVariableTypeName());
+    assertEquals(largeList, historicVariableInstance.getValue());
+
+    // An unchanged tracked deserialized object is not written again
+    final int revision = getVariableBytesRevision(processInstance.getId(), "largeList");
+    managementService.executeCommand(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        commandContext.getExecutionEntityManager().findById(processInstance.getId()).getVariable("largeList");
+        return null;
+      }
+    });
+    assertEquals(revision, getVariableBytesRevision(processInstance.getId(), "largeList"));
+
+    // Changes of a tracked deserialized object are compressed as well
+    managementService.executeCommand(new Command<Void>() {
+      @SuppressWarnings("unchecked")
+      public Void execute(CommandContext commandContext) {
+        ((ArrayList<String>) commandContext.getExecutionEntityManager().findById(processInstance.getId()).getVariable("largeList")).add("new value");
+        return null;
+      }
+    });
+    largeList.add("new value");
+    assertEquals(largeList, runtimeService.getVariable(processInstance.getId(), "largeList"));
+    assertEquals(VariablePayloadCompression.DEFLATED, getVariableBytes(processInstance.getId(), "largeList")[0]);
+    assertEquals(revision + 1, getVariableBytesRevision(processInstance.getId(), "largeList"));
+  }
+
+  protected int getVariableBytesRevision(final String executionId, final String variableName) {
+    return managementService.executeCommand(new Command<Integer>() {
+      public Integer execute(CommandContext commandContext) {
+        return commandContext.getVariableInstanceEntityManager().findVariableInstanceByExecutionAndName(executionId, variableName)
+            .getByteArrayRef().getEntity().getRevision();
+      }
+    });
+  }
+
+  protected byte[] getVariableBytes(final String executionId, final String variableName) {
+    return managementService.executeCommand(new Command<byte[]>() {
+      public byte[] execute(CommandContext commandContext) {
+        return commandContext.getVariableInstanceEntityManager().findVariableInstanceByExecutionAndName(executionId, variableName).getBytes();
+      }
+    });
+  }
+
+}
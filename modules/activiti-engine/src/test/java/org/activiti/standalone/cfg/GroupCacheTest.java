@@ -0,0 +1,120 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.standalone.cfg;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.activiti.engine.identity.Group;
+import org.activiti.engine.identity.User;
+import org.activiti.engine.impl.identity.DefaultGroupCache;
+import org.activiti.engine.impl.test.ResourceActivitiTestCase;
+import org.activiti.engine.task.Task;
+
+public class GroupCacheTest extends ResourceActivitiTestCase {
+
+  protected DefaultGroupCache groupCache;
+  protected String taskId;
+
+  public GroupCacheTest() {
+    super("org/activiti/standalone/cfg/group-cache-activiti.cfg.xml");
+  }
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    groupCache = (DefaultGroupCache) processEngineConfiguration.getGroupCache();
+    groupCache.clear();
+
+    User user = identityService.newUser("kermit");
+    identityService.saveUser(user);
+    for (String groupId : new String[] { "management", "sales" }) {
+      Group group = identityService.newGroup(groupId);
+      identityService.saveGroup(group);
+    }
+    identityService.createMembership("kermit", "management");
+
+    Task task = taskService.newTask();
+    taskService.saveTask(task);
+    taskService.addCandidateGroup(task.getId(), "sales");
+    taskId = task.getId();
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    taskService.deleteTask(taskId, true);
+    identityService.deleteGroup("management");
+    identityService.deleteGroup("sales");
+    identityService.deleteUser("kermit");
+    processEngineConfiguration.getClock().reset();
+    super.tearDown();
+  }
+
+  public void testGroupsCachedForCandidateUserQuery() {
+    assertEquals(0, taskService.createTaskQuery().taskCandidateUser("kermit").count());
+    assertEquals(1, groupCache.get("kermit").size());
+
+    // The cached groups are used, even though the membership is changed outside of the engine commands
+    groupCache.add("kermit", identityService.createGroupQuery().groupId("sales").list());
+    assertEquals(1, taskService.createTaskQuery().taskCandidateUser("kermit").count());
+    assertEquals(1, taskService.createTaskQuery().taskCandidateOrAssigned("kermit").count());
+    assertEquals(1, historyService.createHistoricTaskInstanceQuery().taskCandidateUser("kermit").count());
+  }
+
+  public void testMembershipChangesInvalidateCache() {
+    assertEquals(0, taskService.createTaskQuery().taskCandidateUser("kermit").count());
+
+    identityService.createMembership("kermit", "sales");
+    assertNull(groupCache.get("kermit"));
+    assertEquals(1, taskService.createTaskQuery().taskCandidateUser("kermit").list().size());
+
+    identityService.deleteMembership("kermit", "sales");
+    assertNull(groupCache.get("kermit"));
+    assertEquals(0, taskService.createTaskQuery().taskCandidateUser("kermit").list().size());
+    assertNotNull(groupCache.get("kermit"));
+
+    identityService.deleteGroup("management");
+    assertEquals(0, groupCache.size());
+  }
+
+  public void testCachedGroupsExpire() {
+    Date now = new Date();
+    processEngineConfiguration.getClock().setCurrentTime(now);
+    assertEquals(0, taskService.createTaskQuery().taskCandidateUser("kermit").count());
+    assertNotNull(groupCache.get("kermit"));
+
+    // Configured to 30 minutes
+    processEngineConfiguration.getClock().setCurrentTime(new Date(now.getTime() + (45 * 60 * 1000)));
+    assertNull(groupCache.get("kermit"));
+    assertEquals(0, groupCache.size());
+  }
+
+  public void testCachedGroupsAreCopied() {
+    List<Group> groups = new ArrayList<Group>();
+    groups.add(identityService.newGroup("management"));
+    groupCache.add("fozzie", groups);
+
+    groups.add(identityService.newGroup("sales"));
+    List<Group> cachedGroups = groupCache.get("fozzie");
+    assertEquals(1, cachedGroups.size());
+    try {
+      cachedGroups.clear();
+      fail("Exception expected");
+    } catch (UnsupportedOperationException e) {
+      // expected, the cached groups are shared between callers
+    }
+    assertEquals(1, groupCache.get("fozzie").size());
+  }
+
+}
@@ -0,0 +1,114 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.standalone.cfg;
+
+import java.sql.Connection;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.identity.User;
+import org.activiti.engine.impl.HistoricProcessInstanceQueryImpl;
+import org.activiti.engine.impl.NativeTaskQueryImpl;
+import org.activiti.engine.impl.TaskQueryImpl;
+import org.activiti.engine.impl.UserQueryImpl;
+import org.activiti.engine.impl.db.DefaultReadReplicaStalenessPolicy;
+import org.activiti.engine.impl.db.ReadReplicaStalenessPolicy;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandConfig;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.interceptor.CommandExecutor;
+import org.activiti.engine.impl.test.ResourceActivitiTestCase;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+/**
+ * The read replica of this configuration is an empty database, so any data found by a query comes from the primary database.
+ */
+public class ReadReplicaTest extends ResourceActivitiTestCase {
+
+  public ReadReplicaTest() {
+    super("org/activiti/standalone/cfg/read-replica-activiti.cfg.xml");
+  }
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    Connection connection = processEngineConfiguration.getReadReplicaDataSource().getConnection();
+    try {
+      managementService.databaseSchemaUpgrade(connection, null, null);
+    } finally {
+      connection.close();
+    }
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testQueriesUseReadReplica() {
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    assertEquals(0, taskService.createTaskQuery().count());
+    assertEquals(0, historyService.createHistoricProcessInstanceQuery().list().size());
+    assertEquals(0, taskService.createNativeTaskQuery().sql("SELECT count(*) FROM " + managementService.getTableName(Task.class)).count());
+
+    assertEquals(1, ((TaskQueryImpl) taskService.createTaskQuery()).disableReadReplica().count());
+    assertEquals(1, ((HistoricProcessInstanceQueryImpl) historyService.createHistoricProcessInstanceQuery()).disableReadReplica().list().size());
+    assertEquals(1, ((NativeTaskQueryImpl) taskService.createNativeTaskQuery()).disableReadReplica()
+        .sql("SELECT count(*) FROM " + managementService.getTableName(Task.class)).count());
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testQueryWithinCommandUsesPrimary() {
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    long count = managementService.executeCommand(new Command<Long>() {
+      public Long execute(CommandContext commandContext) {
+        return taskService.createTaskQuery().count();
+      }
+    });
+    assertEquals(1, count);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testStalenessPolicy() {
+    ReadReplicaStalenessPolicy originalPolicy = processEngineConfiguration.getDbSqlSessionFactory().getReadReplicaStalenessPolicy();
+    try {
+      processEngineConfiguration.getDbSqlSessionFactory().setReadReplicaStalenessPolicy(new DefaultReadReplicaStalenessPolicy(60000L));
+
+      // The data was just changed, so the primary database is used
+      runtimeService.startProcessInstanceByKey("oneTaskProcess");
+      assertEquals(1, taskService.createTaskQuery().count());
+
+    } finally {
+      processEngineConfiguration.getDbSqlSessionFactory().setReadReplicaStalenessPolicy(originalPolicy);
+    }
+    assertEquals(0, taskService.createTaskQuery().count());
+  }
+
+  public void testChangesNotAllowedWhenUsingReadReplica() {
+    CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutor();
+    CommandConfig config = commandExecutor.getDefaultConfig().readOnly().setReadReplicaAllowed(true);
+    try {
+      commandExecutor.execute(config, new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          assertTrue(commandContext.getDbSqlSession().isReadReplica());
+          User user = identityService.newUser("kermit");
+          identityService.saveUser(user);
+          return null;
+        }
+      });
+      fail("expected exception");
+    } catch (ActivitiException e) {
+      assertTextPresent("read replica", e.getMessage());
+    }
+    assertEquals(0, ((UserQueryImpl) identityService.createUserQuery()).disableReadReplica().count());
+  }
+
+}
@@ -13,10 +13,18 @@
 
 package org.activiti.standalone.interceptor;
 
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.identity.User;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandConfig;
 import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.interceptor.CommandExecutor;
+import org.activiti.engine.impl.persistence.entity.TaskEntity;
+import org.activiti.engine.impl.persistence.entity.UserEntity;
 import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
 
 /**
  * @author Tom Baeyens
@@ -38,4 +46,57 @@ public class CommandContextTest extends PluggableActivitiTestCase {
 
     assertNull(Context.getCommandContext());
   }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testReadOnlyCommandIgnoresChanges() {
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    final Task task = taskService.createTaskQuery().singleResult();
+
+    CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutor();
+    CommandConfig readOnlyConfig = commandExecutor.getDefaultConfig().readOnly();
+    commandExecutor.execute(readOnlyConfig, new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        assertTrue(commandContext.isReadOnly());
+        TaskEntity taskEntity = commandContext.getTaskEntityManager().findById(task.getId());
+        taskEntity.setName("changed");
+        return null;
+      }
+    });
+
+    assertEquals("my task", taskService.createTaskQuery().singleResult().getName());
+  }
+
+  public void testReadOnlyCommandCannotInsert() {
+    CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutor();
+    try {
+      commandExecutor.execute(commandExecutor.getDefaultConfig().readOnly(), new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          UserEntity user = commandContext.getUserEntityManager().create();
+          user.setId("kermit");
+          commandContext.getUserEntityManager().insert(user);
+          return null;
+        }
+      });
+      fail("expected exception");
+    } catch (ActivitiException e) {
+      assertTextPresent("Read-only command", e.getMessage());
+    }
+
+    assertEquals(0, identityService.createUserQuery().userId("kermit").count());
+  }
+
+  public void testRegularCommandWithinReadOnlyCommand() {
+    CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutor();
+    commandExecutor.execute(commandExecutor.getDefaultConfig().readOnly(), new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        User user = identityService.newUser("kermit");
+        identityService.saveUser(user);
+        assertFalse(commandContext.isReadOnly());
+        return null;
+      }
+    });
+
+    assertEquals(1, identityService.createUserQuery().userId("kermit").count());
+    identityService.deleteUser("kermit");
+  }
 }
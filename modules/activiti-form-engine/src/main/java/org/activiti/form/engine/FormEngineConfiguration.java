@@ -201,6 +201,7 @@ public class FormEngineConfiguration {
   protected TransactionContextFactory transactionContextFactory;
   
   protected ExpressionManager expressionManager;
+  protected int expressionCacheLimit = ExpressionManager.DEFAULT_EXPRESSION_CACHE_LIMIT; // <= 0 disables the cache
   
   protected FormJsonConverter formJsonConverter = new FormJsonConverter();
 
@@ -417,7 +418,7 @@ public class FormEngineConfiguration {
   
   public void initExpressionManager() {
     if (expressionManager == null) {
-      expressionManager = new ExpressionManager();
+      expressionManager = new ExpressionManager(null, expressionCacheLimit);
     }
   }
 
@@ -1276,6 +1277,15 @@ public class FormEngineConfiguration {
     return this;
   }
 
+  public int getExpressionCacheLimit() {
+    return expressionCacheLimit;
+  }
+
+  public FormEngineConfiguration setExpressionCacheLimit(int expressionCacheLimit) {
+    this.expressionCacheLimit = expressionCacheLimit;
+    return this;
+  }
+
   public FormJsonConverter getFormJsonConverter() {
     return formJsonConverter;
   }
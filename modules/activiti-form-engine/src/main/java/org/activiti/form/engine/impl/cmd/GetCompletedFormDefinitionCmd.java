@@ -17,7 +17,6 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
-import org.activiti.editor.form.converter.FormJsonConverter;
 import org.activiti.form.api.SubmittedForm;
 import org.activiti.form.api.SubmittedFormQuery;
 import org.activiti.form.engine.ActivitiFormException;
@@ -29,6 +28,7 @@ import org.activiti.form.engine.impl.interceptor.CommandContext;
 import org.activiti.form.engine.impl.persistence.deploy.DeploymentManager;
 import org.activiti.form.engine.impl.persistence.deploy.FormCacheEntry;
 import org.activiti.form.engine.impl.persistence.entity.FormEntity;
+import org.activiti.form.engine.impl.util.FormUtil;
 import org.activiti.form.model.CompletedFormDefinition;
 import org.activiti.form.model.ExpressionFormField;
 import org.activiti.form.model.FormDefinition;
@@ -85,7 +85,7 @@ public class GetCompletedFormDefinitionCmd implements Command<CompletedFormDefin
 		FormCacheEntry formCacheEntry = resolveForm(commandContext);
 		SubmittedForm submittedForm = resolveSubmittedForm(commandContext);
 		CompletedFormDefinition formDefinition = resolveRuntimeFormDefinition(formCacheEntry, submittedForm, commandContext);
-		fillFormFieldValues(submittedForm, formDefinition, commandContext);
+		fillFormFieldValues(submittedForm, formDefinition, formCacheEntry, commandContext);
 		return formDefinition;
 	}
 
@@ -103,7 +103,7 @@ public class GetCompletedFormDefinitionCmd implements Command<CompletedFormDefin
 		}
 	}
 
-	protected void fillFormFieldValues(SubmittedForm submittedForm, CompletedFormDefinition formDefinition, CommandContext commandContext) {
+	protected void fillFormFieldValues(SubmittedForm submittedForm, CompletedFormDefinition formDefinition, FormCacheEntry formCacheEntry, CommandContext commandContext) {
 
 		FormEngineConfiguration formEngineConfiguration = commandContext.getFormEngineConfiguration();
 		List<FormField> allFields = formDefinition.getFields();
@@ -116,7 +116,7 @@ public class GetCompletedFormDefinitionCmd implements Command<CompletedFormDefin
 			for (FormField field : allFields) {
 				if (field instanceof ExpressionFormField) {
 					ExpressionFormField expressionField = (ExpressionFormField) field;
-					FormExpression formExpression = formEngineConfiguration.getExpressionManager().createExpression(expressionField.getExpression());
+					FormExpression formExpression = formCacheEntry.getFieldExpression(expressionField.getExpression(), formEngineConfiguration.getExpressionManager());
 					try {
 						field.setValue(formExpression.getValue(variables));
 					}
@@ -274,8 +274,7 @@ public class GetCompletedFormDefinitionCmd implements Command<CompletedFormDefin
 	protected CompletedFormDefinition resolveRuntimeFormDefinition(FormCacheEntry formCacheEntry, SubmittedForm submittedForm, CommandContext commandContext) {
 
 		FormEntity formEntity = formCacheEntry.getFormEntity();
-		FormJsonConverter formJsonConverter = commandContext.getFormEngineConfiguration().getFormJsonConverter();
-		FormDefinition formDefinition = formJsonConverter.convertToForm(formCacheEntry.getFormJson(), formEntity.getId(), formEntity.getVersion());
+		FormDefinition formDefinition = FormUtil.copyFormDefinition(formCacheEntry, commandContext.getFormEngineConfiguration());
 		CompletedFormDefinition runtimeFormDefinition = new CompletedFormDefinition(formDefinition);
 		runtimeFormDefinition.setId(formEntity.getId());
 		runtimeFormDefinition.setName(formEntity.getName());
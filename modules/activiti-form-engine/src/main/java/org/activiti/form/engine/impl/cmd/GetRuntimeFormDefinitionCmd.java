@@ -16,7 +16,6 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
-import org.activiti.editor.form.converter.FormJsonConverter;
 import org.activiti.form.api.SubmittedForm;
 import org.activiti.form.engine.ActivitiFormException;
 import org.activiti.form.engine.ActivitiFormObjectNotFoundException;
@@ -27,6 +26,7 @@ import org.activiti.form.engine.impl.interceptor.CommandContext;
 import org.activiti.form.engine.impl.persistence.deploy.DeploymentManager;
 import org.activiti.form.engine.impl.persistence.deploy.FormCacheEntry;
 import org.activiti.form.engine.impl.persistence.entity.FormEntity;
+import org.activiti.form.engine.impl.util.FormUtil;
 import org.activiti.form.model.ExpressionFormField;
 import org.activiti.form.model.FormDefinition;
 import org.activiti.form.model.FormField;
@@ -76,7 +76,7 @@ public class GetRuntimeFormDefinitionCmd implements Command<FormDefinition>, Ser
 	public FormDefinition execute(CommandContext commandContext) {
 		FormCacheEntry formCacheEntry = resolveForm(commandContext);
 		FormDefinition formDefinition = resolveFormDefinition(formCacheEntry, commandContext);
-		fillFormFieldValues(formDefinition, commandContext);
+		fillFormFieldValues(formDefinition, formCacheEntry, commandContext);
 		return formDefinition;
 	}
 
@@ -109,7 +109,7 @@ public class GetRuntimeFormDefinitionCmd implements Command<FormDefinition>, Ser
 		}
 	}
 
-	protected void fillFormFieldValues(FormDefinition formDefinition, CommandContext commandContext) {
+	protected void fillFormFieldValues(FormDefinition formDefinition, FormCacheEntry formCacheEntry, CommandContext commandContext) {
 
 		FormEngineConfiguration formEngineConfiguration = commandContext.getFormEngineConfiguration();
 		List<FormField> allFields = formDefinition.getFields();
@@ -121,7 +121,7 @@ public class GetRuntimeFormDefinitionCmd implements Command<FormDefinition>, Ser
 			for (FormField field : allFields) {
 				if (field instanceof ExpressionFormField) {
 					ExpressionFormField expressionField = (ExpressionFormField) field;
-					FormExpression formExpression = formEngineConfiguration.getExpressionManager().createExpression(expressionField.getExpression());
+					FormExpression formExpression = formCacheEntry.getFieldExpression(expressionField.getExpression(), formEngineConfiguration.getExpressionManager());
 					try {
 						field.setValue(formExpression.getValue(variables));
 					}
@@ -237,8 +237,7 @@ public class GetRuntimeFormDefinitionCmd implements Command<FormDefinition>, Ser
 
 	protected FormDefinition resolveFormDefinition(FormCacheEntry formCacheEntry, CommandContext commandContext) {
 		FormEntity formEntity = formCacheEntry.getFormEntity();
-		FormJsonConverter formJsonConverter = commandContext.getFormEngineConfiguration().getFormJsonConverter();
-		FormDefinition formDefinition = formJsonConverter.convertToForm(formCacheEntry.getFormJson(), formEntity.getId(), formEntity.getVersion());
+		FormDefinition formDefinition = FormUtil.copyFormDefinition(formCacheEntry, commandContext.getFormEngineConfiguration());
 		formDefinition.setId(formEntity.getId());
 		formDefinition.setName(formEntity.getName());
 		formDefinition.setKey(formEntity.getKey());
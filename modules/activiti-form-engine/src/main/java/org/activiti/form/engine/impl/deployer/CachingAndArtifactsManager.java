@@ -12,14 +12,20 @@
  */
 package org.activiti.form.engine.impl.deployer;
 
+import java.util.List;
+
 import org.activiti.editor.form.converter.FormJsonConverter;
 import org.activiti.form.engine.FormEngineConfiguration;
 import org.activiti.form.engine.impl.context.Context;
+import org.activiti.form.engine.impl.el.ExpressionManager;
 import org.activiti.form.engine.impl.persistence.deploy.DeploymentCache;
 import org.activiti.form.engine.impl.persistence.deploy.FormCacheEntry;
 import org.activiti.form.engine.impl.persistence.entity.FormDeploymentEntity;
 import org.activiti.form.engine.impl.persistence.entity.FormEntity;
+import org.activiti.form.model.ExpressionFormField;
+import org.activiti.form.model.FormContainer;
 import org.activiti.form.model.FormDefinition;
+import org.activiti.form.model.FormField;
 
 /**
  * Updates caches and artifacts for a deployment and its forms
@@ -40,12 +46,35 @@ public class CachingAndArtifactsManager {
     for (FormEntity form : parsedDeployment.getAllForms()) {
       FormDefinition formDefinition = parsedDeployment.getFormDefinitionForForm(form);
       formDefinition.setId(form.getId());
-      FormCacheEntry cacheEntry = new FormCacheEntry(form, formJsonConverter.convertToJson(formDefinition));
+      formDefinition.setVersion(form.getVersion());
+      FormCacheEntry cacheEntry = new FormCacheEntry(form, formJsonConverter.convertToJson(formDefinition), formDefinition);
+      compileFieldExpressions(cacheEntry, formDefinition.getFields(), formEngineConfiguration.getExpressionManager());
       formCache.add(form.getId(), cacheEntry);
     
       // Add to deployment for further usage
       deployment.addDeployedArtifact(form);
     }
   }
-}
 
+  /**
+   * Compiles the expressions of all expression fields up front, so rendering a form
+   * only needs to evaluate them.
+   */
+  protected void compileFieldExpressions(FormCacheEntry cacheEntry, List<FormField> fields, ExpressionManager expressionManager) {
+    if (fields == null || expressionManager == null) {
+      return;
+    }
+
+    for (FormField field : fields) {
+      if (field instanceof ExpressionFormField) {
+        String expression = ((ExpressionFormField) field).getExpression();
+        if (expression != null) {
+          cacheEntry.getFieldExpression(expression, expressionManager);
+        }
+
+      } else if (field instanceof FormContainer) {
+        compileFieldExpressions(cacheEntry, ((FormContainer) field).getFields(), expressionManager);
+      }
+    }
+  }
+}
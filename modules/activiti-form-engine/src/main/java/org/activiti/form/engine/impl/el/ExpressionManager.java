@@ -13,6 +13,7 @@
 package org.activiti.form.engine.impl.el;
 
 import java.util.Map;
+import java.util.Properties;
 
 import javax.el.ArrayELResolver;
 import javax.el.BeanELResolver;
@@ -45,6 +46,9 @@ public class ExpressionManager {
   protected ELContext parsingElContext = new ParsingElContext();
   protected Map<Object, Object> beans;
 
+  // The size of the parsed expression cache of juel, which is used when no size is given
+  public static final int DEFAULT_EXPRESSION_CACHE_LIMIT = 1000;
+
   public ExpressionManager() {
     this(null);
   }
@@ -64,6 +68,17 @@ public class ExpressionManager {
     this.beans = beans;
   }
 
+  /**
+   * @param expressionCacheLimit
+   *          the maximum number of parsed expressions the juel expression factory keeps. A limit of zero or less disables its cache.
+   */
+  public ExpressionManager(Map<Object, Object> beans, int expressionCacheLimit) {
+    Properties properties = new Properties();
+    properties.setProperty(ExpressionFactoryImpl.PROP_CACHE_SIZE, String.valueOf(expressionCacheLimit));
+    expressionFactory = new ExpressionFactoryImpl(properties);
+    this.beans = beans;
+  }
+
   public FormExpression createExpression(String expression) {
     ValueExpression valueExpression = expressionFactory.createValueExpression(parsingElContext, expression.trim(), Object.class);
     return new JuelExpression(valueExpression, expression, this);
@@ -13,8 +13,13 @@
 package org.activiti.form.engine.impl.persistence.deploy;
 
 import java.io.Serializable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import org.activiti.form.engine.FormExpression;
+import org.activiti.form.engine.impl.el.ExpressionManager;
 import org.activiti.form.engine.impl.persistence.entity.FormEntity;
+import org.activiti.form.model.FormDefinition;
 
 /**
  * @author Tijs Rademakers
@@ -25,12 +30,19 @@ public class FormCacheEntry implements Serializable {
 
   protected FormEntity formEntity;
   protected String formJson;
+  protected FormDefinition formDefinition;
+  protected ConcurrentMap<String, FormExpression> fieldExpressions = new ConcurrentHashMap<String, FormExpression>();
 
   public FormCacheEntry(FormEntity formEntity, String formJson) {
     this.formEntity = formEntity;
     this.formJson = formJson;
   }
 
+  public FormCacheEntry(FormEntity formEntity, String formJson, FormDefinition formDefinition) {
+    this(formEntity, formJson);
+    this.formDefinition = formDefinition;
+  }
+
   public FormEntity getFormEntity() {
     return formEntity;
   }
@@ -46,4 +58,32 @@ public class FormCacheEntry implements Serializable {
   public void setFormJson(String formJson) {
     this.formJson = formJson;
   }
+
+  /**
+   * The parsed form definition shared by all users of this cache entry. It must never be modified,
+   * use {@link FormDefinition#clone()} to get a copy that can be filled with values.
+   */
+  public FormDefinition getFormDefinition() {
+    return formDefinition;
+  }
+
+  public void setFormDefinition(FormDefinition formDefinition) {
+    this.formDefinition = formDefinition;
+  }
+
+  /**
+   * Returns the compiled expression for the given expression text of a field of this form,
+   * compiling it on first use only.
+   */
+  public FormExpression getFieldExpression(String expressionText, ExpressionManager expressionManager) {
+    FormExpression formExpression = fieldExpressions.get(expressionText);
+    if (formExpression == null) {
+      formExpression = expressionManager.createExpression(expressionText);
+      FormExpression existingExpression = fieldExpressions.putIfAbsent(expressionText, formExpression);
+      if (existingExpression != null) {
+        formExpression = existingExpression;
+      }
+    }
+    return formExpression;
+  }
 }
@@ -54,19 +54,31 @@ public class FormUtil {
     // This will check the cache in the findDeployedProcessDefinitionById and resolveProcessDefinition method
     FormEntity formEntity = deploymentManager.findDeployedFormById(formId);
     FormCacheEntry cacheEntry = deploymentManager.resolveForm(formEntity);
-    return formEngineConfiguration.getFormJsonConverter().convertToForm(cacheEntry.getFormJson(), 
-        cacheEntry.getFormEntity().getId(), cacheEntry.getFormEntity().getVersion());
+    return copyFormDefinition(cacheEntry, formEngineConfiguration);
   }
   
   public static FormDefinition getFormDefinitionFromCache(String formId) {
     FormEngineConfiguration formEngineConfiguration = Context.getFormEngineConfiguration();
     FormCacheEntry cacheEntry = formEngineConfiguration.getFormCache().get(formId);
     if (cacheEntry != null) {
-      return formEngineConfiguration.getFormJsonConverter().convertToForm(cacheEntry.getFormJson(), 
-          cacheEntry.getFormEntity().getId(), cacheEntry.getFormEntity().getVersion());
+      return copyFormDefinition(cacheEntry, formEngineConfiguration);
     }
     return null;
   }
+
+  /**
+   * Returns a private copy of the parsed form definition held by the cache entry. The form json is
+   * only parsed when the cache entry was created without a parsed definition.
+   */
+  public static FormDefinition copyFormDefinition(FormCacheEntry cacheEntry, FormEngineConfiguration formEngineConfiguration) {
+    FormDefinition formDefinition = cacheEntry.getFormDefinition();
+    if (formDefinition == null) {
+      formDefinition = formEngineConfiguration.getFormJsonConverter().convertToForm(cacheEntry.getFormJson(), 
+          cacheEntry.getFormEntity().getId(), cacheEntry.getFormEntity().getVersion());
+      cacheEntry.setFormDefinition(formDefinition);
+    }
+    return formDefinition.clone();
+  }
   
   public static FormEntity getFormDefinitionFromDatabase(String formId) {
     FormEntityManager formEntityManager = Context.getFormEngineConfiguration().getFormEntityManager();
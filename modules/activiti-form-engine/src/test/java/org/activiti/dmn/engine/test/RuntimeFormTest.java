@@ -0,0 +1,54 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.dmn.engine.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.activiti.form.engine.impl.persistence.deploy.FormCacheEntry;
+import org.activiti.form.engine.test.FormDeploymentAnnotation;
+import org.activiti.form.model.FormDefinition;
+import org.activiti.form.model.FormField;
+import org.junit.Test;
+
+public class RuntimeFormTest extends AbstractActivitiFormTest {
+
+  @Test
+  @FormDeploymentAnnotation(resources = "org/activiti/form/engine/test/deployment/form_with_expression.form")
+  public void renderFormFromCachedDefinition() throws Exception {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("input1", "John");
+    FormDefinition firstDefinition = formService.getTaskFormDefinitionByKey("expressionform", null, variables);
+    Map<String, FormField> firstFields = firstDefinition.allFieldsAsMap();
+    assertEquals("John", firstFields.get("input1").getValue());
+    assertEquals("Hello John", firstFields.get("greeting").getValue());
+
+    variables.put("input1", "Jane");
+    FormDefinition secondDefinition = formService.getTaskFormDefinitionByKey("expressionform", null, variables);
+    Map<String, FormField> secondFields = secondDefinition.allFieldsAsMap();
+    assertEquals("Jane", secondFields.get("input1").getValue());
+    assertEquals("Hello Jane", secondFields.get("greeting").getValue());
+
+    // values of one rendering must not leak into another one or into the cache
+    assertEquals("John", firstFields.get("input1").getValue());
+    FormCacheEntry cacheEntry = formEngineConfiguration.getFormCache().get(secondDefinition.getId());
+    assertNotSame(secondDefinition, cacheEntry.getFormDefinition());
+    for (FormField field : cacheEntry.getFormDefinition().getFields()) {
+      assertNull(field.getValue());
+    }
+  }
+}
@@ -29,4 +29,19 @@ public class ExpressionFormField extends FormField {
   public void setExpression(String expression) {
     this.expression = expression;
   }
+
+  @Override
+  public ExpressionFormField clone() {
+    ExpressionFormField clone = new ExpressionFormField();
+    clone.setValues(this);
+    return clone;
+  }
+
+  @Override
+  public void setValues(FormField otherField) {
+    super.setValues(otherField);
+    if (otherField instanceof ExpressionFormField) {
+      setExpression(((ExpressionFormField) otherField).getExpression());
+    }
+  }
 }
\ No newline at end of file
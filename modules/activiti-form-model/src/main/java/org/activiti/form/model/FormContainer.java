@@ -58,4 +58,29 @@ public class FormContainer extends FormField {
   public void setColumns(Integer pColumns) {
     columns = pColumns;
   }
+
+  @Override
+  public FormContainer clone() {
+    FormContainer clone = new FormContainer();
+    clone.setValues(this);
+    return clone;
+  }
+
+  @Override
+  public void setValues(FormField otherField) {
+    super.setValues(otherField);
+    if (otherField instanceof FormContainer) {
+      FormContainer otherContainer = (FormContainer) otherField;
+      setColumns(otherContainer.getColumns());
+      setSingleRow(otherContainer.isSingleRow());
+
+      fields = null;
+      if (otherContainer.getFields() != null) {
+        fields = new ArrayList<FormField>(otherContainer.getFields().size());
+        for (FormField field : otherContainer.getFields()) {
+          fields.add(field.clone());
+        }
+      }
+    }
+  }
 }
\ No newline at end of file
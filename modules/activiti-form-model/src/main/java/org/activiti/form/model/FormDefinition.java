@@ -18,6 +18,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 
@@ -117,6 +118,36 @@ public class FormDefinition implements Serializable {
   public void setColumns(Integer pColumns) {
     columns = pColumns;
   }
+  /**
+   * Creates a copy of this definition. The field list is copied deeply, so values and read-only
+   * flags can be filled in on the copy without touching the original (e.g. a cached definition).
+   */
+  public FormDefinition clone() {
+    FormDefinition clone = new FormDefinition();
+    clone.setValues(this);
+    return clone;
+  }
+
+  @JsonIgnore
+  public void setValues(FormDefinition otherDefinition) {
+    setId(otherDefinition.getId());
+    setName(otherDefinition.getName());
+    setDescription(otherDefinition.getDescription());
+    setKey(otherDefinition.getKey());
+    setVersion(otherDefinition.getVersion());
+    setOutcomes(otherDefinition.getOutcomes());
+    setOutcomeVariableName(otherDefinition.getOutcomeVariableName());
+    setColumns(otherDefinition.getColumns());
+
+    fields = null;
+    if (otherDefinition.getFields() != null) {
+      fields = new ArrayList<FormField>(otherDefinition.getFields().size());
+      for (FormField field : otherDefinition.getFields()) {
+        fields.add(field.clone());
+      }
+    }
+  }
+
   /*
    * Helper methods
    */
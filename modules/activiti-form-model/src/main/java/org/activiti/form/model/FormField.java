@@ -194,4 +194,30 @@ public class FormField implements Serializable {
 		visibilityCondition = pVisibilityCondition;
 	}
 
+	public FormField clone() {
+		FormField clone = new FormField();
+		clone.setValues(this);
+		return clone;
+	}
+
+	@JsonIgnore
+	public void setValues(FormField otherField) {
+		setId(otherField.getId());
+		setName(otherField.getName());
+		setType(otherField.getType());
+		setValue(otherField.getValue());
+		setRequired(otherField.isRequired());
+		setReadOnly(otherField.isReadOnly());
+		setOverrideId(otherField.isOverrideId());
+		setPlaceholder(otherField.getPlaceholder());
+		setVisibilityCondition(otherField.getVisibilityCondition());
+		setReadOnlyCondition(otherField.getReadOnlyCondition());
+		setRequiredCondition(otherField.getRequiredCondition());
+		setValueExpression(otherField.getValueExpression());
+		setParams(otherField.getParams());
+		setLayout(otherField.getLayout());
+		setSizeX(otherField.getSizeX());
+		setSizeY(otherField.getSizeY());
+	}
+
 }
@@ -55,4 +55,23 @@ public class OptionFormField extends FormField {
 	public void setOptions(List<Option> options) {
 		this.options = options;
 	}
+
+	@Override
+	public OptionFormField clone() {
+		OptionFormField clone = new OptionFormField();
+		clone.setValues(this);
+		return clone;
+	}
+
+	@Override
+	public void setValues(FormField otherField) {
+		super.setValues(otherField);
+		if (otherField instanceof OptionFormField) {
+			OptionFormField otherOptionField = (OptionFormField) otherField;
+			setCodeName(otherOptionField.getCodeName());
+			setOptionType(otherOptionField.getOptionType());
+			setHasEmptyValue(otherOptionField.getHasEmptyValue());
+			setOptions(otherOptionField.getOptions());
+		}
+	}
 }
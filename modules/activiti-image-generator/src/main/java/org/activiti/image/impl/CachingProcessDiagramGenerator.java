@@ -0,0 +1,262 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.image.impl;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.activiti.bpmn.model.BpmnModel;
+import org.activiti.image.exception.ActivitiImageException;
+
+/**
+ * A {@link DefaultProcessDiagramGenerator} that is meant for rendering the same process definitions over and over,
+ * eg. the diagram of a running process instance with its active activities highlighted.
+ *
+ * The diagram without any highlights is drawn once per {@link BpmnModel} and kept in memory. Highlights are drawn
+ * on top of a copy of that diagram and the encoded images are cached per set of highlighted activities and flows.
+ * Both caches are bounded, the least recently used entry is removed when the limit is reached.
+ *
+ * Diagrams are cached by {@link BpmnModel} instance, which works well together with the process definition cache
+ * (which hands out the same {@link BpmnModel} instance for a process definition as long as it is cached).
+ * The diagram of a {@link BpmnModel} should not be cached when the model is changed after the first diagram has been generated.
+ */
+public class CachingProcessDiagramGenerator extends DefaultProcessDiagramGenerator {
+
+  public static final int DEFAULT_DIAGRAM_CACHE_LIMIT = 20;
+  public static final int DEFAULT_IMAGE_CACHE_LIMIT = 500;
+
+  protected Map<DiagramCacheKey, DiagramCacheEntry> diagramCache;
+  protected Map<ImageCacheKey, byte[]> imageCache;
+
+  public CachingProcessDiagramGenerator() {
+    this(DEFAULT_DIAGRAM_CACHE_LIMIT, DEFAULT_IMAGE_CACHE_LIMIT);
+  }
+
+  public CachingProcessDiagramGenerator(int diagramCacheLimit, int imageCacheLimit) {
+    this.diagramCache = createCache(diagramCacheLimit);
+    this.imageCache = createCache(imageCacheLimit);
+  }
+
+  @Override
+  public InputStream generateDiagram(BpmnModel bpmnModel, String imageType, List<String> highLightedActivities, List<String> highLightedFlows,
+      String activityFontName, String labelFontName, String annotationFontName, ClassLoader customClassLoader, double scaleFactor) {
+
+    DiagramCacheKey diagramCacheKey = new DiagramCacheKey(bpmnModel, imageType, activityFontName, labelFontName, annotationFontName, customClassLoader, scaleFactor);
+    ImageCacheKey imageCacheKey = new ImageCacheKey(diagramCacheKey, highLightedActivities, highLightedFlows);
+
+    byte[] image = imageCache.get(imageCacheKey);
+    if (image == null) {
+      DiagramCacheEntry diagramCacheEntry = diagramCache.get(diagramCacheKey);
+      if (diagramCacheEntry == null) {
+        diagramCacheEntry = generateDiagramCacheEntry(diagramCacheKey);
+        diagramCache.put(diagramCacheKey, diagramCacheEntry);
+      }
+
+      image = generateHighLightedImage(diagramCacheEntry, diagramCacheKey, highLightedActivities, highLightedFlows);
+      imageCache.put(imageCacheKey, image);
+    }
+
+    return new ByteArrayInputStream(image);
+  }
+
+  protected DiagramCacheEntry generateDiagramCacheEntry(DiagramCacheKey diagramCacheKey) {
+    DefaultProcessDiagramCanvas processDiagramCanvas = generateProcessDiagram(diagramCacheKey.bpmnModel, diagramCacheKey.imageType,
+        Collections.<String>emptyList(), Collections.<String>emptyList(), diagramCacheKey.activityFontName, diagramCacheKey.labelFontName,
+        diagramCacheKey.annotationFontName, diagramCacheKey.customClassLoader, diagramCacheKey.scaleFactor);
+
+    try {
+      return new DiagramCacheEntry(processDiagramCanvas.getProcessDiagram(), processDiagramCanvas.getMinX(), processDiagramCanvas.getMinY(),
+          toByteArray(processDiagramCanvas.generateImage(diagramCacheKey.imageType)));
+    } finally {
+      processDiagramCanvas.close();
+    }
+  }
+
+  protected byte[] generateHighLightedImage(DiagramCacheEntry diagramCacheEntry, DiagramCacheKey diagramCacheKey,
+      List<String> highLightedActivities, List<String> highLightedFlows) {
+
+    if (highLightedActivities.isEmpty() && highLightedFlows.isEmpty()) {
+      return diagramCacheEntry.image;
+    }
+
+    DefaultProcessDiagramCanvas processDiagramCanvas = new DefaultProcessDiagramCanvas(diagramCacheEntry.processDiagram,
+        diagramCacheEntry.minX, diagramCacheEntry.minY);
+    try {
+      drawHighLights(processDiagramCanvas, diagramCacheKey.bpmnModel, highLightedActivities, highLightedFlows, diagramCacheKey.scaleFactor);
+      return toByteArray(processDiagramCanvas.generateImage(diagramCacheKey.imageType));
+    } finally {
+      processDiagramCanvas.close();
+    }
+  }
+
+  protected byte[] toByteArray(InputStream inputStream) {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    byte[] buffer = new byte[4096];
+    try {
+      int bytesRead;
+      while ((bytesRead = inputStream.read(buffer)) != -1) {
+        outputStream.write(buffer, 0, bytesRead);
+      }
+      return outputStream.toByteArray();
+    } catch (IOException e) {
+      throw new ActivitiImageException("Error while generating process image", e);
+    }
+  }
+
+  public void clearCache() {
+    imageCache.clear();
+    diagramCache.clear();
+  }
+
+  public int getDiagramCacheSize() {
+    return diagramCache.size();
+  }
+
+  public int getImageCacheSize() {
+    return imageCache.size();
+  }
+
+  protected static <K, V> Map<K, V> createCache(final int limit) {
+    // +1 is needed, because the entry is inserted first, before it is removed
+    return Collections.synchronizedMap(new LinkedHashMap<K, V>(limit + 1, 0.75f, true) {
+
+      private static final long serialVersionUID = 1L;
+
+      protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+        return size() > limit;
+      }
+    });
+  }
+
+  protected static class DiagramCacheEntry {
+
+    protected BufferedImage processDiagram;
+    protected int minX;
+    protected int minY;
+    protected byte[] image;
+
+    public DiagramCacheEntry(BufferedImage processDiagram, int minX, int minY, byte[] image) {
+      this.processDiagram = processDiagram;
+      this.minX = minX;
+      this.minY = minY;
+      this.image = image;
+    }
+  }
+
+  /**
+   * Identifies a diagram without highlights. The {@link BpmnModel} and class loader are compared by identity.
+   */
+  protected static class DiagramCacheKey {
+
+    protected BpmnModel bpmnModel;
+    protected String imageType;
+    protected String activityFontName;
+    protected String labelFontName;
+    protected String annotationFontName;
+    protected ClassLoader customClassLoader;
+    protected double scaleFactor;
+
+    public DiagramCacheKey(BpmnModel bpmnModel, String imageType, String activityFontName, String labelFontName,
+        String annotationFontName, ClassLoader customClassLoader, double scaleFactor) {
+      this.bpmnModel = bpmnModel;
+      this.imageType = imageType;
+      this.activityFontName = activityFontName;
+      this.labelFontName = labelFontName;
+      this.annotationFontName = annotationFontName;
+      this.customClassLoader = customClassLoader;
+      this.scaleFactor = scaleFactor;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+      if (this == object) {
+        return true;
+      }
+      if (!(object instanceof DiagramCacheKey)) {
+        return false;
+      }
+      DiagramCacheKey other = (DiagramCacheKey) object;
+      return bpmnModel == other.bpmnModel
+          && customClassLoader == other.customClassLoader
+          && Double.compare(scaleFactor, other.scaleFactor) == 0
+          && equals(imageType, other.imageType)
+          && equals(activityFontName, other.activityFontName)
+          && equals(labelFontName, other.labelFontName)
+          && equals(annotationFontName, other.annotationFontName);
+    }
+
+    @Override
+    public int hashCode() {
+      int result = System.identityHashCode(bpmnModel);
+      result = 31 * result + (imageType != null ? imageType.hashCode() : 0);
+      result = 31 * result + (activityFontName != null ? activityFontName.hashCode() : 0);
+      result = 31 * result + (labelFontName != null ? labelFontName.hashCode() : 0);
+      result = 31 * result + (annotationFontName != null ? annotationFontName.hashCode() : 0);
+      long scaleFactorBits = Double.doubleToLongBits(scaleFactor);
+      result = 31 * result + (int) (scaleFactorBits ^ (scaleFactorBits >>> 32));
+      return result;
+    }
+
+    protected static boolean equals(String first, String second) {
+      return first == null ? second == null : first.equals(second);
+    }
+  }
+
+  /**
+   * Identifies an encoded image: a diagram and the highlighted activities and flows, in any order.
+   */
+  protected static class ImageCacheKey {
+
+    protected DiagramCacheKey diagramCacheKey;
+    protected Set<String> highLightedActivities;
+    protected Set<String> highLightedFlows;
+
+    public ImageCacheKey(DiagramCacheKey diagramCacheKey, List<String> highLightedActivities, List<String> highLightedFlows) {
+      this.diagramCacheKey = diagramCacheKey;
+      this.highLightedActivities = new HashSet<String>(highLightedActivities);
+      this.highLightedFlows = new HashSet<String>(highLightedFlows);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+      if (this == object) {
+        return true;
+      }
+      if (!(object instanceof ImageCacheKey)) {
+        return false;
+      }
+      ImageCacheKey other = (ImageCacheKey) object;
+      return diagramCacheKey.equals(other.diagramCacheKey)
+          && highLightedActivities.equals(other.highLightedActivities)
+          && highLightedFlows.equals(other.highLightedFlows);
+    }
+
+    @Override
+    public int hashCode() {
+      int result = diagramCacheKey.hashCode();
+      result = 31 * result + highLightedActivities.hashCode();
+      result = 31 * result + highLightedFlows.hashCode();
+      return result;
+    }
+  }
+
+}
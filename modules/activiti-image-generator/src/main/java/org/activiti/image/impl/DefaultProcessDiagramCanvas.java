@@ -37,6 +37,7 @@ import java.awt.geom.PathIterator;
 import java.awt.geom.Rectangle2D;
 import java.awt.geom.RoundRectangle2D;
 import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -197,6 +198,25 @@ public class DefaultProcessDiagramCanvas {
     initialize(imageType);
   }
   
+  /**
+   * Creates a canvas that draws on top of a copy of an already drawn diagram,
+   * which is used to add highlights to a cached diagram.
+   * Only the highlights can be drawn on such a canvas, as it doesn't load the fonts and icons.
+   */
+  public DefaultProcessDiagramCanvas(BufferedImage processDiagram, int minX, int minY) {
+    this.canvasWidth = processDiagram.getWidth();
+    this.canvasHeight = processDiagram.getHeight();
+    this.minX = minX;
+    this.minY = minY;
+
+    ColorModel colorModel = processDiagram.getColorModel();
+    this.processDiagram = new BufferedImage(colorModel, processDiagram.copyData(null), colorModel.isAlphaPremultiplied(), null);
+
+    this.g = this.processDiagram.createGraphics();
+    g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    g.setPaint(Color.black);
+  }
+
   public void initialize(String imageType) {
     if ("png".equalsIgnoreCase(imageType)) {
       this.processDiagram = new BufferedImage(canvasWidth, canvasHeight, BufferedImage.TYPE_INT_ARGB);
@@ -305,6 +325,18 @@ public class DefaultProcessDiagramCanvas {
     closed = true;
   }
 
+  public BufferedImage getProcessDiagram() {
+    return processDiagram;
+  }
+
+  public int getMinX() {
+    return minX;
+  }
+
+  public int getMinY() {
+    return minY;
+  }
+
   public void drawNoneStartEvent(GraphicInfo graphicInfo) {
     drawStartEvent(graphicInfo, null, 1.0);
   }
@@ -627,44 +627,8 @@ public class DefaultProcessDiagramGenerator implements ProcessDiagramGenerator {
     // Outgoing transitions of activity
     for (SequenceFlow sequenceFlow : flowNode.getOutgoingFlows()) {
       boolean highLighted = (highLightedFlows.contains(sequenceFlow.getId()));
-      String defaultFlow = null;
-      if (flowNode instanceof Activity) {
-        defaultFlow = ((Activity) flowNode).getDefaultFlow();
-      } else if (flowNode instanceof Gateway) {
-        defaultFlow = ((Gateway) flowNode).getDefaultFlow();
-      }
-      
-      boolean isDefault = false;
-      if (defaultFlow != null && defaultFlow.equalsIgnoreCase(sequenceFlow.getId())) {
-        isDefault = true;
-      }
-      boolean drawConditionalIndicator = sequenceFlow.getConditionExpression() != null && !(flowNode instanceof Gateway);
-      
-      String sourceRef = sequenceFlow.getSourceRef();
-      String targetRef = sequenceFlow.getTargetRef();
-      FlowElement sourceElement = bpmnModel.getFlowElement(sourceRef);
-      FlowElement targetElement = bpmnModel.getFlowElement(targetRef);
-      List<GraphicInfo> graphicInfoList = bpmnModel.getFlowLocationGraphicInfo(sequenceFlow.getId());
-      if (graphicInfoList != null && graphicInfoList.size() > 0) {
-        graphicInfoList = connectionPerfectionizer(processDiagramCanvas, bpmnModel, sourceElement, targetElement, graphicInfoList);
-        int xPoints[]= new int[graphicInfoList.size()];
-        int yPoints[]= new int[graphicInfoList.size()];
+      if (drawSequenceFlow(processDiagramCanvas, bpmnModel, flowNode, sequenceFlow, highLighted, scaleFactor)) {
         
-        for (int i=1; i<graphicInfoList.size(); i++) {
-          GraphicInfo graphicInfo = graphicInfoList.get(i);
-          GraphicInfo previousGraphicInfo = graphicInfoList.get(i-1);
-          
-          if (i == 1) {
-            xPoints[0] = (int) previousGraphicInfo.getX();
-            yPoints[0] = (int) previousGraphicInfo.getY();
-          }
-          xPoints[i] = (int) graphicInfo.getX();
-          yPoints[i] = (int) graphicInfo.getY();
-          
-        }
-  
-        processDiagramCanvas.drawSequenceflow(xPoints, yPoints, drawConditionalIndicator, isDefault, highLighted, scaleFactor);
-  
         // Draw sequenceflow label
         GraphicInfo labelGraphicInfo = bpmnModel.getLabelGraphicInfo(sequenceFlow.getId());
         if (labelGraphicInfo != null) {
@@ -684,6 +648,82 @@ public class DefaultProcessDiagramGenerator implements ProcessDiagramGenerator {
     }
   }
   
+  /**
+   * Draws a sequence flow (without its label) going out of the given flow node.
+   * Returns false when the sequence flow has no diagram interchange information.
+   */
+  protected boolean drawSequenceFlow(DefaultProcessDiagramCanvas processDiagramCanvas, BpmnModel bpmnModel, 
+      FlowNode flowNode, SequenceFlow sequenceFlow, boolean highLighted, double scaleFactor) {
+    
+    String defaultFlow = null;
+    if (flowNode instanceof Activity) {
+      defaultFlow = ((Activity) flowNode).getDefaultFlow();
+    } else if (flowNode instanceof Gateway) {
+      defaultFlow = ((Gateway) flowNode).getDefaultFlow();
+    }
+    
+    boolean isDefault = false;
+    if (defaultFlow != null && defaultFlow.equalsIgnoreCase(sequenceFlow.getId())) {
+      isDefault = true;
+    }
+    boolean drawConditionalIndicator = sequenceFlow.getConditionExpression() != null && !(flowNode instanceof Gateway);
+    
+    String sourceRef = sequenceFlow.getSourceRef();
+    String targetRef = sequenceFlow.getTargetRef();
+    FlowElement sourceElement = bpmnModel.getFlowElement(sourceRef);
+    FlowElement targetElement = bpmnModel.getFlowElement(targetRef);
+    List<GraphicInfo> graphicInfoList = bpmnModel.getFlowLocationGraphicInfo(sequenceFlow.getId());
+    if (graphicInfoList == null || graphicInfoList.isEmpty()) {
+      return false;
+    }
+    
+    graphicInfoList = connectionPerfectionizer(processDiagramCanvas, bpmnModel, sourceElement, targetElement, graphicInfoList);
+    int xPoints[]= new int[graphicInfoList.size()];
+    int yPoints[]= new int[graphicInfoList.size()];
+    
+    for (int i=1; i<graphicInfoList.size(); i++) {
+      GraphicInfo graphicInfo = graphicInfoList.get(i);
+      GraphicInfo previousGraphicInfo = graphicInfoList.get(i-1);
+      
+      if (i == 1) {
+        xPoints[0] = (int) previousGraphicInfo.getX();
+        yPoints[0] = (int) previousGraphicInfo.getY();
+      }
+      xPoints[i] = (int) graphicInfo.getX();
+      yPoints[i] = (int) graphicInfo.getY();
+      
+    }
+
+    processDiagramCanvas.drawSequenceflow(xPoints, yPoints, drawConditionalIndicator, isDefault, highLighted, scaleFactor);
+    return true;
+  }
+
+  /**
+   * Draws the highlights of the given activities and sequence flows on top of an already drawn diagram.
+   */
+  protected void drawHighLights(DefaultProcessDiagramCanvas processDiagramCanvas, BpmnModel bpmnModel, 
+      List<String> highLightedActivities, List<String> highLightedFlows, double scaleFactor) {
+    
+    for (String highLightedActivity : highLightedActivities) {
+      FlowElement flowElement = bpmnModel.getFlowElement(highLightedActivity);
+      GraphicInfo graphicInfo = bpmnModel.getGraphicInfo(highLightedActivity);
+      if (flowElement instanceof FlowNode && graphicInfo != null && activityDrawInstructions.containsKey(flowElement.getClass())) {
+        drawHighLight(processDiagramCanvas, graphicInfo);
+      }
+    }
+    
+    for (String highLightedFlow : highLightedFlows) {
+      FlowElement flowElement = bpmnModel.getFlowElement(highLightedFlow);
+      if (flowElement instanceof SequenceFlow) {
+        SequenceFlow sequenceFlow = (SequenceFlow) flowElement;
+        FlowElement sourceElement = bpmnModel.getFlowElement(sequenceFlow.getSourceRef());
+        if (sourceElement instanceof FlowNode) {
+          drawSequenceFlow(processDiagramCanvas, bpmnModel, (FlowNode) sourceElement, sequenceFlow, true, scaleFactor);
+        }
+      }
+    }
+  }
+  
   /**
    * This method makes coordinates of connection flow better.
    * @param processDiagramCanvas
@@ -32,6 +32,7 @@ import javax.management.remote.JMXConnectorServer;
 import javax.management.remote.JMXConnectorServerFactory;
 import javax.management.remote.JMXServiceURL;
 
+import org.activiti.management.jmx.mbeans.CommandMetricsMBean;
 import org.activiti.management.jmx.mbeans.JobExecutorMBean;
 import org.activiti.management.jmx.mbeans.ProcessDefinitionsMBean;
 import org.slf4j.Logger;
@@ -178,6 +179,7 @@ public class DefaultManagementAgent implements ManagementAgent {
   public void findAndRegisterMbeans() throws Exception {
     register(new ProcessDefinitionsMBean(jmxConfigurator.getProcessEngineConfig()), new ObjectName(jmxConfigurator.getDomain(), "type", "Deployments"));
     register(new JobExecutorMBean(jmxConfigurator.getProcessEngineConfig()), new ObjectName(jmxConfigurator.getDomain(), "type", "JobExecutor"));
+    register(new CommandMetricsMBean(jmxConfigurator.getProcessEngineConfig()), new ObjectName(jmxConfigurator.getDomain(), "type", "CommandMetrics"));
 
   }
 
@@ -0,0 +1,109 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.management.jmx.mbeans;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.activiti.engine.ProcessEngineConfiguration;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.metrics.CommandMetricsRegistry;
+import org.activiti.engine.impl.metrics.CommandStatistics;
+import org.activiti.engine.impl.metrics.DefaultCommandMetricsRegistry;
+import org.activiti.management.jmx.annotations.ManagedAttribute;
+import org.activiti.management.jmx.annotations.ManagedOperation;
+import org.activiti.management.jmx.annotations.ManagedResource;
+
+/**
+ * Exposes the statistics of the {@link DefaultCommandMetricsRegistry}, when command metrics are enabled on the process engine.
+ */
+@ManagedResource(description = "Command metrics MBean")
+public class CommandMetricsMBean {
+
+  ProcessEngineConfiguration processEngineConfig;
+
+  public CommandMetricsMBean(ProcessEngineConfiguration processEngineConfig) {
+    this.processEngineConfig = processEngineConfig;
+  }
+
+  @ManagedAttribute(description = "check if the command statistics are collected")
+  public boolean isCommandMetricsEnabled() {
+    return getRegistry() != null;
+  }
+
+  @ManagedAttribute(description = "List of command statistics: command, count, failures, optimistic locking failures, average, 95th percentile, "
+      + "99th percentile and max latency in milliseconds, agenda operations, selects, inserts, updates and deletes")
+  public List<List<String>> getCommandStatistics() {
+    DefaultCommandMetricsRegistry registry = getRegistry();
+    if (registry == null) {
+      return Collections.emptyList();
+    }
+    List<List<String>> result = new ArrayList<List<String>>();
+    for (CommandStatistics statistics : registry.getCommandStatistics().values()) {
+      result.add(toList(statistics));
+    }
+    return result;
+  }
+
+  @ManagedOperation(description = "get the statistics of a specific command")
+  public List<String> getCommandStatisticsByName(String commandName) {
+    DefaultCommandMetricsRegistry registry = getRegistry();
+    if (registry == null) {
+      return null;
+    }
+    CommandStatistics statistics = registry.getCommandStatistics(commandName);
+    if (statistics == null) {
+      return null;
+    }
+    return toList(statistics);
+  }
+
+  @ManagedOperation(description = "reset the command statistics")
+  public void resetCommandStatistics() {
+    DefaultCommandMetricsRegistry registry = getRegistry();
+    if (registry != null) {
+      registry.reset();
+    }
+  }
+
+  protected List<String> toList(CommandStatistics statistics) {
+    List<String> item = new ArrayList<String>(13);
+    item.add(statistics.getCommandName());
+    item.add(Long.toString(statistics.getCount()));
+    item.add(Long.toString(statistics.getFailures()));
+    item.add(Long.toString(statistics.getOptimisticLockingFailures()));
+    item.add(Double.toString(statistics.getAverageDurationInMillis()));
+    item.add(Long.toString(statistics.getLatencyPercentileInMillis(95)));
+    item.add(Long.toString(statistics.getLatencyPercentileInMillis(99)));
+    item.add(Long.toString(statistics.getMaxDurationInMillis()));
+    item.add(Long.toString(statistics.getAgendaOperations()));
+    item.add(Long.toString(statistics.getSelects()));
+    item.add(Long.toString(statistics.getInserts()));
+    item.add(Long.toString(statistics.getUpdates()));
+    item.add(Long.toString(statistics.getDeletes()));
+    return item;
+  }
+
+  protected DefaultCommandMetricsRegistry getRegistry() {
+    if (processEngineConfig instanceof ProcessEngineConfigurationImpl) {
+      ProcessEngineConfigurationImpl processEngineConfigImpl = (ProcessEngineConfigurationImpl) processEngineConfig;
+      CommandMetricsRegistry registry = processEngineConfigImpl.getCommandMetricsRegistry();
+      if (processEngineConfigImpl.isEnableCommandMetrics() && registry instanceof DefaultCommandMetricsRegistry) {
+        return (DefaultCommandMetricsRegistry) registry;
+      }
+    }
+    return null;
+  }
+
+}
@@ -12,8 +12,16 @@
  */
 package org.activiti.management.jmx.mbeans;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
 import org.activiti.engine.ProcessEngineConfiguration;
 import org.activiti.engine.impl.asyncexecutor.AsyncExecutor;
+import org.activiti.engine.impl.asyncexecutor.AsyncExecutorMetrics;
+import org.activiti.engine.impl.asyncexecutor.DefaultAsyncJobExecutor;
+import org.activiti.engine.impl.metrics.LatencyHistogram;
 import org.activiti.management.jmx.annotations.ManagedAttribute;
 import org.activiti.management.jmx.annotations.ManagedOperation;
 import org.activiti.management.jmx.annotations.ManagedResource;
@@ -45,4 +53,111 @@ public class JobExecutorMBean {
 
   }
 
+  @ManagedAttribute(description = "number of jobs waiting in the thread pool queue, -1 when not available")
+  public int getThreadPoolQueueDepth() {
+    DefaultAsyncJobExecutor defaultAsyncJobExecutor = getDefaultAsyncJobExecutor();
+    return defaultAsyncJobExecutor != null ? defaultAsyncJobExecutor.getThreadPoolQueueDepth() : -1;
+  }
+
+  @ManagedAttribute(description = "number of threads executing a job, -1 when not available")
+  public int getActiveThreadCount() {
+    DefaultAsyncJobExecutor defaultAsyncJobExecutor = getDefaultAsyncJobExecutor();
+    return defaultAsyncJobExecutor != null ? defaultAsyncJobExecutor.getActiveThreadCount() : -1;
+  }
+
+  @ManagedAttribute(description = "current number of threads in the thread pool, -1 when not available")
+  public int getThreadPoolSize() {
+    DefaultAsyncJobExecutor defaultAsyncJobExecutor = getDefaultAsyncJobExecutor();
+    return defaultAsyncJobExecutor != null ? defaultAsyncJobExecutor.getThreadPoolSize() : -1;
+  }
+
+  @ManagedAttribute(description = "number of jobs executed by the job executor, -1 when not available")
+  public long getExecutedJobs() {
+    AsyncExecutorMetrics metrics = getMetrics();
+    return metrics != null ? metrics.getExecutedJobs() : -1;
+  }
+
+  @ManagedAttribute(description = "number of job executions that failed, -1 when not available")
+  public long getFailedJobs() {
+    AsyncExecutorMetrics metrics = getMetrics();
+    return metrics != null ? metrics.getFailedJobs() : -1;
+  }
+
+  @ManagedAttribute(description = "number of jobs rejected because the thread pool queue was full, -1 when not available")
+  public long getRejectedJobs() {
+    AsyncExecutorMetrics metrics = getMetrics();
+    return metrics != null ? metrics.getRejectedJobs() : -1;
+  }
+
+  @ManagedAttribute(description = "number of job acquisitions that failed with an optimistic locking exception, -1 when not available")
+  public long getAcquisitionOptimisticLockingFailures() {
+    AsyncExecutorMetrics metrics = getMetrics();
+    return metrics != null ? metrics.getAcquisitionOptimisticLockingFailures() : -1;
+  }
+
+  @ManagedAttribute(description = "number of exclusive jobs that could not lock their process instance, -1 when not available")
+  public long getExclusiveJobLockFailures() {
+    AsyncExecutorMetrics metrics = getMetrics();
+    return metrics != null ? metrics.getExclusiveJobLockFailures() : -1;
+  }
+
+  @ManagedAttribute(description = "List of acquisition statistics: acquisition type, acquisitions, acquired jobs, average, 95th percentile, "
+      + "99th percentile and max latency in milliseconds")
+  public List<List<String>> getAcquisitionStatistics() {
+    AsyncExecutorMetrics metrics = getMetrics();
+    if (metrics == null) {
+      return Collections.emptyList();
+    }
+    List<List<String>> result = new ArrayList<List<String>>(2);
+    result.add(toList("async", metrics.getAsyncJobAcquisitions(), metrics.getAcquiredAsyncJobs(), metrics.getAsyncJobAcquisitionLatency()));
+    result.add(toList("timer", metrics.getTimerJobAcquisitions(), metrics.getAcquiredTimerJobs(), metrics.getTimerJobAcquisitionLatency()));
+    return result;
+  }
+
+  @ManagedAttribute(description = "List of job execution statistics: job handler type, executions, average, 95th percentile, "
+      + "99th percentile and max latency in milliseconds")
+  public List<List<String>> getJobExecutionStatistics() {
+    AsyncExecutorMetrics metrics = getMetrics();
+    if (metrics == null) {
+      return Collections.emptyList();
+    }
+    List<List<String>> result = new ArrayList<List<String>>();
+    for (Map.Entry<String, LatencyHistogram> entry : metrics.getJobExecutionLatencies().entrySet()) {
+      List<String> item = new ArrayList<String>(6);
+      item.add(entry.getKey());
+      item.add(Long.toString(entry.getValue().getCount()));
+      addLatencies(item, entry.getValue());
+      result.add(item);
+    }
+    return result;
+  }
+
+  protected List<String> toList(String acquisitionType, long acquisitions, long acquiredJobs, LatencyHistogram latency) {
+    List<String> item = new ArrayList<String>(7);
+    item.add(acquisitionType);
+    item.add(Long.toString(acquisitions));
+    item.add(Long.toString(acquiredJobs));
+    addLatencies(item, latency);
+    return item;
+  }
+
+  protected void addLatencies(List<String> item, LatencyHistogram latency) {
+    item.add(Double.toString(latency.getAverageInMillis()));
+    item.add(Long.toString(latency.getPercentileInMillis(95)));
+    item.add(Long.toString(latency.getPercentileInMillis(99)));
+    item.add(Long.toString(latency.getMaxInMillis()));
+  }
+
+  protected DefaultAsyncJobExecutor getDefaultAsyncJobExecutor() {
+    if (jobExecutor instanceof DefaultAsyncJobExecutor) {
+      return (DefaultAsyncJobExecutor) jobExecutor;
+    }
+    return null;
+  }
+
+  protected AsyncExecutorMetrics getMetrics() {
+    DefaultAsyncJobExecutor defaultAsyncJobExecutor = getDefaultAsyncJobExecutor();
+    return defaultAsyncJobExecutor != null ? defaultAsyncJobExecutor.getMetrics() : null;
+  }
+
 }
@@ -0,0 +1,96 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.management.jmx.mbeans;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import javax.management.JMException;
+import javax.management.MBeanInfo;
+import javax.management.ObjectName;
+import javax.management.modelmbean.ModelMBean;
+
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.metrics.CommandMetrics;
+import org.activiti.engine.impl.metrics.DefaultCommandMetricsRegistry;
+import org.activiti.management.jmx.DefaultManagementMBeanAssembler;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+public class CommandMetricsMBeanTest {
+
+  protected CommandMetricsMBean commandMetricsMBean;
+
+  protected DefaultCommandMetricsRegistry registry = new DefaultCommandMetricsRegistry();
+
+  @Mock
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+
+  @Before
+  public void initMocks() {
+    MockitoAnnotations.initMocks(this);
+    when(processEngineConfiguration.getCommandMetricsRegistry()).thenReturn(registry);
+    commandMetricsMBean = new CommandMetricsMBean(processEngineConfiguration);
+  }
+
+  @Test
+  public void testCommandMetricsDisabled() {
+    when(processEngineConfiguration.isEnableCommandMetrics()).thenReturn(false);
+    assertFalse(commandMetricsMBean.isCommandMetricsEnabled());
+    assertTrue(commandMetricsMBean.getCommandStatistics().isEmpty());
+  }
+
+  @Test
+  public void testCommandStatistics() {
+    when(processEngineConfiguration.isEnableCommandMetrics()).thenReturn(true);
+    assertTrue(commandMetricsMBean.isCommandMetricsEnabled());
+
+    CommandMetrics commandMetrics = new CommandMetrics("testCommand");
+    commandMetrics.addSelect();
+    commandMetrics.addFlushedEntities(2, 1, 0);
+    registry.record(commandMetrics);
+    registry.record(new CommandMetrics("testCommand"));
+
+    List<List<String>> statistics = commandMetricsMBean.getCommandStatistics();
+    assertEquals(1, statistics.size());
+    List<String> commandStatistics = statistics.get(0);
+    assertEquals("testCommand", commandStatistics.get(0));
+    assertEquals("2", commandStatistics.get(1));
+    assertEquals("1", commandStatistics.get(9));
+    assertEquals("2", commandStatistics.get(10));
+    assertEquals("1", commandStatistics.get(11));
+    assertEquals(commandStatistics, commandMetricsMBean.getCommandStatisticsByName("testCommand"));
+    assertNull(commandMetricsMBean.getCommandStatisticsByName("unknownCommand"));
+
+    commandMetricsMBean.resetCommandStatistics();
+    assertTrue(commandMetricsMBean.getCommandStatistics().isEmpty());
+  }
+
+  @Test
+  public void testAnnotations() throws JMException {
+    ModelMBean modelBean = new DefaultManagementMBeanAssembler().assemble(commandMetricsMBean, new ObjectName("domain", "key", "value"));
+    assertNotNull(modelBean);
+    MBeanInfo beanInfo = modelBean.getMBeanInfo();
+    assertEquals(2, beanInfo.getAttributes().length);
+    assertEquals(4, beanInfo.getOperations().length);
+  }
+
+}
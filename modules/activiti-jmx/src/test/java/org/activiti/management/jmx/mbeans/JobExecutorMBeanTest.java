@@ -20,6 +20,10 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 import javax.management.JMException;
 import javax.management.MBeanAttributeInfo;
 import javax.management.MBeanInfo;
@@ -30,6 +34,8 @@ import javax.management.modelmbean.ModelMBean;
 
 import org.activiti.engine.ProcessEngineConfiguration;
 import org.activiti.engine.impl.asyncexecutor.AsyncExecutor;
+import org.activiti.engine.impl.asyncexecutor.AsyncExecutorMetrics;
+import org.activiti.engine.impl.asyncexecutor.DefaultAsyncJobExecutor;
 import org.activiti.management.jmx.DefaultManagementMBeanAssembler;
 import org.activiti.management.jmx.ManagementMBeanAssembler;
 import org.junit.Before;
@@ -86,6 +92,40 @@ public class JobExecutorMBeanTest {
 
   }
 
+  @Test
+  public void testStatisticsNotAvailable() {
+    assertEquals(-1, jobExecutorMbean.getThreadPoolQueueDepth());
+    assertEquals(-1, jobExecutorMbean.getExecutedJobs());
+    assertTrue(jobExecutorMbean.getJobExecutionStatistics().isEmpty());
+    assertTrue(jobExecutorMbean.getAcquisitionStatistics().isEmpty());
+  }
+
+  @Test
+  public void testStatistics() {
+    DefaultAsyncJobExecutor asyncExecutor = new DefaultAsyncJobExecutor();
+    AsyncExecutorMetrics metrics = asyncExecutor.getMetrics();
+    metrics.recordAsyncJobAcquisition(3, TimeUnit.MILLISECONDS.toNanos(2));
+    metrics.recordJobExecution("async-continuation", TimeUnit.MILLISECONDS.toNanos(20), false);
+    metrics.recordJobExecution("async-continuation", TimeUnit.MILLISECONDS.toNanos(30), true);
+    metrics.recordRejectedJob();
+    when(processEngineConfiguration.getAsyncExecutor()).thenReturn(asyncExecutor);
+    jobExecutorMbean = new JobExecutorMBean(processEngineConfiguration);
+
+    assertEquals(0, jobExecutorMbean.getThreadPoolQueueDepth());
+    assertEquals(2, jobExecutorMbean.getExecutedJobs());
+    assertEquals(1, jobExecutorMbean.getFailedJobs());
+    assertEquals(1, jobExecutorMbean.getRejectedJobs());
+
+    List<List<String>> acquisitionStatistics = jobExecutorMbean.getAcquisitionStatistics();
+    assertEquals(2, acquisitionStatistics.size());
+    assertEquals(Arrays.asList("async", "1", "3", "2.0", "2", "2", "2"), acquisitionStatistics.get(0));
+    assertEquals("0", acquisitionStatistics.get(1).get(1));
+
+    List<List<String>> jobExecutionStatistics = jobExecutorMbean.getJobExecutionStatistics();
+    assertEquals(1, jobExecutionStatistics.size());
+    assertEquals(Arrays.asList("async-continuation", "2", "25.0", "30", "30", "30"), jobExecutionStatistics.get(0));
+  }
+
   ManagementMBeanAssembler assembler = new DefaultManagementMBeanAssembler();
 
   @Test
@@ -96,7 +136,7 @@ public class JobExecutorMBeanTest {
     MBeanInfo beanInfo = modelBean.getMBeanInfo();
     assertNotNull(beanInfo);
     assertNotNull(beanInfo.getOperations());
-    assertEquals(2, beanInfo.getOperations().length);
+    assertEquals(12, beanInfo.getOperations().length);
     int counter = 0;
 
     for (MBeanOperationInfo op : beanInfo.getOperations()) {
@@ -112,7 +152,7 @@ public class JobExecutorMBeanTest {
 
     // check attributes
     assertNotNull(beanInfo.getAttributes());
-    assertEquals(1, beanInfo.getAttributes().length);
+    assertEquals(11, beanInfo.getAttributes().length);
 
     counter = 0;
 
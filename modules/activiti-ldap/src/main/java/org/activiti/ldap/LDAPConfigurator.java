@@ -24,6 +24,7 @@ import org.activiti.engine.cfg.ProcessEngineConfigurator;
 import org.activiti.engine.identity.Group;
 import org.activiti.engine.identity.User;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.identity.GroupCache;
 import org.activiti.ldap.LDAPGroupCache.LDAPGroupCacheListener;
 
 /**
@@ -90,19 +91,28 @@ public class LDAPConfigurator extends AbstractProcessEngineConfigurator {
     processEngineConfiguration.setUserEntityManager(new LDAPUserManager(processEngineConfiguration, this));
     
     // Groups
-    LDAPGroupCache ldapGroupCache = null;
+    GroupCache groupCache = null;
     if (getGroupCacheSize() > 0) {
-      ldapGroupCache = new LDAPGroupCache(getGroupCacheSize(), getGroupCacheExpirationTime(), processEngineConfiguration.getClock());
+      LDAPGroupCache ldapGroupCache = new LDAPGroupCache(getGroupCacheSize(), getGroupCacheExpirationTime(), processEngineConfiguration.getClock());
       if (groupCacheListener != null) {
         ldapGroupCache.setLdapCacheListener(groupCacheListener);
       }
+      groupCache = ldapGroupCache;
+      
+      if (processEngineConfiguration.getGroupCache() == null) {
+        processEngineConfiguration.setGroupCache(ldapGroupCache);
+      }
+      
+    } else {
+      // Use the group cache of the engine, if one is configured
+      groupCache = processEngineConfiguration.getGroupCache();
     }
     
     LDAPGroupManager ldapGroupManager = null;
-    if (ldapGroupCache == null) {
+    if (groupCache == null) {
       ldapGroupManager = new LDAPGroupManager(processEngineConfiguration, this);
     } else {
-      ldapGroupManager = new LDAPGroupManager(processEngineConfiguration, this, ldapGroupCache);
+      ldapGroupManager = new LDAPGroupManager(processEngineConfiguration, this, groupCache);
     }
     processEngineConfiguration.setGroupEntityManager(ldapGroupManager);
   }
@@ -413,7 +423,8 @@ public class LDAPConfigurator extends AbstractProcessEngineConfigurator {
   /**
    * Allows to set the size of the {@link LDAPGroupCache}. This is an LRU cache that caches groups for users and thus avoids hitting the LDAP system each time the groups of a user needs to be known.
    * 
-   * The cache will not be instantiated if the value is less then zero. By default set to -1, so no caching is done.
+   * The cache will not be instantiated if the value is less then zero. By default set to -1, so no caching is done,
+   * unless a group cache is configured on the process engine configuration (see {@link ProcessEngineConfigurationImpl#setGroupCacheSize(int)}).
    * 
    * Note that the group cache is instantiated on the {@link LDAPGroupManagerFactory}. As such, if you have a custom implementation of the {@link LDAPGroupManagerFactory}, do not forget to add the
    * group cache functionality.
@@ -12,12 +12,15 @@
  */
 package org.activiti.ldap;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.activiti.engine.identity.Group;
+import org.activiti.engine.impl.identity.GroupCache;
 import org.activiti.engine.runtime.ClockReader;
 
 /**
@@ -26,11 +29,13 @@ import org.activiti.engine.runtime.ClockReader;
  * 
  * Cached entries have an expiration time. For example when set to one hour, changes to the ldap system around the groups of a user will be visible after that hour.
  * 
+ * The cache is thread safe and can also be used as the group cache of the engine (see {@link GroupCache}).
+ * 
  * Experimental: can have a listener for cache events, and instance of {@link LDAPGroupCacheListener}.
  * 
  * @author Joram Barrez
  */
-public class LDAPGroupCache {
+public class LDAPGroupCache implements GroupCache {
 
   private final ClockReader clockReader;
   protected Map<String, LDAPGroupCacheEntry> groupCache;
@@ -43,7 +48,7 @@ public class LDAPGroupCache {
 
     // From
     // http://stackoverflow.com/questions/224868/easy-simple-to-use-lru-cache-in-java
-    this.groupCache = new LinkedHashMap<String, LDAPGroupCache.LDAPGroupCacheEntry>(cacheSize + 1, 0.75f, true) {
+    this.groupCache = Collections.synchronizedMap(new LinkedHashMap<String, LDAPGroupCache.LDAPGroupCacheEntry>(cacheSize + 1, 0.75f, true) {
 
       private static final long serialVersionUID = 5207574193173514579L;
 
@@ -57,12 +62,13 @@ public class LDAPGroupCache {
         return removeEldest;
       }
 
-    };
+    });
     this.expirationTime = expirationTime;
   }
 
   public void add(String userId, List<Group> groups) {
-    this.groupCache.put(userId, new LDAPGroupCacheEntry(clockReader.getCurrentTime(), groups));
+    // A copy, so the cached groups can't be changed by the caller
+    this.groupCache.put(userId, new LDAPGroupCacheEntry(clockReader.getCurrentTime(), Collections.unmodifiableList(new ArrayList<Group>(groups))));
   }
 
   public List<Group> get(String userId) {
@@ -78,9 +84,16 @@ public class LDAPGroupCache {
 
       } else {
 
-        this.groupCache.remove(userId);
+        boolean removed = false;
+        synchronized (groupCache) {
+          // Another thread could have added fresh groups in the meantime
+          if (groupCache.get(userId) == cacheEntry) {
+            groupCache.remove(userId);
+            removed = true;
+          }
+        }
 
-        if (ldapCacheListener != null) {
+        if (removed && ldapCacheListener != null) {
           ldapCacheListener.cacheExpired(userId);
           ldapCacheListener.cacheEviction(userId);
         }
@@ -95,6 +108,10 @@ public class LDAPGroupCache {
     return null;
   }
 
+  public void remove(String userId) {
+    groupCache.remove(userId);
+  }
+
   public void clear() {
     groupCache.clear();
   }
@@ -125,7 +142,7 @@ public class LDAPGroupCache {
 
   // Helper classes ////////////////////////////////////
 
-  static class LDAPGroupCacheEntry {
+  public static class LDAPGroupCacheEntry {
 
     protected Date timestamp;
     protected List<Group> groups;
@@ -30,6 +30,7 @@ import org.activiti.engine.impl.GroupQueryImpl;
 import org.activiti.engine.impl.Page;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.identity.GroupCache;
 import org.activiti.engine.impl.persistence.AbstractManager;
 import org.activiti.engine.impl.persistence.entity.GroupEntity;
 import org.activiti.engine.impl.persistence.entity.GroupEntityImpl;
@@ -45,17 +46,17 @@ import org.activiti.engine.impl.persistence.entity.GroupEntityManager;
 public class LDAPGroupManager extends AbstractManager implements GroupEntityManager {
 
   protected LDAPConfigurator ldapConfigurator;
-  protected LDAPGroupCache ldapGroupCache;
+  protected GroupCache groupCache;
 
   public LDAPGroupManager(ProcessEngineConfigurationImpl processEngineConfiguration, LDAPConfigurator ldapConfigurator) {
     super(processEngineConfiguration);
     this.ldapConfigurator = ldapConfigurator;
   }
 
-  public LDAPGroupManager(ProcessEngineConfigurationImpl processEngineConfiguration, LDAPConfigurator ldapConfigurator, LDAPGroupCache ldapGroupCache) {
+  public LDAPGroupManager(ProcessEngineConfigurationImpl processEngineConfiguration, LDAPConfigurator ldapConfigurator, GroupCache groupCache) {
     super(processEngineConfiguration);
     this.ldapConfigurator = ldapConfigurator;
-    this.ldapGroupCache = ldapGroupCache;
+    this.groupCache = groupCache;
   }
 
   @Override
@@ -107,8 +108,8 @@ public class LDAPGroupManager extends AbstractManager implements GroupEntityMana
   public List<Group> findGroupsByUser(final String userId) {
 
     // First try the cache (if one is defined)
-    if (ldapGroupCache != null) {
-      List<Group> groups = ldapGroupCache.get(userId);
+    if (groupCache != null) {
+      List<Group> groups = groupCache.get(userId);
       if (groups != null) {
         return groups;
       }
@@ -145,8 +146,8 @@ public class LDAPGroupManager extends AbstractManager implements GroupEntityMana
           namingEnum.close();
 
           // Cache results for later
-          if (ldapGroupCache != null) {
-            ldapGroupCache.add(userId, groups);
+          if (groupCache != null) {
+            groupCache.add(userId, groups);
           }
 
           return groups;
@@ -214,12 +215,20 @@ public class LDAPGroupManager extends AbstractManager implements GroupEntityMana
     this.ldapConfigurator = ldapConfigurator;
   }
 
+  public GroupCache getGroupCache() {
+    return groupCache;
+  }
+
+  public void setGroupCache(GroupCache groupCache) {
+    this.groupCache = groupCache;
+  }
+
   public LDAPGroupCache getLdapGroupCache() {
-    return ldapGroupCache;
+    return groupCache instanceof LDAPGroupCache ? (LDAPGroupCache) groupCache : null;
   }
 
   public void setLdapGroupCache(LDAPGroupCache ldapGroupCache) {
-    this.ldapGroupCache = ldapGroupCache;
+    this.groupCache = ldapGroupCache;
   }
 
 }
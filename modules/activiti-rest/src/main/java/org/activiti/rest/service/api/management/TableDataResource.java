@@ -116,6 +116,7 @@ public class TableDataResource {
     response.setSize(((Long) listPage.getSize()).intValue());
     response.setStart(((Long) listPage.getFirstResult()).intValue());
     response.setTotal(listPage.getTotal());
+    response.setHasMore(listPage.getFirstResult() + listPage.getSize() < listPage.getTotal());
     response.setData(listPage.getRows());
 
     return response;
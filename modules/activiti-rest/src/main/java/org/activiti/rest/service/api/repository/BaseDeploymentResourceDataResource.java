@@ -16,6 +16,7 @@ package org.activiti.rest.service.api.repository;
 import java.io.InputStream;
 import java.util.List;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.activiti.engine.ActivitiException;
@@ -38,7 +39,17 @@ public class BaseDeploymentResourceDataResource {
   @Autowired
   protected RepositoryService repositoryService;
 
+  protected DeploymentResourceDataCache deploymentResourceDataCache = new DeploymentResourceDataCache();
+
   protected byte[] getDeploymentResourceData(String deploymentId, String resourceName, HttpServletResponse response) {
+    return getDeploymentResourceData(deploymentId, resourceName, null, response);
+  }
+
+  /**
+   * Returns the content of the deployment resource. When the request is passed, the ETag and Cache-Control headers are set
+   * and null is returned (with status 304) when the client already has the resource.
+   */
+  protected byte[] getDeploymentResourceData(String deploymentId, String resourceName, HttpServletRequest request, HttpServletResponse response) {
 
     if (deploymentId == null) {
       throw new ActivitiIllegalArgumentException("No deployment id provided");
@@ -53,21 +64,41 @@ public class BaseDeploymentResourceDataResource {
       throw new ActivitiObjectNotFoundException("Could not find a deployment with id '" + deploymentId + "'.", Deployment.class);
     }
 
-    List<String> resourceList = repositoryService.getDeploymentResourceNames(deploymentId);
+    // A cached resource is known to be part of the deployment
+    byte[] resourceData = deploymentResourceDataCache.get(deploymentId, resourceName);
+    if (resourceData == null) {
+      List<String> resourceList = repositoryService.getDeploymentResourceNames(deploymentId);
+      if (!resourceList.contains(resourceName)) {
+        // Resource not found in deployment
+        throw new ActivitiObjectNotFoundException("Could not find a resource with name '" + resourceName + "' in deployment '" + deploymentId + "'.", String.class);
+      }
+    }
 
-    if (resourceList.contains(resourceName)) {
-      final InputStream resourceStream = repositoryService.getResourceAsStream(deploymentId, resourceName);
+    if (request != null && deploymentResourceDataCache.checkNotModified(deploymentId, resourceName, request, response)) {
+      return null;
+    }
 
-      String contentType = contentTypeResolver.resolveContentType(resourceName);
-      response.setContentType(contentType);
+    String contentType = contentTypeResolver.resolveContentType(resourceName);
+    response.setContentType(contentType);
+
+    if (resourceData == null) {
+      final InputStream resourceStream = repositoryService.getResourceAsStream(deploymentId, resourceName);
       try {
-        return IOUtils.toByteArray(resourceStream);
+        resourceData = IOUtils.toByteArray(resourceStream);
       } catch (Exception e) {
         throw new ActivitiException("Error converting resource stream", e);
       }
-    } else {
-      // Resource not found in deployment
-      throw new ActivitiObjectNotFoundException("Could not find a resource with name '" + resourceName + "' in deployment '" + deploymentId + "'.", String.class);
+      deploymentResourceDataCache.add(deploymentId, resourceName, resourceData);
     }
+    return resourceData;
+  }
+
+  public DeploymentResourceDataCache getDeploymentResourceDataCache() {
+    return deploymentResourceDataCache;
+  }
+
+  @Autowired(required = false)
+  public void setDeploymentResourceDataCache(DeploymentResourceDataCache deploymentResourceDataCache) {
+    this.deploymentResourceDataCache = deploymentResourceDataCache;
   }
 }
@@ -0,0 +1,128 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.rest.service.api.repository;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.activiti.engine.ActivitiException;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Supports the resources that return the content of a deployment resource (eg. process definition XML and diagram images).
+ *
+ * A deployment resource never changes once deployed, so it can be identified by an ETag based on the deployment id and
+ * resource name, and clients are allowed to cache it. The content of the resources is kept in a bounded in-memory cache,
+ * the least recently used entry is removed when the limit is reached. Resources bigger than the maximum entry size are not cached.
+ */
+public class DeploymentResourceDataCache {
+
+  public static final int DEFAULT_CACHE_LIMIT = 200;
+  public static final int DEFAULT_MAX_ENTRY_SIZE = 1024 * 1024;
+  public static final int DEFAULT_MAX_AGE_IN_SECONDS = 24 * 60 * 60;
+
+  protected Map<String, byte[]> cache;
+  protected int maxEntrySize;
+  protected int maxAgeInSeconds = DEFAULT_MAX_AGE_IN_SECONDS;
+
+  public DeploymentResourceDataCache() {
+    this(DEFAULT_CACHE_LIMIT, DEFAULT_MAX_ENTRY_SIZE);
+  }
+
+  public DeploymentResourceDataCache(final int limit, int maxEntrySize) {
+    this.maxEntrySize = maxEntrySize;
+
+    // +1 is needed, because the entry is inserted first, before it is removed
+    this.cache = Collections.synchronizedMap(new LinkedHashMap<String, byte[]>(limit + 1, 0.75f, true) {
+
+      private static final long serialVersionUID = 1L;
+
+      protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+        return size() > limit;
+      }
+    });
+  }
+
+  /**
+   * Sets the ETag and Cache-Control headers for the given deployment resource and checks the conditional request headers.
+   *
+   * @return true when the client has the current version of the resource. The response status is set to 304
+   *         and no content should be written.
+   */
+  public boolean checkNotModified(String deploymentId, String resourceName, HttpServletRequest request, HttpServletResponse response) {
+    if (maxAgeInSeconds > 0) {
+      response.setHeader("Cache-Control", "private, max-age=" + maxAgeInSeconds);
+    } else {
+      response.setHeader("Cache-Control", "no-cache");
+    }
+    return new ServletWebRequest(request, response).checkNotModified(createETag(deploymentId, resourceName));
+  }
+
+  public byte[] get(String deploymentId, String resourceName) {
+    return cache.get(createKey(deploymentId, resourceName));
+  }
+
+  public void add(String deploymentId, String resourceName, byte[] data) {
+    if (data.length <= maxEntrySize) {
+      cache.put(createKey(deploymentId, resourceName), data);
+    }
+  }
+
+  public void clear() {
+    cache.clear();
+  }
+
+  public int size() {
+    return cache.size();
+  }
+
+  protected String createKey(String deploymentId, String resourceName) {
+    return deploymentId + "/" + resourceName;
+  }
+
+  /**
+   * Deployment ids are unique and the resources of a deployment can't be changed, so the deployment id and the full
+   * resource name identify the content. Both are URL-encoded, which keeps the ETag a valid header value and
+   * makes the '/' separator unambiguous.
+   */
+  public static String createETag(String deploymentId, String resourceName) {
+    try {
+      return "\"" + URLEncoder.encode(deploymentId, "UTF-8") + "/" + URLEncoder.encode(resourceName, "UTF-8") + "\"";
+    } catch (UnsupportedEncodingException e) {
+      throw new ActivitiException("UTF-8 is not a supported encoding", e);
+    }
+  }
+
+  public int getMaxEntrySize() {
+    return maxEntrySize;
+  }
+
+  public void setMaxEntrySize(int maxEntrySize) {
+    this.maxEntrySize = maxEntrySize;
+  }
+
+  public int getMaxAgeInSeconds() {
+    return maxAgeInSeconds;
+  }
+
+  public void setMaxAgeInSeconds(int maxAgeInSeconds) {
+    this.maxAgeInSeconds = maxAgeInSeconds;
+  }
+
+}
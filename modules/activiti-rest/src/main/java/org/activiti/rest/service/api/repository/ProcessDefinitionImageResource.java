@@ -22,10 +22,14 @@ import io.swagger.annotations.Authorization;
 
 import java.io.InputStream;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.ActivitiIllegalArgumentException;
 import org.activiti.engine.repository.ProcessDefinition;
 import org.apache.commons.io.IOUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -41,27 +45,54 @@ import org.springframework.web.bind.annotation.RestController;
 @Api(tags = { "Process Definitions" }, description = "Manage Process Definitions", authorizations = { @Authorization(value = "basicAuth") })
 public class ProcessDefinitionImageResource extends BaseProcessDefinitionResource {
 
+  protected DeploymentResourceDataCache deploymentResourceDataCache = new DeploymentResourceDataCache();
+
   @ApiOperation(value = "Get a process definition image", tags = {"Process Definitions"})
   @ApiResponses(value = {
       @ApiResponse(code = 200, message = "Indicates request was successful and the process-definitions are returned"),
+      @ApiResponse(code = 304, message = "Indicates the image has not changed since the version (ETag) in the If-None-Match header."),
       @ApiResponse(code = 404, message = "Indicates the requested process definition was not found.")
   })
   @RequestMapping(value = "/repository/process-definitions/{processDefinitionId}/image", method = RequestMethod.GET)
-  public ResponseEntity<byte[]> getModelResource(@ApiParam(name = "processDefinitionId") @PathVariable String processDefinitionId) {
+  public ResponseEntity<byte[]> getModelResource(@ApiParam(name = "processDefinitionId") @PathVariable String processDefinitionId,
+      HttpServletRequest request, HttpServletResponse response) {
+
     ProcessDefinition processDefinition = getProcessDefinitionFromRequest(processDefinitionId);
-    InputStream imageStream = repositoryService.getProcessDiagram(processDefinition.getId());
+    String diagramResourceName = processDefinition.getDiagramResourceName();
+    if (diagramResourceName == null) {
+      throw new ActivitiIllegalArgumentException("Process definition with id '" + processDefinition.getId() + "' has no image.");
+    }
+
+    if (deploymentResourceDataCache.checkNotModified(processDefinition.getDeploymentId(), diagramResourceName, request, response)) {
+      return null;
+    }
 
-    if (imageStream != null) {
-      HttpHeaders responseHeaders = new HttpHeaders();
-      responseHeaders.set("Content-Type", "image/png");
+    byte[] image = deploymentResourceDataCache.get(processDefinition.getDeploymentId(), diagramResourceName);
+    if (image == null) {
+      InputStream imageStream = repositoryService.getProcessDiagram(processDefinition.getId());
+      if (imageStream == null) {
+        throw new ActivitiIllegalArgumentException("Process definition with id '" + processDefinition.getId() + "' has no image.");
+      }
       try {
-        return new ResponseEntity<byte[]>(IOUtils.toByteArray(imageStream), responseHeaders, HttpStatus.OK);
+        image = IOUtils.toByteArray(imageStream);
       } catch (Exception e) {
         throw new ActivitiException("Error reading image stream", e);
       }
-    } else {
-      throw new ActivitiIllegalArgumentException("Process definition with id '" + processDefinition.getId() + "' has no image.");
+      deploymentResourceDataCache.add(processDefinition.getDeploymentId(), diagramResourceName, image);
     }
+
+    HttpHeaders responseHeaders = new HttpHeaders();
+    responseHeaders.set("Content-Type", "image/png");
+    return new ResponseEntity<byte[]>(image, responseHeaders, HttpStatus.OK);
+  }
+
+  public DeploymentResourceDataCache getDeploymentResourceDataCache() {
+    return deploymentResourceDataCache;
+  }
+
+  @Autowired(required = false)
+  public void setDeploymentResourceDataCache(DeploymentResourceDataCache deploymentResourceDataCache) {
+    this.deploymentResourceDataCache = deploymentResourceDataCache;
   }
 
 }
@@ -20,6 +20,7 @@ import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import io.swagger.annotations.Authorization;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.activiti.engine.ActivitiObjectNotFoundException;
@@ -39,14 +40,15 @@ public class ProcessDefinitionResourceDataResource extends BaseDeploymentResourc
 
   @ApiResponses(value = {
       @ApiResponse(code = 200, message = "Indicates both process definition and resource have been found and the resource data has been returned."),
+      @ApiResponse(code = 304, message = "Indicates the resource has not changed since the version (ETag) in the If-None-Match header."),
       @ApiResponse(code = 404, message = "Indicates the requested process definition was not found or there is no resource with the given id present in the process definition. The status-description contains additional information.")
   })
   @ApiOperation(value = "Get a process definition resource content", tags = {"Process Definitions"})
   @RequestMapping(value = "/repository/process-definitions/{processDefinitionId}/resourcedata", method = RequestMethod.GET)
   public @ResponseBody
-  byte[] getProcessDefinitionResource(@ApiParam(name="processDefinitionId",value="The id of the process definition to get the resource data for.") @PathVariable String processDefinitionId, HttpServletResponse response) {
+  byte[] getProcessDefinitionResource(@ApiParam(name="processDefinitionId",value="The id of the process definition to get the resource data for.") @PathVariable String processDefinitionId, HttpServletRequest request, HttpServletResponse response) {
     ProcessDefinition processDefinition = getProcessDefinitionFromRequest(processDefinitionId);
-    return getDeploymentResourceData(processDefinition.getDeploymentId(), processDefinition.getResourceName(), response);
+    return getDeploymentResourceData(processDefinition.getDeploymentId(), processDefinition.getResourceName(), request, response);
   }
 
   /**
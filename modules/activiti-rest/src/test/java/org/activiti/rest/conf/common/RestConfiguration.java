@@ -3,6 +3,7 @@ package org.activiti.rest.conf.common;
 import org.activiti.rest.common.application.ContentTypeResolver;
 import org.activiti.rest.common.application.DefaultContentTypeResolver;
 import org.activiti.rest.service.api.RestResponseFactory;
+import org.activiti.rest.service.api.repository.DeploymentResourceDataCache;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -23,4 +24,9 @@ public class RestConfiguration {
     ContentTypeResolver resolver = new DefaultContentTypeResolver();
     return resolver;
   }
+
+  @Bean()
+  public DeploymentResourceDataCache deploymentResourceDataCache() {
+    return new DeploymentResourceDataCache();
+  }
 }
@@ -171,4 +171,53 @@ public class HistoricProcessInstanceQueryResourceTest extends BaseSpringRestTest
     assertEquals(processInstance.getId(), dataNode.get(0).get("id").asText());
     assertEquals(processInstance2.getId(), dataNode.get(1).get("id").asText());
   }
+
+  /**
+   * Test streaming the results of a historic process instance query. POST query/historic-process-instances
+   */
+  @Deployment(resources = "org/activiti/rest/service/api/history/HistoricProcessInstanceQueryResourceTest.testQueryProcessInstancesWithVariables.bpmn20.xml")
+  public void testStreamProcessInstances() throws Exception {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    ProcessInstance processInstance2 = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    ProcessInstance processInstance3 = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    String url = RestUrls.createRelativeResourceUrl(RestUrls.URL_HISTORIC_PROCESS_INSTANCE_QUERY);
+    ObjectNode requestNode = objectMapper.createObjectNode();
+    requestNode.put("processDefinitionKey", "oneTaskProcess");
+    requestNode.put("stream", true);
+    requestNode.put("sort", "startTime");
+    requestNode.put("size", 100);
+
+    HttpPost httpPost = new HttpPost(SERVER_URL_PREFIX + url);
+    httpPost.setEntity(new StringEntity(requestNode.toString()));
+    CloseableHttpResponse response = executeRequest(httpPost, HttpStatus.SC_OK);
+    JsonNode responseNode = objectMapper.readTree(response.getEntity().getContent());
+    closeResponse(response);
+
+    JsonNode dataNode = responseNode.get("data");
+    assertEquals(3, dataNode.size());
+    assertEquals(processInstance.getId(), dataNode.get(0).get("id").asText());
+    assertEquals(processInstance2.getId(), dataNode.get(1).get("id").asText());
+    assertEquals(processInstance3.getId(), dataNode.get(2).get("id").asText());
+    assertEquals(3, responseNode.get("total").intValue());
+    assertEquals(3, responseNode.get("size").intValue());
+    assertFalse(responseNode.get("hasMore").booleanValue());
+
+    // Streaming without total
+    requestNode.put("size", 2);
+    requestNode.put("includeTotal", false);
+    httpPost = new HttpPost(SERVER_URL_PREFIX + url);
+    httpPost.setEntity(new StringEntity(requestNode.toString()));
+    response = executeRequest(httpPost, HttpStatus.SC_OK);
+    responseNode = objectMapper.readTree(response.getEntity().getContent());
+    closeResponse(response);
+
+    dataNode = responseNode.get("data");
+    assertEquals(2, dataNode.size());
+    assertEquals(processInstance.getId(), dataNode.get(0).get("id").asText());
+    assertEquals(processInstance2.getId(), dataNode.get(1).get("id").asText());
+    assertEquals(-1, responseNode.get("total").intValue());
+    assertEquals(2, responseNode.get("size").intValue());
+    assertTrue(responseNode.get("hasMore").booleanValue());
+  }
 }
@@ -107,6 +107,24 @@ public class DeploymentCollectionResourceTest extends BaseSpringRestTestCase {
       assertEquals(2L, responseNode.get("total").longValue());
       assertEquals(1L, responseNode.get("start").longValue());
       assertEquals(1L, responseNode.get("size").longValue());
+      assertFalse(responseNode.get("hasMore").booleanValue());
+
+      // Check paging without total
+      response = executeRequest(new HttpGet(SERVER_URL_PREFIX + RestUrls.createRelativeResourceUrl(RestUrls.URL_DEPLOYMENT_COLLECTION) + "?sort=deployTime&order=asc&start=0&size=1&includeTotal=false"), HttpStatus.SC_OK);
+      responseNode = objectMapper.readTree(response.getEntity().getContent());
+      closeResponse(response);
+      dataNode = responseNode.get("data");
+      assertEquals(1L, dataNode.size());
+      assertEquals(firstDeployment.getId(), dataNode.get(0).get("id").textValue());
+      assertEquals(-1L, responseNode.get("total").longValue());
+      assertEquals(1L, responseNode.get("size").longValue());
+      assertTrue(responseNode.get("hasMore").booleanValue());
+
+      response = executeRequest(new HttpGet(SERVER_URL_PREFIX + RestUrls.createRelativeResourceUrl(RestUrls.URL_DEPLOYMENT_COLLECTION) + "?sort=deployTime&order=asc&start=1&size=1&includeTotal=false"), HttpStatus.SC_OK);
+      responseNode = objectMapper.readTree(response.getEntity().getContent());
+      closeResponse(response);
+      assertEquals(secondDeployment.getId(), responseNode.get("data").get(0).get("id").textValue());
+      assertFalse(responseNode.get("hasMore").booleanValue());
 
     } finally {
       // Always cleanup any created deployments, even if the test failed
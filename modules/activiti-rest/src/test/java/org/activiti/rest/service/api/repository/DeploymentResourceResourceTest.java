@@ -101,4 +101,54 @@ public class DeploymentResourceResourceTest extends BaseSpringRestTestCase {
             }
         }
     }
+
+    /**
+     * Test getting the content of a resource again, with the ETag of the first response. GET repository/deployments/{deploymentId}/resourcedata/{resourceId}
+     */
+    public void testGetDeploymentResourceContentNotModified() throws Exception {
+        try {
+            Deployment deployment = repositoryService.createDeployment().name("Deployment 1").addInputStream("test.txt", new ByteArrayInputStream("Test content".getBytes())).deploy();
+            String url = SERVER_URL_PREFIX + RestUrls.createRelativeResourceUrl(RestUrls.URL_DEPLOYMENT_RESOURCE_CONTENT, deployment.getId(), "test.txt");
+
+            CloseableHttpResponse response = executeRequest(new HttpGet(url), HttpStatus.SC_OK);
+            String eTag = response.getFirstHeader(HttpHeaders.ETAG).getValue();
+            assertNotNull(response.getFirstHeader(HttpHeaders.CACHE_CONTROL));
+            assertEquals("Test content", IOUtils.toString(response.getEntity().getContent()));
+            closeResponse(response);
+
+            HttpGet httpGet = new HttpGet(url);
+            httpGet.addHeader(new BasicHeader(HttpHeaders.IF_NONE_MATCH, eTag));
+            response = executeRequest(httpGet, HttpStatus.SC_NOT_MODIFIED);
+            assertEquals(eTag, response.getFirstHeader(HttpHeaders.ETAG).getValue());
+            closeResponse(response);
+
+            // The same resource in another deployment has another ETag
+            Deployment otherDeployment = repositoryService.createDeployment().name("Deployment 2").addInputStream("test.txt", new ByteArrayInputStream("Other content".getBytes())).deploy();
+            httpGet = new HttpGet(SERVER_URL_PREFIX + RestUrls.createRelativeResourceUrl(RestUrls.URL_DEPLOYMENT_RESOURCE_CONTENT, otherDeployment.getId(), "test.txt"));
+            httpGet.addHeader(new BasicHeader(HttpHeaders.IF_NONE_MATCH, eTag));
+            response = executeRequest(httpGet, HttpStatus.SC_OK);
+            assertEquals("Other content", IOUtils.toString(response.getEntity().getContent()));
+            closeResponse(response);
+
+            // Resource names with the same hash code have another ETag
+            Deployment collidingDeployment = repositoryService.createDeployment().name("Deployment 3")
+                .addInputStream("Aa.txt", new ByteArrayInputStream("Aa content".getBytes()))
+                .addInputStream("BB.txt", new ByteArrayInputStream("BB content".getBytes())).deploy();
+            response = executeRequest(new HttpGet(SERVER_URL_PREFIX + RestUrls.createRelativeResourceUrl(RestUrls.URL_DEPLOYMENT_RESOURCE_CONTENT, collidingDeployment.getId(), "Aa.txt")), HttpStatus.SC_OK);
+            eTag = response.getFirstHeader(HttpHeaders.ETAG).getValue();
+            closeResponse(response);
+
+            httpGet = new HttpGet(SERVER_URL_PREFIX + RestUrls.createRelativeResourceUrl(RestUrls.URL_DEPLOYMENT_RESOURCE_CONTENT, collidingDeployment.getId(), "BB.txt"));
+            httpGet.addHeader(new BasicHeader(HttpHeaders.IF_NONE_MATCH, eTag));
+            response = executeRequest(httpGet, HttpStatus.SC_OK);
+            assertEquals("BB content", IOUtils.toString(response.getEntity().getContent()));
+            closeResponse(response);
+        } finally {
+            // Always cleanup any created deployments, even if the test failed
+            List<Deployment> deployments = repositoryService.createDeploymentQuery().list();
+            for (Deployment deployment : deployments) {
+                repositoryService.deleteDeployment(deployment.getId(), true);
+            }
+        }
+    }
 }
@@ -17,6 +17,7 @@ import org.activiti.engine.repository.ProcessDefinition;
 import org.activiti.engine.test.Deployment;
 import org.activiti.rest.service.BaseSpringRestTestCase;
 import org.activiti.rest.service.api.RestUrls;
+import org.apache.http.HttpHeaders;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
@@ -36,6 +37,23 @@ public class ProcessDefinitionImageResourceTest extends BaseSpringRestTestCase {
     closeResponse(response);
   }
 
+  @Deployment(resources = { "org/activiti/rest/service/api/repository/oneTaskProcess.bpmn20.xml", "org/activiti/rest/service/api/repository/oneTaskProcess.png" })
+  public void testGetProcessDefinitionImageNotModified() throws Exception {
+    ProcessDefinition oneTaskProcess = repositoryService.createProcessDefinitionQuery().processDefinitionKey("oneTaskProcess").singleResult();
+    String url = SERVER_URL_PREFIX + RestUrls.createRelativeResourceUrl(RestUrls.URL_PROCESS_DEFINITION_IMAGE, oneTaskProcess.getId());
+
+    CloseableHttpResponse response = executeRequest(new HttpGet(url), HttpStatus.SC_OK);
+    String eTag = response.getFirstHeader(HttpHeaders.ETAG).getValue();
+    assertTrue(response.getFirstHeader(HttpHeaders.CACHE_CONTROL).getValue().contains("max-age"));
+    closeResponse(response);
+
+    HttpGet httpGet = new HttpGet(url);
+    httpGet.addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+    response = executeRequest(httpGet, HttpStatus.SC_NOT_MODIFIED);
+    assertNull(response.getEntity());
+    closeResponse(response);
+  }
+
   @Deployment(resources = { "org/activiti/rest/service/api/repository/oneTaskProcess.bpmn20.xml" })
   public void testGetProcessDefinitionImageWithoutImage() throws Exception {
     ProcessDefinition oneTaskProcess = repositoryService.createProcessDefinitionQuery().processDefinitionKey("oneTaskProcess").singleResult();
@@ -13,13 +13,18 @@
 
 package org.activiti.rest.service.api.runtime;
 
+import java.util.Arrays;
+
 import org.activiti.engine.runtime.ProcessInstance;
 import org.activiti.engine.test.Deployment;
+import org.activiti.image.ProcessDiagramGenerator;
+import org.activiti.image.impl.CachingProcessDiagramGenerator;
 import org.activiti.rest.service.BaseSpringRestTestCase;
 import org.activiti.rest.service.api.RestUrls;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
+import org.apache.http.util.EntityUtils;
 
 /**
  * @author Frederik Heremans
@@ -37,6 +42,37 @@ public class ProcessInstanceDiagramResourceTest extends BaseSpringRestTestCase {
     closeResponse(response);
   }
 
+  @Deployment(resources = { "org/activiti/rest/service/api/runtime/ProcessInstanceDiagramResourceTest.testGetProcessDiagram.bpmn20.xml" })
+  public void testGetCachedProcessDiagram() throws Exception {
+    ProcessDiagramGenerator originalProcessDiagramGenerator = processEngineConfiguration.getProcessDiagramGenerator();
+    CachingProcessDiagramGenerator cachingProcessDiagramGenerator = new CachingProcessDiagramGenerator();
+    processEngineConfiguration.setProcessDiagramGenerator(cachingProcessDiagramGenerator);
+    try {
+      ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("simpleProcess");
+      ProcessInstance otherProcessInstance = runtimeService.startProcessInstanceByKey("simpleProcess");
+
+      CloseableHttpResponse response = executeRequest(new HttpGet(SERVER_URL_PREFIX + RestUrls.createRelativeResourceUrl(RestUrls.URL_PROCESS_INSTANCE_DIAGRAM, processInstance.getId())),
+          HttpStatus.SC_OK);
+      byte[] diagram = EntityUtils.toByteArray(response.getEntity());
+      assertEquals("image/png", response.getEntity().getContentType().getValue());
+      closeResponse(response);
+
+      // Both process instances are waiting in the same activity, so the same image is returned
+      response = executeRequest(new HttpGet(SERVER_URL_PREFIX + RestUrls.createRelativeResourceUrl(RestUrls.URL_PROCESS_INSTANCE_DIAGRAM, otherProcessInstance.getId())),
+          HttpStatus.SC_OK);
+      byte[] otherDiagram = EntityUtils.toByteArray(response.getEntity());
+      closeResponse(response);
+
+      assertTrue(diagram.length > 0);
+      assertTrue(Arrays.equals(diagram, otherDiagram));
+      assertEquals(1, cachingProcessDiagramGenerator.getDiagramCacheSize());
+      assertEquals(1, cachingProcessDiagramGenerator.getImageCacheSize());
+
+    } finally {
+      processEngineConfiguration.setProcessDiagramGenerator(originalProcessDiagramGenerator);
+    }
+  }
+
   @Deployment
   public void testGetProcessDiagramWithoutDiagram() throws Exception {
     ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
@@ -0,0 +1,232 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.rest.service.api.runtime;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.impl.TaskQueryImpl;
+import org.activiti.engine.impl.TaskQueryProperty;
+import org.activiti.engine.query.QueryProperty;
+import org.activiti.engine.task.Task;
+import org.activiti.rest.common.api.AbstractPaginateList;
+import org.activiti.rest.common.api.DataResponse;
+import org.activiti.rest.service.BaseSpringRestTestCase;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Test for streaming a task query in batches (request parameter stream=true).
+ */
+public class StreamingTaskQueryTest extends BaseSpringRestTestCase {
+
+  public void testStreamTasksInBatchesById() throws Exception {
+    List<String> taskIds = createTasks(5);
+    try {
+      TaskIdPaginateList paginateList = new TaskIdPaginateList();
+      DataResponse response = paginateList.paginateList(getRequestParams("id", 10), taskService.createTaskQuery(), "id", getProperties());
+
+      // The size is known before the results are written, the first batch is already fetched
+      assertEquals(5, response.getTotal());
+      assertEquals(5, response.getSize());
+      assertFalse(response.isHasMore());
+      assertEquals(1, paginateList.processedBatches);
+
+      // A task of the first batch is deleted: the next batch starts after the last id, so no task is skipped
+      taskService.deleteTask(taskIds.get(0), true);
+
+      List<Object> results = new ArrayList<Object>();
+      for (Object result : (Iterable<?>) response.getData()) {
+        results.add(result);
+      }
+      assertEquals(taskIds, results);
+      assertEquals(3, paginateList.processedBatches);
+
+    } finally {
+      deleteTasks(taskIds);
+    }
+  }
+
+  public void testStreamTasksPageWithoutTotal() throws Exception {
+    List<String> taskIds = createTasks(5);
+    try {
+      Map<String, String> requestParams = getRequestParams("id", 3);
+      requestParams.put("start", "1");
+      requestParams.put("includeTotal", "false");
+      DataResponse response = new TaskIdPaginateList().paginateList(requestParams, createUncountedTaskQuery(), "id", getProperties());
+      assertEquals(-1, response.getTotal());
+
+      // One task more than requested tells that there is a next page, the size is known once all tasks are fetched
+      assertEquals(taskIds.subList(1, 4), getData(response));
+      assertEquals(3, response.getSize());
+      assertTrue(response.isHasMore());
+
+      // Last page
+      requestParams.put("start", "3");
+      response = new TaskIdPaginateList().paginateList(requestParams, createUncountedTaskQuery(), "id", getProperties());
+      assertEquals(taskIds.subList(3, 5), getData(response));
+      assertEquals(2, response.getSize());
+      assertFalse(response.isHasMore());
+
+      // The size and hasMore flag are written after the data
+      requestParams.put("start", "1");
+      response = new TaskIdPaginateList().paginateList(requestParams, createUncountedTaskQuery(), "id", getProperties());
+      JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(response));
+      assertEquals(3, json.get("data").size());
+      assertEquals(3, json.get("size").intValue());
+      assertTrue(json.get("hasMore").booleanValue());
+
+    } finally {
+      deleteTasks(taskIds);
+    }
+  }
+
+  public void testErrorInFirstBatchIsThrownBeforeWriting() throws Exception {
+    List<String> taskIds = createTasks(3);
+    try {
+      TaskIdPaginateList paginateList = new TaskIdPaginateList();
+      paginateList.failingBatch = 1;
+      try {
+        paginateList.paginateList(getRequestParams("id", 10), taskService.createTaskQuery(), "id", getProperties());
+        fail("Exception expected");
+      } catch (ActivitiException e) {
+        // expected, the controller can still map it to an error status
+      }
+
+    } finally {
+      deleteTasks(taskIds);
+    }
+  }
+
+  public void testErrorInLaterBatchLeavesResponseUnterminated() throws Exception {
+    List<String> taskIds = createTasks(5);
+    try {
+      TaskIdPaginateList paginateList = new TaskIdPaginateList();
+      paginateList.failingBatch = 2;
+      DataResponse response = paginateList.paginateList(getRequestParams("id", 10), taskService.createTaskQuery(), "id", getProperties());
+
+      StringWriter writer = new StringWriter();
+      try {
+        objectMapper.writeValue(writer, response);
+        fail("Exception expected");
+      } catch (Exception e) {
+        // expected
+      }
+
+      String json = writer.toString();
+      assertTrue(json.startsWith("{\"data\":[\"" + taskIds.get(0) + "\",\"" + taskIds.get(1) + "\""));
+      assertFalse(json.endsWith("}"));
+      try {
+        objectMapper.readTree(json);
+        fail("Exception expected");
+      } catch (Exception e) {
+        // expected, clients can't mistake the response for a complete list
+      }
+
+    } finally {
+      deleteTasks(taskIds);
+    }
+  }
+
+  protected List<String> createTasks(int count) {
+    List<String> taskIds = new ArrayList<String>();
+    for (int i = 0; i < count; i++) {
+      Task task = taskService.newTask();
+      task.setName("Task " + i);
+      taskService.saveTask(task);
+      taskIds.add(task.getId());
+    }
+    Collections.sort(taskIds);
+    return taskIds;
+  }
+
+  protected List<Object> getData(DataResponse response) {
+    List<Object> results = new ArrayList<Object>();
+    for (Object result : (Iterable<?>) response.getData()) {
+      results.add(result);
+    }
+    return results;
+  }
+
+  /**
+   * A task query that fails when the tasks are counted.
+   */
+  protected TaskQueryImpl createUncountedTaskQuery() {
+    return new TaskQueryImpl(processEngineConfiguration.getCommandExecutor(), processEngineConfiguration.getDatabaseType()) {
+
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      public long count() {
+        throw new ActivitiException("The tasks must not be counted");
+      }
+    };
+  }
+
+  protected void deleteTasks(List<String> taskIds) {
+    for (String taskId : taskIds) {
+      if (taskService.createTaskQuery().taskId(taskId).count() > 0) {
+        taskService.deleteTask(taskId, true);
+      }
+    }
+  }
+
+  protected Map<String, String> getRequestParams(String sort, int size) {
+    Map<String, String> requestParams = new HashMap<String, String>();
+    requestParams.put("stream", "true");
+    requestParams.put("sort", sort);
+    requestParams.put("size", String.valueOf(size));
+    return requestParams;
+  }
+
+  protected Map<String, QueryProperty> getProperties() {
+    Map<String, QueryProperty> properties = new HashMap<String, QueryProperty>();
+    properties.put("id", TaskQueryProperty.TASK_ID);
+    properties.put("name", TaskQueryProperty.NAME);
+    return properties;
+  }
+
+  /**
+   * Converts the tasks to their ids, in batches of 2 tasks.
+   */
+  protected static class TaskIdPaginateList extends AbstractPaginateList {
+
+    protected int processedBatches;
+    protected int failingBatch = -1;
+
+    public TaskIdPaginateList() {
+      setStreamBatchSize(2);
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Override
+    protected List processList(List list) {
+      processedBatches++;
+      if (processedBatches == failingBatch) {
+        throw new ActivitiException("Failing batch " + processedBatches);
+      }
+      List<String> taskIds = new ArrayList<String>();
+      for (Object task : list) {
+        taskIds.add(((Task) task).getId());
+      }
+      return taskIds;
+    }
+  }
+
+}
@@ -111,6 +111,13 @@ public class SecureJavascriptConfigurator extends AbstractProcessEngineConfigura
    * always be -1.
    */
   protected int scriptOptimizationLevel = -1;
+
+  /**
+   * Scripts are compiled once and the compiled form is reused for every
+   * evaluation of the same script text. This is the maximum number of
+   * compiled scripts that are kept (least recently used ones are evicted).
+   */
+  protected int compiledScriptCacheLimit = SecureScriptContextFactory.DEFAULT_COMPILED_SCRIPT_CACHE_LIMIT;
   
   /**
    * An implementation of {@link ClassWhitelister}
@@ -141,6 +148,7 @@ public class SecureJavascriptConfigurator extends AbstractProcessEngineConfigura
       secureScriptContextFactory = new SecureScriptContextFactory();
 
       secureScriptContextFactory.setOptimizationLevel(getScriptOptimizationLevel());
+      secureScriptContextFactory.setCompiledScriptCacheLimit(getCompiledScriptCacheLimit());
 
       if (isEnableClassWhiteListing() || getWhiteListedClasses() != null
           || classWhitelister != null) {
@@ -246,6 +254,15 @@ public class SecureJavascriptConfigurator extends AbstractProcessEngineConfigura
     return this;
   }
 
+  public int getCompiledScriptCacheLimit() {
+    return compiledScriptCacheLimit;
+  }
+
+  public SecureJavascriptConfigurator setCompiledScriptCacheLimit(int compiledScriptCacheLimit) {
+    this.compiledScriptCacheLimit = compiledScriptCacheLimit;
+    return this;
+  }
+
   public SecureScriptContextFactory getSecureScriptContextFactory() {
     return secureScriptContextFactory;
   }
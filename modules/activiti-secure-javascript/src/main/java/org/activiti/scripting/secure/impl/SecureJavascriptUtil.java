@@ -15,7 +15,11 @@ package org.activiti.scripting.secure.impl;
 import java.util.Map;
 
 import org.activiti.engine.delegate.VariableScope;
+import org.mozilla.javascript.ClassCache;
 import org.mozilla.javascript.Context;
+import org.mozilla.javascript.ContextFactory;
+import org.mozilla.javascript.LazilyLoadedCtor;
+import org.mozilla.javascript.NativeObject;
 import org.mozilla.javascript.Scriptable;
 
 /**
@@ -24,6 +28,8 @@ import org.mozilla.javascript.Scriptable;
  */
 public class SecureJavascriptUtil {
 
+  protected static final String[] JAVA_TOP_PACKAGE_NAMES = { "java", "javax", "org", "com", "edu", "net" };
+
   public static Object evaluateScript(VariableScope variableScope, String script) {
     return evaluateScript(variableScope, script, null);
   }
@@ -32,6 +38,14 @@ public class SecureJavascriptUtil {
   public static Object evaluateScript(VariableScope variableScope, String script, Map<Object, Object> beans) {
     Context context = Context.enter();
     try {
+        ContextFactory contextFactory = context.getFactory();
+        if (contextFactory instanceof SecureScriptContextFactory) {
+            SecureScriptContextFactory secureScriptContextFactory = (SecureScriptContextFactory) contextFactory;
+            Scriptable scope = createScope();
+            scope.setPrototype(new SecureScriptScope(variableScope, beans, secureScriptContextFactory.getSharedStandardScope(context)));
+            return secureScriptContextFactory.getCompiledScript(context, script).exec(context, scope);
+        }
+
         Scriptable scope = context.initStandardObjects();
         SecureScriptScope secureScriptScope = new SecureScriptScope(variableScope, beans);
         scope.setPrototype(secureScriptScope);
@@ -41,5 +55,24 @@ public class SecureJavascriptUtil {
         Context.exit();
     }
   }
+
+  /**
+   * Creates the top level scope for one evaluation. The standard objects are looked up in the shared
+   * sealed scope, only the (lazily initialized) Java packages and the class cache are created per
+   * evaluation, so changes to the class white list are picked up as before.
+   */
+  protected static Scriptable createScope() {
+    NativeObject scope = new NativeObject();
+    new ClassCache().associate(scope);
+
+    new LazilyLoadedCtor(scope, "Packages", "org.mozilla.javascript.NativeJavaTopPackage", false);
+    new LazilyLoadedCtor(scope, "getClass", "org.mozilla.javascript.NativeJavaTopPackage", false);
+    new LazilyLoadedCtor(scope, "JavaAdapter", "org.mozilla.javascript.JavaAdapter", false);
+    new LazilyLoadedCtor(scope, "JavaImporter", "org.mozilla.javascript.ImporterTopLevel", false);
+    for (String packageName : JAVA_TOP_PACKAGE_NAMES) {
+      new LazilyLoadedCtor(scope, packageName, "org.mozilla.javascript.NativeJavaTopPackage", false);
+    }
+    return scope;
+  }
   
 }
@@ -20,6 +20,7 @@ import org.mozilla.javascript.Context;
 public class SecureScriptContext extends Context {
 
     private long startTime;
+    private long deadline;
     private long threadId;
     private long startMemory;
 
@@ -31,6 +32,14 @@ public class SecureScriptContext extends Context {
         this.startTime = startTime;
     }
 
+    public long getDeadline() {
+        return deadline;
+    }
+
+    public void setDeadline(long deadline) {
+        this.deadline = deadline;
+    }
+
     public long getThreadId() {
         return threadId;
     }
@@ -12,10 +12,16 @@
  */
 package org.activiti.scripting.secure.impl;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.mozilla.javascript.Callable;
 import org.mozilla.javascript.Context;
 import org.mozilla.javascript.ContextFactory;
+import org.mozilla.javascript.Script;
 import org.mozilla.javascript.Scriptable;
+import org.mozilla.javascript.ScriptableObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -26,6 +32,8 @@ public class SecureScriptContextFactory extends ContextFactory {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SecureScriptContextFactory.class);
 
+    public static final int DEFAULT_COMPILED_SCRIPT_CACHE_LIMIT = 500;
+
     protected SecureScriptClassShutter classShutter;
     protected int observeInstructionCount = 10;
     protected long maxScriptExecutionTime = -1L;
@@ -34,6 +42,10 @@ public class SecureScriptContextFactory extends ContextFactory {
     protected int optimizationLevel = -1;
     protected SecureScriptThreadMxBeanWrapper threadMxBeanWrapper;
 
+    protected int compiledScriptCacheLimit = DEFAULT_COMPILED_SCRIPT_CACHE_LIMIT;
+    protected Map<String, Script> compiledScripts = createCompiledScriptCache(compiledScriptCacheLimit);
+    protected volatile ScriptableObject sharedStandardScope;
+
     protected Context makeContext() {
         SecureScriptContext context = new SecureScriptContext();
 
@@ -67,13 +79,66 @@ public class SecureScriptContextFactory extends ContextFactory {
         return context;
     }
 
+    /**
+     * Returns the compiled form of the given script. Compiled scripts don't hold any state of an
+     * evaluation (that lives in the scope passed when executing them), so they are shared between
+     * threads. All contexts created by this factory use the same settings, so the script text is a sufficient key.
+     */
+    public Script getCompiledScript(Context cx, String script) {
+        if (compiledScripts == null) {
+            return cx.compileString(script, "<script>", 0, null);
+        }
+
+        Script compiledScript = compiledScripts.get(script);
+        if (compiledScript == null) {
+            compiledScript = cx.compileString(script, "<script>", 0, null);
+            compiledScripts.put(script, compiledScript);
+        }
+        return compiledScript;
+    }
+
+    /**
+     * Returns the standard javascript objects (Object, Array, Math, JSON, ...) shared by all script evaluations.
+     * The scope is sealed, so scripts can't change it. The Java packages are not part of it, as those cache
+     * the classes that were looked up through the {@link SecureScriptClassShutter}, and need to be
+     * created per evaluation.
+     */
+    public ScriptableObject getSharedStandardScope(Context cx) {
+        ScriptableObject scope = sharedStandardScope;
+        if (scope == null) {
+            synchronized (this) {
+                scope = sharedStandardScope;
+                if (scope == null) {
+                    scope = cx.initSafeStandardObjects(null, true);
+                    sharedStandardScope = scope;
+                }
+            }
+        }
+        return scope;
+    }
+
+    protected Map<String, Script> createCompiledScriptCache(final int limit) {
+        if (limit <= 0) {
+            return null;
+        }
+
+        // +1 is needed, because the entry is inserted first, before it is removed
+        return Collections.synchronizedMap(new LinkedHashMap<String, Script>(limit + 1, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            protected boolean removeEldestEntry(Map.Entry<String, Script> eldest) {
+                return size() > limit;
+            }
+        });
+    }
+
     protected void observeInstructionCount(Context cx, int instructionCount) {
         SecureScriptContext context = (SecureScriptContext) cx;
 
         // Time limit
         if (maxScriptExecutionTime > 0) {
-            long currentTime = System.currentTimeMillis();
-            if (currentTime - context.getStartTime() > maxScriptExecutionTime) {
+            if (System.currentTimeMillis() > context.getDeadline()) {
                 throw new Error("Maximum variableScope time of " + maxScriptExecutionTime + " ms exceeded");
             }
         }
@@ -96,7 +161,16 @@ public class SecureScriptContextFactory extends ContextFactory {
     // Override {@link #doTopCall(Callable, Context, Scriptable, Scriptable, Object[])}
     protected Object doTopCall(Callable callable, Context cx, Scriptable scope, Scriptable thisObj, Object[] args) {
         SecureScriptContext mcx = (SecureScriptContext) cx;
-        mcx.setStartTime(System.currentTimeMillis());
+        long startTime = System.currentTimeMillis();
+        mcx.setStartTime(startTime);
+        if (maxScriptExecutionTime > 0) {
+            mcx.setDeadline(startTime + maxScriptExecutionTime);
+        }
+
+        // Take the memory baseline here, so the first state check callback can already enforce the limit
+        if (maxMemoryUsed > 0 && threadMxBeanWrapper != null && mcx.getStartMemory() <= 0) {
+            mcx.setStartMemory(threadMxBeanWrapper.getThreadAllocatedBytes(mcx.getThreadId()));
+        }
         return super.doTopCall(callable, cx, scope, thisObj, args);
     }
 
@@ -151,6 +225,19 @@ public class SecureScriptContextFactory extends ContextFactory {
         }
     }
 
+    public int getCompiledScriptCacheLimit() {
+        return compiledScriptCacheLimit;
+    }
+
+    /**
+     * Maximum number of compiled scripts that are kept, the least recently used one is removed when
+     * the limit is reached. A limit of zero or less compiles the script on every evaluation.
+     */
+    public void setCompiledScriptCacheLimit(int compiledScriptCacheLimit) {
+        this.compiledScriptCacheLimit = compiledScriptCacheLimit;
+        this.compiledScripts = createCompiledScriptCache(compiledScriptCacheLimit);
+    }
+
     public int getMaxStackDepth() {
         return maxStackDepth;
     }
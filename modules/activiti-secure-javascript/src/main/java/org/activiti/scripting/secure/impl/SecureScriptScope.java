@@ -18,6 +18,7 @@ import org.activiti.engine.delegate.DelegateExecution;
 import org.activiti.engine.delegate.DelegateTask;
 import org.activiti.engine.delegate.VariableScope;
 import org.mozilla.javascript.Scriptable;
+import org.mozilla.javascript.ScriptableObject;
 
 /**
  * @author Joram Barrez
@@ -30,12 +31,20 @@ public class SecureScriptScope implements Scriptable {
 
     protected VariableScope variableScope;
     protected Map<Object, Object> beans;
+    
+    /* Shared standard objects, looked up before the variables (as they would be when defined on the script scope itself) */
+    protected Scriptable standardScope;
 
     public SecureScriptScope(VariableScope variableScope, Map<Object, Object> beans) {
         this.variableScope = variableScope;
         this.beans = beans;
     }
 
+    public SecureScriptScope(VariableScope variableScope, Map<Object, Object> beans, Scriptable standardScope) {
+        this(variableScope, beans);
+        this.standardScope = standardScope;
+    }
+
     @Override
     public String getClassName() {
         return variableScope.getClass().getName();
@@ -43,6 +52,13 @@ public class SecureScriptScope implements Scriptable {
 
     @Override
     public Object get(String s, Scriptable scriptable) {
+        if (standardScope != null) {
+            Object standardObject = ScriptableObject.getProperty(standardScope, s);
+            if (standardObject != Scriptable.NOT_FOUND) {
+                return standardObject;
+            }
+        }
+
         if (KEYWORD_EXECUTION.equals(s) && variableScope instanceof DelegateExecution) {
             return variableScope;
         } else if (KEYWORD_TASK.equals(s) && variableScope instanceof DelegateTask) {
@@ -62,6 +78,9 @@ public class SecureScriptScope implements Scriptable {
 
     @Override
     public boolean has(String s, Scriptable scriptable) {
+        if (standardScope != null && ScriptableObject.hasProperty(standardScope, s)) {
+            return true;
+        }
         return variableScope.hasVariable(s);
     }
 
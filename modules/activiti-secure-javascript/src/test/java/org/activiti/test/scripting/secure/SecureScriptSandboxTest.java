@@ -0,0 +1,97 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.test.scripting.secure;
+
+import org.activiti.engine.impl.el.NoExecutionVariableScope;
+import org.activiti.scripting.secure.SecureJavascriptConfigurator;
+import org.activiti.scripting.secure.impl.SecureJavascriptUtil;
+import org.activiti.scripting.secure.impl.SecureScriptContextFactory;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.EvaluatorException;
+import org.mozilla.javascript.Script;
+
+/**
+ * Tests the evaluation of scripts against the sealed standard scope that is shared by all evaluations.
+ */
+public class SecureScriptSandboxTest extends SecureScriptingBaseTest {
+
+  @Test
+  public void testSharedStandardScopeCannotBeChanged() {
+    try {
+      evaluate("Math.max = function(a, b) { return -1; };");
+      Assert.fail(); // Expecting exception
+    } catch (EvaluatorException e) {
+      // expected, the shared scope is sealed
+    }
+
+    try {
+      evaluate("Object.prototype.injected = 'value';");
+      Assert.fail(); // Expecting exception
+    } catch (EvaluatorException e) {
+      // expected, the shared scope is sealed
+    }
+
+    Assert.assertEquals(2, ((Number) evaluate("Math.max(1, 2)")).intValue());
+    Assert.assertEquals("undefined", evaluate("typeof ({}).injected"));
+  }
+
+  @Test
+  public void testVariablesDoNotLeakBetweenEvaluations() {
+    Assert.assertEquals(42, ((Number) evaluate("var leaked = 42; leaked;")).intValue());
+    Assert.assertEquals(43, ((Number) evaluate("implicitGlobal = 43; implicitGlobal;")).intValue());
+
+    Assert.assertEquals("undefined", evaluate("typeof leaked"));
+    Assert.assertEquals("undefined", evaluate("typeof implicitGlobal"));
+  }
+
+  @Test
+  public void testCompiledScriptIsReused() {
+    String script = "var sum = 1 + 2; sum;";
+    Assert.assertEquals(3, ((Number) evaluate(script)).intValue());
+
+    SecureScriptContextFactory contextFactory = SecureJavascriptConfigurator.secureScriptContextFactory;
+    Context context = Context.enter();
+    try {
+      Script compiledScript = contextFactory.getCompiledScript(context, script);
+      Assert.assertSame(compiledScript, contextFactory.getCompiledScript(context, script));
+      Assert.assertNotSame(compiledScript, contextFactory.getCompiledScript(context, "var sum = 2 + 3; sum;"));
+    } finally {
+      Context.exit();
+    }
+
+    // a cached script is executed with a fresh scope
+    Assert.assertEquals(3, ((Number) evaluate(script)).intValue());
+  }
+
+  @Test
+  public void testMaxScriptExecutionTimeStopsLoopingScript() {
+    String script = "while (true) {}";
+    for (int i = 0; i < 2; i++) { // the second time the compiled script is used, which must get its own deadline
+      long start = System.currentTimeMillis();
+      try {
+        evaluate(script);
+        Assert.fail(); // Expecting exception
+      } catch (Error e) {
+        Assert.assertTrue(e.getMessage().contains("Maximum variableScope time of 3000 ms exceeded"));
+      }
+      Assert.assertTrue(System.currentTimeMillis() - start >= 3000L);
+    }
+  }
+
+  protected Object evaluate(String script) {
+    return SecureJavascriptUtil.evaluateScript(NoExecutionVariableScope.getSharedInstance(), script);
+  }
+
+}
@@ -104,6 +104,7 @@ public abstract class AbstractProcessEngineAutoConfiguration
     conf.setMailServerUseTLS(activitiProperties.isMailServerUseTls());
     
     conf.setHistoryLevel(activitiProperties.getHistoryLevel());
+    conf.setEnableProcessDiagramCache(activitiProperties.isProcessDiagramCacheEnabled());
 
     if (activitiProperties.getCustomMybatisMappers() != null) {
       conf.setCustomMybatisMappers(getCustomMybatisMapperClasses(activitiProperties.getCustomMybatisMappers()));
@@ -48,6 +48,7 @@ public class ActivitiProperties {
   private boolean jpaEnabled = true; // true by default
   private List<String> customMybatisMappers;
   private List<String> customMybatisXMLMappers;
+  private boolean processDiagramCacheEnabled;
 
   public boolean isAsyncExecutorActivate() {
     return asyncExecutorActivate;
@@ -234,4 +235,12 @@ public class ActivitiProperties {
   public void setCustomMybatisXMLMappers(List<String> customMybatisXMLMappers) {
     this.customMybatisXMLMappers = customMybatisXMLMappers;
   }
+
+  public boolean isProcessDiagramCacheEnabled() {
+    return processDiagramCacheEnabled;
+  }
+
+  public void setProcessDiagramCacheEnabled(boolean processDiagramCacheEnabled) {
+    this.processDiagramCacheEnabled = processDiagramCacheEnabled;
+  }
 }
@@ -18,6 +18,7 @@ package org.activiti.spring.boot;
 import org.activiti.rest.common.application.ContentTypeResolver;
 import org.activiti.rest.common.application.DefaultContentTypeResolver;
 import org.activiti.rest.service.api.RestResponseFactory;
+import org.activiti.rest.service.api.repository.DeploymentResourceDataCache;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.context.annotation.Bean;
@@ -47,6 +48,11 @@ public class RestApiAutoConfiguration {
     ContentTypeResolver resolver = new DefaultContentTypeResolver();
     return resolver;
   }
+
+  @Bean
+  public DeploymentResourceDataCache deploymentResourceDataCache() {
+    return new DeploymentResourceDataCache();
+  }
   
   @Configuration
   @ComponentScan({"org.activiti.rest.exception", "org.activiti.rest.service.api"}) 
@@ -13,7 +13,10 @@
 package org.activiti.spring.boot.actuate.endpoint;
 
 import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.impl.asyncexecutor.DefaultAsyncJobExecutor;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.metrics.CommandMetricsRegistry;
+import org.activiti.engine.impl.metrics.DefaultCommandMetricsRegistry;
 import org.activiti.engine.impl.persistence.deploy.DefaultDeploymentCache;
 import org.activiti.engine.impl.persistence.deploy.DeploymentCache;
 import org.activiti.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
@@ -87,6 +90,24 @@ public class ProcessEngineEndpoint extends AbstractEndpoint<Map<String, Object>>
         if (deploymentCache instanceof DefaultDeploymentCache) {
             metrics.put("cachedProcessDefinitionCount", ((DefaultDeploymentCache) deploymentCache).size());
         }
+
+        // Command statistics
+        ProcessEngineConfigurationImpl processEngineConfiguration = (ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration();
+        CommandMetricsRegistry commandMetricsRegistry = processEngineConfiguration.getCommandMetricsRegistry();
+        if (processEngineConfiguration.isEnableCommandMetrics() && commandMetricsRegistry instanceof DefaultCommandMetricsRegistry) {
+            metrics.put("commandStatistics", ((DefaultCommandMetricsRegistry) commandMetricsRegistry).getCommandStatistics());
+        }
+
+        // Async executor
+        if (processEngineConfiguration.getAsyncExecutor() instanceof DefaultAsyncJobExecutor) {
+            DefaultAsyncJobExecutor asyncExecutor = (DefaultAsyncJobExecutor) processEngineConfiguration.getAsyncExecutor();
+            Map<String, Object> asyncExecutorMetrics = new HashMap<String, Object>();
+            asyncExecutorMetrics.put("threadPoolQueueDepth", asyncExecutor.getThreadPoolQueueDepth());
+            asyncExecutorMetrics.put("activeThreadCount", asyncExecutor.getActiveThreadCount());
+            asyncExecutorMetrics.put("threadPoolSize", asyncExecutor.getThreadPoolSize());
+            asyncExecutorMetrics.put("statistics", asyncExecutor.getMetrics());
+            metrics.put("asyncExecutor", asyncExecutorMetrics);
+        }
         return metrics;
     }
 
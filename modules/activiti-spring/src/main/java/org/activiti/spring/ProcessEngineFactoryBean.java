@@ -60,7 +60,9 @@ public class ProcessEngineFactoryBean implements FactoryBean<ProcessEngine>, Dis
 
   protected void configureExpressionManager() {
     if (processEngineConfiguration.getExpressionManager() == null && applicationContext != null) {
-      processEngineConfiguration.setExpressionManager(new SpringExpressionManager(applicationContext, processEngineConfiguration.getBeans()));
+      SpringExpressionManager expressionManager = new SpringExpressionManager(applicationContext, processEngineConfiguration.getBeans());
+      expressionManager.setExpressionCacheLimit(processEngineConfiguration.getExpressionCacheLimit());
+      processEngineConfiguration.setExpressionManager(expressionManager);
     }
   }
 
@@ -13,6 +13,7 @@
 package org.activiti.spring;
 
 import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.impl.cfg.TransactionPropagation;
 import org.activiti.engine.impl.interceptor.AbstractCommandInterceptor;
 import org.activiti.engine.impl.interceptor.Command;
 import org.activiti.engine.impl.interceptor.CommandConfig;
@@ -21,6 +22,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.transaction.support.TransactionTemplate;
 
 /**
@@ -36,11 +38,20 @@ public class SpringTransactionInterceptor extends AbstractCommandInterceptor {
     this.transactionManager = transactionManager;
   }
 
-  public <T> T execute(final CommandConfig config, final Command<T> command) {
-    LOGGER.debug("Running command with propagation {}", config.getTransactionPropagation());
+  public <T> T execute(CommandConfig commandConfig, final Command<T> command) {
+    LOGGER.debug("Running command with propagation {}", commandConfig.getTransactionPropagation());
+
+    if (commandConfig.isReadReplicaAllowed() && commandConfig.getTransactionPropagation() == TransactionPropagation.REQUIRED
+        && TransactionSynchronizationManager.isActualTransactionActive() && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      // The command joins a transaction that can change data, the read replica might not see these changes
+      commandConfig = commandConfig.setReadReplicaAllowed(false);
+    }
+    final CommandConfig config = commandConfig;
 
     TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
     transactionTemplate.setPropagationBehavior(getPropagation(config));
+    // Only has effect for a new transaction: read-only commands joining an existing transaction don't change it
+    transactionTemplate.setReadOnly(config.isReadOnly());
 
     T result = transactionTemplate.execute(new TransactionCallback<T>() {
       public T doInTransaction(TransactionStatus status) {
@@ -117,6 +117,7 @@ public class ActivitiEngineConfiguration {
     processEngineConfiguration.setTransactionManager(annotationDrivenTransactionManager());
     processEngineConfiguration.setAsyncExecutorActivate(Boolean.valueOf(environment.getProperty("engine.asyncexecutor.activate", "true")));
     processEngineConfiguration.setHistory(environment.getProperty("engine.history.level", "full"));
+    processEngineConfiguration.setEnableProcessDiagramCache(Boolean.valueOf(environment.getProperty("engine.diagram.cache.enabled", "false")));
 
     List<AbstractFormType> formTypes = new ArrayList<AbstractFormType>();
     formTypes.add(new UserFormType());